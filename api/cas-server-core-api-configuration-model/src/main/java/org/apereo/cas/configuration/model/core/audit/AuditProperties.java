@@ -101,6 +101,13 @@ public class AuditProperties implements Serializable {
     @NestedConfigurationProperty
     private AuditCouchbaseProperties couchbase = new AuditCouchbaseProperties();
 
+    /**
+     * Family of sub-properties pertaining to the queue that batches records
+     * for audit destinations that record asynchronously.
+     */
+    @NestedConfigurationProperty
+    private AuditQueueProperties queue = new AuditQueueProperties();
+
     /**
      * Indicates whether catastrophic audit failures should simply be logged
      * or whether errors should bubble up and thrown back.
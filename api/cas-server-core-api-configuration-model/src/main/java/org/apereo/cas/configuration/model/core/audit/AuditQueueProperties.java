@@ -0,0 +1,58 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditQueueProperties}, which controls how audit records
+ * are queued and batched by audit destinations that record asynchronously.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-audit")
+@Getter
+@Setter
+public class AuditQueueProperties implements Serializable {
+
+    private static final long serialVersionUID = 2351723467402812456L;
+
+    /**
+     * Maximum number of audit records that may wait in the queue
+     * before the overflow policy kicks in.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records that are handed
+     * to the audit destination in a single batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum amount of time a queued audit record waits
+     * for a batch to fill up before the batch is written anyway.
+     */
+    private String flushInterval = "PT1S";
+
+    /**
+     * Decide what happens when the queue is full.
+     * Accepted values are:
+     * <ul>
+     *     <li>{@code BLOCK}: Wait until there is room in the queue; no records are lost.</li>
+     *     <li>{@code DROP}: Discard the new record.</li>
+     *     <li>{@code SAMPLE}: Keep one out of every {@code sampleRate} overflowing records,
+     *     making room for it by discarding the oldest queued record, and discard the rest.</li>
+     * </ul>
+     */
+    private String overflowPolicy = "BLOCK";
+
+    /**
+     * When the overflow policy is {@code SAMPLE}, keep one out of this many overflowing records.
+     */
+    private int sampleRate = 10;
+}
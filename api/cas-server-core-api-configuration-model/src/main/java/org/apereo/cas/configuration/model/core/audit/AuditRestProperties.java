@@ -21,4 +21,11 @@ public class AuditRestProperties extends RestEndpointProperties {
      * Make storage requests asymchronously.
      */
     private boolean asynchronous = true;
+
+    /**
+     * When records are sent asynchronously, send each batch of records
+     * as a JSON array in a single request, rather than one request per record.
+     * The endpoint must be able to accept arrays of records.
+     */
+    private boolean bulk;
 }
@@ -61,6 +61,30 @@ public class RiskBasedAuthenticationProperties implements Serializable {
      */
     private long daysInRecentHistory = 30;
 
+    /**
+     * Control how risk profiles of principals, summarizing their recent
+     * authentication history, are kept in memory.
+     */
+    private Profile profile = new Profile();
+
+    @Getter
+    @Setter
+    public static class Profile implements Serializable {
+
+        private static final long serialVersionUID = 6261637404325153281L;
+
+        /**
+         * How long a risk profile is kept in memory before it is built again from the events repository.
+         * Events recorded by other CAS nodes are only picked up once the profile is built again.
+         */
+        private String expiration = "PT10M";
+
+        /**
+         * Maximum number of risk profiles kept in memory.
+         */
+        private long maximumProfiles = 10_000;
+    }
+
     @Getter
     @Setter
     public static class IpAddress implements Serializable {
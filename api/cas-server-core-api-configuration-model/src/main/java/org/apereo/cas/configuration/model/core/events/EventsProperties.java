@@ -58,6 +58,48 @@ public class EventsProperties implements Serializable {
      */
     private CouchDb couchDb = new CouchDb();
 
+    /**
+     * Record authentication events asynchronously, off the authentication path.
+     */
+    private Queue queue = new Queue();
+
+    @RequiresModule(name = "cas-server-core-events", automated = true)
+    @Getter
+    @Setter
+    public static class Queue implements Serializable {
+
+        private static final long serialVersionUID = 2984150383510573478L;
+
+        /**
+         * Whether events should be put into a bounded queue and saved in batches by a background worker,
+         * rather than saved on the thread that handles the authentication request.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of events that may wait in the queue.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Maximum number of events that are saved in a single batch.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Maximum amount of time a queued event waits for a batch
+         * to fill up before the batch is saved anyway.
+         */
+        private String flushInterval = "PT1S";
+
+        /**
+         * Maximum amount of time recording an event waits for room in the queue when the queue is full.
+         * Events that do not fit into the queue in time are discarded and counted.
+         * The default does not wait at all, so that authentication requests are never held up.
+         */
+        private String maximumWait = "PT0S";
+    }
+
     @RequiresModule(name = "cas-server-support-events-jpa")
     @Getter
     @Setter
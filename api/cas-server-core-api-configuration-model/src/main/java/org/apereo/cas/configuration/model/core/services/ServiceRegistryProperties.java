@@ -127,6 +127,7 @@ public class ServiceRegistryProperties implements Serializable {
      * <ul>
      * <li>DEFAULT: Keep all services inside a concurrent map.</li>
      * <li>DOMAIN: Group registered services by their domain having been explicitly defined.</li>
+     * <li>INDEXED: Index registered services by the literal prefix of their service id for quicker lookups.</li>
      * </ul>
      */
     private ServiceManagementTypes managementType = ServiceManagementTypes.DEFAULT;
@@ -140,6 +141,10 @@ public class ServiceRegistryProperties implements Serializable {
          * Group service definitions by their domain.
          */
         DOMAIN,
+        /**
+         * Index service definitions by the literal prefix of their service id.
+         */
+        INDEXED,
         /**
          * Default option to keep definitions in a map as they arrive.
          */
@@ -30,4 +30,11 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Number of threads used to handle logout callbacks for the services of a single sign-on session concurrently.
+     * Concurrent requests sent to the same host remain bounded by the connection pool of the HTTP client.
+     * When zero, logout callbacks are handled one service at a time.
+     */
+    private int poolSize;
 }
@@ -43,6 +43,14 @@ public class TicketGrantingTicketProperties implements Serializable {
      */
     private boolean onlyTrackMostRecentSession = true;
 
+    /**
+     * Maximum number of service sessions and descendant tickets tracked by each TGT.
+     * Once exceeded as tickets are granted, sessions whose tickets were validated or have expired
+     * are no longer tracked by the TGT, followed by the oldest sessions; those are not notified on logout.
+     * Descendant tickets are only dropped once they are no longer active. Zero or less means no limit.
+     */
+    private int maximumServiceSessions;
+
     /**
      * Hard timeout for TGTs.
      */
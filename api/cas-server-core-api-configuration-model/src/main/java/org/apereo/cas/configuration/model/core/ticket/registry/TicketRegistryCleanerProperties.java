@@ -0,0 +1,41 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+
+    private static final long serialVersionUID = 5723614358127452302L;
+
+    /**
+     * For ticket registries that track the expected expiration time of tickets,
+     * the number of tickets that are due for expiration that should be fetched
+     * from the registry at a time.
+     */
+    private int batchSize = 500;
+
+    /**
+     * For ticket registries that track the expected expiration time of tickets,
+     * the maximum number of tickets that may be examined during a single run of the cleaner.
+     * Tickets that remain due once this budget is exhausted are picked up by the next run.
+     */
+    private long maxTicketsPerRun = 10_000;
+
+    public TicketRegistryCleanerProperties(final String startDelay, final String repeatInterval) {
+        super(startDelay, repeatInterval);
+    }
+}
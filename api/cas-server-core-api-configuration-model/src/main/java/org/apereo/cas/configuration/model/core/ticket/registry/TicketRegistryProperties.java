@@ -113,11 +113,25 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private CouchDbTicketRegistryProperties couchDb = new CouchDbTicketRegistryProperties();
 
+    /**
+     * Whether distributed registries should store tickets issued under a ticket-granting ticket
+     * with only the id of their parent, rather than with a copy of it.
+     * The parent is looked up in the registry once it is needed.
+     */
+    private boolean normalizeTickets;
+
     /**
      * Ticket registry cleaner settings.
      */
     @NestedConfigurationProperty
-    private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
+    private TicketRegistryCleanerProperties cleaner = new TicketRegistryCleanerProperties("PT10S", "PT1M");
+
+    /**
+     * Settings that control how often the ticket counters maintained by the registry
+     * are reconciled with the tickets that are actually stored in the registry.
+     */
+    @NestedConfigurationProperty
+    private ScheduledJobProperties statistics = new ScheduledJobProperties("PT30S", "PT5M");
 
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     @Getter
@@ -151,6 +165,11 @@ public class TicketRegistryProperties implements Serializable {
          */
         private int concurrency = 20;
 
+        /**
+         * Keep tickets serialized in memory outside the heap.
+         */
+        private OffHeap offHeap = new OffHeap();
+
         /**
          * Crypto settings for the registry.
          */
@@ -161,4 +180,31 @@ public class TicketRegistryProperties implements Serializable {
             crypto.setEnabled(false);
         }
     }
+
+    @RequiresModule(name = "cas-server-core-tickets", automated = true)
+    @Getter
+    @Setter
+    public static class OffHeap implements Serializable {
+
+        private static final long serialVersionUID = 3285169245316390176L;
+
+        /**
+         * Whether tickets should be serialized and kept in memory outside the heap.
+         * Memory for tickets is allocated upfront, and the JVM must be allowed to allocate
+         * as much direct memory via {@code -XX:MaxDirectMemorySize}.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of bytes used to store tickets. Once exhausted,
+         * the least recently used tickets are evicted from the registry.
+         */
+        private long maxSize = 256L * 1024 * 1024;
+
+        /**
+         * Size of each segment of memory, in bytes. Tickets are compacted one segment
+         * at a time, and no ticket may be larger than a segment.
+         */
+        private int segmentSize = 16 * 1024 * 1024;
+    }
 }
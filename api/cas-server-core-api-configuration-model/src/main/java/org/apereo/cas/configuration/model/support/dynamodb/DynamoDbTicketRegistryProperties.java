@@ -45,6 +45,33 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
      */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+     * Whether DynamoDb should remove tickets once they are expected to expire, using the time-to-live
+     * attribute stored with every ticket. Time-to-live is turned on for the tables when they are created.
+     * DynamoDb removes expired items in the background, typically within days of their expiration,
+     * and logout notifications are not sent for tickets removed this way.
+     */
+    private boolean useTimeToLive;
+
+    /**
+     * Whether tables holding ticket-granting tickets should be created with a global secondary index
+     * over the principal id, so that the sessions of a principal can be located without scanning the table.
+     * Tables that already exist are not changed, and must be recreated to include the index.
+     */
+    private boolean usePrincipalIndex;
+
+    /**
+     * Whether tables should be created with a global secondary index over the expected expiration time
+     * of tickets, so that the registry cleaner only fetches tickets that are due for expiration rather
+     * than scanning every table. Tables that already exist are not changed, and must be recreated to include the index.
+     */
+    private boolean useExpirationIndex;
+
+    /**
+     * Number of segments each table is divided into, and scanned in parallel, when all tickets are fetched.
+     */
+    private int scanSegments = 4;
+
     /**
      * Crypto settings for the registry.
      */
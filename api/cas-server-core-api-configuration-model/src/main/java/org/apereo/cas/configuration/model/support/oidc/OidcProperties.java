@@ -1,10 +1,12 @@
 package org.apereo.cas.configuration.model.support.oidc;
 
+import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
 import org.apereo.cas.configuration.support.RequiredProperty;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
@@ -30,9 +32,17 @@ public class OidcProperties implements Serializable {
 
     /**
      * Timeout that indicates how long should the JWKS file be kept in cache.
+     * This is also how long relying parties are allowed to cache the published JWKS document.
      */
     private int jwksCacheInMinutes = 60;
 
+    /**
+     * Scheduler settings to load the keystores of the published JWKS document again,
+     * picking up keys rotated in the CAS keystore or in remote keystores of registered services.
+     */
+    @NestedConfigurationProperty
+    private SchedulingProperties jwksSchedule = new SchedulingProperties();
+
     /**
      * OIDC issuer.
      */
@@ -115,4 +125,10 @@ public class OidcProperties implements Serializable {
      * List of client authentication methods supported by token endpoint.
      */
     private List<String> tokenEndpointAuthMethodsSupported = Stream.of("client_secret_basic", "client_secret_post").collect(Collectors.toList());
+
+    public OidcProperties() {
+        jwksSchedule.setEnabled(true);
+        jwksSchedule.setStartDelay("PT30S");
+        jwksSchedule.setRepeatInterval("PT5M");
+    }
 }
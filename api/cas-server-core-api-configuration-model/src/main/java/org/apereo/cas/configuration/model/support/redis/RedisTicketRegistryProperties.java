@@ -26,6 +26,21 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Number of keys to request per SCAN iteration when streaming tickets,
+     * which is also the number of tickets fetched per MGET batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Whether the registry should maintain secondary indexes in Redis
+     * that track ticket counts per type as well as the relationship between
+     * ticket-granting tickets and their descendant tickets. Indexes allow session counts
+     * to be computed without scanning the registry, and ticket removals to be cascaded
+     * in a single pipelined round trip.
+     */
+    private boolean indexTickets;
+
     public RedisTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
@@ -43,6 +43,14 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * How long after metadata is cached should it be refreshed in the background, in minutes.
+     * Metadata that is being refreshed continues to be served from the cache, and is kept
+     * if the refresh fails. Refreshing should happen before metadata expires from the cache.
+     * A value of zero or less disables refreshing metadata ahead of its expiration.
+     */
+    private long cacheRefreshMinutes;
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
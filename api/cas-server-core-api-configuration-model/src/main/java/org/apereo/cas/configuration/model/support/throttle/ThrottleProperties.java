@@ -92,6 +92,15 @@ public class ThrottleProperties implements Serializable {
          * Period of time in seconds during which the threshold applies.
          */
         private int rangeSeconds = -1;
+
+        /**
+         * Maximum number of keys (i.e. IP addresses or usernames) whose failed
+         * login attempts are tracked in memory at any given time. Once capacity is reached,
+         * records of keys whose last failure is the oldest are evicted.
+         * A table of references in proportion to the capacity is allocated upfront; the failures of a key
+         * are only allocated once the key first fails, in proportion to the failure threshold.
+         */
+        private int capacity = 100_000;
     }
 
     @RequiresModule(name = "cas-server-support-throttle-jdbc")
@@ -113,5 +122,52 @@ public class ThrottleProperties implements Serializable {
          * an application code along with the relevant audit action.
          */
         private String auditQuery = SQL_AUDIT_QUERY;
+
+        /**
+         * Record failed login attempts as rolling counters in a dedicated table,
+         * rather than querying the audit log on every login attempt.
+         */
+        private Counters counters = new Counters();
+    }
+
+    @RequiresModule(name = "cas-server-support-throttle-jdbc")
+    @Getter
+    @Setter
+    public static class Counters implements Serializable {
+
+        private static final long serialVersionUID = -2158613276420871253L;
+
+        /**
+         * Whether failed login attempts should be tracked via counters.
+         */
+        private boolean enabled;
+
+        /**
+         * Name of the table that holds counters per key and time window.
+         * The table is created on startup if it does not exist.
+         */
+        private String tableName = "CAS_THROTTLE_COUNTERS";
+
+        /**
+         * Number of keys whose pending failure counts are accumulated in memory
+         * before they are written to the database in a single batch.
+         */
+        private int batchSize = 100;
+
+        /**
+         * How often pending failure counts should be written to the database.
+         */
+        private String flushInterval = "PT1S";
+
+        /**
+         * Duration for which counters read from the database may be cached
+         * in memory. A zero or negative duration disables the cache.
+         */
+        private String nearCacheDuration = "PT0S";
+
+        /**
+         * Maximum number of keys whose counters may be cached in memory.
+         */
+        private long nearCacheSize = 10_000;
     }
 }
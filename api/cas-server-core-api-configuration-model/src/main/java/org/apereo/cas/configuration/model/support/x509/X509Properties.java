@@ -58,9 +58,14 @@ public class X509Properties implements Serializable {
     private boolean checkAll;
     /**
      * The refresh interval of the internal scheduler in cases where CRL revocation checking
-     * is done via resources.
+     * is done via resources. CRLs fetched from resources or distribution points are refreshed
+     * at least this often, and earlier if their next update is due sooner.
      */
     private int refreshIntervalSeconds = 3_600;
+    /**
+     * How long ahead of the next update of a CRL, or of one of its delta CRLs, the CRL should be refreshed.
+     */
+    private long refreshAheadSeconds = TimeUnit.MINUTES.toSeconds(5);
     /**
      * The principal descriptor used for principal resolution
      * when type is set to {@link PrincipalTypes#SUBJECT}.
@@ -19,6 +19,16 @@ public interface CasEventRepository {
      */
     void save(CasEvent event);
 
+    /**
+     * Save a batch of events. Repositories that support bulk writes
+     * should override this method; by default, events are saved one at a time.
+     *
+     * @param events the events
+     */
+    default void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
+    }
+
     /**
      * Load collection.
      *
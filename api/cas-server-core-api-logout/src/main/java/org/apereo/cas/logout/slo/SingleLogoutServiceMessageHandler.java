@@ -4,6 +4,8 @@ import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link SingleLogoutServiceMessageHandler} which defines how a logout message
@@ -24,6 +26,23 @@ public interface SingleLogoutServiceMessageHandler {
      */
     Collection<SingleLogoutRequest> handle(WebApplicationService singleLogoutService, String ticketId, TicketGrantingTicket ticketGrantingTicket);
 
+    /**
+     * Handle logout for all tickets issued to the same service.
+     * Handlers may look up the service once for all tickets, rather than once for each ticket.
+     *
+     * @param singleLogoutServices the service of each ticket, keyed by ticket id
+     * @param ticketGrantingTicket the ticket granting ticket
+     * @return the logout requests
+     */
+    default Collection<SingleLogoutRequest> handle(final Map<String, WebApplicationService> singleLogoutServices,
+                                                   final TicketGrantingTicket ticketGrantingTicket) {
+        return singleLogoutServices.entrySet()
+            .stream()
+            .map(entry -> handle(entry.getValue(), entry.getKey(), ticketGrantingTicket))
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Gets name.
      *
@@ -0,0 +1,50 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServiceIndex}, which defines a secondary index of registered services
+ * of a given type, keyed by a value that is extracted from each service, such as a client id.
+ * Index definitions are compared by identity, and are typically declared once as constants.
+ *
+ * @param <T> the type of registered services in the index
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(of = {"name", "type"})
+public class RegisteredServiceIndex<T extends RegisteredService> {
+
+    /**
+     * The name of the index.
+     */
+    private final String name;
+
+    /**
+     * The type of registered services in the index.
+     */
+    private final Class<T> type;
+
+    /**
+     * Extracts the key of each service in the index, which may be null if the service is not to be indexed.
+     */
+    private final Function<T, String> keyExtractor;
+
+    /**
+     * Extract the key of the given service, if the service belongs to this index.
+     *
+     * @param registeredService the registered service
+     * @return the key, or null
+     */
+    public String getKey(final RegisteredService registeredService) {
+        if (this.type.isInstance(registeredService)) {
+            return this.keyExtractor.apply(this.type.cast(registeredService));
+        }
+        return null;
+    }
+}
@@ -36,6 +36,19 @@ public interface ServiceRegistry {
      */
     Collection<RegisteredService> load();
 
+    /**
+     * Retrieve the services that were added, changed or removed in the data store
+     * since services were last loaded, so that callers do not have to load every service again.
+     * Registries that cannot tell which services have changed return {@code null},
+     * in which case callers are expected to {@link #load()} all services instead.
+     *
+     * @return the changes, or null if changes are not tracked.
+     * @since 6.0.0
+     */
+    default ServiceRegistryChanges loadChanges() {
+        return null;
+    }
+
     /**
      * Find service by the numeric id.
      *
@@ -0,0 +1,44 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link ServiceRegistryChanges}, which describes the registered services that were
+ * added or changed, and the identifiers of those that were removed, since a service registry last loaded its services.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ServiceRegistryChanges {
+
+    /**
+     * Services that were added or changed.
+     */
+    private final Collection<RegisteredService> savedServices;
+
+    /**
+     * Identifiers of services that were removed.
+     */
+    private final Collection<Long> removedServices;
+
+    public ServiceRegistryChanges() {
+        this(new ArrayList<>(0), new ArrayList<>(0));
+    }
+
+    /**
+     * Whether there are no changes.
+     *
+     * @return true if nothing has changed
+     */
+    public boolean isEmpty() {
+        return this.savedServices.isEmpty() && this.removedServices.isEmpty();
+    }
+}
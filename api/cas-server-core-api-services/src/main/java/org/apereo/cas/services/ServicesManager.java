@@ -107,6 +107,37 @@ public interface ServicesManager {
      */
     RegisteredService findServiceBy(long id);
 
+    /**
+     * Find a registered service by its key in the given secondary index.
+     * Implementations that do not maintain secondary indexes scan all services instead.
+     *
+     * @param <T>   the type parameter
+     * @param index the index
+     * @param key   the key
+     * @return the registered service, or null
+     */
+    default <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndex<T> index, final String key) {
+        if (key == null) {
+            return null;
+        }
+        return getAllServices()
+            .stream()
+            .filter(service -> key.equals(index.getKey(service)))
+            .findFirst()
+            .map(index.getType()::cast)
+            .orElse(null);
+    }
+
+    /**
+     * Whether registered services are located via secondary indexes that are maintained
+     * as services are loaded, saved and deleted, rather than by scanning all services.
+     *
+     * @return true/false
+     */
+    default boolean isIndexingSupported() {
+        return false;
+    }
+
     /**
      * Retrieve the collection of all registered services.
      * Services that are returned are valid, non-expired, etc.
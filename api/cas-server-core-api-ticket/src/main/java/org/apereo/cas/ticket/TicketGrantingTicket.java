@@ -111,4 +111,16 @@ public interface TicketGrantingTicket extends Ticket {
     default Collection<String> getDescendantTickets() {
         return new HashSet<>(0);
     }
+
+    /**
+     * Track a ticket issued on the authority of this ticket, such as an OAuth access token,
+     * as a descendant ticket. Implementations may stop tracking descendant tickets
+     * that are no longer active, so that the number of tracked tickets remains bounded.
+     *
+     * @param ticket the descendant ticket
+     * @since 6.0.0
+     */
+    default void trackDescendantTicket(final Ticket ticket) {
+        getDescendantTickets().add(ticket.getId());
+    }
 }
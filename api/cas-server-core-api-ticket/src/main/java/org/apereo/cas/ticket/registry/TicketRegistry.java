@@ -1,7 +1,9 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -78,6 +80,7 @@ public interface TicketRegistry {
 
     /**
      * Gets tickets as a stream having applied a predicate.
+     * Callers are expected to close the stream once done with it.
      *
      * @param predicate the predicate
      * @return the tickets
@@ -94,6 +97,35 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket);
 
+    /**
+     * Update and add the received tickets as a single batch.
+     * Tickets to update are processed before the tickets to add, so that newly-issued tickets
+     * are stored after their parent. Registries backed by remote or transactional stores
+     * should override this operation to submit all changes in a single round trip.
+     *
+     * @param ticketsToAdd    the tickets to add
+     * @param ticketsToUpdate the tickets to update
+     */
+    default void addAndUpdateTickets(final Collection<? extends Ticket> ticketsToAdd, final Collection<? extends Ticket> ticketsToUpdate) {
+        ticketsToUpdate.forEach(this::updateTicket);
+        ticketsToAdd.forEach(this::addTicket);
+    }
+
+    /**
+     * Update and delete the received tickets as a single batch.
+     * Tickets to delete are expected to have been fetched from the registry by the caller already;
+     * registries may remove them without looking them up again. Registries backed by remote or transactional
+     * stores should override this operation to submit all changes in a single round trip.
+     *
+     * @param ticketsToUpdate the tickets to update
+     * @param ticketsToDelete the tickets to delete
+     * @return the number of tickets deleted including children.
+     */
+    default int updateAndDeleteTickets(final Collection<? extends Ticket> ticketsToUpdate, final Collection<? extends Ticket> ticketsToDelete) {
+        ticketsToUpdate.forEach(this::updateTicket);
+        return ticketsToDelete.stream().mapToInt(ticket -> deleteTicket(ticket.getId())).sum();
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -108,8 +140,28 @@ public interface TicketRegistry {
      */
     long serviceTicketCount();
 
+    /**
+     * Indicates whether {@link #sessionCount()} and {@link #serviceTicketCount()} are answered from counters
+     * or by the underlying store, without going through the tickets held by the registry.
+     *
+     * @return true/false
+     */
+    default boolean isTicketCountIndexed() {
+        return false;
+    }
+
+    /**
+     * Recounts the tickets stored in the registry, correcting the counters that back
+     * {@link #sessionCount()} and {@link #serviceTicketCount()} for registries that maintain them.
+     * Registries that are able to count tickets efficiently on demand need not do anything here.
+     */
+    default void reconcileTicketStatistics() {
+    }
+
     /**
      * Gets tickets stream.
+     * The stream may hold on to resources of the registry, such as connections or cursors,
+     * until it is consumed entirely; callers are expected to close the stream once done with it.
      *
      * @return the tickets stream
      */
@@ -117,4 +169,78 @@ public interface TicketRegistry {
         return getTickets().stream();
     }
 
+    /**
+     * Indicates whether the registry keeps track of the expected expiration time of its tickets
+     * in an index, allowing tickets that are due for expiration to be located without scanning the registry.
+     *
+     * @return true/false
+     */
+    default boolean isExpirationIndexed() {
+        return false;
+    }
+
+    /**
+     * Gets tickets whose expected expiration time is at or before the given time,
+     * ordered by their expected expiration time. Tickets returned here are not guaranteed
+     * to be expired; callers are expected to verify the ticket state before acting on it.
+     * Registries that do not maintain an expiration index fall back to scanning all tickets.
+     *
+     * @param dueBy the time by which tickets are expected to have expired
+     * @param limit the maximum number of tickets to return
+     * @return the tickets
+     */
+    default Stream<? extends Ticket> getTicketsDueForExpiration(final ZonedDateTime dueBy, final int limit) {
+        return getTicketsStream().filter(Ticket::isExpired).limit(limit);
+    }
+
+    /**
+     * Counts tickets whose expected expiration time is at or before the given time.
+     *
+     * @param dueBy the time by which tickets are expected to have expired
+     * @return the number of tickets or {@link Long#MIN_VALUE} if unknown.
+     */
+    default long countTicketsDueForExpiration(final ZonedDateTime dueBy) {
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * Indicates whether the registry keeps an index of ticket-granting tickets by the id of their
+     * authenticated principal, allowing the sessions of a principal to be located without scanning the registry.
+     *
+     * @return true/false
+     */
+    default boolean isPrincipalIndexed() {
+        return false;
+    }
+
+    /**
+     * Gets the ticket-granting tickets, including proxy-granting tickets, of the given principal.
+     * Tickets returned here may have expired; callers are expected to verify the ticket state before acting on it.
+     * Registries that do not maintain a principal index fall back to scanning all tickets.
+     *
+     * @param principalId the principal id
+     * @return the tickets
+     */
+    default Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        return getTickets(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .filter(ticket -> ticket.getAuthentication() != null && ticket.getAuthentication().getPrincipal() != null
+                && principalId.equals(ticket.getAuthentication().getPrincipal().getId()));
+    }
+
+    /**
+     * Gets a page of ticket-granting tickets, including proxy-granting tickets.
+     * Pages are ordered by the registry, and are only consistent with one another while the registry does not change.
+     *
+     * @param from  the number of tickets to skip
+     * @param count the maximum number of tickets to return
+     * @return the tickets
+     */
+    default Stream<? extends TicketGrantingTicket> getSessions(final long from, final long count) {
+        return getTickets(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .skip(from)
+            .limit(count);
+    }
+
 }
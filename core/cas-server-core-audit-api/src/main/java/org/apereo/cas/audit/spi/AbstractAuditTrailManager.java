@@ -1,18 +1,26 @@
 package org.apereo.cas.audit.spi;
 
-import lombok.AllArgsConstructor;
+import org.apereo.cas.configuration.model.core.audit.AuditQueueProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.concurrent.BatchingQueue;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Collection;
 
 /**
  * This is {@link AbstractAuditTrailManager}.
+ * When records are saved asynchronously, they are put into a bounded {@link BatchingQueue}
+ * and handed over to {@link #saveAuditRecords(Collection)} in batches.
+ * Once the manager is destroyed, records are saved on the calling thread.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -21,21 +29,83 @@ import java.util.concurrent.Executors;
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
-public abstract class AbstractAuditTrailManager implements AuditTrailManager {
+public abstract class AbstractAuditTrailManager implements AuditTrailManager, DisposableBean {
 
     /**
      * Save records asynchronously.
      */
     protected boolean asynchronous;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    /**
+     * Settings of the queue used when saving records asynchronously.
+     */
+    private AuditQueueProperties queueProperties = new AuditQueueProperties();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile BatchingQueue<AuditActionContext> recordQueue;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean destroyed;
+
+    public AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
 
     @Override
     public void record(final AuditActionContext audit) {
         if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
-        } else {
+            val queue = getRecordQueue();
+            if (queue != null && (queue.offer(audit) || queue.isRunning())) {
+                return;
+            }
+        }
+        saveAuditRecord(audit);
+    }
+
+    /**
+     * Gets the queue that holds records to be saved asynchronously, creating it on first use.
+     * The queue is not created again once the manager is destroyed.
+     *
+     * @return the record queue, or null once the manager is destroyed
+     */
+    public BatchingQueue<AuditActionContext> getRecordQueue() {
+        var queue = this.recordQueue;
+        if (queue == null && !this.destroyed) {
+            synchronized (this) {
+                queue = this.recordQueue;
+                if (queue == null && !this.destroyed) {
+                    val properties = this.queueProperties;
+                    val policy = BatchingQueue.OverflowPolicy.valueOf(properties.getOverflowPolicy().trim().toUpperCase());
+                    queue = new BatchingQueue<>(getClass().getSimpleName(), properties.getCapacity(), properties.getBatchSize(),
+                        Beans.newDuration(properties.getFlushInterval()), policy, null, properties.getSampleRate(), this::saveAuditRecords);
+                    this.recordQueue = queue;
+                    LOGGER.debug("Created audit record queue for [{}] with capacity [{}], batch size [{}] and overflow policy [{}]",
+                        getClass().getSimpleName(), properties.getCapacity(), properties.getBatchSize(), policy);
+                }
+            }
+        }
+        return queue;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        this.destroyed = true;
+        if (this.recordQueue != null) {
+            this.recordQueue.close();
+            this.recordQueue = null;
+        }
+    }
+
+    /**
+     * Save a batch of audit records. By default, records are saved one at a time;
+     * audit destinations that support bulk writes should override this method.
+     *
+     * @param audits audit records to be saved
+     */
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        for (val audit : audits) {
             saveAuditRecord(audit);
         }
     }
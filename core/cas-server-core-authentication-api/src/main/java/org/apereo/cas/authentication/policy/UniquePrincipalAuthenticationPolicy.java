@@ -31,18 +31,18 @@ public class UniquePrincipalAuthenticationPolicy implements AuthenticationPolicy
 
     @Override
     public boolean isSatisfiedBy(final Authentication authentication, final Set<AuthenticationHandler> authenticationHandlers) throws Exception {
-        try {
-            val authPrincipal = authentication.getPrincipal();
-            val count = this.ticketRegistry.getTickets(t -> {
-                var pass = FunctionUtils.doIf(TicketGrantingTicket.class.isInstance(t) && !t.isExpired(),
-                    () -> {
-                        val principal = TicketGrantingTicket.class.cast(t).getAuthentication().getPrincipal();
-                        return principal.getId().equalsIgnoreCase(authPrincipal.getId());
-                    },
-                    () -> Boolean.TRUE)
-                    .get();
-                return pass;
-            }).count();
+        val authPrincipal = authentication.getPrincipal();
+        try (val tickets = this.ticketRegistry.getTickets(t -> {
+            var pass = FunctionUtils.doIf(TicketGrantingTicket.class.isInstance(t) && !t.isExpired(),
+                () -> {
+                    val principal = TicketGrantingTicket.class.cast(t).getAuthentication().getPrincipal();
+                    return principal.getId().equalsIgnoreCase(authPrincipal.getId());
+                },
+                () -> Boolean.TRUE)
+                .get();
+            return pass;
+        })) {
+            val count = tickets.count();
             if (count == 0) {
                 LOGGER.debug("Authentication policy is satisfied with [{}]", authPrincipal.getId());
                 return true;
@@ -11,11 +11,8 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.FileUtils;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -68,19 +65,15 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
     private static void processFileBasedGroovyAttributes(final Map<String, Object> resolvedAttributes,
                                                          final Map<String, Object> attributesToRelease,
                                                          final Matcher matcherFile, final String key) {
-        try {
-            LOGGER.debug("Found groovy script to execute for attribute mapping [{}]", key);
-            val file = new File(matcherFile.group(2));
-            val script = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
-            val result = getGroovyAttributeValue(script, resolvedAttributes);
-            if (result != null) {
-                LOGGER.debug("Mapped attribute [{}] to [{}] from script", key, result);
-                attributesToRelease.put(key, result);
-            } else {
-                LOGGER.warn("Groovy-scripted attribute returned no value for [{}]", key);
-            }
-        } catch (final IOException e) {
-            LOGGER.error(e.getMessage(), e);
+        LOGGER.debug("Found groovy script to execute for attribute mapping [{}]", key);
+        val file = new File(matcherFile.group(2));
+        val args = CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER);
+        val result = ScriptingUtils.executeGroovyShellScript(file, args, Object.class);
+        if (result != null) {
+            LOGGER.debug("Mapped attribute [{}] to [{}] from script", key, result);
+            attributesToRelease.put(key, result);
+        } else {
+            LOGGER.warn("Groovy-scripted attribute returned no value for [{}]", key);
         }
     }
 
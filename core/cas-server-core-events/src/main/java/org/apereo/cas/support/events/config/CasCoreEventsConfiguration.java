@@ -1,11 +1,15 @@
 package org.apereo.cas.support.events.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.support.events.dao.NoOpCasEventRepository;
+import org.apereo.cas.support.events.dao.QueuedCasEventRepository;
 import org.apereo.cas.support.events.listener.DefaultCasEventListener;
 import org.apereo.cas.support.events.web.CasEventsReportEndpoint;
 
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -22,8 +26,17 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class CasCoreEventsConfiguration {
 
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Bean
     public DefaultCasEventListener defaultCasEventListener() {
+        val queue = casProperties.getEvents().getQueue();
+        if (queue.isEnabled()) {
+            val repository = new QueuedCasEventRepository(casEventRepository(), queue.getCapacity(), queue.getBatchSize(),
+                Beans.newDuration(queue.getFlushInterval()), Beans.newDuration(queue.getMaximumWait()));
+            return new DefaultCasEventListener(repository);
+        }
         return new DefaultCasEventListener(casEventRepository());
     }
 
@@ -0,0 +1,106 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.util.concurrent.BatchingQueue;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+/**
+ * This is {@link QueuedCasEventRepository}, which sits in front of another {@link CasEventRepository}
+ * and saves events on a background worker, so that authentication requests do not wait for the events
+ * to be written. Events are put into a bounded {@link BatchingQueue} and handed over to {@link CasEventRepository#saveAll(Collection)}
+ * in batches, once a batch is full or once its first event has waited for the flush interval.
+ * When the queue is full, recording an event waits for room for no longer than the maximum wait,
+ * after which the event is discarded and counted. Events recorded once the queue is closed are saved directly.
+ * Queries are passed on to the underlying repository as they are, and do not see events that are still queued.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class QueuedCasEventRepository implements CasEventRepository, DisposableBean {
+
+    private final CasEventRepository delegate;
+
+    private final BatchingQueue<CasEvent> queue;
+
+    public QueuedCasEventRepository(final CasEventRepository delegate, final int capacity, final int batchSize,
+                                    final Duration flushInterval, final Duration maximumWait) {
+        this.delegate = delegate;
+        this.queue = new BatchingQueue<>(getClass().getSimpleName(), capacity, batchSize, flushInterval,
+            BatchingQueue.OverflowPolicy.BLOCK, maximumWait, 1, delegate::saveAll);
+    }
+
+    @Override
+    public void save(final CasEvent event) {
+        if (this.queue.offer(event)) {
+            return;
+        }
+        if (this.queue.isRunning()) {
+            LOGGER.warn("Event queue is full; event [{}] for [{}] is discarded", event.getType(), event.getPrincipalId());
+        } else {
+            LOGGER.debug("Event queue is closed; event [{}] for [{}] is saved directly", event.getType(), event.getPrincipalId());
+            this.delegate.save(event);
+        }
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
+    }
+
+    /**
+     * Stop accepting events, and save the events that are already queued.
+     */
+    @Override
+    public void destroy() {
+        this.queue.close();
+    }
+
+    @Override
+    public Collection<? extends CasEvent> load() {
+        return this.delegate.load();
+    }
+
+    @Override
+    public Collection<? extends CasEvent> load(final ZonedDateTime dateTime) {
+        return this.delegate.load(dateTime);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
+        return this.delegate.getEventsOfTypeForPrincipal(type, principal);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
+        return this.delegate.getEventsOfTypeForPrincipal(type, principal, dateTime);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfType(final String type) {
+        return this.delegate.getEventsOfType(type);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return this.delegate.getEventsOfType(type, dateTime);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsForPrincipal(final String id) {
+        return this.delegate.getEventsForPrincipal(id);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return this.delegate.getEventsForPrincipal(id, dateTime);
+    }
+}
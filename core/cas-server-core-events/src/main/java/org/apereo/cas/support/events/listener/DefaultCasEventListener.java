@@ -6,6 +6,7 @@ import org.apereo.cas.support.events.authentication.CasAuthenticationPolicyFailu
 import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionFailureEvent;
 import org.apereo.cas.support.events.authentication.adaptive.CasRiskyAuthenticationDetectedEvent;
 import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.QueuedCasEventRepository;
 import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
 import org.apereo.cas.util.AsciiArtUtils;
 import org.apereo.cas.util.DateTimeUtils;
@@ -18,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 
@@ -32,7 +34,7 @@ import org.springframework.context.event.EventListener;
 @Slf4j
 @RequiredArgsConstructor
 @Getter
-public class DefaultCasEventListener {
+public class DefaultCasEventListener implements DisposableBean {
 
     private final CasEventRepository casEventRepository;
 
@@ -54,6 +56,28 @@ public class DefaultCasEventListener {
         return dto;
     }
 
+    /**
+     * Prepare the event that records the creation of a ticket-granting ticket,
+     * from the request that is being processed.
+     *
+     * @param event the event
+     * @return the cas event
+     */
+    public static CasEvent prepareCasTicketGrantingTicketCreatedEvent(final CasTicketGrantingTicketCreatedEvent event) {
+        val dto = prepareCasEvent(event);
+        dto.setCreationTime(event.getTicketGrantingTicket().getCreationTime().toString());
+        dto.putEventId(TicketIdSanitizationUtils.sanitize(event.getTicketGrantingTicket().getId()));
+        dto.setPrincipalId(event.getTicketGrantingTicket().getAuthentication().getPrincipal().getId());
+        return dto;
+    }
+
+    @Override
+    public void destroy() {
+        if (this.casEventRepository instanceof QueuedCasEventRepository) {
+            ((QueuedCasEventRepository) this.casEventRepository).destroy();
+        }
+    }
+
     /**
      * Handle application ready event.
      *
@@ -73,11 +97,7 @@ public class DefaultCasEventListener {
     @EventListener
     public void handleCasTicketGrantingTicketCreatedEvent(final CasTicketGrantingTicketCreatedEvent event) {
         if (this.casEventRepository != null) {
-            val dto = prepareCasEvent(event);
-            dto.setCreationTime(event.getTicketGrantingTicket().getCreationTime().toString());
-            dto.putEventId(TicketIdSanitizationUtils.sanitize(event.getTicketGrantingTicket().getId()));
-            dto.setPrincipalId(event.getTicketGrantingTicket().getAuthentication().getPrincipal().getId());
-            this.casEventRepository.save(dto);
+            this.casEventRepository.save(prepareCasTicketGrantingTicketCreatedEvent(event));
         }
     }
 
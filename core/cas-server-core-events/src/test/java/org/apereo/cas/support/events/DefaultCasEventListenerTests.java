@@ -47,7 +47,7 @@ import static org.junit.Assert.*;
     DefaultCasEventListenerTests.TestEventConfiguration.class,
     CasCoreEventsConfiguration.class,
     RefreshAutoConfiguration.class
-})
+}, properties = "cas.events.queue.enabled=false")
 public class DefaultCasEventListenerTests {
     @ClassRule
     public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
@@ -0,0 +1,69 @@
+package org.apereo.cas.support.events.dao;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link QueuedCasEventRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class QueuedCasEventRepositoryTests {
+    private static final int BATCH_SIZE = 5;
+
+    private static CasEvent newCasEvent(final int id) {
+        val event = new CasEvent();
+        event.setType("TestEvent");
+        event.setPrincipalId("casuser");
+        event.putEventId(String.valueOf(id));
+        return event;
+    }
+
+    @Test
+    public void verifyEventsAreSavedInBatches() {
+        val batches = new CopyOnWriteArrayList<List<CasEvent>>();
+        val savedDirectly = new CopyOnWriteArrayList<CasEvent>();
+        val delegate = new AbstractCasEventRepository() {
+            @Override
+            public void save(final CasEvent event) {
+                savedDirectly.add(event);
+            }
+
+            @Override
+            public void saveAll(final Collection<CasEvent> events) {
+                batches.add(new ArrayList<>(events));
+            }
+
+            @Override
+            public Collection<CasEvent> load() {
+                val events = new ArrayList<CasEvent>();
+                batches.forEach(events::addAll);
+                return events;
+            }
+        };
+        val repository = new QueuedCasEventRepository(delegate, 100, BATCH_SIZE, Duration.ofMillis(50), Duration.ZERO);
+        for (var i = 0; i < BATCH_SIZE * 2 + 1; i++) {
+            repository.save(newCasEvent(i));
+        }
+        repository.destroy();
+
+        assertEquals(BATCH_SIZE * 2 + 1, repository.load().size());
+        assertEquals(BATCH_SIZE * 2 + 1, repository.getQueue().getFlushedCount().get());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= BATCH_SIZE));
+        assertEquals(0, repository.getQueue().getQueueDepth());
+        assertTrue(savedDirectly.isEmpty());
+
+        repository.save(newCasEvent(0));
+        assertEquals(1, savedDirectly.size());
+        assertEquals(0, repository.getQueue().getDroppedCount().get());
+    }
+}
@@ -2,35 +2,96 @@ package org.apereo.cas.logout;
 
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.logout.slo.SingleLogoutRequest;
+import org.apereo.cas.logout.slo.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.DisposableBean;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * This logout manager handles the Single Log Out process.
+ * Tickets of the ticket-granting ticket are grouped by service, so that handlers determine once
+ * for every distinct service whether they support it and how it is logged out.
+ * Logout callbacks of distinct services may optionally be handled concurrently by a bounded pool of threads,
+ * so that slow applications do not hold up the rest; callbacks that do not fit in the pool's queue
+ * are handled by the thread performing the logout.
+ * How long the callbacks of each service take, and how many of its logout requests succeed or fail,
+ * are published with the global meter registry, tagged with the scheme and authority of the service.
  *
  * @author Jerome Leleu
  * @since 4.0.0
  */
 @Slf4j
-@RequiredArgsConstructor
 @Getter
-public class DefaultLogoutManager implements LogoutManager {
+public class DefaultLogoutManager implements LogoutManager, DisposableBean {
+    /**
+     * Name of the timer measuring the single logout callbacks of a service.
+     */
+    public static final String METRIC_NAME_CALLBACKS = "cas.logout.callbacks";
+
+    /**
+     * Name of the counter of single logout requests of a service, by status.
+     */
+    public static final String METRIC_NAME_REQUESTS = "cas.logout.requests";
+
+    private static final String METRIC_TAG_SERVICE = "service";
+
+    private static final String METRIC_TAG_HANDLER = "handler";
+
+    private static final String METRIC_TAG_OUTCOME = "outcome";
+
+    private static final String METRIC_TAG_STATUS = "status";
+
+    private static final int MAXIMUM_QUEUED_CALLBACKS = 1000;
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     private final boolean singleLogoutCallbacksDisabled;
     private final LogoutExecutionPlan logoutExecutionPlan;
+    private final ExecutorService executorService;
+
+    public DefaultLogoutManager(final boolean singleLogoutCallbacksDisabled, final LogoutExecutionPlan logoutExecutionPlan) {
+        this(singleLogoutCallbacksDisabled, logoutExecutionPlan, 0);
+    }
+
+    public DefaultLogoutManager(final boolean singleLogoutCallbacksDisabled, final LogoutExecutionPlan logoutExecutionPlan,
+                                final int poolSize) {
+        this.singleLogoutCallbacksDisabled = singleLogoutCallbacksDisabled;
+        this.logoutExecutionPlan = logoutExecutionPlan;
+        this.executorService = poolSize > 0 ? newExecutorService(poolSize) : null;
+    }
+
+    private static ExecutorService newExecutorService(final int poolSize) {
+        val executor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(MAXIMUM_QUEUED_CALLBACKS), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 
     @Override
     public List<SingleLogoutRequest> performLogout(final TicketGrantingTicket ticket) {
@@ -45,9 +106,26 @@ public class DefaultLogoutManager implements LogoutManager {
             h.handle(ticket);
         });
         LOGGER.info("[{}] logout requests were processed", logoutRequests.size());
+        if (LOGGER.isDebugEnabled()) {
+            val statuses = logoutRequests.stream()
+                .filter(r -> r.getStatus() != null)
+                .collect(Collectors.groupingBy(SingleLogoutRequest::getStatus, Collectors.counting()));
+            LOGGER.debug("Logout requests for [{}] were processed with statuses [{}]", ticket.getId(), statuses);
+        }
         return logoutRequests;
     }
 
+    @Override
+    public void destroy() throws Exception {
+        if (this.executorService != null) {
+            this.executorService.shutdown();
+            if (!this.executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Single logout callbacks did not finish in time and are cancelled");
+                this.executorService.shutdownNow();
+            }
+        }
+    }
+
     private List<SingleLogoutRequest> performLogoutForTicket(final TicketGrantingTicket ticketToBeLoggedOut) {
         val streamServices = Stream.concat(Stream.of(ticketToBeLoggedOut.getServices()), Stream.of(ticketToBeLoggedOut.getProxyGrantingTickets()));
         val logoutServices = streamServices
@@ -58,20 +136,81 @@ public class DefaultLogoutManager implements LogoutManager {
             .map(entry -> Pair.of(entry.getKey(), (WebApplicationService) entry.getValue()))
             .collect(Collectors.toList());
 
+        val servicesByKey = new LinkedHashMap<String, Map<String, WebApplicationService>>();
+        logoutServices.forEach(entry -> servicesByKey
+            .computeIfAbsent(entry.getValue().getClass().getName() + '|' + entry.getValue().getId(), k -> new LinkedHashMap<>())
+            .put(entry.getKey(), entry.getValue()));
+
         val sloHandlers = logoutExecutionPlan.getSingleLogoutServiceMessageHandlers();
-        return logoutServices.stream()
-            .map(entry -> sloHandlers
-                .stream()
-                .filter(handler -> handler.supports(entry.getValue()))
-                .map(handler -> {
-                    val service = entry.getValue();
-                    LOGGER.debug("Handling single logout callback for [{}]", service.getId());
-                    return handler.handle(service, entry.getKey(), ticketToBeLoggedOut);
-                })
+        val tasks = servicesByKey.values()
+            .stream()
+            .map(services -> {
+                val service = services.values().iterator().next();
+                val handlers = sloHandlers.stream().filter(handler -> handler.supports(service)).collect(Collectors.toList());
+                return (Supplier<List<SingleLogoutRequest>>) () -> handleLogoutForService(handlers, service, services, ticketToBeLoggedOut);
+            })
+            .collect(Collectors.toList());
+
+        if (this.executorService == null || tasks.size() <= 1) {
+            return tasks.stream()
+                .map(Supplier::get)
                 .flatMap(Collection::stream)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        }
+        LOGGER.debug("Handling [{}] single logout callback(s) concurrently", tasks.size());
+        val futures = tasks.stream()
+            .map(task -> CompletableFuture.supplyAsync(task, this.executorService))
+            .collect(Collectors.toList());
+        return futures.stream()
+            .map(CompletableFuture::join)
             .flatMap(Collection::stream)
             .collect(Collectors.toList());
     }
+
+    private static List<SingleLogoutRequest> handleLogoutForService(final List<SingleLogoutServiceMessageHandler> handlers,
+                                                                    final WebApplicationService service,
+                                                                    final Map<String, WebApplicationService> services,
+                                                                    final TicketGrantingTicket ticketToBeLoggedOut) {
+        val serviceTag = getServiceTag(service);
+        return handlers
+            .stream()
+            .map(handler -> {
+                LOGGER.debug("Handling [{}] single logout callback(s) for [{}]", services.size(), service.getId());
+                val startTime = System.nanoTime();
+                var outcome = "failure";
+                try {
+                    val requests = handler.handle(services, ticketToBeLoggedOut);
+                    outcome = "success";
+                    requests.stream()
+                        .filter(request -> request != null && request.getStatus() != null)
+                        .forEach(request -> Metrics.counter(METRIC_NAME_REQUESTS, METRIC_TAG_SERVICE, serviceTag,
+                            METRIC_TAG_STATUS, request.getStatus().name()).increment());
+                    return requests;
+                } finally {
+                    val duration = System.nanoTime() - startTime;
+                    Metrics.timer(METRIC_NAME_CALLBACKS, METRIC_TAG_SERVICE, serviceTag, METRIC_TAG_HANDLER, handler.getName(),
+                        METRIC_TAG_OUTCOME, outcome).record(duration, TimeUnit.NANOSECONDS);
+                    LOGGER.debug("Single logout callback(s) for [{}] were handled by [{}] in [{}] ms", service.getId(),
+                        handler.getName(), TimeUnit.NANOSECONDS.toMillis(duration));
+                }
+            })
+            .flatMap(Collection::stream)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the scheme and authority of the service, so that metrics are not tagged with every distinct service url.
+     */
+    private static String getServiceTag(final WebApplicationService service) {
+        try {
+            val uri = new URI(service.getId());
+            if (uri.getScheme() != null && uri.getAuthority() != null) {
+                return uri.getScheme() + "://" + uri.getAuthority();
+            }
+        } catch (final URISyntaxException e) {
+            LOGGER.trace("Service [{}] is not a valid URI: [{}]", service.getId(), e.getMessage());
+        }
+        return StringUtils.substringBefore(service.getId(), "?");
+    }
 }
@@ -20,6 +20,9 @@ import lombok.val;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -43,11 +46,29 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
     @Override
     public Collection<SingleLogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
                                                   final TicketGrantingTicket ticketGrantingTicket) {
-        if (singleLogoutService.isLoggedOutAlready()) {
-            LOGGER.debug("Service [{}] is already logged out.", singleLogoutService);
+        return handle(Collections.singletonMap(ticketId, singleLogoutService), ticketGrantingTicket);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The registered service and its logout urls are determined once, for the first service that is not yet logged out.
+     */
+    @Override
+    public Collection<SingleLogoutRequest> handle(final Map<String, WebApplicationService> singleLogoutServices,
+                                                  final TicketGrantingTicket ticketGrantingTicket) {
+        val selectedServices = new LinkedHashMap<String, WebApplicationService>(singleLogoutServices.size());
+        singleLogoutServices.forEach((ticketId, singleLogoutService) -> {
+            if (singleLogoutService.isLoggedOutAlready()) {
+                LOGGER.debug("Service [{}] is already logged out.", singleLogoutService);
+            } else {
+                selectedServices.put(ticketId,
+                    (WebApplicationService) this.authenticationRequestServiceSelectionStrategies.resolveService(singleLogoutService));
+            }
+        });
+        if (selectedServices.isEmpty()) {
             return new ArrayList<>(0);
         }
-        val selectedService = (WebApplicationService) this.authenticationRequestServiceSelectionStrategies.resolveService(singleLogoutService);
+        val selectedService = selectedServices.values().iterator().next();
 
         LOGGER.trace("Processing logout request for service [{}]...", selectedService);
         val registeredService = this.servicesManager.findServiceBy(selectedService);
@@ -61,8 +82,14 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
             return new ArrayList<>(0);
         }
 
-        LOGGER.trace("Creating logout request for [{}] and ticket id [{}]", selectedService, ticketId);
-        return createLogoutRequests(ticketId, selectedService, registeredService, logoutUrls, ticketGrantingTicket);
+        return selectedServices.entrySet()
+            .stream()
+            .map(entry -> {
+                LOGGER.trace("Creating logout request for [{}] and ticket id [{}]", entry.getValue(), entry.getKey());
+                return createLogoutRequests(entry.getKey(), entry.getValue(), registeredService, logoutUrls, ticketGrantingTicket);
+            })
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -88,7 +88,8 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @Autowired
     @Bean
     public LogoutManager logoutManager(@Qualifier("logoutExecutionPlan") final LogoutExecutionPlan logoutExecutionPlan) {
-        return new DefaultLogoutManager(casProperties.getSlo().isDisabled(), logoutExecutionPlan);
+        val slo = casProperties.getSlo();
+        return new DefaultLogoutManager(slo.isDisabled(), logoutExecutionPlan, slo.getPoolSize());
     }
 
     @ConditionalOnMissingBean(name = "defaultSingleLogoutMessageCreator")
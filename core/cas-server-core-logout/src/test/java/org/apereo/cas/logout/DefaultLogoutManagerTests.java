@@ -3,6 +3,7 @@ package org.apereo.cas.logout;
 import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionStrategy;
 import org.apereo.cas.authentication.principal.AbstractWebApplicationService;
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceMessageHandler;
@@ -18,6 +19,7 @@ import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.util.http.HttpMessage;
 import org.apereo.cas.web.SimpleUrlValidatorFactoryBean;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.junit.Before;
@@ -38,6 +40,7 @@ import static org.mockito.Mockito.*;
 public class DefaultLogoutManagerTests {
     private static final String ID = "id";
     private static final String URL = "http://www.github.com";
+    private static final int SERVICE_COUNT = 5;
 
     private LogoutManager logoutManager;
 
@@ -182,4 +185,43 @@ public class DefaultLogoutManagerTests {
         val logoutRequests = this.logoutManager.performLogout(tgt);
         assertEquals(1, logoutRequests.size());
     }
+
+    @Test
+    public void verifyLogoutMetricsArePublishedByService() {
+        this.registeredService.setLogoutType(RegisteredServiceLogoutType.BACK_CHANNEL);
+        tgt.getServices().put(ID + "-query", getService(URL + "?query=value"));
+        when(servicesManager.findServiceBy(any(Service.class))).thenReturn(this.registeredService);
+        val logoutRequests = this.logoutManager.performLogout(tgt);
+        assertEquals(2, logoutRequests.size());
+
+        val timer = Metrics.globalRegistry.find(DefaultLogoutManager.METRIC_NAME_CALLBACKS)
+            .tag("service", URL).tag("outcome", "success").timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 2);
+        val counter = Metrics.globalRegistry.find(DefaultLogoutManager.METRIC_NAME_REQUESTS)
+            .tag("service", URL).tag("status", LogoutRequestStatus.SUCCESS.name()).counter();
+        assertNotNull(counter);
+        assertTrue(counter.count() >= 2);
+    }
+
+    @Test
+    public void verifyConcurrentLogoutResolvesServicesOnce() throws Exception {
+        this.registeredService.setLogoutType(RegisteredServiceLogoutType.BACK_CHANNEL);
+        for (var i = 0; i < SERVICE_COUNT; i++) {
+            tgt.getServices().put(ID + i, getService(URL));
+        }
+        when(servicesManager.findServiceBy(any(Service.class))).thenReturn(this.registeredService);
+        val plan = new DefaultLogoutExecutionPlan();
+        plan.registerSingleLogoutServiceMessageHandler(singleLogoutServiceMessageHandler);
+        val manager = new DefaultLogoutManager(false, plan, 2);
+        try {
+            val logoutRequests = manager.performLogout(tgt);
+            assertEquals(SERVICE_COUNT + 1, logoutRequests.size());
+            assertTrue(logoutRequests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.SUCCESS));
+            verify(servicesManager, times(2)).findServiceBy(any(Service.class));
+        } finally {
+            manager.destroy();
+        }
+        assertTrue(manager.getExecutorService().isShutdown());
+    }
 }
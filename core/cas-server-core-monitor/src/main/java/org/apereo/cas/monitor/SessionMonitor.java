@@ -39,7 +39,7 @@ public class SessionMonitor extends AbstractHealthIndicator {
         val sessionCount = this.registryState.sessionCount();
         val ticketCount = this.registryState.serviceTicketCount();
 
-        if (sessionCount == Integer.MIN_VALUE || ticketCount == Integer.MIN_VALUE) {
+        if (sessionCount < 0 || ticketCount < 0) {
             val msg = String.format("Ticket registry %s reports unknown session and/or ticket counts.", this.registryState.getClass().getName());
             buildHealthCheckStatus(builder.unknown(), sessionCount, ticketCount, msg);
             return;
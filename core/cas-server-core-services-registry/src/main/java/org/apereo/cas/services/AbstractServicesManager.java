@@ -20,6 +20,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,6 +31,8 @@ import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractServicesManager}.
+ * Services are loaded in full on startup. Subsequent loads ask the service registry for the services that
+ * have changed since, and only fall back to loading every service again if the registry does not track its changes.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -43,7 +46,11 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
 
     private final transient ApplicationEventPublisher eventPublisher;
 
-    private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+    private final Map<RegisteredServiceIndex<?>, Map<String, RegisteredService>> indexes = new ConcurrentHashMap<>();
+
+    private volatile Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
 
     public AbstractServicesManager(final ServiceRegistry serviceRegistry,
                                    final ApplicationEventPublisher eventPublisher) {
@@ -121,6 +128,20 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         return this.services.get(id);
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndex<T> index, final String key) {
+        if (StringUtils.isBlank(key)) {
+            return null;
+        }
+        val service = this.indexes.computeIfAbsent(index, this::buildIndex).get(key);
+        return service != null ? index.getType().cast(service) : null;
+    }
+
+    @Override
+    public boolean isIndexingSupported() {
+        return true;
+    }
+
     @Override
     public int count() {
         return services.size();
@@ -154,6 +175,7 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
             this.serviceRegistry.delete(service);
             this.services.remove(service.getId());
+            rebuildIndexes();
             deleteInternal(service);
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
@@ -176,6 +198,7 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
         val r = this.serviceRegistry.save(registeredService);
         this.services.put(r.getId(), r);
+        rebuildIndexes();
         saveInternal(registeredService);
 
         if (publishEvent) {
@@ -196,6 +219,10 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         fixedDelayString = "${cas.serviceRegistry.schedule.repeatInterval:60000}")
     @Override
     public Collection<RegisteredService> load() {
+        val changes = this.loaded ? this.serviceRegistry.loadChanges() : null;
+        if (changes != null) {
+            return applyChanges(changes);
+        }
         LOGGER.trace("Loading services from [{}]", this.serviceRegistry);
         this.services = this.serviceRegistry.load()
             .stream()
@@ -203,9 +230,11 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
                 LOGGER.debug("Adding registered service [{}]", r.getServiceId());
                 return r.getId();
             }, Function.identity(), (r, s) -> s == null ? r : s));
+        rebuildIndexes();
         loadInternal();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
+        this.loaded = true;
         LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistry.getName());
         return services.values();
     }
@@ -214,9 +243,50 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
     public synchronized void deleteAll() {
         this.services.forEach((k, v) -> delete(v));
         this.services.clear();
+        rebuildIndexes();
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
+    private synchronized Collection<RegisteredService> applyChanges(final ServiceRegistryChanges changes) {
+        if (changes.isEmpty()) {
+            LOGGER.trace("No services have changed in [{}]", this.serviceRegistry.getName());
+        } else {
+            val services = new ConcurrentHashMap<Long, RegisteredService>(this.services);
+            changes.getRemovedServices().forEach(id -> {
+                LOGGER.debug("Removing registered service [{}]", id);
+                services.remove(id);
+            });
+            changes.getSavedServices().forEach(r -> {
+                LOGGER.debug("Updating registered service [{}]", r.getServiceId());
+                services.put(r.getId(), r);
+            });
+            this.services = services;
+            rebuildIndexes();
+            loadInternal();
+            publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+            LOGGER.info("Updated [{}] and removed [{}] service(s) from [{}].", changes.getSavedServices().size(),
+                changes.getRemovedServices().size(), this.serviceRegistry.getName());
+        }
+        evaluateExpiredServiceDefinitions();
+        return this.services.values();
+    }
+
+    private Map<String, RegisteredService> buildIndex(final RegisteredServiceIndex<?> index) {
+        val entries = new HashMap<String, RegisteredService>();
+        for (val service : getAllServices()) {
+            val key = index.getKey(service);
+            if (key != null) {
+                entries.putIfAbsent(key, service);
+            }
+        }
+        LOGGER.trace("Indexed [{}] service(s) in [{}]", entries.size(), index);
+        return entries;
+    }
+
+    private void rebuildIndexes() {
+        this.indexes.replaceAll((index, entries) -> buildIndex(index));
+    }
+
     private void evaluateExpiredServiceDefinitions() {
         this.services.values()
             .stream()
@@ -44,6 +44,31 @@ public class ChainingServiceRegistry extends AbstractServiceRegistry {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Collect changes from all registries in the chain.
+     * If any registry does not track its changes, all services need to be loaded again.
+     *
+     * @return the changes, or null
+     */
+    @Override
+    public ServiceRegistryChanges loadChanges() {
+        val changes = serviceRegistries.stream()
+            .map(ServiceRegistry::loadChanges)
+            .collect(Collectors.toList());
+        if (changes.contains(null)) {
+            return null;
+        }
+        val savedServices = changes.stream()
+            .map(ServiceRegistryChanges::getSavedServices)
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+        val removedServices = changes.stream()
+            .map(ServiceRegistryChanges::getRemovedServices)
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+        return new ServiceRegistryChanges(savedServices, removedServices);
+    }
+
     @Override
     public RegisteredService findServiceById(final long id) {
         return serviceRegistries.stream()
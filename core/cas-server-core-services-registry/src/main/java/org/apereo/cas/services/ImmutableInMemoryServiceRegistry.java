@@ -20,4 +20,9 @@ public class ImmutableInMemoryServiceRegistry extends InMemoryServiceRegistry im
     public RegisteredService save(final RegisteredService registeredService) {
         return registeredService;
     }
+
+    @Override
+    public ServiceRegistryChanges loadChanges() {
+        return new ServiceRegistryChanges();
+    }
 }
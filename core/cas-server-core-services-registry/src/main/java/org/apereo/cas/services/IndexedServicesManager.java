@@ -0,0 +1,68 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.index.RegisteredServiceMatchingIndex;
+import org.apereo.cas.services.index.RegisteredServiceMatchingIndexStatistics;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+
+/**
+ * Implementation of the {@link ServicesManager} interface that narrows down candidate
+ * services via a {@link RegisteredServiceMatchingIndex} before evaluating their patterns,
+ * rather than scanning every service definition for each lookup.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class IndexedServicesManager extends AbstractServicesManager {
+    private static final long serialVersionUID = 3421549876212345089L;
+
+    private final transient RegisteredServiceMatchingIndex matchingIndex;
+
+    private final RegisteredServiceMatchingIndexStatistics statistics = new RegisteredServiceMatchingIndexStatistics();
+
+    public IndexedServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher,
+                                  final RegisteredServiceMatchingIndex matchingIndex) {
+        super(serviceRegistry, eventPublisher);
+        this.matchingIndex = matchingIndex;
+    }
+
+    @Override
+    public RegisteredService findServiceBy(final String serviceId) {
+        val service = super.findServiceBy(serviceId);
+        if (StringUtils.isNotBlank(serviceId)) {
+            statistics.recordMatch(service != null);
+        }
+        return service;
+    }
+
+    @Override
+    protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        val candidates = this.matchingIndex.getCandidates(serviceId);
+        LOGGER.trace("Located [{}] candidate service(s) out of [{}] to match [{}]", candidates.size(), matchingIndex.size(), serviceId);
+        statistics.recordCandidates(candidates.size());
+        return candidates;
+    }
+
+    @Override
+    protected void deleteInternal(final RegisteredService service) {
+        this.matchingIndex.rebuild(getAllServices());
+    }
+
+    @Override
+    protected void saveInternal(final RegisteredService service) {
+        this.matchingIndex.rebuild(getAllServices());
+    }
+
+    @Override
+    protected void loadInternal() {
+        this.matchingIndex.rebuild(getAllServices());
+    }
+}
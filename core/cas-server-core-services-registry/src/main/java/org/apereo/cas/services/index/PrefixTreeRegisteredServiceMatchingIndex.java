@@ -0,0 +1,137 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link PrefixTreeRegisteredServiceMatchingIndex}.
+ * Extracts the literal prefix (i.e. scheme, host and path) from each regular expression
+ * and organizes service definitions into a prefix tree. Looking up a service identifier
+ * walks the tree one character at a time and collects every definition whose literal prefix
+ * is a prefix of the identifier. Definitions whose patterns are entirely dynamic, or that are not
+ * regular-expression based, are kept at the root and are always considered as candidates.
+ * Regular expression matching is case-insensitive, so prefixes are indexed in lower case.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class PrefixTreeRegisteredServiceMatchingIndex implements RegisteredServiceMatchingIndex {
+    private static final String REGEX_QUANTIFIERS = "?*{";
+
+    private static final String REGEX_METACHARACTERS = ".[]()+$^|";
+
+    private volatile Node root = new Node();
+
+    private volatile int size;
+
+    /**
+     * Extract the literal prefix of the regular expression, lower-cased.
+     * Only characters that must be present at the start of every matching string
+     * are collected; extraction stops at the first construct that is not a plain literal.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, or an empty string if the pattern has none.
+     */
+    public static String extractLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || pattern.indexOf('|') >= 0) {
+            return StringUtils.EMPTY;
+        }
+        val prefix = new StringBuilder(pattern.length());
+        var i = pattern.charAt(0) == '^' ? 1 : 0;
+        while (i < pattern.length()) {
+            var c = pattern.charAt(i);
+            var next = i + 1;
+            if (c == '\\') {
+                if (next >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(next))) {
+                    break;
+                }
+                c = pattern.charAt(next);
+                next++;
+            } else if (REGEX_METACHARACTERS.indexOf(c) >= 0 || REGEX_QUANTIFIERS.indexOf(c) >= 0) {
+                break;
+            }
+            if (c > Byte.MAX_VALUE) {
+                break;
+            }
+            if (next < pattern.length() && REGEX_QUANTIFIERS.indexOf(pattern.charAt(next)) >= 0) {
+                break;
+            }
+            prefix.append(toLowerCase(c));
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static char toLowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    @Override
+    public void rebuild(final Collection<RegisteredService> services) {
+        val newRoot = new Node();
+        services.forEach(service -> {
+            val prefix = service instanceof RegexRegisteredService
+                ? extractLiteralPrefix(service.getServiceId())
+                : StringUtils.EMPTY;
+            LOGGER.trace("Indexing registered service [{}] under literal prefix [{}]", service.getServiceId(), prefix);
+            var node = newRoot;
+            for (var i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), k -> new Node());
+            }
+            node.services.add(service);
+        });
+        newRoot.sort();
+        this.root = newRoot;
+        this.size = services.size();
+        LOGGER.debug("Indexed [{}] registered service(s) by their literal prefix", this.size);
+    }
+
+    @Override
+    public Collection<RegisteredService> getCandidates(final String serviceId) {
+        val candidates = new ArrayList<RegisteredService>();
+        var node = this.root;
+        candidates.addAll(node.services);
+        if (StringUtils.isNotBlank(serviceId)) {
+            for (var i = 0; i < serviceId.length() && !node.children.isEmpty(); i++) {
+                node = node.children.get(toLowerCase(serviceId.charAt(i)));
+                if (node == null) {
+                    break;
+                }
+                candidates.addAll(node.services);
+            }
+        }
+        candidates.sort(Comparator.naturalOrder());
+        return candidates;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * A node in the prefix tree; immutable once the tree is published.
+     */
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final List<RegisteredService> services = new ArrayList<>(0);
+
+        void sort() {
+            this.services.sort(Comparator.naturalOrder());
+            this.children.values().forEach(Node::sort);
+        }
+    }
+}
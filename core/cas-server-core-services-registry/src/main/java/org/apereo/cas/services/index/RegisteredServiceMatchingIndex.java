@@ -0,0 +1,41 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegisteredService;
+
+import java.util.Collection;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex}. Narrows down the set of registered services
+ * that need to be evaluated against a given service identifier, so that matching does not have to
+ * walk every single service definition.
+ * Implementations must never exclude a service definition that could match the identifier,
+ * and must return candidates sorted by their natural (evaluation) order.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface RegisteredServiceMatchingIndex {
+
+    /**
+     * Rebuild the index from the given collection of service definitions,
+     * replacing whatever was previously indexed.
+     *
+     * @param services the services
+     */
+    void rebuild(Collection<RegisteredService> services);
+
+    /**
+     * Gets candidate services that may match the service id, sorted by evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidates
+     */
+    Collection<RegisteredService> getCandidates(String serviceId);
+
+    /**
+     * Number of service definitions that are indexed.
+     *
+     * @return the count
+     */
+    int size();
+}
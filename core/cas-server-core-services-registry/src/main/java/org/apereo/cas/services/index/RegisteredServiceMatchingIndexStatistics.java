@@ -0,0 +1,86 @@
+package org.apereo.cas.services.index;
+
+import lombok.ToString;
+import lombok.val;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndexStatistics} that keeps track of
+ * how service lookups perform when backed by a {@link RegisteredServiceMatchingIndex}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@ToString
+public class RegisteredServiceMatchingIndexStatistics implements Serializable {
+    private static final long serialVersionUID = 2245823471634069618L;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder candidates = new LongAdder();
+
+    private final LongAdder lookups = new LongAdder();
+
+    /**
+     * Record the number of candidates that were produced for a lookup.
+     *
+     * @param count the count
+     */
+    public void recordCandidates(final int count) {
+        this.lookups.increment();
+        this.candidates.add(count);
+    }
+
+    /**
+     * Record whether the lookup produced a matching service.
+     *
+     * @param matched the matched
+     */
+    public void recordMatch(final boolean matched) {
+        if (matched) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getLookups() {
+        return this.lookups.sum();
+    }
+
+    public long getCandidates() {
+        return this.candidates.sum();
+    }
+
+    /**
+     * Gets average number of candidates evaluated per lookup.
+     *
+     * @return the average candidate count
+     */
+    public double getAverageCandidateCount() {
+        val count = getLookups();
+        return count == 0 ? 0 : (double) getCandidates() / count;
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public void reset() {
+        this.hits.reset();
+        this.misses.reset();
+        this.candidates.reset();
+        this.lookups.reset();
+    }
+}
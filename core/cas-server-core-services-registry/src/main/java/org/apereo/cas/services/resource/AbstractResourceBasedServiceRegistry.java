@@ -3,6 +3,7 @@ package org.apereo.cas.services.resource;
 import org.apereo.cas.services.AbstractServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ResourceBasedServiceRegistry;
+import org.apereo.cas.services.ServiceRegistryChanges;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
@@ -14,6 +15,8 @@ import org.apereo.cas.util.ResourceUtils;
 import org.apereo.cas.util.io.PathWatcherService;
 import org.apereo.cas.util.serialization.StringSerializer;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +36,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -44,6 +49,9 @@ import java.util.stream.Collectors;
 
 /**
  * This is {@link AbstractResourceBasedServiceRegistry}.
+ * Service definition files are parsed in parallel. The registry remembers the modification time
+ * and size of every file it has loaded, so that {@link #loadChanges()} only parses files that were
+ * added or changed since, and reports services of removed files as removed.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -69,6 +77,11 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     private Map<Long, RegisteredService> serviceMap = new ConcurrentHashMap<>();
 
+    /**
+     * Map of service definition file to its state as of the last load.
+     */
+    private Map<File, ServiceDefinitionResource> resources = new ConcurrentHashMap<>();
+
     /**
      * The Registered service json serializers.
      */
@@ -243,14 +256,15 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
     @Override
     public synchronized Collection<RegisteredService> load() {
         val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
-        this.serviceMap = files
+        val loaded = loadResources(files);
+        this.serviceMap = loaded.values()
             .stream()
-            .map(this::load)
-            .filter(Objects::nonNull)
+            .map(ServiceDefinitionResource::getServices)
             .flatMap(Collection::stream)
             .sorted()
             .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
                 LOG_DUPLICATE_AND_RETURN_FIRST_ONE, LinkedHashMap::new));
+        this.resources = new ConcurrentHashMap<>(loaded);
         val services = new ArrayList<RegisteredService>(this.serviceMap.values());
         val results =
             this.registeredServiceReplicationStrategy.updateLoadedRegisteredServicesFromCache(services, this);
@@ -258,6 +272,62 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         return results;
     }
 
+    @Override
+    public synchronized ServiceRegistryChanges loadChanges() {
+        if (!(this.registeredServiceReplicationStrategy instanceof NoOpRegisteredServiceReplicationStrategy)) {
+            LOGGER.trace("Changes cannot be tracked while service definitions are replicated; all services will be loaded");
+            return null;
+        }
+        val files = new HashSet<File>(FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true));
+        val previous = this.resources;
+        val changedFiles = files.stream()
+            .filter(file -> !previous.containsKey(file) || previous.get(file).isModified(file))
+            .collect(Collectors.toList());
+        val removedFiles = previous.keySet().stream().filter(file -> !files.contains(file)).collect(Collectors.toList());
+        if (changedFiles.isEmpty() && removedFiles.isEmpty()) {
+            LOGGER.trace("No service definition files have changed in [{}]", this.serviceRegistryDirectory);
+            return new ServiceRegistryChanges();
+        }
+        LOGGER.debug("Found [{}] changed and [{}] removed service definition file(s) in [{}]",
+            changedFiles.size(), removedFiles.size(), this.serviceRegistryDirectory);
+
+        val removedIds = new HashSet<Long>();
+        changedFiles.stream().filter(previous::containsKey).forEach(file -> removedIds.addAll(previous.get(file).getServiceIds()));
+        removedFiles.forEach(file -> removedIds.addAll(previous.get(file).getServiceIds()));
+
+        val current = new HashMap<File, ServiceDefinitionResource>(previous);
+        removedFiles.forEach(current::remove);
+        val loaded = loadResources(changedFiles);
+        current.putAll(loaded);
+
+        val savedServices = loaded.values()
+            .stream()
+            .map(ServiceDefinitionResource::getServices)
+            .flatMap(Collection::stream)
+            .sorted()
+            .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
+                LOG_DUPLICATE_AND_RETURN_FIRST_ONE, LinkedHashMap::new));
+        removedIds.removeAll(savedServices.keySet());
+        if (!removedIds.isEmpty()) {
+            current.values()
+                .stream()
+                .map(ServiceDefinitionResource::getServices)
+                .flatMap(Collection::stream)
+                .filter(service -> removedIds.contains(service.getId()))
+                .forEach(service -> savedServices.putIfAbsent(service.getId(), service));
+            removedIds.removeAll(savedServices.keySet());
+        }
+
+        val serviceMap = new LinkedHashMap<Long, RegisteredService>(this.serviceMap);
+        removedIds.forEach(serviceMap::remove);
+        serviceMap.putAll(savedServices);
+        this.serviceMap = serviceMap;
+        this.resources = new ConcurrentHashMap<>(current);
+
+        savedServices.values().forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service)));
+        return new ServiceRegistryChanges(new ArrayList<>(savedServices.values()), removedIds);
+    }
+
     /**
      * Load registered service from file.
      *
@@ -376,10 +446,41 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     }
 
+    private Map<File, ServiceDefinitionResource> loadResources(final Collection<File> files) {
+        return files
+            .parallelStream()
+            .collect(Collectors.toMap(Function.identity(), file -> {
+                val lastModified = file.lastModified();
+                val length = file.length();
+                return new ServiceDefinitionResource(lastModified, length, load(file));
+            }));
+    }
+
     /**
      * Gets extension associated with files in the given resource directory.
      *
      * @return the extension
      */
     protected abstract String[] getExtensions();
+
+    /**
+     * The services defined in a file, and the state of the file when they were loaded.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class ServiceDefinitionResource {
+        private final long lastModified;
+
+        private final long length;
+
+        private final Collection<RegisteredService> services;
+
+        Collection<Long> getServiceIds() {
+            return this.services.stream().map(RegisteredService::getId).collect(Collectors.toList());
+        }
+
+        boolean isModified(final File file) {
+            return file.lastModified() != this.lastModified || file.length() != this.length;
+        }
+    }
 }
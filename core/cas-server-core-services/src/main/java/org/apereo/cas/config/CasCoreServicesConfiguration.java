@@ -16,6 +16,7 @@ import org.apereo.cas.services.DefaultServiceRegistryExecutionPlan;
 import org.apereo.cas.services.DefaultServicesManager;
 import org.apereo.cas.services.DomainServicesManager;
 import org.apereo.cas.services.ImmutableServiceRegistry;
+import org.apereo.cas.services.IndexedServicesManager;
 import org.apereo.cas.services.InMemoryServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyAuditableEnforcer;
@@ -24,6 +25,7 @@ import org.apereo.cas.services.RegisteredServicesEventListener;
 import org.apereo.cas.services.ServiceRegistry;
 import org.apereo.cas.services.ServiceRegistryExecutionPlanConfigurer;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.index.PrefixTreeRegisteredServiceMatchingIndex;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.resource.DefaultRegisteredServiceResourceNamingStrategy;
@@ -129,6 +131,9 @@ public class CasCoreServicesConfiguration {
             case DOMAIN:
                 LOGGER.debug("Managing CAS service definitions via domains");
                 return new DomainServicesManager(serviceRegistry(), eventPublisher);
+            case INDEXED:
+                LOGGER.debug("Managing CAS service definitions via an index of service id prefixes");
+                return new IndexedServicesManager(serviceRegistry(), eventPublisher, new PrefixTreeRegisteredServiceMatchingIndex());
             case DEFAULT:
             default:
                 break;
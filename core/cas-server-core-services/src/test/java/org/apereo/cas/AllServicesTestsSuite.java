@@ -16,6 +16,7 @@ import org.apereo.cas.services.DomainServicesManagerTests;
 import org.apereo.cas.services.GroovyRegisteredServiceAccessStrategyTests;
 import org.apereo.cas.services.GroovyRegisteredServiceMultifactorPolicyTests;
 import org.apereo.cas.services.GroovyRegisteredServiceUsernameProviderTests;
+import org.apereo.cas.services.IndexedServicesManagerTests;
 import org.apereo.cas.services.InMemoryServiceRegistryTests;
 import org.apereo.cas.services.PrincipalAttributeRegisteredServiceUsernameProviderTests;
 import org.apereo.cas.services.RefuseRegisteredServiceProxyPolicyTests;
@@ -30,6 +31,7 @@ import org.apereo.cas.services.TimeBasedRegisteredServiceAccessStrategyTests;
 import org.apereo.cas.services.UnauthorizedProxyingExceptionTests;
 import org.apereo.cas.services.UnauthorizedServiceExceptionTests;
 import org.apereo.cas.services.UnauthorizedSsoServiceExceptionTests;
+import org.apereo.cas.services.index.PrefixTreeRegisteredServiceMatchingIndexTests;
 import org.apereo.cas.services.support.RegisteredServiceMappedRegexAttributeFilterTests;
 import org.apereo.cas.services.support.RegisteredServiceMutantRegexAttributeFilterTests;
 import org.apereo.cas.services.support.RegisteredServiceRegexAttributeFilterTests;
@@ -56,6 +58,8 @@ import org.junit.runners.Suite;
     DefaultRegisteredServiceMultifactorPolicyTests.class,
     DefaultServicesManagerTests.class,
     DomainServicesManagerTests.class,
+    IndexedServicesManagerTests.class,
+    PrefixTreeRegisteredServiceMatchingIndexTests.class,
     InMemoryServiceRegistryTests.class,
     PrincipalAttributeRegisteredServiceUsernameProviderTests.class,
     RegexRegisteredServiceTests.class,
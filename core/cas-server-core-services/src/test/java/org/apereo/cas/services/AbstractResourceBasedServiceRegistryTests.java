@@ -15,6 +15,8 @@ import org.springframework.core.io.ClassPathResource;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * This is {@link AbstractResourceBasedServiceRegistryTests}.
  *
@@ -52,6 +54,25 @@ public abstract class AbstractResourceBasedServiceRegistryTests extends Abstract
         this.dao.save(r);
     }
 
+    @Test
+    public void verifyLoadChanges() {
+        this.dao.load();
+        assertTrue(this.dao.loadChanges().isEmpty());
+
+        val r = buildRegisteredServiceInstance(RandomUtils.nextInt());
+        this.dao.save(r);
+        val saved = this.dao.loadChanges();
+        assertEquals(1, saved.getSavedServices().size());
+        assertEquals(r.getId(), saved.getSavedServices().iterator().next().getId());
+        assertTrue(saved.getRemovedServices().isEmpty());
+        assertTrue(this.dao.loadChanges().isEmpty());
+
+        this.dao.delete(r);
+        val removed = this.dao.loadChanges();
+        assertTrue(removed.getSavedServices().isEmpty());
+        assertTrue(removed.getRemovedServices().contains(r.getId()));
+    }
+
     @Override
     public ServiceRegistry getNewServiceRegistry() {
         return this.dao;
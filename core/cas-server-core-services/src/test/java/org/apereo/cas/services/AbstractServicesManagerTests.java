@@ -59,4 +59,22 @@ public abstract class AbstractServicesManagerTests {
         this.servicesManager.save(r);
         assertNotNull(this.servicesManager.findServiceBy(1000));
     }
+
+    @Test
+    public void verifyFindByIndex() {
+        val index = new RegisteredServiceIndex<>("name", RegexRegisteredService.class, RegexRegisteredService::getName);
+        assertNull(this.servicesManager.findServiceBy(index, TEST));
+        assertNull(this.servicesManager.findServiceBy(index, null));
+
+        val r = new RegexRegisteredService();
+        r.setId(3000);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+        this.servicesManager.save(r);
+        assertEquals(3000, this.servicesManager.findServiceBy(index, TEST).getId());
+        assertNotNull(this.servicesManager.findServiceBy(index, "serviceName"));
+
+        this.servicesManager.delete(r);
+        assertNull(this.servicesManager.findServiceBy(index, TEST));
+    }
 }
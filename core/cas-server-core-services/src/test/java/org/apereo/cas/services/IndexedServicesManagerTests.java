@@ -0,0 +1,63 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.index.PrefixTreeRegisteredServiceMatchingIndex;
+
+import lombok.NoArgsConstructor;
+import lombok.val;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link IndexedServicesManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@NoArgsConstructor
+public class IndexedServicesManagerTests extends AbstractServicesManagerTests {
+
+    @Override
+    protected ServicesManager getServicesManagerInstance() {
+        return new IndexedServicesManager(serviceRegistry, mock(ApplicationEventPublisher.class), new PrefixTreeRegisteredServiceMatchingIndex());
+    }
+
+    @Test
+    public void verifyServicesAreMatchedInEvaluationOrder() {
+        val wildcard = new RegexRegisteredService();
+        wildcard.setId(2000);
+        wildcard.setName("wildcard");
+        wildcard.setServiceId("^https://.*");
+        wildcard.setEvaluationOrder(10);
+        this.servicesManager.save(wildcard);
+
+        val app = new RegexRegisteredService();
+        app.setId(2001);
+        app.setName("app");
+        app.setServiceId("^https://app\\.example\\.org/.*");
+        app.setEvaluationOrder(1);
+        this.servicesManager.save(app);
+
+        val dynamic = new RegexRegisteredService();
+        dynamic.setId(2002);
+        dynamic.setName("dynamic");
+        dynamic.setServiceId("^(https|imaps)://mail\\.example\\.org.*");
+        dynamic.setEvaluationOrder(5);
+        this.servicesManager.save(dynamic);
+
+        assertEquals(app, this.servicesManager.findServiceBy("https://APP.example.org/home"));
+        assertEquals(dynamic, this.servicesManager.findServiceBy("imaps://mail.example.org"));
+        assertEquals(wildcard, this.servicesManager.findServiceBy("https://other.example.org"));
+        assertNull(this.servicesManager.findServiceBy("http://other.example.org"));
+
+        this.servicesManager.delete(app);
+        assertEquals(wildcard, this.servicesManager.findServiceBy("https://app.example.org/home"));
+
+        val stats = ((IndexedServicesManager) this.servicesManager).getStatistics();
+        assertEquals(5, stats.getLookups());
+        assertEquals(4, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+}
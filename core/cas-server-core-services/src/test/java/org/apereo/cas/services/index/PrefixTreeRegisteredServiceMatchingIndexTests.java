@@ -0,0 +1,71 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link PrefixTreeRegisteredServiceMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class PrefixTreeRegisteredServiceMatchingIndexTests {
+
+    private static RegisteredService newService(final long id, final String serviceId, final int order) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("service-" + id);
+        service.setServiceId(serviceId);
+        service.setEvaluationOrder(order);
+        return service;
+    }
+
+    @Test
+    public void verifyLiteralPrefixes() {
+        assertEquals("https://app.example.org/", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("^https://app\\.example\\.org/.*"));
+        assertEquals("http", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("^https?://.*"));
+        assertEquals("https://app", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("https://APP.example.org"));
+        assertEquals("https://", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("^https://\\w+"));
+        assertEquals("ab", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("abc*"));
+        assertEquals("abc", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("abc+"));
+        assertEquals("", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("^(https|imaps)://.*"));
+        assertEquals("", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix("^https://a.org|^https://b.org"));
+        assertEquals("", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix(".*"));
+        assertEquals("", PrefixTreeRegisteredServiceMatchingIndex.extractLiteralPrefix(null));
+    }
+
+    @Test
+    public void verifyCandidatesAreNarrowedAndOrdered() {
+        val services = new ArrayList<RegisteredService>();
+        val everything = newService(1, ".*", 100);
+        val app1 = newService(2, "^https://app1\\.example\\.org/.*", 2);
+        val app2 = newService(3, "^https://app2\\.example\\.org/.*", 1);
+        val secure = newService(4, "^https://.*", 50);
+        services.add(everything);
+        services.add(app1);
+        services.add(app2);
+        services.add(secure);
+
+        val index = new PrefixTreeRegisteredServiceMatchingIndex();
+        index.rebuild(services);
+        assertEquals(4, index.size());
+
+        val candidates = (List<RegisteredService>) index.getCandidates("https://APP1.example.org/cas");
+        assertEquals(3, candidates.size());
+        assertEquals(app1, candidates.get(0));
+        assertEquals(secure, candidates.get(1));
+        assertEquals(everything, candidates.get(2));
+
+        val others = index.getCandidates("http://app2.example.org");
+        assertEquals(1, others.size());
+        assertTrue(others.contains(everything));
+    }
+}
@@ -95,6 +95,15 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * The time at which this ticket is expected to expire,
+     * as calculated by the ticket registry when the ticket was last stored.
+     */
+    @Column(name = "EXPIRATION_TIME", length = Integer.MAX_VALUE)
+    @JsonIgnore
+    @Getter
+    private ZonedDateTime expirationTime;
+
 
     public AbstractTicket(final String id, final ExpirationPolicy expirationPolicy) {
         this.id = id;
@@ -67,7 +67,7 @@ public class ProxyGrantingTicketImpl extends TicketGrantingTicketImpl implements
     @Override
     public ProxyTicket grantProxyTicket(final String id, final Service service, final ExpirationPolicy expirationPolicy, final boolean onlyTrackMostRecentSession) {
         val serviceTicket = new ProxyTicketImpl(id, this, service, false, expirationPolicy);
-        trackServiceSession(serviceTicket.getId(), service, onlyTrackMostRecentSession);
+        trackServiceSession(serviceTicket, service, onlyTrackMostRecentSession);
         return serviceTicket;
     }
 
@@ -0,0 +1,19 @@
+package org.apereo.cas.ticket;
+
+/**
+ * This is {@link TicketGrantingTicketAwareTicket}, which is implemented by tickets that are
+ * issued under a parent ticket-granting ticket, and whose parent may be replaced;
+ * for example, by a reference to it when tickets are stored normalized.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface TicketGrantingTicketAwareTicket extends Ticket {
+
+    /**
+     * Sets the parent ticket-granting ticket.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     */
+    void setTicketGrantingTicket(TicketGrantingTicket ticketGrantingTicket);
+}
@@ -2,15 +2,20 @@ package org.apereo.cas.ticket;
 
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.registry.support.TicketExpirationUtils;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
@@ -18,13 +23,18 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Concrete implementation of a TicketGrantingTicket. A TicketGrantingTicket is
@@ -37,14 +47,24 @@ import java.util.List;
  * @since 3.0.0
  */
 @Entity
-@Table(name = "TICKETGRANTINGTICKET")
+@Table(name = "TICKETGRANTINGTICKET", indexes = {
+    @Index(name = "TICKETGRANTINGTICKET_EXPIRATION_TIME_IDX", columnList = "EXPIRATION_TIME"),
+    @Index(name = "TICKETGRANTINGTICKET_PRINCIPAL_ID_IDX", columnList = "PRINCIPAL_ID")
+})
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(TicketGrantingTicket.PREFIX)
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
 @Getter
 @NoArgsConstructor
-public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGrantingTicket {
+@Slf4j
+public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGrantingTicket, TicketGrantingTicketAwareTicket {
+
+    /**
+     * Maximum length of the principal id column. Longer principal ids are truncated,
+     * and remain short enough to be indexed by all supported databases.
+     */
+    public static final int PRINCIPAL_ID_COLUMN_LENGTH = 512;
 
     /**
      * Unique Id for serialization.
@@ -58,6 +78,13 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Column(name = "AUTHENTICATION", nullable = false, length = Integer.MAX_VALUE)
     private Authentication authentication;
 
+    /**
+     * The id of the authenticated principal, kept separately so that tickets can be located by principal.
+     */
+    @Column(name = "PRINCIPAL_ID", length = PRINCIPAL_ID_COLUMN_LENGTH)
+    @JsonIgnore
+    private String principalId;
+
     /**
      * Service that produced a proxy-granting ticket.
      */
@@ -66,16 +93,18 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     private Service proxiedBy;
 
     /**
-     * The services associated to this ticket.
+     * The services associated to this ticket, in the order they were granted access.
      */
     @Lob
     @Column(name = "SERVICES_GRANTED_ACCESS_TO", nullable = false, length = Integer.MAX_VALUE)
-    private HashMap<String, Service> services = new HashMap<>();
+    @JsonDeserialize(as = LinkedHashMap.class)
+    private HashMap<String, Service> services = new LinkedHashMap<>();
 
     /**
      * The {@link TicketGrantingTicket} this is associated with.
      */
     @ManyToOne(targetEntity = TicketGrantingTicketImpl.class)
+    @Setter
     private TicketGrantingTicket ticketGrantingTicket;
 
     /**
@@ -86,11 +115,39 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     private HashMap<String, Service> proxyGrantingTickets = new HashMap<>();
 
     /**
-     * The ticket ids which are tied to this ticket.
+     * The ticket ids which are tied to this ticket, in the order they were issued.
      */
     @Lob
     @Column(name = "DESCENDANT_TICKETS", nullable = false, length = Integer.MAX_VALUE)
-    private HashSet<String> descendantTickets = new HashSet<>();
+    @JsonDeserialize(as = LinkedHashSet.class)
+    private HashSet<String> descendantTickets = new LinkedHashSet<>();
+
+    /**
+     * The maximum number of service sessions and descendant tickets this ticket keeps track of.
+     * Zero, or no value for tickets stored before the limit was introduced, means no limit.
+     */
+    @Column(name = "MAXIMUM_SERVICE_SESSIONS")
+    @Setter
+    private Integer maximumServiceSessions = 0;
+
+    /**
+     * The time, in milliseconds since the epoch, at which the tracked service tickets and descendant tickets
+     * are expected to expire, keyed by ticket id, so that tickets which are no longer active can be
+     * told apart without looking them up. Tickets that are not found here are considered active.
+     */
+    @Lob
+    @Column(name = "TRACKED_TICKET_EXPIRATION_TIMES", length = Integer.MAX_VALUE)
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private HashMap<String, Long> trackedTicketExpirationTimes = new HashMap<>();
+
+    /**
+     * Ids of the most recent service tickets, keyed by the normalized path of their service.
+     * Rebuilt from the tracked services when the ticket is read back.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private transient Map<String, String> serviceSessionsByPath;
 
     /**
      * Constructs a new TicketGrantingTicket.
@@ -112,6 +169,9 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         }
         this.ticketGrantingTicket = parentTicketGrantingTicket;
         this.authentication = authentication;
+        this.principalId = authentication.getPrincipal() != null
+            ? StringUtils.left(authentication.getPrincipal().getId(), PRINCIPAL_ID_COLUMN_LENGTH)
+            : null;
         this.proxiedBy = proxiedBy;
     }
 
@@ -152,26 +212,94 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     public synchronized ServiceTicket grantServiceTicket(final String id, final Service service, final ExpirationPolicy expirationPolicy,
                                                          final boolean credentialProvided, final boolean onlyTrackMostRecentSession) {
         val serviceTicket = new ServiceTicketImpl(id, this, service, credentialProvided, expirationPolicy);
-        trackServiceSession(serviceTicket.getId(), service, onlyTrackMostRecentSession);
+        trackServiceSession(serviceTicket, service, onlyTrackMostRecentSession);
         return serviceTicket;
     }
 
     /**
-     * Update service and track session.
+     * Update service and track session, and stop tracking service sessions and descendant tickets over the limit.
      *
-     * @param id                         the id
+     * @param ticket                     the ticket granted for the service
      * @param service                    the service
      * @param onlyTrackMostRecentSession the only track most recent session
      */
-    protected void trackServiceSession(final String id, final Service service, final boolean onlyTrackMostRecentSession) {
+    protected void trackServiceSession(final Ticket ticket, final Service service, final boolean onlyTrackMostRecentSession) {
         update();
         service.setPrincipal(getRoot().getAuthentication().getPrincipal().getId());
+        val id = ticket.getId();
+        val path = normalizePath(service);
+        val serviceSessions = getServiceSessionsByPath();
         if (onlyTrackMostRecentSession) {
-            val path = normalizePath(service);
-            val existingServices = this.services.values();
-            existingServices.stream().filter(existingService -> path.equals(normalizePath(existingService))).findFirst().ifPresent(existingServices::remove);
+            val existingId = serviceSessions.get(path);
+            if (existingId != null) {
+                this.services.remove(existingId);
+                getTrackedTicketExpirationTimes().remove(existingId);
+            }
         }
         this.services.put(id, service);
+        serviceSessions.put(path, id);
+        trackExpirationTime(ticket);
+        pruneServiceSessions();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Service sessions and descendant tickets over the limit are no longer tracked once the ticket is added.
+     */
+    @Override
+    public synchronized void trackDescendantTicket(final Ticket ticket) {
+        this.descendantTickets.add(ticket.getId());
+        trackExpirationTime(ticket);
+        pruneServiceSessions();
+    }
+
+    /**
+     * Stop tracking service sessions and descendant tickets over the limit, so that the size
+     * of the ticket remains bounded for as long as it lives.
+     * Service sessions whose tickets are no longer active, because they were validated or have expired,
+     * are dropped first, oldest first; the oldest of the remaining service sessions are dropped next.
+     * Descendant tickets are only dropped once they are no longer active, since they would otherwise
+     * outlive the ticket-granting ticket; they are kept, and a warning is logged, while the active ones exceed the limit.
+     * Whether a ticket is still active is decided by the time it was expected to expire when it was tracked.
+     */
+    protected void pruneServiceSessions() {
+        if (this.maximumServiceSessions == null || this.maximumServiceSessions <= 0) {
+            return;
+        }
+        val now = System.currentTimeMillis();
+        val expirationTimes = getTrackedTicketExpirationTimes();
+        val isActive = (Predicate<String>) id -> expirationTimes.getOrDefault(id, Long.MAX_VALUE) > now;
+        if (this.services.size() > this.maximumServiceSessions) {
+            removeServiceSessions(entry -> !isActive.test(entry.getKey()));
+            removeServiceSessions(entry -> true);
+        }
+        if (this.descendantTickets.size() > this.maximumServiceSessions) {
+            val descendants = this.descendantTickets.iterator();
+            while (this.descendantTickets.size() > this.maximumServiceSessions && descendants.hasNext()) {
+                val id = descendants.next();
+                if (!isActive.test(id)) {
+                    descendants.remove();
+                    expirationTimes.remove(id);
+                }
+            }
+            if (this.descendantTickets.size() > this.maximumServiceSessions) {
+                LOGGER.warn("Ticket [{}] keeps track of [{}] active descendant tickets, more than the limit of [{}]",
+                    getId(), this.descendantTickets.size(), this.maximumServiceSessions);
+            }
+        }
+    }
+
+    private void removeServiceSessions(final Predicate<Map.Entry<String, Service>> shouldRemove) {
+        val services = this.services.entrySet().iterator();
+        while (this.services.size() > this.maximumServiceSessions && services.hasNext()) {
+            val entry = services.next();
+            if (shouldRemove.test(entry)) {
+                services.remove();
+                getServiceSessionsByPath().remove(normalizePath(entry.getValue()), entry.getKey());
+                getTrackedTicketExpirationTimes().remove(entry.getKey());
+                LOGGER.debug("Ticket [{}] no longer keeps track of service session [{}]", getId(), entry.getKey());
+            }
+        }
     }
 
     /**
@@ -180,6 +308,8 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Override
     public void removeAllServices() {
         this.services.clear();
+        getServiceSessionsByPath().clear();
+        getTrackedTicketExpirationTimes().keySet().retainAll(this.descendantTickets);
     }
 
     /**
@@ -219,4 +349,27 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         return TicketGrantingTicket.PREFIX;
     }
 
+    private void trackExpirationTime(final Ticket ticket) {
+        if (this.maximumServiceSessions != null && this.maximumServiceSessions > 0) {
+            val expirationTime = TicketExpirationUtils.getExpectedExpirationTime(ticket).toInstant().toEpochMilli();
+            getTrackedTicketExpirationTimes().put(ticket.getId(), expirationTime);
+        }
+    }
+
+    private Map<String, Long> getTrackedTicketExpirationTimes() {
+        if (this.trackedTicketExpirationTimes == null) {
+            this.trackedTicketExpirationTimes = new HashMap<>();
+        }
+        return this.trackedTicketExpirationTimes;
+    }
+
+    private Map<String, String> getServiceSessionsByPath() {
+        if (this.serviceSessionsByPath == null) {
+            val serviceSessions = new HashMap<String, String>(this.services.size());
+            this.services.forEach((id, service) -> serviceSessions.put(normalizePath(service), id));
+            this.serviceSessionsByPath = serviceSessions;
+        }
+        return this.serviceSessionsByPath;
+    }
+
 }
@@ -11,6 +11,7 @@ import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
@@ -41,6 +42,12 @@ public class DefaultTicketGrantingTicketFactory implements TicketGrantingTicketF
      */
     protected final CipherExecutor<Serializable, String> cipherExecutor;
 
+    /**
+     * The maximum number of service sessions tracked by ticket-granting tickets; zero or less means no limit.
+     */
+    @Setter
+    protected int maximumServiceSessions;
+
     @Override
     public <T extends TicketGrantingTicket> T create(final Authentication authentication, final Class<T> clazz) {
         val tgtId = produceTicketIdentifier(authentication);
@@ -64,6 +71,7 @@ public class DefaultTicketGrantingTicketFactory implements TicketGrantingTicketF
     protected <T extends TicketGrantingTicket> T produceTicket(final Authentication authentication,
                                                                final String tgtId, final Class<T> clazz) {
         val result = new TicketGrantingTicketImpl(tgtId, authentication, this.ticketGrantingTicketExpirationPolicy);
+        result.setMaximumServiceSessions(this.maximumServiceSessions);
         if (!clazz.isAssignableFrom(result.getClass())) {
             throw new ClassCastException("Result [" + result
                 + " is of type " + result.getClass()
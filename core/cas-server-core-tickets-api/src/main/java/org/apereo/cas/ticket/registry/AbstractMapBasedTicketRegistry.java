@@ -12,6 +12,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -34,9 +35,10 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
 
     @Override
     public void addTicket(@NonNull final Ticket ticket) {
-        val encTicket = encodeTicket(ticket);
+        if (storeTicket(ticket) == null) {
+            getTicketStatistics().recordTicketAdded(ticket);
+        }
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
-        getMapInstance().put(encTicket.getId(), encTicket);
     }
 
     @Override
@@ -66,13 +68,19 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         if (StringUtils.isBlank(encTicketId)) {
             return false;
         }
-        return getMapInstance().remove(encTicketId) != null;
+        val removed = getMapInstance().remove(encTicketId);
+        if (removed == null) {
+            return false;
+        }
+        getTicketStatistics().recordTicketRemoved(decodeTicket(removed));
+        return true;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        getTicketStatistics().reset();
         return size;
     }
 
@@ -81,12 +89,34 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return decodeTickets(getMapInstance().values());
     }
 
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return decodeTickets(getMapInstance().values().stream());
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
-        addTicket(ticket);
+        storeTicket(ticket);
+        LOGGER.debug("Updated ticket [{}] in registry.", ticket.getId());
         return ticket;
     }
 
+    /**
+     * Encode and put the ticket into the map, without updating ticket counters.
+     *
+     * @param ticket the ticket
+     * @return the ticket previously stored under the same id, if known
+     */
+    protected Ticket storeTicket(final Ticket ticket) {
+        val encTicket = encodeTicket(ticket);
+        return getMapInstance().put(encTicket.getId(), encTicket);
+    }
+
+    @Override
+    protected boolean isTicketStatisticsMaintained() {
+        return true;
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
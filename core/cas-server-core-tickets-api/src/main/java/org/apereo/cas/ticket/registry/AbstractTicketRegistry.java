@@ -4,15 +4,16 @@ import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketAwareTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
-import org.apereo.cas.util.DigestUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.ticket.registry.support.DefaultTicketCodec;
+import org.apereo.cas.ticket.registry.support.TicketCodec;
+import org.apereo.cas.ticket.registry.support.TicketRegistryStatistics;
 
-import com.google.common.io.ByteSource;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -43,6 +44,25 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * The codec that encodes and decodes tickets, typically based on the cipher executor.
+     */
+    @Getter
+    protected TicketCodec ticketCodec = new DefaultTicketCodec(CipherExecutor.noOp());
+
+    /**
+     * Whether tickets issued under a ticket-granting ticket should be stored with only the id of their parent,
+     * rather than with a copy of it. The parent is looked up in the registry once it is needed.
+     */
+    @Getter
+    protected boolean normalizeTickets;
+
+    /**
+     * Counters of tickets held by the registry.
+     */
+    @Getter
+    protected final TicketRegistryStatistics ticketStatistics = new TicketRegistryStatistics();
+
     @Override
     public Ticket getTicket(final String ticketId) {
         return getTicket(ticketId, ticket -> {
@@ -69,22 +89,54 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public long sessionCount() {
-        try {
-            return getTickets().stream().filter(TicketGrantingTicket.class::isInstance).count();
-        } catch (final Exception t) {
-            LOGGER.trace("sessionCount() operation is not implemented by the ticket registry instance [{}]. "
-                + "Message is: [{}] Returning unknown as [{}]", this.getClass().getName(), t.getMessage(), Long.MIN_VALUE);
-            return Long.MIN_VALUE;
+        if (isTicketStatisticsMaintained()) {
+            return this.ticketStatistics.getSessionCount();
         }
+        return countTickets(TicketGrantingTicket.class);
     }
 
     @Override
     public long serviceTicketCount() {
-        try {
-            return getTickets().stream().filter(ServiceTicket.class::isInstance).count();
-        } catch (final Exception t) {
-            LOGGER.trace("serviceTicketCount() operation is not implemented by the ticket registry instance [{}]. "
-                + "Message is: [{}] Returning unknown as [{}]", this.getClass().getName(), t.getMessage(), Long.MIN_VALUE);
+        if (isTicketStatisticsMaintained()) {
+            return this.ticketStatistics.getServiceTicketCount();
+        }
+        return countTickets(ServiceTicket.class);
+    }
+
+    @Override
+    public boolean isTicketCountIndexed() {
+        return isTicketStatisticsMaintained();
+    }
+
+    @Override
+    public void reconcileTicketStatistics() {
+        if (!isTicketStatisticsMaintained()) {
+            LOGGER.trace("Ticket registry [{}] counts tickets on demand; there are no counters to reconcile", getClass().getName());
+            return;
+        }
+        try (val tickets = getTicketsStream()) {
+            this.ticketStatistics.reconcile(tickets);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to reconcile ticket counters of the ticket registry [{}]: [{}]", getClass().getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Indicates whether the registry updates its ticket counters as tickets are added and removed.
+     * Registries whose tickets may be changed outside of this instance should leave this off,
+     * in which case tickets are counted on demand by going through the tickets held by the registry.
+     *
+     * @return true/false
+     */
+    protected boolean isTicketStatisticsMaintained() {
+        return false;
+    }
+
+    private long countTickets(final Class<? extends Ticket> type) {
+        try (val tickets = getTicketsStream()) {
+            return tickets.filter(type::isInstance).count();
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to count tickets of type [{}] in the ticket registry [{}]: [{}]", type.getSimpleName(), getClass().getName(), e.getMessage());
             return Long.MIN_VALUE;
         }
     }
@@ -117,6 +169,26 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return count.intValue();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets other than ticket-granting tickets have no children to remove, and are removed
+     * without being fetched from the registry again.
+     */
+    @Override
+    public int updateAndDeleteTickets(final Collection<? extends Ticket> ticketsToUpdate, final Collection<? extends Ticket> ticketsToDelete) {
+        ticketsToUpdate.forEach(this::updateTicket);
+        return ticketsToDelete.stream()
+            .mapToInt(ticket -> {
+                if (ticket instanceof TicketGrantingTicket) {
+                    return deleteTicket(ticket.getId());
+                }
+                LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
+                return deleteSingleTicket(ticket.getId()) ? 1 : 0;
+            })
+            .sum();
+    }
+
     /**
      * Delete tickets.
      *
@@ -184,6 +256,16 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     public abstract boolean deleteSingleTicket(String ticketId);
 
+    /**
+     * Sets the cipher executor, and the codec that encodes tickets using the cipher executor.
+     *
+     * @param cipherExecutor the cipher executor
+     */
+    public void setCipherExecutor(final CipherExecutor cipherExecutor) {
+        this.cipherExecutor = cipherExecutor;
+        this.ticketCodec = new DefaultTicketCodec(cipherExecutor);
+    }
+
     /**
      * Encode ticket id into a SHA-512.
      *
@@ -198,19 +280,20 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         if (StringUtils.isBlank(ticketId)) {
             return ticketId;
         }
-        val encodedId = DigestUtils.sha512(ticketId);
-        LOGGER.debug("Encoded original ticket id [{}] to [{}]", ticketId, encodedId);
+        val encodedId = this.ticketCodec.encodeTicketId(ticketId);
+        LOGGER.trace("Encoded original ticket id [{}] to [{}]", ticketId, encodedId);
         return encodedId;
     }
 
     /**
-     * Encode ticket.
+     * Encode ticket. References to ticket-granting tickets are never stored in place of the ticket-granting ticket
+     * they stand for; the ticket-granting ticket is encoded instead.
      *
-     * @param ticket the ticket
+     * @param ticketToEncode the ticket
      * @return the ticket
      */
-    @SneakyThrows
-    protected Ticket encodeTicket(final Ticket ticket) {
+    protected Ticket encodeTicket(final Ticket ticketToEncode) {
+        val ticket = normalizeTicket(TicketGrantingTicketReference.unwrap(ticketToEncode));
         if (!isCipherExecutorEnabled()) {
             LOGGER.trace(MESSAGE);
             return ticket;
@@ -220,9 +303,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return null;
         }
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
-        val encodedTicketId = encodeTicketId(ticket.getId());
-        val encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
+        val encodedTicket = new EncodedTicket(encodeTicketId(ticket.getId()), this.ticketCodec.encode(ticket));
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
         return encodedTicket;
     }
@@ -233,11 +314,10 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      * @param result the result
      * @return the ticket
      */
-    @SneakyThrows
     protected Ticket decodeTicket(final Ticket result) {
         if (!isCipherExecutorEnabled()) {
             LOGGER.trace(MESSAGE);
-            return result;
+            return attachTicketGrantingTicket(result);
         }
         if (result == null) {
             LOGGER.warn("Ticket passed is null and cannot be decoded");
@@ -245,12 +325,46 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         if (!result.getClass().isAssignableFrom(EncodedTicket.class)) {
             LOGGER.warn("Ticket passed is not an encoded ticket type; rather it's a [{}], no decoding is necessary.", result.getClass().getSimpleName());
-            return result;
+            return attachTicketGrantingTicket(result);
         }
         LOGGER.debug("Attempting to decode [{}]", result);
         val encodedTicket = (EncodedTicket) result;
-        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        val ticket = this.ticketCodec.decode(encodedTicket.getEncodedTicket());
         LOGGER.debug("Decoded ticket to [{}]", ticket);
+        return attachTicketGrantingTicket(ticket);
+    }
+
+    /**
+     * Copy the ticket with a reference in place of its parent ticket-granting ticket, if tickets are stored normalized,
+     * so that the parent is not stored again along with the ticket. The ticket itself is left untouched.
+     *
+     * @param ticket the ticket
+     * @return the ticket to store
+     */
+    protected Ticket normalizeTicket(final Ticket ticket) {
+        if (!this.normalizeTickets || !(ticket instanceof TicketGrantingTicketAwareTicket)) {
+            return ticket;
+        }
+        val parent = ticket.getTicketGrantingTicket();
+        if (parent == null || parent instanceof TicketGrantingTicketReference) {
+            return ticket;
+        }
+        LOGGER.trace("Storing ticket [{}] with a reference to its parent ticket [{}]", ticket.getId(), parent.getId());
+        return TicketGrantingTicketReference.copyWithReferences(ticket);
+    }
+
+    /**
+     * Let the reference to the parent ticket-granting ticket of a ticket that was stored normalized
+     * look up its parent in this registry.
+     *
+     * @param ticket the ticket
+     * @return the ticket
+     */
+    protected Ticket attachTicketGrantingTicket(final Ticket ticket) {
+        if (ticket != null && ticket.getTicketGrantingTicket() instanceof TicketGrantingTicketReference) {
+            val reference = (TicketGrantingTicketReference) ticket.getTicketGrantingTicket();
+            reference.setResolver(id -> getTicket(id, TicketGrantingTicket.class));
+        }
         return ticket;
     }
 
@@ -261,14 +375,28 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      * @return the set
      */
     protected Collection<Ticket> decodeTickets(final Collection<Ticket> items) {
-        if (!isCipherExecutorEnabled()) {
+        if (!isCipherExecutorEnabled() && !this.normalizeTickets) {
             LOGGER.trace(MESSAGE);
             return items;
         }
         return items.stream().map(this::decodeTicket).collect(Collectors.toSet());
     }
 
+    /**
+     * Decode tickets lazily, as they are consumed from the stream.
+     *
+     * @param items the items
+     * @return the stream
+     */
+    protected Stream<Ticket> decodeTickets(final Stream<Ticket> items) {
+        if (!isCipherExecutorEnabled() && !this.normalizeTickets) {
+            LOGGER.trace(MESSAGE);
+            return items;
+        }
+        return items.map(this::decodeTicket);
+    }
+
     protected boolean isCipherExecutorEnabled() {
-        return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
+        return this.ticketCodec != null && this.ticketCodec.isEnabled();
     }
 }
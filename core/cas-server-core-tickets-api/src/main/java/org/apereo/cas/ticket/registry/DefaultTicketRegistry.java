@@ -2,14 +2,28 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.support.InMemoryTicketExpirationIndex;
+import org.apereo.cas.ticket.registry.support.InMemoryTicketPrincipalIndex;
+import org.apereo.cas.ticket.registry.support.TicketExpirationUtils;
+import org.apereo.cas.ticket.registry.support.TicketPrincipalUtils;
 
 import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
 
+import java.time.ZonedDateTime;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TicketRegistry that is backed by a ConcurrentHashMap.
+ * Tickets are also tracked by their expected expiration time, allowing
+ * the registry cleaner to locate expired tickets without scanning the map,
+ * and ticket-granting tickets are tracked by principal, allowing the sessions
+ * of a principal to be located without scanning the map.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -22,6 +36,16 @@ public class DefaultTicketRegistry extends AbstractMapBasedTicketRegistry {
      */
     private final Map<String, Ticket> mapInstance;
 
+    /**
+     * Index of tickets by their expected expiration time.
+     */
+    private final InMemoryTicketExpirationIndex expirationIndex = new InMemoryTicketExpirationIndex();
+
+    /**
+     * Index of ticket-granting tickets by the id of their principal.
+     */
+    private final InMemoryTicketPrincipalIndex principalIndex = new InMemoryTicketPrincipalIndex();
+
     public DefaultTicketRegistry() {
         this(CipherExecutor.noOp());
     }
@@ -36,4 +60,82 @@ public class DefaultTicketRegistry extends AbstractMapBasedTicketRegistry {
         this.mapInstance = new ConcurrentHashMap<>(initialCapacity, loadFactor, concurrencyLevel);
     }
 
+    @Override
+    public void addTicket(@NonNull final Ticket ticket) {
+        super.addTicket(ticket);
+        this.expirationIndex.schedule(encodeTicketId(ticket.getId()), TicketExpirationUtils.getExpectedExpirationTime(ticket));
+        val principalId = TicketPrincipalUtils.getPrincipalId(ticket);
+        if (principalId != null) {
+            this.principalIndex.add(encodeTicketId(ticket.getId()), principalId);
+        }
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        val result = super.updateTicket(ticket);
+        this.expirationIndex.schedule(encodeTicketId(ticket.getId()), TicketExpirationUtils.getExpectedExpirationTime(ticket));
+        return result;
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketId) {
+        val result = super.deleteSingleTicket(ticketId);
+        this.expirationIndex.remove(encodeTicketId(ticketId));
+        this.principalIndex.remove(encodeTicketId(ticketId));
+        return result;
+    }
+
+    @Override
+    public long deleteAll() {
+        val size = super.deleteAll();
+        this.expirationIndex.clear();
+        this.principalIndex.clear();
+        return size;
+    }
+
+    @Override
+    public boolean isExpirationIndexed() {
+        return true;
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsDueForExpiration(final ZonedDateTime dueBy, final int limit) {
+        return this.expirationIndex.getDueTicketIds(dueBy, limit)
+            .stream()
+            .map(ticketId -> {
+                val ticket = this.mapInstance.get(ticketId);
+                if (ticket == null) {
+                    this.expirationIndex.remove(ticketId);
+                    return null;
+                }
+                return decodeTicket(ticket);
+            })
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    public long countTicketsDueForExpiration(final ZonedDateTime dueBy) {
+        return this.expirationIndex.countDueTickets(dueBy);
+    }
+
+    @Override
+    public boolean isPrincipalIndexed() {
+        return true;
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        return this.principalIndex.getTicketIds(principalId)
+            .stream()
+            .map(ticketId -> {
+                val ticket = this.mapInstance.get(ticketId);
+                if (ticket == null) {
+                    this.principalIndex.remove(ticketId);
+                    return null;
+                }
+                return decodeTicket(ticket);
+            })
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
 }
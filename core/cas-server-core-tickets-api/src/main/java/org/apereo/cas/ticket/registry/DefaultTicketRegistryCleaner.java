@@ -56,11 +56,13 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
      * Clean tickets.
      */
     protected void cleanInternal() {
-        val ticketsDeleted = ticketRegistry.getTicketsStream()
-            .filter(Ticket::isExpired)
-            .mapToInt(this::cleanTicket)
-            .sum();
-        LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+        try (val tickets = ticketRegistry.getTicketsStream()) {
+            val ticketsDeleted = tickets
+                .filter(Ticket::isExpired)
+                .mapToInt(this::cleanTicket)
+                .sum();
+            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+        }
     }
 
     @Override
@@ -0,0 +1,142 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ExpirationIndexedTicketRegistryCleaner}.
+ * Rather than scanning the entire registry, the cleaner asks the registry for tickets
+ * whose expected expiration time has passed, in bounded batches, and stops once the
+ * per-run budget is exhausted. Tickets that are due but still valid are stored again
+ * so the registry may re-calculate their expected expiration time.
+ * Registries that do not track the expiration time of their tickets fall back to a full scan.
+ * The backlog and lag of the cleaner, along with the number of tickets examined by the last run,
+ * are published as gauges with the global meter registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class ExpirationIndexedTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    /**
+     * Name of the gauge reporting the number of tickets still due once the last run completed.
+     */
+    public static final String METRIC_NAME_BACKLOG = "cas.ticket.registry.cleaner.backlog";
+
+    /**
+     * Name of the gauge reporting how far behind the cleaner is, in seconds.
+     */
+    public static final String METRIC_NAME_LAG = "cas.ticket.registry.cleaner.lag";
+
+    /**
+     * Name of the gauge reporting the number of tickets examined during the last run.
+     */
+    public static final String METRIC_NAME_EXAMINED = "cas.ticket.registry.cleaner.examined";
+
+    private static final long serialVersionUID = -3519384120364932715L;
+
+    private final transient TicketRegistry ticketRegistry;
+
+    private final int batchSize;
+
+    private final long maxTicketsPerRun;
+
+    /**
+     * Number of tickets that were due for expiration once the last run completed.
+     */
+    private volatile long backlog;
+
+    /**
+     * Number of tickets that were examined during the last run.
+     */
+    private volatile long lastRunExaminedCount;
+
+    /**
+     * The last time at which the cleaner managed to process every ticket that was due.
+     */
+    private volatile ZonedDateTime lastCaughtUpTime;
+
+    public ExpirationIndexedTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                                  final TicketRegistry ticketRegistry, final int batchSize, final long maxTicketsPerRun) {
+        super(lockingStrategy, logoutManager, ticketRegistry);
+        this.ticketRegistry = ticketRegistry;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxTicketsPerRun = maxTicketsPerRun > 0 ? maxTicketsPerRun : Long.MAX_VALUE;
+        this.lastCaughtUpTime = ZonedDateTime.now(ZoneOffset.UTC);
+        Metrics.gauge(METRIC_NAME_BACKLOG, this, ExpirationIndexedTicketRegistryCleaner::getBacklog);
+        Metrics.gauge(METRIC_NAME_LAG, this, cleaner -> cleaner.getLag().getSeconds());
+        Metrics.gauge(METRIC_NAME_EXAMINED, this, ExpirationIndexedTicketRegistryCleaner::getLastRunExaminedCount);
+    }
+
+    /**
+     * How far behind the cleaner is, measured as the time elapsed since it last
+     * processed every ticket that was due for expiration.
+     *
+     * @return the lag, or {@link Duration#ZERO} if there is no backlog.
+     */
+    public Duration getLag() {
+        if (this.backlog == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.between(this.lastCaughtUpTime, ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Override
+    protected void cleanInternal() {
+        if (!this.ticketRegistry.isExpirationIndexed()) {
+            LOGGER.trace("Ticket registry [{}] does not track ticket expiration times; scanning all tickets", this.ticketRegistry.getClass().getSimpleName());
+            super.cleanInternal();
+            return;
+        }
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        val rescheduled = new HashSet<String>();
+        var examined = 0L;
+        var deleted = 0;
+        var caughtUp = false;
+        while (!caughtUp && examined < this.maxTicketsPerRun) {
+            val limit = (int) Math.min(this.batchSize, this.maxTicketsPerRun - examined);
+            final List<? extends Ticket> tickets;
+            try (val due = this.ticketRegistry.getTicketsDueForExpiration(now, limit)) {
+                tickets = due.collect(Collectors.toList());
+            }
+            LOGGER.debug("Located [{}] ticket(s) due for expiration by [{}]", tickets.size(), now);
+            var progress = false;
+            for (val ticket : tickets) {
+                if (ticket.isExpired()) {
+                    deleted += cleanTicket(ticket);
+                    progress = true;
+                } else if (rescheduled.add(ticket.getId())) {
+                    LOGGER.trace("Ticket [{}] is due but has not expired yet; storing ticket again to reschedule its expiration", ticket.getId());
+                    this.ticketRegistry.updateTicket(ticket);
+                    progress = true;
+                }
+            }
+            examined += tickets.size();
+            caughtUp = tickets.size() < limit || !progress;
+        }
+        this.lastRunExaminedCount = examined;
+        if (caughtUp) {
+            this.backlog = 0;
+            this.lastCaughtUpTime = now;
+        } else {
+            this.backlog = this.ticketRegistry.countTicketsDueForExpiration(now);
+            LOGGER.info("Ticket cleanup budget of [{}] is exhausted with [{}] ticket(s) still due; cleaner is behind by [{}]",
+                this.maxTicketsPerRun, this.backlog, getLag());
+        }
+        LOGGER.info("[{}] expired tickets removed after examining [{}] ticket(s) due for expiration.", deleted, examined);
+    }
+}
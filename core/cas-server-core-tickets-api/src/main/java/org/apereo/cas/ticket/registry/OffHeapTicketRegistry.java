@@ -0,0 +1,35 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.support.DefaultTicketCodec;
+import org.apereo.cas.ticket.registry.support.OffHeapTicketMap;
+
+import java.util.Map;
+
+/**
+ * This is {@link OffHeapTicketRegistry}, which keeps tickets encoded in memory outside the heap,
+ * so that heap usage remains flat regardless of the number of active sessions. Unlike {@link DefaultTicketRegistry},
+ * this registry keeps no index of tickets by expiration time or principal on the heap, and expired tickets are found
+ * by examining all tickets. Memory consumption is bounded by the configured size; once exhausted, tickets that were
+ * not used recently are evicted, and are no longer counted by the registry.
+ * Tickets retrieved from this registry are copies, and changes to them must be stored via {@link #updateTicket(Ticket)}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OffHeapTicketRegistry extends AbstractMapBasedTicketRegistry {
+
+    private final OffHeapTicketMap mapInstance;
+
+    public OffHeapTicketRegistry(final long maximumSize, final int segmentSize, final CipherExecutor cipherExecutor) {
+        super(cipherExecutor);
+        this.mapInstance = new OffHeapTicketMap(maximumSize, segmentSize, new DefaultTicketCodec(CipherExecutor.noOp()));
+        this.mapInstance.setEvictionListener((ticketId, ticket) -> getTicketStatistics().recordTicketRemoved(decodeTicket(ticket)));
+    }
+
+    @Override
+    public Map<String, Ticket> getMapInstance() {
+        return this.mapInstance;
+    }
+}
@@ -0,0 +1,290 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ticket-granting ticket that only carries the id of a ticket-granting ticket, and stands in for it
+ * as the parent of a ticket when tickets are stored normalized. Only the id is serialized; the actual
+ * ticket-granting ticket is looked up through the resolver the first time it is needed,
+ * which the ticket registry assigns once the ticket is read back.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.NONE,
+    getterVisibility = JsonAutoDetect.Visibility.NONE,
+    isGetterVisibility = JsonAutoDetect.Visibility.NONE,
+    setterVisibility = JsonAutoDetect.Visibility.NONE)
+public class TicketGrantingTicketReference implements TicketGrantingTicket, TicketState {
+
+    private static final long serialVersionUID = 2384507725167413640L;
+
+    @JsonProperty("id")
+    @Getter
+    private String id;
+
+    private transient TicketGrantingTicket ticketGrantingTicket;
+
+    @Setter
+    private transient Function<String, TicketGrantingTicket> resolver;
+
+    @JsonCreator
+    public TicketGrantingTicketReference(@JsonProperty("id") final String id) {
+        this.id = id;
+    }
+
+    public TicketGrantingTicketReference(final TicketGrantingTicket ticketGrantingTicket) {
+        this.id = ticketGrantingTicket.getId();
+        this.ticketGrantingTicket = ticketGrantingTicket;
+    }
+
+    /**
+     * Gets the ticket-granting ticket the given ticket stands for if it is a reference, or the ticket itself otherwise,
+     * so that the actual ticket-granting ticket is stored or inspected rather than the reference.
+     *
+     * @param ticket the ticket
+     * @return the ticket
+     * @throws InvalidTicketException if the ticket is a reference whose ticket-granting ticket cannot be found
+     */
+    public static Ticket unwrap(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicketReference) {
+            return ((TicketGrantingTicketReference) ticket).resolve();
+        }
+        return ticket;
+    }
+
+    /**
+     * Copy the ticket, with references standing in for the ticket-granting tickets it holds, such as its parent.
+     * The copy can be stored without copies of those tickets, while the ticket itself is left untouched.
+     *
+     * @param ticket the ticket
+     * @return the copy of the ticket
+     */
+    @SneakyThrows
+    public static Ticket copyWithReferences(final Ticket ticket) {
+        val bytes = new ByteArrayOutputStream();
+        try (val output = new ReferencingObjectOutputStream(bytes, ticket)) {
+            output.writeObject(ticket);
+        }
+        return SerializationUtils.deserialize(bytes.toByteArray(), Ticket.class);
+    }
+
+    /**
+     * Gets the ticket-granting ticket this reference stands for, looking it up if necessary.
+     *
+     * @return the ticket-granting ticket
+     * @throws InvalidTicketException if the ticket-granting ticket cannot be found
+     */
+    public TicketGrantingTicket resolve() {
+        if (this.ticketGrantingTicket == null) {
+            LOGGER.trace("Looking up ticket-granting ticket [{}]", this.id);
+            this.ticketGrantingTicket = this.resolver != null ? this.resolver.apply(this.id) : null;
+            if (this.ticketGrantingTicket == null) {
+                LOGGER.debug("Ticket-granting ticket [{}] cannot be found", this.id);
+                throw new InvalidTicketException(this.id);
+            }
+        }
+        return this.ticketGrantingTicket;
+    }
+
+    @Override
+    public boolean isExpired() {
+        try {
+            return resolve().isExpired();
+        } catch (final InvalidTicketException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public TicketGrantingTicket getTicketGrantingTicket() {
+        return resolve().getTicketGrantingTicket();
+    }
+
+    @Override
+    public ZonedDateTime getCreationTime() {
+        return resolve().getCreationTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>A reference whose ticket-granting ticket cannot be found reports no uses, since tickets that are
+     * deserialized from JSON may ask for it before the registry has assigned the resolver.
+     */
+    @Override
+    public int getCountOfUses() {
+        try {
+            return resolve().getCountOfUses();
+        } catch (final InvalidTicketException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public ZonedDateTime getLastTimeUsed() {
+        return getTicketState().getLastTimeUsed();
+    }
+
+    @Override
+    public ZonedDateTime getPreviousTimeUsed() {
+        return getTicketState().getPreviousTimeUsed();
+    }
+
+    @Override
+    public void update() {
+        getTicketState().update();
+    }
+
+    @Override
+    public ExpirationPolicy getExpirationPolicy() {
+        return resolve().getExpirationPolicy();
+    }
+
+    @Override
+    public String getPrefix() {
+        return TicketGrantingTicket.PREFIX;
+    }
+
+    @Override
+    public void markTicketExpired() {
+        resolve().markTicketExpired();
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return resolve().getAuthentication();
+    }
+
+    @Override
+    public ServiceTicket grantServiceTicket(final String id, final Service service, final ExpirationPolicy expirationPolicy,
+                                            final boolean credentialProvided, final boolean onlyTrackMostRecentSession) {
+        return resolve().grantServiceTicket(id, service, expirationPolicy, credentialProvided, onlyTrackMostRecentSession);
+    }
+
+    @Override
+    public Map<String, Service> getServices() {
+        return resolve().getServices();
+    }
+
+    @Override
+    public Map<String, Service> getProxyGrantingTickets() {
+        return resolve().getProxyGrantingTickets();
+    }
+
+    @Override
+    public void removeAllServices() {
+        resolve().removeAllServices();
+    }
+
+    @Override
+    public boolean isRoot() {
+        return resolve().isRoot();
+    }
+
+    @Override
+    public TicketGrantingTicket getRoot() {
+        return resolve().getRoot();
+    }
+
+    @Override
+    public List<Authentication> getChainedAuthentications() {
+        return resolve().getChainedAuthentications();
+    }
+
+    @Override
+    public Service getProxiedBy() {
+        return resolve().getProxiedBy();
+    }
+
+    @Override
+    public Collection<String> getDescendantTickets() {
+        return resolve().getDescendantTickets();
+    }
+
+    @Override
+    public void trackDescendantTicket(final Ticket ticket) {
+        resolve().trackDescendantTicket(ticket);
+    }
+
+    @Override
+    public int compareTo(final Ticket o) {
+        return getId().compareTo(o.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>References are only equal to references that stand for the same ticket-granting ticket,
+     * since tickets are never equal to references.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof TicketGrantingTicketReference && this.id.equals(((TicketGrantingTicketReference) other).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.id;
+    }
+
+    private TicketState getTicketState() {
+        return TicketState.class.cast(resolve());
+    }
+
+    /**
+     * Writes references in place of the ticket-granting tickets held by the ticket being written.
+     */
+    private static class ReferencingObjectOutputStream extends ObjectOutputStream {
+        private final Ticket ticket;
+
+        ReferencingObjectOutputStream(final OutputStream output, final Ticket ticket) throws IOException {
+            super(output);
+            this.ticket = ticket;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object object) {
+            if (object != this.ticket && object instanceof TicketGrantingTicket && !(object instanceof TicketGrantingTicketReference)) {
+                return new TicketGrantingTicketReference(((TicketGrantingTicket) object).getId());
+            }
+            return object;
+        }
+    }
+}
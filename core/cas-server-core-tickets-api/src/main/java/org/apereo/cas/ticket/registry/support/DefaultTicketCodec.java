@@ -0,0 +1,98 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.Getter;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This is {@link DefaultTicketCodec}, which serializes tickets and hands them to a {@link CipherExecutor}
+ * for encryption and signing. Serialization is done into a buffer that is reused by each thread,
+ * and ticket ids are digested once and remembered for a short while, since a ticket
+ * is typically looked up, updated and deleted by id several times during a single request.
+ * <p>
+ * Tickets are stored in a compact form: a marker byte followed by the serialized ticket, deflated
+ * by a compressor that is also reused by each thread. Java serialization repeats class descriptions
+ * and field names that compress well, which keeps the payload handed to the cipher small.
+ * Tickets encoded without the marker, as done by earlier versions, are deserialized as they are.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+public class DefaultTicketCodec implements TicketCodec {
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private static final int MAXIMUM_POOLED_BUFFER_SIZE = 256 * 1024;
+
+    private static final long MAXIMUM_CACHED_TICKET_IDS = 10_000;
+
+    private static final Duration CACHED_TICKET_ID_DURATION = Duration.ofMinutes(1);
+
+    private static final byte COMPACT_FORMAT = 1;
+
+    private static final ThreadLocal<ByteArrayOutputStream> BUFFERS = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(INITIAL_BUFFER_SIZE));
+
+    private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+
+    private final CipherExecutor cipherExecutor;
+
+    private final LoadingCache<String, String> encodedTicketIds = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_TICKET_IDS)
+        .expireAfterAccess(CACHED_TICKET_ID_DURATION)
+        .build(DigestUtils::sha512);
+
+    public DefaultTicketCodec(final CipherExecutor cipherExecutor) {
+        this.cipherExecutor = cipherExecutor;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
+    }
+
+    @Override
+    public String encodeTicketId(final String ticketId) {
+        return this.encodedTicketIds.get(ticketId);
+    }
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        val buffer = BUFFERS.get();
+        val deflater = DEFLATERS.get();
+        try {
+            buffer.write(COMPACT_FORMAT);
+            SerializationUtils.serialize(ticket, new DeflaterOutputStream(buffer, deflater));
+            return (byte[]) this.cipherExecutor.encode(buffer.toByteArray());
+        } finally {
+            deflater.reset();
+            if (buffer.size() > MAXIMUM_POOLED_BUFFER_SIZE) {
+                BUFFERS.remove();
+            } else {
+                buffer.reset();
+            }
+        }
+    }
+
+    @Override
+    public Ticket decode(final byte[] encodedTicket) {
+        val decoded = (byte[]) this.cipherExecutor.decode(encodedTicket);
+        if (decoded.length > 0 && decoded[0] == COMPACT_FORMAT) {
+            val input = new ByteArrayInputStream(decoded, 1, decoded.length - 1);
+            return SerializationUtils.deserialize(new InflaterInputStream(input), Ticket.class);
+        }
+        return SerializationUtils.deserializeAndCheckObject(decoded, Ticket.class);
+    }
+}
@@ -0,0 +1,130 @@
+package org.apereo.cas.ticket.registry.support;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This is {@link InMemoryTicketExpirationIndex}, which keeps ticket ids sorted
+ * by the time at which they are expected to expire, so that tickets due for expiration can be
+ * located by walking the head of the index rather than scanning every ticket.
+ * Each ticket id is mapped to its current expiration time; entries that are superseded
+ * by a concurrent update are discarded lazily once they are encountered.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InMemoryTicketExpirationIndex {
+    private static final Comparator<Entry> ENTRY_COMPARATOR = Comparator.comparingLong(Entry::getExpirationTime)
+        .thenComparing(Entry::getTicketId);
+
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(ENTRY_COMPARATOR);
+
+    private final Map<String, Entry> ticketEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Record the expected expiration time of the ticket, replacing any previous record.
+     *
+     * @param ticketId       the ticket id
+     * @param expirationTime the expected expiration time
+     */
+    public void schedule(final String ticketId, final ZonedDateTime expirationTime) {
+        val entry = new Entry(expirationTime.toInstant().toEpochMilli(), ticketId);
+        val current = this.ticketEntries.get(ticketId);
+        if (current != null && current.getExpirationTime() == entry.getExpirationTime()) {
+            return;
+        }
+        val previous = this.ticketEntries.put(ticketId, entry);
+        this.entries.add(entry);
+        if (previous != null && ENTRY_COMPARATOR.compare(previous, entry) != 0) {
+            this.entries.remove(previous);
+        }
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        val previous = this.ticketEntries.remove(ticketId);
+        if (previous != null) {
+            this.entries.remove(previous);
+        }
+    }
+
+    /**
+     * Remove all tickets from the index.
+     */
+    public void clear() {
+        this.ticketEntries.clear();
+        this.entries.clear();
+    }
+
+    /**
+     * Gets ids of tickets expected to expire at or before the given time,
+     * ordered by their expected expiration time.
+     *
+     * @param dueBy the due by
+     * @param limit the limit
+     * @return the ticket ids
+     */
+    public List<String> getDueTicketIds(final ZonedDateTime dueBy, final int limit) {
+        val results = new ArrayList<String>(Math.min(limit, this.ticketEntries.size()));
+        val iterator = getDueEntries(dueBy).iterator();
+        while (iterator.hasNext() && results.size() < limit) {
+            val entry = iterator.next();
+            if (isCurrent(entry)) {
+                results.add(entry.getTicketId());
+            } else {
+                iterator.remove();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Count tickets expected to expire at or before the given time.
+     *
+     * @param dueBy the due by
+     * @return the count
+     */
+    public long countDueTickets(final ZonedDateTime dueBy) {
+        return getDueEntries(dueBy).stream().filter(this::isCurrent).count();
+    }
+
+    /**
+     * Number of tickets tracked by the index.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.ticketEntries.size();
+    }
+
+    private NavigableSet<Entry> getDueEntries(final ZonedDateTime dueBy) {
+        return this.entries.headSet(new Entry(dueBy.toInstant().toEpochMilli() + 1, ""), false);
+    }
+
+    private boolean isCurrent(final Entry entry) {
+        val current = this.ticketEntries.get(entry.getTicketId());
+        return current != null && current.getExpirationTime() == entry.getExpirationTime();
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class Entry {
+        private final long expirationTime;
+
+        private final String ticketId;
+    }
+}
@@ -0,0 +1,98 @@
+package org.apereo.cas.ticket.registry.support;
+
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link InMemoryTicketPrincipalIndex}, which keeps the ids of ticket-granting tickets
+ * grouped by the id of their authenticated principal, so that the sessions of a principal can be
+ * located without scanning every ticket. Each ticket id is also mapped to its principal,
+ * so that tickets can be removed from the index by id alone.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InMemoryTicketPrincipalIndex {
+    private final Map<String, Set<String>> principalTickets = new ConcurrentHashMap<>();
+
+    private final Map<String, String> ticketPrincipals = new ConcurrentHashMap<>();
+
+    /**
+     * Record the ticket under the given principal, replacing any previous record.
+     *
+     * @param ticketId    the ticket id
+     * @param principalId the principal id
+     */
+    public void add(final String ticketId, final String principalId) {
+        val previous = this.ticketPrincipals.put(ticketId, principalId);
+        if (previous != null && !previous.equals(principalId)) {
+            removeFromPrincipal(previous, ticketId);
+        }
+        this.principalTickets.compute(principalId, (k, ticketIds) -> {
+            val results = ticketIds == null ? ConcurrentHashMap.<String>newKeySet() : ticketIds;
+            results.add(ticketId);
+            return results;
+        });
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        val principalId = this.ticketPrincipals.remove(ticketId);
+        if (principalId != null) {
+            removeFromPrincipal(principalId, ticketId);
+        }
+    }
+
+    /**
+     * Remove all tickets from the index.
+     */
+    public void clear() {
+        this.ticketPrincipals.clear();
+        this.principalTickets.clear();
+    }
+
+    /**
+     * Gets ids of tickets recorded under the given principal.
+     *
+     * @param principalId the principal id
+     * @return the ticket ids
+     */
+    public List<String> getTicketIds(final String principalId) {
+        val ticketIds = this.principalTickets.get(principalId);
+        return ticketIds == null ? new ArrayList<>(0) : new ArrayList<>(ticketIds);
+    }
+
+    /**
+     * Number of principals tracked by the index.
+     *
+     * @return the count
+     */
+    public int getPrincipalCount() {
+        return this.principalTickets.size();
+    }
+
+    /**
+     * Number of tickets tracked by the index.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.ticketPrincipals.size();
+    }
+
+    private void removeFromPrincipal(final String principalId, final String ticketId) {
+        this.principalTickets.computeIfPresent(principalId, (k, ticketIds) -> {
+            ticketIds.remove(ticketId);
+            return ticketIds.isEmpty() ? null : ticketIds;
+        });
+    }
+}
@@ -0,0 +1,523 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.EncodedTicket;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * This is {@link OffHeapTicketMap}, which keeps encoded tickets in fixed-size segments of direct memory
+ * outside the heap. The heap only holds an open-addressing index made of primitive arrays, which maps the hash
+ * of each ticket id to the packed location of the ticket; ids themselves are only stored along with the ticket.
+ * Tickets are appended to the active segment; space held by tickets that are removed or updated is
+ * reclaimed by compacting the segment with the fewest live bytes into a spare segment. Once every segment
+ * is full and compaction cannot reclaim enough space, tickets that were not read recently are evicted so that
+ * memory consumption never exceeds the configured budget.
+ * <p>
+ * Recency is approximated with a clock: reading a ticket only marks its slot in the index, so reads share the lock
+ * and run concurrently, while evictions sweep the index and pass over marked slots once, clearing their mark.
+ * Tickets are encoded with a {@link TicketCodec} when stored and decoded when read, which means that callers
+ * always receive a copy of the stored ticket. Tickets that are already encoded by the registry are stored as they are.
+ * Evicted tickets are handed over to the eviction listener, if one is set, once the map is unlocked.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class OffHeapTicketMap extends AbstractMap<String, Ticket> {
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES * 3;
+
+    private static final int SEGMENT_SHIFT = 32;
+
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private static final long EMPTY = -1L;
+
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+    private static final int INDEX_LOAD_FACTOR_PERCENT = 75;
+
+    private static final int PERCENT = 100;
+
+    private static final byte TICKET_ENCODED_BY_MAP = 0;
+
+    private static final byte TICKET_ENCODED_BY_REGISTRY = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TicketCodec ticketCodec;
+
+    @Getter
+    private final int segmentSize;
+
+    private final Segment[] segments;
+
+    private long[] locations;
+
+    private int[] hashes;
+
+    private byte[] referenced;
+
+    private int count;
+
+    private int clockHand;
+
+    private Segment activeSegment;
+
+    private Segment spareSegment;
+
+    @Getter
+    private long evictionCount;
+
+    /**
+     * Receives the id and the ticket of each ticket evicted to stay within the memory budget.
+     */
+    @Setter
+    private BiConsumer<String, Ticket> evictionListener;
+
+    public OffHeapTicketMap(final long maximumSize, final int segmentSize) {
+        this(maximumSize, segmentSize, new DefaultTicketCodec(CipherExecutor.noOp()));
+    }
+
+    public OffHeapTicketMap(final long maximumSize, final int segmentSize, final TicketCodec ticketCodec) {
+        this.ticketCodec = ticketCodec;
+        this.segmentSize = segmentSize;
+        val segmentCount = (int) Math.max(2, Math.min(Integer.MAX_VALUE, maximumSize / segmentSize));
+        this.segments = new Segment[segmentCount];
+        for (var i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(i, ByteBuffer.allocateDirect(segmentSize));
+        }
+        this.activeSegment = this.segments[0];
+        this.spareSegment = this.segments[segmentCount - 1];
+        allocateIndex(INITIAL_INDEX_CAPACITY);
+        LOGGER.debug("Allocated [{}] segment(s) of [{}] bytes to store tickets outside the heap", segmentCount, segmentSize);
+    }
+
+    private static long getLocation(final Segment segment, final int offset) {
+        return ((long) segment.getId() << SEGMENT_SHIFT) | offset;
+    }
+
+    private static int getOffset(final long location) {
+        return (int) (location & OFFSET_MASK);
+    }
+
+    private static byte[] read(final ByteBuffer buffer, final int position, final int length) {
+        val bytes = new byte[length];
+        val view = buffer.duplicate();
+        view.position(position);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private static int getRecordLength(final ByteBuffer buffer, final int offset) {
+        return RECORD_HEADER_LENGTH + buffer.getInt(offset) + buffer.getInt(offset + Integer.BYTES);
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> (Integer.SIZE / 2));
+    }
+
+    @Override
+    public Ticket get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        val keyBytes = ((String) key).getBytes(StandardCharsets.UTF_8);
+        byte[] value = null;
+        this.lock.readLock().lock();
+        try {
+            val slot = findSlot(keyBytes, key.hashCode());
+            if (slot >= 0) {
+                this.referenced[slot] = 1;
+                value = readValue(this.locations[slot]);
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        return decode((String) key, value);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+        this.lock.readLock().lock();
+        try {
+            return findSlot(((String) key).getBytes(StandardCharsets.UTF_8), key.hashCode()) >= 0;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Ticket put(final String key, final Ticket value) {
+        val keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        val valueBytes = encode(value);
+        val length = RECORD_HEADER_LENGTH + keyBytes.length + valueBytes.length;
+        if (length > this.segmentSize) {
+            throw new IllegalArgumentException("Ticket " + key + " requires " + length + " bytes and cannot fit in a segment of " + this.segmentSize + " bytes");
+        }
+        val hash = key.hashCode();
+        byte[] previousValue = null;
+        val evicted = new ArrayList<Entry<String, byte[]>>();
+        this.lock.writeLock().lock();
+        try {
+            val previous = findSlot(keyBytes, hash);
+            if (previous >= 0) {
+                val location = this.locations[previous];
+                previousValue = readValue(location);
+                removeSlot(previous);
+                release(location);
+            }
+            val location = allocate(length, evicted);
+            val view = this.segments[(int) (location >>> SEGMENT_SHIFT)].getBuffer().duplicate();
+            view.position(getOffset(location));
+            view.putInt(keyBytes.length).putInt(valueBytes.length).putInt(hash).put(keyBytes).put(valueBytes);
+            insertSlot(hash, location);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        val listener = this.evictionListener;
+        if (listener != null) {
+            evicted.stream()
+                .filter(entry -> entry.getValue() != null)
+                .forEach(entry -> listener.accept(entry.getKey(), decode(entry.getKey(), entry.getValue())));
+        }
+        return decode(key, previousValue);
+    }
+
+    @Override
+    public Ticket remove(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        byte[] value = null;
+        this.lock.writeLock().lock();
+        try {
+            val slot = findSlot(((String) key).getBytes(StandardCharsets.UTF_8), key.hashCode());
+            if (slot >= 0) {
+                val location = this.locations[slot];
+                value = readValue(location);
+                removeSlot(slot);
+                release(location);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        return decode((String) key, value);
+    }
+
+    @Override
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.count;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            allocateIndex(INITIAL_INDEX_CAPACITY);
+            for (val segment : this.segments) {
+                segment.reset();
+            }
+            this.activeSegment = this.segments[0];
+            this.spareSegment = this.segments[this.segments.length - 1];
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Snapshot of the entries in the map. Changes to the map are not reflected in the snapshot.
+     *
+     * @return the entries
+     */
+    @Override
+    public Set<Entry<String, Ticket>> entrySet() {
+        val encodedEntries = new ArrayList<Entry<String, byte[]>>();
+        this.lock.readLock().lock();
+        try {
+            for (val location : this.locations) {
+                if (location != EMPTY) {
+                    encodedEntries.add(new SimpleImmutableEntry<>(readKey(location), readValue(location)));
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        val entries = new LinkedHashSet<Entry<String, Ticket>>(encodedEntries.size());
+        for (val entry : encodedEntries) {
+            entries.add(new SimpleImmutableEntry<>(entry.getKey(), decode(entry.getKey(), entry.getValue())));
+        }
+        return entries;
+    }
+
+    /**
+     * Number of bytes held by tickets that are currently stored.
+     *
+     * @return the used size
+     */
+    public long getUsedSize() {
+        this.lock.readLock().lock();
+        try {
+            var used = 0L;
+            for (val segment : this.segments) {
+                used += segment.getLiveBytes();
+            }
+            return used;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private byte[] encode(final Ticket ticket) {
+        val encodedByRegistry = ticket instanceof EncodedTicket;
+        val encodedTicket = encodedByRegistry ? ((EncodedTicket) ticket).getEncodedTicket() : this.ticketCodec.encode(ticket);
+        val value = new byte[encodedTicket.length + 1];
+        value[0] = encodedByRegistry ? TICKET_ENCODED_BY_REGISTRY : TICKET_ENCODED_BY_MAP;
+        System.arraycopy(encodedTicket, 0, value, 1, encodedTicket.length);
+        return value;
+    }
+
+    private Ticket decode(final String key, final byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        val encodedTicket = Arrays.copyOfRange(value, 1, value.length);
+        if (value[0] == TICKET_ENCODED_BY_REGISTRY) {
+            return new EncodedTicket(key, encodedTicket);
+        }
+        return this.ticketCodec.decode(encodedTicket);
+    }
+
+    private void allocateIndex(final int capacity) {
+        this.locations = new long[capacity];
+        Arrays.fill(this.locations, EMPTY);
+        this.hashes = new int[capacity];
+        this.referenced = new byte[capacity];
+        this.count = 0;
+        this.clockHand = 0;
+    }
+
+    private int findSlot(final byte[] keyBytes, final int hash) {
+        val mask = this.locations.length - 1;
+        var slot = spread(hash) & mask;
+        while (this.locations[slot] != EMPTY) {
+            if (this.hashes[slot] == hash && isKeyAt(this.locations[slot], keyBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertSlot(final int hash, final long location) {
+        if ((this.count + 1) * PERCENT > this.locations.length * INDEX_LOAD_FACTOR_PERCENT) {
+            val previousLocations = this.locations;
+            val previousHashes = this.hashes;
+            val previousReferenced = this.referenced;
+            allocateIndex(previousLocations.length * 2);
+            for (var i = 0; i < previousLocations.length; i++) {
+                if (previousLocations[i] != EMPTY) {
+                    this.referenced[placeSlot(previousHashes[i], previousLocations[i])] = previousReferenced[i];
+                }
+            }
+        }
+        placeSlot(hash, location);
+    }
+
+    private int placeSlot(final int hash, final long location) {
+        val mask = this.locations.length - 1;
+        var slot = spread(hash) & mask;
+        while (this.locations[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        this.locations[slot] = location;
+        this.hashes[slot] = hash;
+        this.referenced[slot] = 0;
+        this.count++;
+        return slot;
+    }
+
+    /**
+     * Remove the slot, and shift back the slots that follow it within the same probe sequence,
+     * so that lookups never stop at the emptied slot before reaching them.
+     *
+     * @param slot the slot
+     */
+    private void removeSlot(final int slot) {
+        val mask = this.locations.length - 1;
+        var hole = slot;
+        var next = (hole + 1) & mask;
+        while (this.locations[next] != EMPTY) {
+            val home = spread(this.hashes[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.locations[hole] = this.locations[next];
+                this.hashes[hole] = this.hashes[next];
+                this.referenced[hole] = this.referenced[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.locations[hole] = EMPTY;
+        this.referenced[hole] = 0;
+        this.count--;
+    }
+
+    private boolean isKeyAt(final long location, final byte[] keyBytes) {
+        val buffer = this.segments[(int) (location >>> SEGMENT_SHIFT)].getBuffer();
+        val offset = getOffset(location);
+        if (buffer.getInt(offset) != keyBytes.length) {
+            return false;
+        }
+        for (var i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(offset + RECORD_HEADER_LENGTH + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readKey(final long location) {
+        val buffer = this.segments[(int) (location >>> SEGMENT_SHIFT)].getBuffer();
+        val offset = getOffset(location);
+        return new String(read(buffer, offset + RECORD_HEADER_LENGTH, buffer.getInt(offset)), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readValue(final long location) {
+        val buffer = this.segments[(int) (location >>> SEGMENT_SHIFT)].getBuffer();
+        val offset = getOffset(location);
+        val keyLength = buffer.getInt(offset);
+        val valueLength = buffer.getInt(offset + Integer.BYTES);
+        return read(buffer, offset + RECORD_HEADER_LENGTH + keyLength, valueLength);
+    }
+
+    private void release(final long location) {
+        val segment = this.segments[(int) (location >>> SEGMENT_SHIFT)];
+        segment.setLiveBytes(segment.getLiveBytes() - getRecordLength(segment.getBuffer(), getOffset(location)));
+        if (segment.getLiveBytes() == 0 && segment != this.activeSegment) {
+            segment.reset();
+        }
+    }
+
+    private long allocate(final int length, final List<Entry<String, byte[]>> evicted) {
+        while (true) {
+            val active = this.activeSegment;
+            if (this.segmentSize - active.getWritePosition() >= length) {
+                val offset = active.getWritePosition();
+                active.setWritePosition(offset + length);
+                active.setLiveBytes(active.getLiveBytes() + length);
+                return getLocation(active, offset);
+            }
+            Segment candidate = null;
+            for (val segment : this.segments) {
+                if (segment != this.spareSegment && (candidate == null || segment.getLiveBytes() < candidate.getLiveBytes()
+                    || segment.getLiveBytes() == candidate.getLiveBytes() && segment.getWritePosition() < candidate.getWritePosition())) {
+                    candidate = segment;
+                }
+            }
+            if (candidate.getWritePosition() == 0) {
+                this.activeSegment = candidate;
+            } else if (this.segmentSize - candidate.getLiveBytes() >= length) {
+                compact(candidate);
+            } else {
+                evicted.add(evictUnreferenced());
+            }
+        }
+    }
+
+    private void compact(final Segment segment) {
+        val target = this.spareSegment;
+        target.reset();
+        val buffer = segment.getBuffer();
+        var offset = 0;
+        while (offset < segment.getWritePosition()) {
+            val length = getRecordLength(buffer, offset);
+            val slot = findSlotByLocation(getLocation(segment, offset), buffer.getInt(offset + Integer.BYTES * 2));
+            if (slot >= 0) {
+                val source = buffer.duplicate();
+                source.position(offset).limit(offset + length);
+                val destination = target.getBuffer().duplicate();
+                destination.position(target.getWritePosition());
+                destination.put(source);
+                this.locations[slot] = getLocation(target, target.getWritePosition());
+                target.setWritePosition(target.getWritePosition() + length);
+                target.setLiveBytes(target.getLiveBytes() + length);
+            }
+            offset += length;
+        }
+        LOGGER.trace("Compacted segment [{}] into segment [{}] with [{}] live bytes", segment.getId(), target.getId(), target.getLiveBytes());
+        segment.reset();
+        this.spareSegment = segment;
+        this.activeSegment = target;
+    }
+
+    private int findSlotByLocation(final long location, final int hash) {
+        val mask = this.locations.length - 1;
+        var slot = spread(hash) & mask;
+        while (this.locations[slot] != EMPTY) {
+            if (this.locations[slot] == location) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private Entry<String, byte[]> evictUnreferenced() {
+        val mask = this.locations.length - 1;
+        while (this.locations[this.clockHand] == EMPTY || this.referenced[this.clockHand] != 0) {
+            this.referenced[this.clockHand] = 0;
+            this.clockHand = (this.clockHand + 1) & mask;
+        }
+        val slot = this.clockHand;
+        val location = this.locations[slot];
+        val key = readKey(location);
+        val value = this.evictionListener == null ? null : readValue(location);
+        removeSlot(slot);
+        release(location);
+        this.evictionCount++;
+        LOGGER.debug("Evicted ticket [{}], which was not used recently, to stay within the memory budget", key);
+        return new SimpleImmutableEntry<>(key, value);
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    @Setter
+    private static class Segment {
+        private final int id;
+
+        private final ByteBuffer buffer;
+
+        private int writePosition;
+
+        private int liveBytes;
+
+        void reset() {
+            this.writePosition = 0;
+            this.liveBytes = 0;
+        }
+    }
+}
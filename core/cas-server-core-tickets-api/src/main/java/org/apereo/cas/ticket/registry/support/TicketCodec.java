@@ -0,0 +1,44 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketCodec}, which turns tickets into their encoded binary form
+ * before they are handed to a ticket registry, and back.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface TicketCodec {
+
+    /**
+     * Whether tickets should be encoded at all.
+     *
+     * @return true/false
+     */
+    boolean isEnabled();
+
+    /**
+     * Encode the ticket id into the id under which the encoded ticket is stored.
+     *
+     * @param ticketId the ticket id
+     * @return the encoded ticket id
+     */
+    String encodeTicketId(String ticketId);
+
+    /**
+     * Encode the ticket.
+     *
+     * @param ticket the ticket
+     * @return the encoded ticket
+     */
+    byte[] encode(Ticket ticket);
+
+    /**
+     * Decode the ticket.
+     *
+     * @param encodedTicket the encoded ticket
+     * @return the ticket
+     */
+    Ticket decode(byte[] encodedTicket);
+}
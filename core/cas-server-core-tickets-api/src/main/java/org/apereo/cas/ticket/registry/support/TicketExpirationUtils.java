@@ -0,0 +1,71 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link TicketExpirationUtils}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@UtilityClass
+public class TicketExpirationUtils {
+    private static final long MAX_DURATION_IN_SECONDS = Integer.MAX_VALUE;
+
+    /**
+     * Calculate the time at which the ticket is expected to expire, given its current state.
+     * The calculation takes the earliest of the ticket's creation time plus its time-to-live,
+     * and its last-used time plus its time-to-idle. If the calculated time has already passed
+     * while the ticket is still valid, the policy is evaluating factors beyond these durations,
+     * and the longest of the two durations from now is used instead, so that the ticket can be
+     * re-examined at a later time. Tickets that are already expired are due immediately, while
+     * tickets whose policy does not describe any durations are not expected to expire.
+     *
+     * @param ticket the ticket
+     * @return the expected expiration time
+     */
+    public static ZonedDateTime getExpectedExpirationTime(final Ticket ticket) {
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        if (ticket.isExpired()) {
+            return now;
+        }
+        val policy = ticket.getExpirationPolicy();
+        val state = ticket instanceof TicketState ? (TicketState) ticket : null;
+        val timeToLive = getDurationInSeconds(state == null ? policy.getTimeToLive() : policy.getTimeToLive(state));
+        val timeToIdle = getDurationInSeconds(policy.getTimeToIdle());
+
+        ZonedDateTime expirationTime = null;
+        if (timeToLive > 0) {
+            val creationTime = state == null || state.getCreationTime() == null ? now : state.getCreationTime();
+            expirationTime = creationTime.plusSeconds(timeToLive);
+        }
+        if (timeToIdle > 0) {
+            val lastTimeUsed = state == null || state.getLastTimeUsed() == null ? now : state.getLastTimeUsed();
+            val idleExpirationTime = lastTimeUsed.plusSeconds(timeToIdle);
+            if (expirationTime == null || idleExpirationTime.isBefore(expirationTime)) {
+                expirationTime = idleExpirationTime;
+            }
+        }
+        if (expirationTime == null) {
+            return now.plusSeconds(MAX_DURATION_IN_SECONDS);
+        }
+        if (expirationTime.isBefore(now)) {
+            return now.plusSeconds(Math.max(timeToLive, timeToIdle));
+        }
+        return expirationTime;
+    }
+
+    private static long getDurationInSeconds(final Long duration) {
+        if (duration == null || duration <= 0) {
+            return 0;
+        }
+        return Math.min(duration, MAX_DURATION_IN_SECONDS);
+    }
+}
@@ -0,0 +1,34 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+/**
+ * This is {@link TicketPrincipalUtils}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@UtilityClass
+public class TicketPrincipalUtils {
+
+    /**
+     * Gets the id of the authenticated principal of the ticket, if the ticket is a ticket-granting ticket.
+     *
+     * @param ticket the ticket
+     * @return the principal id, or null
+     */
+    public static String getPrincipalId(final Ticket ticket) {
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            return null;
+        }
+        val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+        if (authentication == null || authentication.getPrincipal() == null) {
+            return null;
+        }
+        return authentication.getPrincipal().getId();
+    }
+}
@@ -0,0 +1,116 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link TicketRegistryStatistics}, which keeps count of the tickets held by a ticket registry
+ * by type, so that the number of sessions and service tickets can be reported without scanning the registry.
+ * Counters are updated as tickets are added to or removed from the registry. Changes the registry cannot
+ * observe, such as tickets evicted by the underlying store or modified by other nodes, are corrected
+ * when the counters are periodically reconciled with the contents of the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class TicketRegistryStatistics {
+    private final LongAdder sessions = new LongAdder();
+
+    private final LongAdder serviceTickets = new LongAdder();
+
+    private final LongAdder otherTickets = new LongAdder();
+
+    @Getter
+    private volatile ZonedDateTime lastReconciliationTime;
+
+    /**
+     * Record ticket added.
+     *
+     * @param ticket the ticket
+     */
+    public void recordTicketAdded(final Ticket ticket) {
+        getCounter(ticket).increment();
+    }
+
+    /**
+     * Record ticket removed.
+     *
+     * @param ticket the ticket
+     */
+    public void recordTicketRemoved(final Ticket ticket) {
+        getCounter(ticket).decrement();
+    }
+
+    /**
+     * Reset all counters to zero, typically once the registry is emptied.
+     */
+    public void reset() {
+        this.sessions.reset();
+        this.serviceTickets.reset();
+        this.otherTickets.reset();
+    }
+
+    /**
+     * Recount the given tickets and replace the current counters.
+     * Tickets added or removed while the tickets are counted may be off by one
+     * until the next reconciliation.
+     *
+     * @param tickets the tickets held by the registry
+     */
+    public void reconcile(final Stream<? extends Ticket> tickets) {
+        val counted = new TicketRegistryStatistics();
+        tickets.forEach(counted::recordTicketAdded);
+        reconcile(this.sessions, counted.sessions);
+        reconcile(this.serviceTickets, counted.serviceTickets);
+        reconcile(this.otherTickets, counted.otherTickets);
+        this.lastReconciliationTime = ZonedDateTime.now(ZoneOffset.UTC);
+        LOGGER.debug("Reconciled ticket counters to [{}] session(s), [{}] service ticket(s) and [{}] other ticket(s)",
+            getSessionCount(), getServiceTicketCount(), getOtherTicketCount());
+    }
+
+    /**
+     * Whether the counters have been reconciled with the contents of the registry at least once.
+     *
+     * @return true/false
+     */
+    public boolean isReconciled() {
+        return this.lastReconciliationTime != null;
+    }
+
+    public long getSessionCount() {
+        return Math.max(0, this.sessions.sum());
+    }
+
+    public long getServiceTicketCount() {
+        return Math.max(0, this.serviceTickets.sum());
+    }
+
+    public long getOtherTicketCount() {
+        return Math.max(0, this.otherTickets.sum());
+    }
+
+    private static void reconcile(final LongAdder counter, final LongAdder counted) {
+        counter.add(counted.sum() - counter.sum());
+    }
+
+    private LongAdder getCounter(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            return this.sessions;
+        }
+        if (ticket instanceof ServiceTicket) {
+            return this.serviceTickets;
+        }
+        return this.otherTickets;
+    }
+}
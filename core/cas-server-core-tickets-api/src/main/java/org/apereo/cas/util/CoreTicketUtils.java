@@ -2,6 +2,7 @@ package org.apereo.cas.util;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutor;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
@@ -57,6 +58,13 @@ public class CoreTicketUtils {
 
         if (enabled || forceIfBlankKeys) {
             LOGGER.debug("Ticket registry encryption/signing is enabled for [{}]", registryName);
+            if (AesGcmTicketCipherExecutor.CIPHER_ALGORITHM.equalsIgnoreCase(registry.getAlg())) {
+                LOGGER.debug("Ticket registry for [{}] will encrypt tickets using [{}]", registryName, registry.getAlg());
+                return new AesGcmTicketCipherExecutor(
+                    registry.getEncryption().getKey(),
+                    registry.getEncryption().getKeySize(),
+                    registryName);
+            }
             return new DefaultTicketCipherExecutor(
                 registry.getEncryption().getKey(),
                 registry.getSigning().getKey(),
@@ -34,6 +34,7 @@ import org.apereo.cas.ticket.registry.CachingTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
+import org.apereo.cas.ticket.registry.OffHeapTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
@@ -226,9 +227,11 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     @ConditionalOnMissingBean(name = "defaultTicketGrantingTicketFactory")
     @Bean
     public TicketGrantingTicketFactory defaultTicketGrantingTicketFactory() {
-        return new DefaultTicketGrantingTicketFactory(ticketGrantingTicketUniqueIdGenerator(),
+        val factory = new DefaultTicketGrantingTicketFactory(ticketGrantingTicketUniqueIdGenerator(),
             grantingTicketExpirationPolicy(),
             protocolTicketCipherExecutor());
+        factory.setMaximumServiceSessions(casProperties.getTicket().getTgt().getMaximumServiceSessions());
+        return factory;
     }
 
     @ConditionalOnMissingBean(name = "defaultTicketFactory")
@@ -269,6 +272,10 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
             val logoutManager = applicationContext.getBean("logoutManager", LogoutManager.class);
             return new CachingTicketRegistry(cipher, logoutManager);
         }
+        if (mem.getOffHeap().isEnabled()) {
+            val offHeap = mem.getOffHeap();
+            return new OffHeapTicketRegistry(offHeap.getMaxSize(), offHeap.getSegmentSize(), cipher);
+        }
         return new DefaultTicketRegistry(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency(), cipher);
     }
 
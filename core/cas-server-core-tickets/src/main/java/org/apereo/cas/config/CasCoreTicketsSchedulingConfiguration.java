@@ -2,7 +2,7 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.LogoutManager;
-import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.ExpirationIndexedTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
@@ -49,10 +49,11 @@ public class CasCoreTicketsSchedulingConfiguration {
     public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
                                                        @Qualifier("logoutManager") final LogoutManager logoutManager,
                                                        @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
-        val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
-        if (isCleanerEnabled) {
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        if (cleaner.getSchedule().isEnabled()) {
             LOGGER.debug("Ticket registry cleaner is enabled.");
-            return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
+            return new ExpirationIndexedTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry,
+                cleaner.getBatchSize(), cleaner.getMaxTicketsPerRun());
         }
         LOGGER.debug("Ticket registry cleaner is not enabled. "
             + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
@@ -69,6 +70,13 @@ public class CasCoreTicketsSchedulingConfiguration {
         return new TicketRegistryCleanerScheduler(ticketRegistryCleaner);
     }
 
+    @ConditionalOnMissingBean(name = "ticketRegistryStatisticsReconciler")
+    @ConditionalOnProperty(prefix = "cas.ticket.registry.statistics.schedule", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Bean
+    @Autowired
+    public TicketRegistryStatisticsReconciler ticketRegistryStatisticsReconciler(@Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
+        return new TicketRegistryStatisticsReconciler(ticketRegistry);
+    }
 
     /**
      * The Ticket registry cleaner scheduler. Because the cleaner itself is marked
@@ -94,4 +102,26 @@ public class CasCoreTicketsSchedulingConfiguration {
             }
         }
     }
+
+    /**
+     * Periodically recounts the tickets held by the ticket registry, so that the
+     * session and service ticket counts reported by the registry stay accurate.
+     */
+    public static class TicketRegistryStatisticsReconciler {
+        private final TicketRegistry ticketRegistry;
+
+        public TicketRegistryStatisticsReconciler(final TicketRegistry ticketRegistry) {
+            this.ticketRegistry = ticketRegistry;
+        }
+
+        @Scheduled(initialDelayString = "${cas.ticket.registry.statistics.schedule.startDelay:PT30S}",
+            fixedDelayString = "${cas.ticket.registry.statistics.schedule.repeatInterval:PT5M}")
+        public void run() {
+            try {
+                this.ticketRegistry.reconcileTicketStatistics();
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+    }
 }
@@ -11,6 +11,9 @@ import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.ExpirationIndexedTicketRegistryCleanerTests;
+import org.apereo.cas.ticket.registry.OffHeapTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TicketGrantingTicketReferenceTests;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicyTests;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicyTests;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicyTests;
@@ -52,6 +55,9 @@ import org.junit.runners.Suite;
     HardTimeoutExpirationPolicyTests.class,
     NeverExpiresExpirationPolicyTests.class,
     DefaultTicketRegistryCleanerTests.class,
+    ExpirationIndexedTicketRegistryCleanerTests.class,
+    OffHeapTicketRegistryTests.class,
+    TicketGrantingTicketReferenceTests.class,
     TicketSerializersTests.class,
     Cas20ProxyHandlerTests.class})
 public class AllTestsSuite {
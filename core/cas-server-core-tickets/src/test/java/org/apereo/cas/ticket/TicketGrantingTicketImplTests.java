@@ -3,6 +3,7 @@ package org.apereo.cas.ticket;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 
@@ -22,6 +23,7 @@ import java.io.IOException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 
 import static org.junit.Assert.*;
 
@@ -348,4 +350,59 @@ public class TicketGrantingTicketImplTests {
 
         assertEquals(2, t.getServices().size());
     }
+
+    @Test
+    public void verifyServiceSessionsAreBounded() {
+        val t = new TicketGrantingTicketImpl(TGT_ID, null, null,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        t.setMaximumServiceSessions(2);
+        val ids = new ArrayList<String>();
+        for (var i = 0; i < 3; i++) {
+            val id = ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX);
+            ids.add(id);
+            val policy = i == 1 ? new AlwaysExpiresExpirationPolicy() : new NeverExpiresExpirationPolicy();
+            t.grantServiceTicket(id, RegisteredServiceTestUtils.getService("http://host" + i + ".com"), policy, false, true);
+        }
+        assertEquals(2, t.getServices().size());
+        assertTrue(t.getServices().containsKey(ids.get(0)));
+        assertFalse(t.getServices().containsKey(ids.get(1)));
+        assertTrue(t.getServices().containsKey(ids.get(2)));
+
+        val id = ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX);
+        t.grantServiceTicket(id, RegisteredServiceTestUtils.getService("http://host3.com"), new NeverExpiresExpirationPolicy(), false, true);
+        assertEquals(2, t.getServices().size());
+        assertFalse(t.getServices().containsKey(ids.get(0)));
+        assertTrue(t.getServices().containsKey(ids.get(2)));
+        assertTrue(t.getServices().containsKey(id));
+    }
+
+    @Test
+    public void verifyDescendantTicketsAreBounded() {
+        val t = new TicketGrantingTicketImpl(TGT_ID, null, null,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        t.setMaximumServiceSessions(2);
+        for (var i = 0; i < 4; i++) {
+            val policy = i == 1 ? new AlwaysExpiresExpirationPolicy() : new NeverExpiresExpirationPolicy();
+            t.trackDescendantTicket(new ServiceTicketImpl("AT-" + i, t, RegisteredServiceTestUtils.getService(), false, policy));
+        }
+        assertEquals(3, t.getDescendantTickets().size());
+        assertFalse(t.getDescendantTickets().contains("AT-1"));
+        assertTrue(t.getDescendantTickets().contains("AT-0"));
+        assertTrue(t.getDescendantTickets().contains("AT-3"));
+    }
+
+    @Test
+    public void verifyServiceSessionsAreUnboundedWithoutLimit() {
+        val t = new TicketGrantingTicketImpl(TGT_ID, null, null,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        t.setMaximumServiceSessions(null);
+        for (var i = 0; i < 3; i++) {
+            t.grantServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX), RegisteredServiceTestUtils.getService("http://host" + i + ".com"),
+                new AlwaysExpiresExpirationPolicy(), false, true);
+            t.trackDescendantTicket(new ServiceTicketImpl("AT-" + i, t, RegisteredServiceTestUtils.getService(), false, new AlwaysExpiresExpirationPolicy()));
+        }
+        assertEquals(3, t.getServices().size());
+        assertEquals(3, t.getDescendantTickets().size());
+        assertTrue(t.getServices() instanceof LinkedHashMap);
+    }
 }
@@ -22,6 +22,7 @@ import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.stream.IntStream;
 
@@ -187,6 +188,55 @@ public abstract class BaseTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyAddAndUpdateTicketsInBatch() {
+        try {
+            TicketGrantingTicket tgt = new TicketGrantingTicketImpl(
+                TicketGrantingTicket.PREFIX,
+                CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            this.ticketRegistry.addTicket(tgt);
+
+            tgt = this.ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            assertNotNull(tgt);
+            val st = tgt.grantServiceTicket("ST1", RegisteredServiceTestUtils.getService("TGT_BATCH_TEST"),
+                new NeverExpiresExpirationPolicy(), false, false);
+            this.ticketRegistry.addAndUpdateTickets(Collections.singletonList(st), Collections.singletonList(tgt));
+
+            tgt = this.ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            assertEquals(Collections.singleton("ST1"), tgt.getServices().keySet());
+            assertNotNull(this.ticketRegistry.getTicket("ST1", ServiceTicket.class));
+        } catch (final Exception e) {
+            throw new AssertionError(CAUGHT_AN_EXCEPTION_BUT_WAS_NOT_EXPECTED + e.getMessage(), e);
+        }
+    }
+
+    @Test
+    public void verifyUpdateAndDeleteTicketsInBatch() {
+        try {
+            TicketGrantingTicket tgt = new TicketGrantingTicketImpl(
+                TicketGrantingTicket.PREFIX,
+                CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            this.ticketRegistry.addTicket(tgt);
+
+            tgt = this.ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            val st1 = tgt.grantServiceTicket("ST1", RegisteredServiceTestUtils.getService("TGT_BATCH_TEST"),
+                new NeverExpiresExpirationPolicy(), false, false);
+            val st2 = tgt.grantServiceTicket("ST2", RegisteredServiceTestUtils.getService("TGT_BATCH_TEST"),
+                new NeverExpiresExpirationPolicy(), false, false);
+            this.ticketRegistry.addAndUpdateTickets(Arrays.asList(st1, st2), Collections.singletonList(tgt));
+
+            val stored = this.ticketRegistry.getTicket("ST1", ServiceTicket.class);
+            assertEquals(1, this.ticketRegistry.updateAndDeleteTickets(Collections.singletonList(stored),
+                Collections.singletonList(this.ticketRegistry.getTicket("ST2", ServiceTicket.class))));
+            assertNotNull(this.ticketRegistry.getTicket("ST1", ServiceTicket.class));
+            assertNull(this.ticketRegistry.getTicket("ST2", ServiceTicket.class));
+        } catch (final Exception e) {
+            throw new AssertionError(CAUGHT_AN_EXCEPTION_BUT_WAS_NOT_EXPECTED + e.getMessage(), e);
+        }
+    }
+
     @Test
     public void verifyDeleteAllExistingTickets() {
         Assume.assumeTrue(isIterableRegistry());
@@ -404,4 +454,28 @@ public abstract class BaseTicketRegistryTests {
         val c = this.ticketRegistry.deleteTicket(TGT_ID);
         assertEquals(6, c);
     }
+
+    @Test
+    public void verifySessionsByPrincipalAndPage() {
+        Assume.assumeTrue(isIterableRegistry());
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TGT_ID + "-1",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TGT_ID + "-2",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TGT_ID + "-3",
+            CoreAuthenticationTestUtils.getAuthentication("someone"), new NeverExpiresExpirationPolicy()));
+
+        try (val sessions = this.ticketRegistry.getSessionsFor("casuser")) {
+            assertEquals(2, sessions.count());
+        }
+        try (val sessions = this.ticketRegistry.getSessions(0, Long.MAX_VALUE)) {
+            assertEquals(3, sessions.count());
+        }
+        try (val sessions = this.ticketRegistry.getSessions(1, 1)) {
+            assertEquals(1, sessions.count());
+        }
+        try (val sessions = this.ticketRegistry.getSessions(3, 5)) {
+            assertEquals(0, sessions.count());
+        }
+    }
 }
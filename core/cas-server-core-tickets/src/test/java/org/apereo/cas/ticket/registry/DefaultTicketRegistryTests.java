@@ -1,9 +1,14 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -11,6 +16,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 import static org.junit.Assert.*;
 
@@ -46,4 +52,45 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyTicketCountsAreMaintained() {
+        val registry = new DefaultTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        registry.addAndUpdateTickets(Collections.singletonList(st), Collections.singletonList(tgt));
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+
+        assertTrue(registry.deleteSingleTicket(st.getId()));
+        assertFalse(registry.deleteSingleTicket(st.getId()));
+        assertEquals(1, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+
+        registry.getMapInstance().clear();
+        assertEquals(1, registry.sessionCount());
+        registry.reconcileTicketStatistics();
+        assertEquals(0, registry.sessionCount());
+        assertNotNull(registry.getTicketStatistics().getLastReconciliationTime());
+    }
+
+    @Test
+    public void verifySessionsAreIndexedByPrincipal() {
+        val registry = new DefaultTicketRegistry();
+        assertTrue(registry.isPrincipalIndexed());
+        val policy = new NeverExpiresExpirationPolicy();
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication("casuser"), policy));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication("casuser"), policy));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-3", CoreAuthenticationTestUtils.getAuthentication("someone"), policy));
+        assertEquals(2, registry.getSessionsFor("casuser").count());
+        assertEquals(1, registry.getSessionsFor("someone").count());
+        assertEquals(0, registry.getSessionsFor("unknown").count());
+        assertEquals(2, registry.getSessions(1, 5).count());
+
+        assertTrue(registry.deleteSingleTicket("TGT-1"));
+        assertEquals(1, registry.getSessionsFor("casuser").count());
+        registry.deleteAll();
+        assertEquals(0, registry.getSessionsFor("someone").count());
+    }
 }
@@ -0,0 +1,80 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ExpirationIndexedTicketRegistryCleanerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class ExpirationIndexedTicketRegistryCleanerTests {
+
+    private static MockTicketGrantingTicket getExpiredTicket(final String principal) {
+        val ticket = new MockTicketGrantingTicket(principal);
+        ticket.markTicketExpired();
+        return ticket;
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreRemoved() {
+        val ticketRegistry = new DefaultTicketRegistry();
+        val active = new MockTicketGrantingTicket("active");
+        ticketRegistry.addTicket(active);
+        ticketRegistry.addTicket(getExpiredTicket("casuser"));
+        assertEquals(2, ticketRegistry.getTickets().size());
+        assertEquals(1, ticketRegistry.countTicketsDueForExpiration(ZonedDateTime.now(ZoneOffset.UTC)));
+
+        val c = new ExpirationIndexedTicketRegistryCleaner(new NoOpLockingStrategy(), mock(LogoutManager.class), ticketRegistry, 10, 100);
+        c.clean();
+        assertEquals(1, ticketRegistry.getTickets().size());
+        assertNotNull(ticketRegistry.getTicket(active.getId()));
+        assertEquals(0, c.getBacklog());
+        assertEquals(Duration.ZERO, c.getLag());
+    }
+
+    @Test
+    public void verifyCleanerStopsOnceBudgetIsExhausted() {
+        val ticketRegistry = new DefaultTicketRegistry();
+        IntStream.range(0, 5).forEach(i -> ticketRegistry.addTicket(getExpiredTicket("casuser" + i)));
+
+        val c = new ExpirationIndexedTicketRegistryCleaner(new NoOpLockingStrategy(), mock(LogoutManager.class), ticketRegistry, 1, 2);
+        c.clean();
+        assertEquals(2, c.getLastRunExaminedCount());
+        assertEquals(3, ticketRegistry.getTickets().size());
+        assertEquals(3, c.getBacklog());
+
+        c.clean();
+        c.clean();
+        assertTrue(ticketRegistry.getTickets().isEmpty());
+        assertEquals(0, c.getBacklog());
+    }
+
+    @Test
+    public void verifyDueTicketsAreTracked() {
+        val ticketRegistry = new DefaultTicketRegistry();
+        val tickets = IntStream.range(0, 3)
+            .mapToObj(i -> getExpiredTicket("casuser" + i))
+            .collect(Collectors.toList());
+        tickets.forEach(ticketRegistry::addTicket);
+        val due = ticketRegistry.getTicketsDueForExpiration(ZonedDateTime.now(ZoneOffset.UTC), 2).collect(Collectors.toList());
+        assertEquals(2, due.size());
+
+        ticketRegistry.deleteSingleTicket(tickets.get(0).getId());
+        assertEquals(2, ticketRegistry.countTicketsDueForExpiration(ZonedDateTime.now(ZoneOffset.UTC)));
+        assertEquals(0, ticketRegistry.countTicketsDueForExpiration(ZonedDateTime.now(ZoneOffset.UTC).minusDays(1)));
+    }
+}
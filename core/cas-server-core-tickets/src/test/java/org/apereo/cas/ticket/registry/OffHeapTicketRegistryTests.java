@@ -0,0 +1,135 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.support.OffHeapTicketMap;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OffHeapTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(Parameterized.class)
+@SpringBootTest(classes = {
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class
+})
+public class OffHeapTicketRegistryTests extends BaseSpringRunnableTicketRegistryTests {
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    public OffHeapTicketRegistryTests(final boolean useEncryption) {
+        super(useEncryption);
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object> getTestParameters() {
+        return Arrays.asList(false, true);
+    }
+
+    private static TicketGrantingTicket getTicketGrantingTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() {
+        return new OffHeapTicketRegistry(SEGMENT_SIZE * 4, SEGMENT_SIZE, CipherExecutor.noOp());
+    }
+
+    @Test
+    public void verifyRecentlyUnusedTicketsAreEvicted() {
+        val map = new OffHeapTicketMap(SEGMENT_SIZE * 2, SEGMENT_SIZE);
+        map.put("TGT-0", getTicketGrantingTicket("TGT-0"));
+        IntStream.range(1, 2000).forEach(i -> {
+            map.put("TGT-" + i, getTicketGrantingTicket("TGT-" + i));
+            assertNotNull(map.get("TGT-0"));
+        });
+        assertTrue(map.getEvictionCount() > 0);
+        assertTrue(map.getUsedSize() <= SEGMENT_SIZE);
+        assertEquals(2000 - map.getEvictionCount(), map.size());
+        assertEquals(map.size(), map.values().size());
+        assertNotNull(map.get("TGT-0"));
+        assertNotNull(map.get("TGT-1999"));
+        assertTrue(IntStream.range(1, 1000).anyMatch(i -> !map.containsKey("TGT-" + i)));
+    }
+
+    @Test
+    public void verifyTicketsEncodedByRegistryAreStoredAsTheyAre() {
+        val map = new OffHeapTicketMap(SEGMENT_SIZE * 2, SEGMENT_SIZE);
+        val encoded = new EncodedTicket("ENC-1", new byte[]{1, 2, 3});
+        map.put(encoded.getId(), encoded);
+        val found = map.get(encoded.getId());
+        assertTrue(found instanceof EncodedTicket);
+        assertArrayEquals(encoded.getEncodedTicket(), ((EncodedTicket) found).getEncodedTicket());
+    }
+
+    @Test
+    public void verifyRemovedTicketsAreCompacted() {
+        val map = new OffHeapTicketMap(SEGMENT_SIZE * 2, SEGMENT_SIZE);
+        IntStream.range(0, 1000).forEach(i -> {
+            map.put("TGT-" + i, getTicketGrantingTicket("TGT-" + i));
+            if (i > 0) {
+                assertNotNull(map.remove("TGT-" + (i - 1)));
+            }
+        });
+        assertEquals(0, map.getEvictionCount());
+        assertEquals(1, map.size());
+        assertEquals("TGT-999", map.get("TGT-999").getId());
+        assertEquals(1, map.values().size());
+        map.clear();
+        assertEquals(0, map.getUsedSize());
+    }
+
+    @Test
+    public void verifyTicketCountsFollowEvictionsAndReplacements() {
+        val registry = new OffHeapTicketRegistry(SEGMENT_SIZE * 2, SEGMENT_SIZE, CipherExecutor.noOp());
+        val tgt = getTicketGrantingTicket("TGT-0");
+        registry.addTicket(tgt);
+        registry.addTicket(tgt);
+        registry.updateTicket(tgt);
+        assertEquals(1, registry.sessionCount());
+
+        IntStream.range(1, 200).forEach(i -> registry.addTicket(getTicketGrantingTicket("TGT-" + i)));
+        val map = (OffHeapTicketMap) registry.getMapInstance();
+        assertTrue(map.getEvictionCount() > 0);
+        assertEquals(map.size(), registry.sessionCount());
+    }
+
+    @Test
+    public void verifyNormalizedTicketsResolveTheirParent() {
+        val registry = new OffHeapTicketRegistry(SEGMENT_SIZE * 4, SEGMENT_SIZE, CipherExecutor.noOp());
+        registry.setNormalizeTickets(true);
+        val tgt = getTicketGrantingTicket("TGT-1");
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+
+        val found = registry.getTicket("ST-1", ServiceTicket.class);
+        assertNotNull(found);
+        val parent = found.getTicketGrantingTicket();
+        assertTrue(parent instanceof TicketGrantingTicketReference);
+        assertEquals("TGT-1", parent.getId());
+        assertEquals(tgt.getAuthentication().getPrincipal(), parent.getAuthentication().getPrincipal());
+        assertFalse(parent.isExpired());
+    }
+}
@@ -0,0 +1,166 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.BaseTicketSerializers;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketGrantingTicketReferenceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class TicketGrantingTicketReferenceTests {
+    private static final String TGT_ID = "TGT-1";
+    private static final String ST_ID = "ST-1";
+    private static final String PGT_ID = "PGT-1";
+
+    private static AbstractMapBasedTicketRegistry getNewTicketRegistry() {
+        val registry = new JsonTicketRegistry();
+        registry.setNormalizeTickets(true);
+        val tgt = new TicketGrantingTicketImpl(TGT_ID, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(ST_ID, RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+        return registry;
+    }
+
+    private static void assertTicketGrantingTicketIsStored(final TicketRegistry registry) {
+        val tgt = registry.getTicket(TGT_ID, TicketGrantingTicket.class);
+        assertTrue(tgt instanceof TicketGrantingTicketImpl);
+        assertNotNull(tgt.getAuthentication());
+        assertTrue(tgt.getServices().containsKey(ST_ID));
+    }
+
+    @Test
+    public void verifyTicketsRoundTripThroughJson() {
+        val registry = getNewTicketRegistry();
+        val st = registry.getTicket(ST_ID, ServiceTicket.class);
+        val parent = st.getTicketGrantingTicket();
+        assertTrue(parent instanceof TicketGrantingTicketReference);
+        assertEquals(TGT_ID, parent.getId());
+        assertEquals(CoreAuthenticationTestUtils.getAuthentication().getPrincipal(), parent.getAuthentication().getPrincipal());
+        assertTicketGrantingTicketIsStored(registry);
+    }
+
+    @Test
+    public void verifyStoringTicketLeavesItsParentIntact() {
+        val registry = new JsonTicketRegistry();
+        registry.setNormalizeTickets(true);
+        val tgt = new TicketGrantingTicketImpl(TGT_ID, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(ST_ID, RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        assertSame(tgt, st.getTicketGrantingTicket());
+        assertTrue(registry.getTicket(ST_ID, ServiceTicket.class).getTicketGrantingTicket() instanceof TicketGrantingTicketReference);
+    }
+
+    @Test
+    public void verifyReferencesAreOnlyEqualToReferences() {
+        val tgt = new TicketGrantingTicketImpl(TGT_ID, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        val reference = new TicketGrantingTicketReference(tgt);
+        assertEquals(reference, new TicketGrantingTicketReference(TGT_ID));
+        assertNotEquals(reference, tgt);
+        assertNotEquals(tgt, reference);
+    }
+
+    @Test
+    public void verifyUpdatingReferenceStoresTicketGrantingTicket() {
+        val registry = getNewTicketRegistry();
+        val parent = registry.getTicket(ST_ID, ServiceTicket.class).getTicketGrantingTicket();
+        parent.getDescendantTickets().add("AT-1");
+        registry.updateTicket(parent);
+        assertTicketGrantingTicketIsStored(registry);
+        assertTrue(registry.getTicket(TGT_ID, TicketGrantingTicket.class).getDescendantTickets().contains("AT-1"));
+    }
+
+    @Test
+    public void verifyDeletingProxyGrantingTicketKeepsParent() {
+        val registry = getNewTicketRegistry();
+        val st = registry.getTicket(ST_ID, ServiceTicket.class);
+        val pgt = st.grantProxyGrantingTicket(PGT_ID, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(pgt);
+        registry.updateTicket(st.getTicketGrantingTicket());
+        assertTrue(registry.getTicket(TGT_ID, TicketGrantingTicket.class).getProxyGrantingTickets().containsKey(PGT_ID));
+
+        assertEquals(1, registry.deleteTicket(PGT_ID));
+        assertNull(registry.getTicket(PGT_ID));
+        assertTicketGrantingTicketIsStored(registry);
+        assertTrue(registry.getTicket(TGT_ID, TicketGrantingTicket.class).getProxyGrantingTickets().isEmpty());
+    }
+
+    /**
+     * Ticket registry that stores tickets as JSON documents, the way document-oriented registries do.
+     */
+    private static class JsonTicketRegistry extends AbstractMapBasedTicketRegistry {
+        private final Map<String, Ticket> tickets = new JsonTicketMap();
+
+        @Override
+        public Map<String, Ticket> getMapInstance() {
+            return this.tickets;
+        }
+    }
+
+    /**
+     * Map that holds tickets serialized as JSON, keyed by id.
+     */
+    private static class JsonTicketMap extends AbstractMap<String, Ticket> {
+        private final Map<String, Pair<String, String>> documents = new ConcurrentHashMap<>();
+
+        @Override
+        public Ticket get(final Object key) {
+            val document = this.documents.get(key);
+            return document == null ? null : BaseTicketSerializers.deserializeTicket(document.getRight(), document.getLeft());
+        }
+
+        @Override
+        public Ticket put(final String key, final Ticket value) {
+            val previous = get(key);
+            this.documents.put(key, Pair.of(value.getClass().getName(), BaseTicketSerializers.serializeTicket(value)));
+            return previous;
+        }
+
+        @Override
+        public Ticket remove(final Object key) {
+            val previous = get(key);
+            this.documents.remove(key);
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return this.documents.size();
+        }
+
+        @Override
+        public void clear() {
+            this.documents.clear();
+        }
+
+        @Override
+        public Set<Entry<String, Ticket>> entrySet() {
+            return this.documents.keySet()
+                .stream()
+                .map(key -> new SimpleEntry<>(key, get(key)))
+                .collect(Collectors.toSet());
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.mock.MockServiceTicket;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.support.DefaultTicketCodec;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutor;
 import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
 import org.apereo.cas.util.serialization.SerializationUtils;
 
@@ -60,6 +63,33 @@ public class TicketEncryptionDecryptionTests {
         assertNotNull(obj);
     }
 
+    @Test
+    public void checkCodecWithBinaryCipher() {
+        val codec = new DefaultTicketCodec(cipher);
+        assertTrue(codec.isEnabled());
+        val obj = codec.decode(codec.encode(tgt));
+        assertEquals(tgt.getId(), obj.getId());
+        assertEquals(DigestUtils.sha512(tgt.getId()), codec.encodeTicketId(tgt.getId()));
+    }
+
+    @Test
+    public void checkCodecWithGcmCipher() {
+        val codec = new DefaultTicketCodec(new AesGcmTicketCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==", 16, "Test"));
+        val st = new MockServiceTicket("serviceid", RegisteredServiceTestUtils.getService(), tgt);
+        val obj = codec.decode(codec.encode(st));
+        assertEquals(st.getId(), obj.getId());
+        assertEquals(tgt.getId(), codec.decode(codec.encode(tgt)).getId());
+    }
+
+    @Test
+    public void checkCodecStoresTicketsCompactly() {
+        val codec = new DefaultTicketCodec(CipherExecutor.noOp());
+        val encoded = codec.encode(tgt);
+        assertTrue(encoded.length < SerializationUtils.serialize(tgt).length);
+        assertEquals(tgt.getId(), codec.decode(encoded).getId());
+        assertEquals(tgt.getId(), codec.decode(SerializationUtils.serialize(tgt)).getId());
+    }
+
     private static class TestBinaryCipherExecutor extends BaseBinaryCipherExecutor {
         TestBinaryCipherExecutor(final String encKey, final String signingKey, final int sKey, final int eKey) {
             super(encKey, signingKey, sKey, eKey, "Test");
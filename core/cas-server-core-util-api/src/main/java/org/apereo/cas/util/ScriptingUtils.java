@@ -1,27 +1,26 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.util.scripting.GroovyScriptCompilationCache;
+
 import groovy.lang.Binding;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
-import groovy.lang.GroovyShell;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.Resource;
 
 import javax.script.Invocable;
 import javax.script.ScriptEngineManager;
-import javax.script.SimpleBindings;
+import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -47,6 +46,18 @@ public class ScriptingUtils {
      */
     private static final Pattern FILE_GROOVY_PATTERN = RegexUtils.createPattern("(file|classpath):(.+\\.groovy)");
 
+    private static final int COMPILED_SCRIPTS_CACHE_SIZE = 500;
+
+    private static final Duration COMPILED_SCRIPTS_CACHE_EXPIRATION = Duration.ofHours(8);
+
+    /**
+     * Compiled groovy scripts and classes, shared by all script executions.
+     */
+    private static final GroovyScriptCompilationCache COMPILED_SCRIPTS = new GroovyScriptCompilationCache(COMPILED_SCRIPTS_CACHE_SIZE,
+        COMPILED_SCRIPTS_CACHE_EXPIRATION, ScriptingUtils.class.getClassLoader());
+
+    private static final ScriptEngineManager SCRIPT_ENGINE_MANAGER = new ScriptEngineManager();
+
     /**
      * Is inline groovy script ?.
      *
@@ -100,30 +111,71 @@ public class ScriptingUtils {
                                                  final Map<String, Object> variables,
                                                  final Class<T> clazz) {
         try {
-            val binding = new Binding();
-            val shell = new GroovyShell(binding);
-            if (variables != null && !variables.isEmpty()) {
-                variables.forEach(binding::setVariable);
-            }
-            if (!binding.hasVariable("logger")) {
-                binding.setVariable("logger", LOGGER);
-            }
+            val binding = getScriptBinding(variables);
             LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
+            val result = COMPILED_SCRIPTS.getScript(script, binding).run();
+            return getScriptResult(result, clazz);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
 
-            val result = shell.evaluate(script);
-            if (result != null && !clazz.isAssignableFrom(result.getClass())) {
-                throw new ClassCastException("Result [" + result
-                    + " is of type " + result.getClass()
-                    + " when we were expecting " + clazz);
+    /**
+     * Execute groovy shell script stored in the given file.
+     * The script is only compiled again once the file is modified.
+     *
+     * @param <T>       the type parameter
+     * @param file      the script file
+     * @param variables the variables
+     * @param clazz     the clazz
+     * @return the t
+     */
+    public static <T> T executeGroovyShellScript(final File file,
+                                                 final Map<String, Object> variables,
+                                                 final Class<T> clazz) {
+        try {
+            if (!file.exists()) {
+                LOGGER.warn("Groovy script at [{}] does not exist", file);
+                return null;
             }
-            return (T) result;
-
+            val binding = getScriptBinding(variables);
+            LOGGER.debug("Executing groovy script [{}] with variables [{}]", file, binding.getVariables());
+            val result = COMPILED_SCRIPTS.getScript(file, binding).run();
+            return getScriptResult(result, clazz);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
         return null;
     }
 
+    /**
+     * Discard all compiled groovy scripts and classes.
+     */
+    public static void clearCompiledScripts() {
+        COMPILED_SCRIPTS.clear();
+    }
+
+    private static Binding getScriptBinding(final Map<String, Object> variables) {
+        val binding = new Binding();
+        if (variables != null && !variables.isEmpty()) {
+            variables.forEach(binding::setVariable);
+        }
+        if (!binding.hasVariable("logger")) {
+            binding.setVariable("logger", LOGGER);
+        }
+        return binding;
+    }
+
+    private static <T> T getScriptResult(final Object result, final Class<T> clazz) {
+        if (result != null && !clazz.isAssignableFrom(result.getClass())) {
+            throw new ClassCastException("Result [" + result
+                + " is of type " + result.getClass()
+                + " when we were expecting " + clazz);
+        }
+        return (T) result;
+    }
+
     /**
      * Execute groovy script via run object.
      *
@@ -194,9 +246,8 @@ public class ScriptingUtils {
             return null;
         }
 
-        val parent = ScriptingUtils.class.getClassLoader();
         try {
-            return AccessController.doPrivileged((PrivilegedAction<T>) () -> getGroovyResult(groovyScript, methodName, args, clazz, parent, failOnError));
+            return AccessController.doPrivileged((PrivilegedAction<T>) () -> getGroovyResult(groovyScript, methodName, args, clazz, failOnError));
         } catch (final Exception e) {
             var cause = (Throwable) null;
             if (e instanceof PrivilegedActionException) {
@@ -215,12 +266,12 @@ public class ScriptingUtils {
 
     @SneakyThrows
     private static <T> T getGroovyResult(final Resource groovyScript, final String methodName,
-                                         final Object[] args, final Class<T> clazz, final ClassLoader parent,
+                                         final Object[] args, final Class<T> clazz,
                                          final boolean failOnError) {
-        try (val loader = new GroovyClassLoader(parent)) {
+        try {
             val groovyFile = groovyScript.getFile();
             if (groovyFile.exists()) {
-                val groovyClass = loader.parseClass(groovyFile);
+                val groovyClass = COMPILED_SCRIPTS.getCompiledClass(groovyFile);
                 LOGGER.trace("Creating groovy object instance from class [{}]", groovyFile.getCanonicalPath());
 
                 val groovyObject = (GroovyObject) groovyClass.getDeclaredConstructor().newInstance();
@@ -264,7 +315,7 @@ public class ScriptingUtils {
     public static <T> T executeScriptEngine(final String scriptFile, final Object[] args, final Class<T> clazz) {
         try {
             val engineName = getScriptEngineName(scriptFile);
-            val engine = new ScriptEngineManager().getEngineByName(engineName);
+            val engine = SCRIPT_ENGINE_MANAGER.getEngineByName(engineName);
             if (engine == null || StringUtils.isBlank(engineName)) {
                 LOGGER.warn("Script engine is not available for [{}]", engineName);
                 return null;
@@ -307,23 +358,9 @@ public class ScriptingUtils {
                                                   final Map<String, Object> variables,
                                                   final Class<T> clazz) {
         try {
-            val engine = new ScriptEngineManager().getEngineByName("groovy");
-            if (engine == null) {
-                LOGGER.warn("Script engine is not available for Groovy");
-                return null;
-            }
-            val binding = new SimpleBindings();
-            if (variables != null && !variables.isEmpty()) {
-                binding.putAll(variables);
-            }
-            if (!binding.containsKey("logger")) {
-                binding.put("logger", LOGGER);
-            }
-            val result = engine.eval(script, binding);
-            if (result != null && !clazz.isAssignableFrom(result.getClass())) {
-                throw new ClassCastException("Result [" + result + " is of type " + result.getClass() + " when we were expecting " + clazz);
-            }
-            return (T) result;
+            val binding = getScriptBinding(variables);
+            val result = COMPILED_SCRIPTS.getScript(script, binding).run();
+            return getScriptResult(result, clazz);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -363,14 +400,7 @@ public class ScriptingUtils {
                 return null;
             }
 
-            val script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
-
-            val clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> {
-                val classLoader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(),
-                    new CompilerConfiguration(), true);
-                return classLoader.parseClass(script);
-            });
-
+            val clazz = (Class<T>) COMPILED_SCRIPTS.getCompiledClass(resource);
             LOGGER.debug("Preparing constructor arguments [{}] for resource [{}]", args, resource);
             val ctor = clazz.getDeclaredConstructor(constructorArgs);
             val result = ctor.newInstance(args);
@@ -0,0 +1,137 @@
+package org.apereo.cas.util.cipher;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.gen.Base64RandomStringGenerator;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * This is {@link AesGcmTicketCipherExecutor} that encrypts tickets using AES in Galois/Counter mode.
+ * Unlike {@link DefaultTicketCipherExecutor}, which encrypts values and then wraps them into a signed
+ * JSON web signature, the authentication tag produced by GCM protects the integrity of the value,
+ * so no separate signature is calculated. Encoded values are laid out as
+ * {@code [version][initialization vector][ciphertext and authentication tag]}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class AesGcmTicketCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
+    /**
+     * The cipher transformation, which may also be used to select this cipher in settings.
+     */
+    public static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final byte VERSION = 1;
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private static final int HEADER_LENGTH = 1 + IV_LENGTH;
+
+    private static final int MINIMUM_KEY_LENGTH = 16;
+
+    private static final int MAXIMUM_KEY_LENGTH = 32;
+
+    private static final int KEY_LENGTH_INCREMENT = 8;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String cipherName;
+
+    private final SecretKeySpec encryptionKey;
+
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(AesGcmTicketCipherExecutor::newCipher);
+
+    public AesGcmTicketCipherExecutor(final String encryptionSecretKey, final int encryptionKeySize, final String cipherName) {
+        this.cipherName = cipherName;
+        this.encryptionKey = new SecretKeySpec(getEncryptionKey(encryptionSecretKey, encryptionKeySize), "AES");
+    }
+
+    @SneakyThrows
+    private static Cipher newCipher() {
+        return Cipher.getInstance(CIPHER_ALGORITHM);
+    }
+
+    private static boolean isValidKeyLength(final int length) {
+        return length >= MINIMUM_KEY_LENGTH && length <= MAXIMUM_KEY_LENGTH && length % KEY_LENGTH_INCREMENT == 0;
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] encode(final byte[] value, final Object[] parameters) {
+        val result = new byte[HEADER_LENGTH + value.length + TAG_LENGTH_BITS / Byte.SIZE];
+        result[0] = VERSION;
+        val iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        System.arraycopy(iv, 0, result, 1, IV_LENGTH);
+
+        val cipher = this.ciphers.get();
+        cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        cipher.doFinal(value, 0, value.length, result, HEADER_LENGTH);
+        return result;
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] decode(final byte[] value, final Object[] parameters) {
+        if (value.length < HEADER_LENGTH || value[0] != VERSION) {
+            throw new IllegalArgumentException("Value is not encoded by " + getClass().getSimpleName());
+        }
+        val cipher = this.ciphers.get();
+        cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, value, 1, IV_LENGTH));
+        try {
+            return cipher.doFinal(value, HEADER_LENGTH, value.length - HEADER_LENGTH);
+        } catch (final AEADBadTagException e) {
+            LOGGER.warn("Authentication tag of the encoded value does not match; the value may have been tampered with");
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Ticketing";
+    }
+
+    private String getEncryptionKeySetting() {
+        return "cas.ticket.registry." + this.cipherName + ".encryption.key";
+    }
+
+    private byte[] getEncryptionKey(final String encryptionSecretKey, final int encryptionKeySize) {
+        if (StringUtils.isBlank(encryptionSecretKey)) {
+            LOGGER.warn("Secret key for encryption is not defined under [{}]. CAS will attempt to auto-generate the encryption key",
+                getEncryptionKeySetting());
+            val key = new Base64RandomStringGenerator(encryptionKeySize).getNewString();
+            LOGGER.warn("Generated encryption key [{}] of size [{}]. The generated key MUST be added to CAS settings under setting [{}].",
+                key, encryptionKeySize, getEncryptionKeySetting());
+            return getEncryptionKey(key, encryptionKeySize);
+        }
+        val key = EncodingUtils.isBase64(encryptionSecretKey)
+            ? EncodingUtils.decodeBase64(encryptionSecretKey)
+            : encryptionSecretKey.getBytes(StandardCharsets.UTF_8);
+        if (isValidKeyLength(key.length)) {
+            return key;
+        }
+        LOGGER.warn("Secret key for encryption defined under [{}] is not a valid AES key of 16, 24 or 32 bytes. "
+            + "CAS will derive a 256-bit key from it instead.", getEncryptionKeySetting());
+        return DigestUtils.rawDigest(MessageDigestAlgorithms.SHA_256, key);
+    }
+}
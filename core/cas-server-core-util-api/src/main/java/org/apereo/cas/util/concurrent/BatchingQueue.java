@@ -0,0 +1,302 @@
+package org.apereo.cas.util.concurrent;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BatchingQueue}, which holds elements in a bounded queue and hands them
+ * over to a consumer on a single worker thread in batches. A batch is handed over once it
+ * reaches the batch size, or once its first element has waited for the flush interval,
+ * whichever comes first. What happens when the queue is full is controlled by the {@link OverflowPolicy}.
+ * Producers never wait for longer than the maximum wait, if one is given; elements that cannot
+ * be queued are discarded and counted. Once the queue is closed, elements are refused without being counted,
+ * so that callers may handle them on their own.
+ * <p>
+ * The depth and lag of the queue, along with its flush statistics and the number of discarded elements,
+ * are published with the global meter registry, tagged with the name of the queue.
+ *
+ * @param <T> the type of queued elements
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class BatchingQueue<T> implements AutoCloseable {
+    /**
+     * Prefix of the names of the metrics published for each queue.
+     */
+    public static final String METRIC_NAME_PREFIX = "cas.queue.";
+
+    private static final String METRIC_TAG_QUEUE = "queue";
+
+    private final String name;
+
+    private final BlockingQueue<QueuedElement<T>> queue;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Duration maximumWait;
+
+    private final int sampleRate;
+
+    private final Consumer<List<T>> consumer;
+
+    private final Thread worker;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong overflowedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicLong flushCount = new AtomicLong();
+
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    private volatile long lastFlushDuration;
+
+    private volatile long maximumFlushDuration;
+
+    private volatile long lastLag;
+
+    private volatile long maximumLag;
+
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new batching queue and starts its worker.
+     *
+     * @param name           the name of the queue and its worker thread
+     * @param capacity       the maximum number of queued elements
+     * @param batchSize      the maximum number of elements handed over at once
+     * @param flushInterval  how long the first element of a batch waits for the batch to fill up
+     * @param overflowPolicy what happens when the queue is full
+     * @param maximumWait    how long producers wait for room in the queue with {@link OverflowPolicy#BLOCK}; null waits indefinitely
+     * @param sampleRate     one out of this many overflowing elements is kept with {@link OverflowPolicy#SAMPLE}
+     * @param consumer       the consumer of batches
+     */
+    public BatchingQueue(final String name, final int capacity, final int batchSize, final Duration flushInterval,
+                         final OverflowPolicy overflowPolicy, final Duration maximumWait, final int sampleRate,
+                         final Consumer<List<T>> consumer) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.maximumWait = maximumWait;
+        this.sampleRate = Math.max(sampleRate, 1);
+        this.consumer = consumer;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+        registerMetrics();
+    }
+
+    /**
+     * Queue the element, applying the overflow policy if the queue is full.
+     *
+     * @param element the element
+     * @return true if the element was queued
+     */
+    @SneakyThrows
+    public boolean offer(final T element) {
+        if (!this.running) {
+            LOGGER.debug("Queue [{}] is closed; element is refused", this.name);
+            return false;
+        }
+        val queued = new QueuedElement<T>(element, System.nanoTime());
+        if (this.queue.offer(queued)) {
+            return isHandedOver(queued);
+        }
+        val overflowed = this.overflowedCount.incrementAndGet();
+        switch (this.overflowPolicy) {
+            case BLOCK:
+                if (this.maximumWait == null) {
+                    this.queue.put(queued);
+                    return isHandedOver(queued);
+                }
+                if (this.queue.offer(queued, this.maximumWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                    return isHandedOver(queued);
+                }
+                break;
+            case SAMPLE:
+                if (overflowed % this.sampleRate == 0) {
+                    if (this.queue.poll() != null) {
+                        this.droppedCount.incrementAndGet();
+                    }
+                    if (this.queue.offer(queued)) {
+                        return isHandedOver(queued);
+                    }
+                }
+                break;
+            case DROP:
+            default:
+                break;
+        }
+        this.droppedCount.incrementAndGet();
+        LOGGER.debug("Queue [{}] is full; element is discarded", this.name);
+        return false;
+    }
+
+    /**
+     * Gets the number of elements waiting in the queue.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets how long the oldest element in the queue has been waiting, in milliseconds.
+     *
+     * @return the current lag
+     */
+    public long getCurrentLag() {
+        val oldest = this.queue.peek();
+        return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.getQueuedAt());
+    }
+
+    /**
+     * Stop accepting elements and stop the worker once it has handed over its current batch,
+     * then hand over the elements that remain queued on the calling thread.
+     */
+    @Override
+    @SneakyThrows
+    public void close() {
+        this.running = false;
+        this.worker.join();
+        var batch = new ArrayList<QueuedElement<T>>(this.batchSize);
+        while (this.queue.drainTo(batch, this.batchSize) > 0) {
+            flush(batch);
+            batch = new ArrayList<>(this.batchSize);
+        }
+        LOGGER.debug("Queue [{}] is closed after handing over [{}] element(s)", this.name, this.flushedCount.get());
+    }
+
+    /**
+     * Check whether a queued element is handed over. Elements queued while the queue is being closed
+     * are taken back, unless the queue is already draining them, so that the caller can handle them.
+     */
+    private boolean isHandedOver(final QueuedElement<T> queued) {
+        return this.running || !this.queue.remove(queued);
+    }
+
+    private void registerMetrics() {
+        val tags = Tags.of(METRIC_TAG_QUEUE, this.name);
+        Metrics.gauge(METRIC_NAME_PREFIX + "depth", tags, this, BatchingQueue::getQueueDepth);
+        Metrics.gauge(METRIC_NAME_PREFIX + "lag", tags, this, BatchingQueue::getCurrentLag);
+        Metrics.gauge(METRIC_NAME_PREFIX + "lag.last", tags, this, BatchingQueue::getLastLag);
+        Metrics.gauge(METRIC_NAME_PREFIX + "lag.max", tags, this, BatchingQueue::getMaximumLag);
+        Metrics.gauge(METRIC_NAME_PREFIX + "flush.duration.last", tags, this, BatchingQueue::getLastFlushDuration);
+        Metrics.gauge(METRIC_NAME_PREFIX + "flush.duration.max", tags, this, BatchingQueue::getMaximumFlushDuration);
+        Metrics.more().counter(METRIC_NAME_PREFIX + "flushes", tags, this.flushCount);
+        Metrics.more().counter(METRIC_NAME_PREFIX + "flushed", tags, this.flushedCount);
+        Metrics.more().counter(METRIC_NAME_PREFIX + "failed", tags, this.failedCount);
+        Metrics.more().counter(METRIC_NAME_PREFIX + "overflowed", tags, this.overflowedCount);
+        Metrics.more().counter(METRIC_NAME_PREFIX + "dropped", tags, this.droppedCount);
+    }
+
+    private void run() {
+        while (this.running) {
+            try {
+                val batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.debug("Queue [{}] is interrupted", this.name);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<QueuedElement<T>> nextBatch() throws InterruptedException {
+        val batch = new ArrayList<QueuedElement<T>>(this.batchSize);
+        val first = this.queue.poll(this.flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        val deadline = System.nanoTime() + this.flushInterval.toNanos();
+        while (batch.size() < this.batchSize) {
+            this.queue.drainTo(batch, this.batchSize - batch.size());
+            val remaining = deadline - System.nanoTime();
+            if (batch.size() >= this.batchSize || remaining <= 0 || !this.running) {
+                break;
+            }
+            val next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void flush(final List<QueuedElement<T>> batch) {
+        val start = System.nanoTime();
+        try {
+            this.consumer.accept(batch.stream().map(QueuedElement::getElement).collect(Collectors.toList()));
+            this.flushedCount.addAndGet(batch.size());
+        } catch (final Exception e) {
+            this.failedCount.addAndGet(batch.size());
+            LOGGER.error("Queue [{}] is unable to hand over [{}] element(s): [{}]", this.name, batch.size(), e.getMessage(), e);
+        } finally {
+            val end = System.nanoTime();
+            this.lastFlushDuration = TimeUnit.NANOSECONDS.toMillis(end - start);
+            this.maximumFlushDuration = Math.max(this.maximumFlushDuration, this.lastFlushDuration);
+            this.lastLag = TimeUnit.NANOSECONDS.toMillis(end - batch.get(0).getQueuedAt());
+            this.maximumLag = Math.max(this.maximumLag, this.lastLag);
+            this.flushCount.incrementAndGet();
+            LOGGER.trace("Queue [{}] handed over [{}] element(s) in [{}] ms, [{}] ms after the oldest was queued; [{}] element(s) remain queued",
+                this.name, batch.size(), this.lastFlushDuration, this.lastLag, this.queue.size());
+        }
+    }
+
+    /**
+     * Decides what happens to elements when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for room in the queue, up to the maximum wait if one is given.
+         */
+        BLOCK,
+        /**
+         * Discard the new element.
+         */
+        DROP,
+        /**
+         * Keep one out of every so many overflowing elements, discarding the oldest queued element to make room.
+         */
+        SAMPLE
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class QueuedElement<T> {
+        private final T element;
+
+        private final long queuedAt;
+    }
+}
@@ -0,0 +1,168 @@
+package org.apereo.cas.util.scripting;
+
+import org.apereo.cas.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+
+/**
+ * This is {@link GroovyScriptCompilationCache}, a bounded cache of compiled groovy classes.
+ * Inline scripts and non-file resources are keyed by a hash of their contents, while scripts
+ * that live on the file system are keyed by their path and are recompiled once their modification
+ * time changes. Compiled classes are shared; script objects are always created per invocation
+ * so that each execution receives its own {@link Binding}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class GroovyScriptCompilationCache {
+    private final Cache<String, CompiledScript> cache;
+
+    private final ClassLoader parentClassLoader;
+
+    public GroovyScriptCompilationCache(final long maximumSize, final Duration expireAfterAccess,
+                                        final ClassLoader parentClassLoader) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+        this.parentClassLoader = parentClassLoader;
+    }
+
+    /**
+     * Create a new script object for the given script body,
+     * compiling the script only if it is not already cached.
+     *
+     * @param script  the script body
+     * @param binding the binding for this invocation
+     * @return the script
+     */
+    public Script getScript(final String script, final Binding binding) {
+        return InvokerHelper.createScript(getCompiledClass(script), binding);
+    }
+
+    /**
+     * Create a new script object for the given script file,
+     * compiling the script only if it is not already cached or has been modified.
+     *
+     * @param file    the file
+     * @param binding the binding for this invocation
+     * @return the script
+     */
+    public Script getScript(final File file, final Binding binding) {
+        return InvokerHelper.createScript(getCompiledClass(file), binding);
+    }
+
+    /**
+     * Gets compiled class for the given script body.
+     *
+     * @param script the script body
+     * @return the compiled class
+     */
+    public Class getCompiledClass(final String script) {
+        val key = DigestUtils.sha256(script);
+        return this.cache.get(key, k -> {
+            LOGGER.trace("Compiling groovy script with hash [{}]", k);
+            return new CompiledScript(compile(script), 0);
+        }).getCompiledClass();
+    }
+
+    /**
+     * Gets compiled class for the given script file.
+     * The cached class is discarded if the file has been modified since it was compiled.
+     *
+     * @param file the file
+     * @return the compiled class
+     */
+    public Class getCompiledClass(final File file) {
+        val key = file.getAbsolutePath();
+        val lastModified = file.lastModified();
+        val cached = this.cache.getIfPresent(key);
+        if (cached != null && cached.getLastModified() == lastModified) {
+            return cached.getCompiledClass();
+        }
+        LOGGER.trace("Compiling groovy script file [{}] last modified at [{}]", key, lastModified);
+        val compiled = new CompiledScript(compile(file), lastModified);
+        this.cache.put(key, compiled);
+        return compiled.getCompiledClass();
+    }
+
+    /**
+     * Gets compiled class for the given resource.
+     * File-based resources are tracked by their modification time,
+     * while others are read and keyed by a hash of their contents.
+     *
+     * @param resource the resource
+     * @return the compiled class
+     */
+    @SneakyThrows
+    public Class getCompiledClass(final Resource resource) {
+        if (resource.isFile()) {
+            return getCompiledClass(resource.getFile());
+        }
+        try (val is = resource.getInputStream()) {
+            return getCompiledClass(IOUtils.toString(is, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Discard all compiled scripts.
+     */
+    public void clear() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Number of compiled scripts held by the cache.
+     *
+     * @return the size
+     */
+    public long size() {
+        this.cache.cleanUp();
+        return this.cache.estimatedSize();
+    }
+
+    private Class compile(final String script) {
+        return AccessController.doPrivileged((PrivilegedAction<Class>) () -> newClassLoader().parseClass(script));
+    }
+
+    private Class compile(final File file) {
+        return AccessController.doPrivileged((PrivilegedAction<Class>) () -> parseClass(newClassLoader(), file));
+    }
+
+    @SneakyThrows
+    private static Class parseClass(final GroovyClassLoader loader, final File file) {
+        return loader.parseClass(file);
+    }
+
+    private GroovyClassLoader newClassLoader() {
+        return new GroovyClassLoader(this.parentClassLoader, new CompilerConfiguration(), true);
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class CompiledScript {
+        private final Class compiledClass;
+
+        private final long lastModified;
+    }
+}
@@ -8,6 +8,7 @@ import org.apereo.cas.util.RandomUtilsTests;
 import org.apereo.cas.util.RegexUtilsTests;
 import org.apereo.cas.util.ResourceUtilsTests;
 import org.apereo.cas.util.ScriptingUtilsTests;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutorTests;
 import org.apereo.cas.util.cipher.BinaryCipherExecutorTests;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutorTests;
 import org.apereo.cas.util.cipher.JsonWebKeySetStringCipherExecutorTests;
@@ -15,6 +16,7 @@ import org.apereo.cas.util.cipher.ProtocolTicketCipherExecutorTests;
 import org.apereo.cas.util.cipher.RsaKeyPairCipherExecutorTests;
 import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutorTests;
 import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutorTests;
+import org.apereo.cas.util.concurrent.BatchingQueueTests;
 import org.apereo.cas.util.gen.Base64RandomStringGeneratorTests;
 import org.apereo.cas.util.gen.ChainingPrincipalNameTransformerTests;
 import org.apereo.cas.util.gen.DefaultLongNumericGeneratorTests;
@@ -25,6 +27,7 @@ import org.apereo.cas.util.http.HttpMessageTests;
 import org.apereo.cas.util.http.SimpleHttpClientTests;
 import org.apereo.cas.util.io.CommunicationsManagerTests;
 import org.apereo.cas.util.io.CopyServletOutputStreamTests;
+import org.apereo.cas.util.scripting.GroovyScriptCompilationCacheTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -55,14 +58,17 @@ import org.junit.runners.Suite;
     DefaultLongNumericGeneratorTests.class,
     DefaultRandomStringGeneratorTests.class,
     DefaultTicketCipherExecutorTests.class,
+    AesGcmTicketCipherExecutorTests.class,
     EncodingUtilsTests.class,
     HexRandomStringGeneratorTests.class,
     RegexUtilsTests.class,
     BinaryCipherExecutorTests.class,
     ResourceUtilsTests.class,
     ScriptingUtilsTests.class,
+    GroovyScriptCompilationCacheTests.class,
     RandomUtilsTests.class,
-    CopyServletOutputStreamTests.class
+    CopyServletOutputStreamTests.class,
+    BatchingQueueTests.class
 })
 public class AllUtilityTestsSuite {
 }
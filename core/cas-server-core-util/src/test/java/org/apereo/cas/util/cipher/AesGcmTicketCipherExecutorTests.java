@@ -0,0 +1,55 @@
+package org.apereo.cas.util.cipher;
+
+import lombok.val;
+import org.junit.Test;
+
+import javax.crypto.AEADBadTagException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AesGcmTicketCipherExecutorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class AesGcmTicketCipherExecutorTests {
+    @Test
+    public void verifyAction() {
+        val cipher = new AesGcmTicketCipherExecutor(null, 16, "webflow");
+        val encoded = cipher.encode("ST-1234567890".getBytes(StandardCharsets.UTF_8));
+        assertEquals("ST-1234567890", new String(cipher.decode(encoded), StandardCharsets.UTF_8));
+        assertFalse(new String(encoded, StandardCharsets.ISO_8859_1).contains("ST-1234567890"));
+        assertTrue(cipher.isEnabled());
+        assertNotNull(cipher.getName());
+    }
+
+    @Test
+    public void verifyValuesAreEncryptedWithUniqueIv() {
+        val cipher = new AesGcmTicketCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==", 16, "webflow");
+        val value = "TGT-1234567890".getBytes(StandardCharsets.UTF_8);
+        assertNotEquals(new String(cipher.encode(value), StandardCharsets.ISO_8859_1),
+            new String(cipher.encode(value), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void verifyKeyOfInvalidSizeIsDerived() {
+        val cipher = new AesGcmTicketCipherExecutor("not-an-aes-key", 16, "webflow");
+        val encoded = cipher.encode("ST-1234567890".getBytes(StandardCharsets.UTF_8));
+        assertEquals("ST-1234567890", new String(cipher.decode(encoded), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void verifyTamperedValueIsRejected() {
+        val cipher = new AesGcmTicketCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==", 16, "webflow");
+        val encoded = cipher.encode("ST-1234567890".getBytes(StandardCharsets.UTF_8));
+        encoded[encoded.length - 1] ^= 1;
+        try {
+            cipher.decode(encoded);
+            fail("Tampered value should not be decoded");
+        } catch (final Exception e) {
+            assertTrue(e instanceof AEADBadTagException);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.apereo.cas.util.concurrent;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link BatchingQueueTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class BatchingQueueTests {
+    private static final int BATCH_SIZE = 5;
+
+    @Test
+    public void verifyElementsAreBatched() throws Exception {
+        val batches = new CopyOnWriteArrayList<List<String>>();
+        try (val queue = new BatchingQueue<String>("test", 100, BATCH_SIZE, Duration.ofMillis(50),
+            BatchingQueue.OverflowPolicy.BLOCK, null, 1, batch -> batches.add(new ArrayList<>(batch)))) {
+            for (var i = 0; i < BATCH_SIZE * 2 + 1; i++) {
+                assertTrue(queue.offer("element"));
+            }
+        }
+        assertEquals(BATCH_SIZE * 2 + 1, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= BATCH_SIZE));
+    }
+
+    @Test
+    public void verifyQueuedElementsAreHandedOverOnClose() {
+        val latch = new CountDownLatch(1);
+        val handedOver = new CopyOnWriteArrayList<String>();
+        val queue = new BatchingQueue<String>("test", 100, 1, Duration.ofSeconds(10),
+            BatchingQueue.OverflowPolicy.BLOCK, null, 1, batch -> {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                handedOver.addAll(batch);
+            });
+        for (var i = 0; i < BATCH_SIZE; i++) {
+            assertTrue(queue.offer("element" + i));
+        }
+        latch.countDown();
+        queue.close();
+        assertEquals(BATCH_SIZE, handedOver.size());
+        assertEquals(BATCH_SIZE, queue.getFlushedCount().get());
+        assertEquals(0, queue.getQueueDepth());
+
+        assertFalse(queue.offer("element"));
+        assertEquals(0, queue.getDroppedCount().get());
+    }
+
+    @Test
+    public void verifyMetricsArePublished() {
+        try (val queue = new BatchingQueue<String>("metrics", 10, 1, Duration.ofMillis(10),
+            BatchingQueue.OverflowPolicy.DROP, null, 1, batch -> { })) {
+            assertTrue(queue.offer("element"));
+            assertNotNull(Metrics.globalRegistry.find(BatchingQueue.METRIC_NAME_PREFIX + "depth").tag("queue", "metrics").gauge());
+            assertNotNull(Metrics.globalRegistry.find(BatchingQueue.METRIC_NAME_PREFIX + "dropped").tag("queue", "metrics").functionCounter());
+        }
+    }
+
+    @Test
+    public void verifyOverflowingElementsAreDropped() throws Exception {
+        val latch = new CountDownLatch(1);
+        val started = new CountDownLatch(1);
+        try (val queue = new BatchingQueue<String>("test", 1, 1, Duration.ofMillis(10),
+            BatchingQueue.OverflowPolicy.DROP, null, 1, batch -> {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            })) {
+            assertTrue(queue.offer("element"));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertTrue(queue.offer("element"));
+            assertFalse(queue.offer("element"));
+            assertEquals(1, queue.getQueueDepth());
+            assertEquals(1, queue.getDroppedCount().get());
+            latch.countDown();
+        }
+    }
+
+    @Test
+    public void verifyBlockedElementsWaitForBoundedTime() throws Exception {
+        val latch = new CountDownLatch(1);
+        val started = new CountDownLatch(1);
+        try (val queue = new BatchingQueue<String>("test", 1, 1, Duration.ofMillis(10),
+            BatchingQueue.OverflowPolicy.BLOCK, Duration.ofMillis(20), 1, batch -> {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            })) {
+            assertTrue(queue.offer("element"));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertTrue(queue.offer("element"));
+            assertFalse(queue.offer("element"));
+            assertEquals(1, queue.getOverflowedCount().get());
+            assertEquals(1, queue.getDroppedCount().get());
+            assertTrue(queue.getCurrentLag() >= 0);
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.apereo.cas.util.scripting;
+
+import groovy.lang.Binding;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link GroovyScriptCompilationCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class GroovyScriptCompilationCacheTests {
+
+    private final GroovyScriptCompilationCache cache = new GroovyScriptCompilationCache(10, Duration.ofMinutes(1),
+        getClass().getClassLoader());
+
+    @Test
+    public void verifyInlineScriptIsCompiledOnce() {
+        val binding1 = new Binding();
+        binding1.setVariable("name", "casuser");
+        assertEquals("casuser", cache.getScript("return name", binding1).run());
+
+        val binding2 = new Binding();
+        binding2.setVariable("name", "casadmin");
+        assertEquals("casadmin", cache.getScript("return name", binding2).run());
+
+        assertSame(cache.getCompiledClass("return name"), cache.getCompiledClass("return name"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void verifyResourceContentIsHashed() {
+        val resource = new ByteArrayResource("return 'casuser'".getBytes(StandardCharsets.UTF_8));
+        assertSame(cache.getCompiledClass(resource), cache.getCompiledClass("return 'casuser'"));
+    }
+
+    @Test
+    public void verifyModifiedFileIsRecompiled() throws Exception {
+        val file = File.createTempFile("script", ".groovy");
+        FileUtils.write(file, "return 'first'", StandardCharsets.UTF_8);
+        assertTrue(file.setLastModified(System.currentTimeMillis() - 10_000));
+        assertEquals("first", cache.getScript(file, new Binding()).run());
+        assertSame(cache.getCompiledClass(file), cache.getCompiledClass(file));
+
+        FileUtils.write(file, "return 'second'", StandardCharsets.UTF_8);
+        assertTrue(file.setLastModified(System.currentTimeMillis()));
+        assertEquals("second", cache.getScript(file, new Binding()).run());
+    }
+}
@@ -40,6 +40,7 @@ import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.validation.Assertion;
 import org.apereo.cas.validation.DefaultAssertionBuilder;
@@ -136,8 +137,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         val principal = latestAuthentication.getPrincipal();
         val factory = (ServiceTicketFactory) this.ticketFactory.get(ServiceTicket.class);
         val serviceTicket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
-        this.ticketRegistry.updateTicket(ticketGrantingTicket);
-        this.ticketRegistry.addTicket(serviceTicket);
+        this.ticketRegistry.addAndUpdateTickets(CollectionUtils.wrapList(serviceTicket), CollectionUtils.wrapList(ticketGrantingTicket));
 
         LOGGER.info("Granted ticket [{}] for service [{}] and principal [{}]", serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
         doPublishEvent(new CasServiceTicketGrantedEvent(this, ticketGrantingTicket, serviceTicket));
@@ -173,8 +173,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         val factory = (ProxyTicketFactory) this.ticketFactory.get(ProxyTicket.class);
         val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
 
-        this.ticketRegistry.updateTicket(proxyGrantingTicketObject);
-        this.ticketRegistry.addTicket(proxyTicket);
+        this.ticketRegistry.addAndUpdateTickets(CollectionUtils.wrapList(proxyTicket), CollectionUtils.wrapList(proxyGrantingTicketObject));
 
         LOGGER.info("Granted ticket [{}] for service [{}] for user [{}]",
             proxyTicket.getId(), service.getId(), principal.getId());
@@ -308,9 +307,9 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             return assertion;
         } finally {
             if (serviceTicket.isExpired()) {
-                deleteTicket(serviceTicketId);
+                this.ticketRegistry.updateAndDeleteTickets(new ArrayList<>(0), CollectionUtils.wrapList(serviceTicket));
             } else {
-                this.ticketRegistry.updateTicket(serviceTicket);
+                this.ticketRegistry.updateAndDeleteTickets(CollectionUtils.wrapList(serviceTicket), new ArrayList<>(0));
             }
         }
     }
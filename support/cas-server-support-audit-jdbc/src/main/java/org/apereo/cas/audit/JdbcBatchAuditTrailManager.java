@@ -0,0 +1,85 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link JdbcBatchAuditTrailManager}, which saves audit records into the audit table
+ * using batched inserts, one batch per transaction. Audit records are read back through the
+ * given audit trail manager, which shares the same table.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JdbcBatchAuditTrailManager extends AbstractAuditTrailManager {
+
+    private final AuditTrailManager delegate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String insertSql;
+
+    private final int columnLength;
+
+    public JdbcBatchAuditTrailManager(final AuditTrailManager delegate, final DataSource dataSource,
+                                      final TransactionTemplate transactionTemplate, final String tableName,
+                                      final int columnLength, final boolean asynchronous) {
+        super(asynchronous);
+        this.delegate = delegate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
+        this.columnLength = columnLength;
+        this.insertSql = "INSERT INTO " + tableName
+            + " (AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        saveAuditRecords(Collections.singletonList(audit));
+    }
+
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        val rows = audits.stream()
+            .map(audit -> new Object[]{
+                abbreviate(audit.getPrincipal()),
+                audit.getClientIpAddress(),
+                audit.getServerIpAddress(),
+                abbreviate(audit.getResourceOperatedUpon()),
+                audit.getActionPerformed(),
+                audit.getApplicationCode(),
+                new Timestamp(audit.getWhenActionWasPerformed().getTime())})
+            .collect(Collectors.toList());
+        LOGGER.trace("Inserting [{}] audit records", rows.size());
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.batchUpdate(this.insertSql, rows));
+    }
+
+    @Override
+    public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return this.delegate.getAuditRecordsSince(localDate);
+    }
+
+    private String abbreviate(final String value) {
+        if (this.columnLength <= 0 || value == null || value.length() <= this.columnLength) {
+            return value;
+        }
+        return value.substring(0, this.columnLength);
+    }
+}
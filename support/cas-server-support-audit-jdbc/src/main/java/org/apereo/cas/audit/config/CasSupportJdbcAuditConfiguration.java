@@ -1,6 +1,7 @@
 package org.apereo.cas.audit.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
+import org.apereo.cas.audit.JdbcBatchAuditTrailManager;
 import org.apereo.cas.audit.entity.AuditTrailEntity;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
@@ -50,10 +51,16 @@ public class CasSupportJdbcAuditConfiguration {
         val t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate());
         t.setCleanupCriteria(auditCleanupCriteria());
         t.setDataSource(inspektrAuditTrailDataSource());
-        t.setAsynchronous(jdbc.isAsynchronous());
+        t.setAsynchronous(false);
         t.setColumnLength(jdbc.getColumnLength());
         t.setTableName(getAuditTableNameFrom(jdbc));
-        return t;
+        if (!jdbc.isAsynchronous()) {
+            return t;
+        }
+        val manager = new JdbcBatchAuditTrailManager(t, inspektrAuditTrailDataSource(), inspektrAuditTransactionTemplate(),
+            getAuditTableNameFrom(jdbc), jdbc.getColumnLength(), true);
+        manager.setQueueProperties(casProperties.getAudit().getQueue());
+        return manager;
     }
 
     private String getAuditTableNameFrom(final AuditJdbcProperties jdbc) {
@@ -0,0 +1,75 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.config.CasSupportJdbcAuditConfiguration;
+import org.apereo.cas.audit.spi.config.CasCoreAuditConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CasSupportJdbcBatchAuditConfigurationTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@SpringBootTest(classes = {
+    CasCoreAuditConfiguration.class,
+    CasSupportJdbcAuditConfiguration.class,
+    AopAutoConfiguration.class,
+    RefreshAutoConfiguration.class
+})
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@TestPropertySource(properties = {
+    "cas.audit.jdbc.asynchronous=true",
+    "cas.audit.queue.batchSize=2",
+    "cas.audit.queue.flushInterval=PT0.05S"
+})
+public class CasSupportJdbcBatchAuditConfigurationTests {
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    private static final int RECORD_COUNT = 3;
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    @Qualifier("jdbcAuditTrailManager")
+    private AuditTrailManager auditTrailManager;
+
+    @Test
+    public void verifyRecordsAreInsertedInBatches() throws Exception {
+        assertTrue(auditTrailManager instanceof JdbcBatchAuditTrailManager);
+        val since = LocalDate.now().minusDays(2);
+        val existing = auditTrailManager.getAuditRecordsSince(since).size();
+        for (var i = 0; i < RECORD_COUNT; i++) {
+            auditTrailManager.record(new AuditActionContext("casuser" + i, "TEST", "BATCH_TEST",
+                "CAS", new Date(), "1.2.3.4", "1.2.3.4"));
+        }
+        val deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (auditTrailManager.getAuditRecordsSince(since).size() < existing + RECORD_COUNT && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(existing + RECORD_COUNT, auditTrailManager.getAuditRecordsSince(since).size());
+    }
+}
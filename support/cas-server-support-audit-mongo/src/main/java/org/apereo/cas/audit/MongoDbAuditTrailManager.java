@@ -13,10 +13,9 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * This is {@link MongoDbAuditTrailManager}.
@@ -29,7 +28,6 @@ import java.util.concurrent.Executors;
 @RequiredArgsConstructor
 public class MongoDbAuditTrailManager extends AbstractAuditTrailManager {
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
     private final transient MongoTemplate mongoTemplate;
     private final String collectionName;
 
@@ -44,6 +42,12 @@ public class MongoDbAuditTrailManager extends AbstractAuditTrailManager {
         this.mongoTemplate.save(audit, this.collectionName);
     }
 
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        LOGGER.trace("Inserting [{}] audit records into [{}]", audits.size(), this.collectionName);
+        this.mongoTemplate.insert(audits, this.collectionName);
+    }
+
     @Override
     public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
         val dt = DateTimeUtils.dateOf(localDate);
@@ -17,10 +17,10 @@ import org.apereo.inspektr.audit.AuditActionContext;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RestAuditTrailManager}.
@@ -32,7 +32,6 @@ import java.util.concurrent.Executors;
 public class RestAuditTrailManager extends AbstractAuditTrailManager {
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
     private final AuditActionContextJsonSerializer serializer = new AuditActionContextJsonSerializer();
     private final AuditRestProperties properties;
 
@@ -48,6 +47,17 @@ public class RestAuditTrailManager extends AbstractAuditTrailManager {
         HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), auditJson);
     }
 
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        if (!properties.isBulk()) {
+            super.saveAuditRecords(audits);
+            return;
+        }
+        val auditJson = audits.stream().map(serializer::toString).collect(Collectors.joining(",", "[", "]"));
+        LOGGER.debug("Sending [{}] audit action contexts to REST endpoint [{}]", audits.size(), properties.getUrl());
+        HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), auditJson);
+    }
+
     @Override
     public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
         HttpResponse response = null;
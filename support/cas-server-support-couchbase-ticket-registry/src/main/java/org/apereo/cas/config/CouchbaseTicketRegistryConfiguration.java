@@ -51,6 +51,7 @@ public class CouchbaseTicketRegistryConfiguration {
         val couchbase = casProperties.getTicket().getRegistry().getCouchbase();
         val c = new CouchbaseTicketRegistry(ticketCatalog, ticketRegistryCouchbaseClientFactory());
         c.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(couchbase.getCrypto(), "couchbase"));
+        c.setNormalizeTickets(casProperties.getTicket().getRegistry().isNormalizeTickets());
         return c;
     }
 
@@ -182,6 +182,18 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
         return runQuery(ServiceTicket.PREFIX + '-');
     }
 
+    @Override
+    public boolean isTicketCountIndexed() {
+        return true;
+    }
+
+    /**
+     * Tickets are counted by the database on demand; there are no counters to reconcile.
+     */
+    @Override
+    public void reconcileTicketStatistics() {
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val ticketId = encodeTicketId(ticketIdToDelete);
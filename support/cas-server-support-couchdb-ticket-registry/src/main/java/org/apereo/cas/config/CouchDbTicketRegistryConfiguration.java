@@ -63,6 +63,7 @@ public class CouchDbTicketRegistryConfiguration {
         val couchDb = casProperties.getTicket().getRegistry().getCouchDb();
         val c = new CouchDbTicketRegistry(ticketCatalog, ticketRegistryCouchDbRepository(), couchDb.getRetries());
         c.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(couchDb.getCrypto(), "couchdb"));
+        c.setNormalizeTickets(casProperties.getTicket().getRegistry().isNormalizeTickets());
         return c;
     }
 
@@ -9,7 +9,8 @@ import lombok.Setter;
 import org.ektorp.support.CouchDbDocument;
 
 /**
- * This is {@link TicketDocument}. Wraps a {@link Ticket} for use with CouchDB.
+ * This is {@link TicketDocument}. Wraps a {@link Ticket} for use with CouchDB,
+ * along with the time at which the ticket is expected to expire in epoch milliseconds.
  *
  * @author Timur Duehr
  * @since 5.3.0
@@ -22,11 +23,18 @@ public class TicketDocument extends CouchDbDocument {
     private static final long serialVersionUID = -5460618381339711000L;
     private Ticket ticket;
 
+    private long expirationTime;
+
     public TicketDocument(final Ticket ticket) {
         this.setId(ticket.getId());
         this.ticket = ticket;
     }
 
+    public TicketDocument(final Ticket ticket, final long expirationTime) {
+        this(ticket);
+        this.expirationTime = expirationTime;
+    }
+
     public TicketDocument(final String id, final String rev) {
         this.setId(id);
         this.setRevision(rev);
@@ -1,5 +1,6 @@
 package org.apereo.cas.couchdb.tickets;
 
+import lombok.val;
 import org.ektorp.BulkDeleteDocument;
 import org.ektorp.CouchDbConnector;
 import org.ektorp.support.CouchDbRepositorySupport;
@@ -35,6 +36,31 @@ public class TicketRepository extends CouchDbRepositorySupport<TicketDocument> {
             .collect(Collectors.toList())).size();
     }
 
+    /**
+     * Find tickets whose expected expiration time is at or before the given time,
+     * ordered by their expected expiration time. Tickets stored without an expiration time are always due.
+     *
+     * @param dueBy the time by which tickets are expected to have expired, in epoch milliseconds
+     * @param limit the maximum number of tickets to return
+     * @return the tickets
+     */
+    @View(name = "by_expirationTime", map = "function(doc) { if (doc.ticket) { emit(doc.expirationTime || 0, doc._id) } }", reduce = "_count")
+    public List<TicketDocument> findDueForExpiration(final long dueBy, final int limit) {
+        val query = createQuery("by_expirationTime").endKey(dueBy).limit(limit).includeDocs(true).reduce(false);
+        return db.queryView(query, TicketDocument.class);
+    }
+
+    /**
+     * Count tickets whose expected expiration time is at or before the given time.
+     *
+     * @param dueBy the time by which tickets are expected to have expired, in epoch milliseconds
+     * @return the number of tickets
+     */
+    public long countDueForExpiration(final long dueBy) {
+        val rows = db.queryView(createQuery("by_expirationTime").endKey(dueBy).reduce(true)).getRows();
+        return rows.isEmpty() ? 0 : rows.get(0).getValueAsInt();
+    }
+
     /**
      * Gets current document revision.
      *
@@ -4,6 +4,7 @@ import org.apereo.cas.couchdb.tickets.TicketDocument;
 import org.apereo.cas.couchdb.tickets.TicketRepository;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.support.TicketExpirationUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,9 +14,11 @@ import org.ektorp.DbAccessException;
 import org.ektorp.DocumentNotFoundException;
 import org.ektorp.UpdateConflictException;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link CouchDbTicketRegistry }.
@@ -73,7 +76,7 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticketToAdd) {
         val encodedTicket = encodeTicket(ticketToAdd);
         LOGGER.debug("Adding ticket [{}]", encodedTicket.getId());
-        couchDb.add(new TicketDocument(encodedTicket));
+        couchDb.add(new TicketDocument(encodedTicket, getExpirationTime(ticketToAdd)));
     }
 
     @Override
@@ -117,7 +120,7 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
         LOGGER.debug("Updating [{}]", encodedTicket.getId());
         var exception = (DbAccessException) null;
         var success = false;
-        val doc = new TicketDocument(encodedTicket);
+        val doc = new TicketDocument(encodedTicket, getExpirationTime(ticket));
         doc.setRevision(couchDb.getCurrentRevision(encodedTicket.getId()));
         for (var retries = 0; retries < conflictRetries; retries++) {
             try {
@@ -138,4 +141,25 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
         }
         return null;
     }
+
+    @Override
+    public boolean isExpirationIndexed() {
+        return true;
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsDueForExpiration(final ZonedDateTime dueBy, final int limit) {
+        return decodeTickets(couchDb.findDueForExpiration(dueBy.toInstant().toEpochMilli(), limit)
+            .stream()
+            .map(TicketDocument::getTicket));
+    }
+
+    @Override
+    public long countTicketsDueForExpiration(final ZonedDateTime dueBy) {
+        return couchDb.countDueForExpiration(dueBy.toInstant().toEpochMilli());
+    }
+
+    private static long getExpirationTime(final Ticket ticket) {
+        return TicketExpirationUtils.getExpectedExpirationTime(ticket).toInstant().toEpochMilli();
+    }
 }
@@ -2,13 +2,20 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.support.TicketPrincipalUtils;
 
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistry}.
@@ -30,13 +37,29 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ticket.getExpirationPolicy().getTimeToLive());
-            val encTicket = encodeTicket(ticket);
-            this.dbTableService.put(ticket, encTicket);
+            this.dbTableService.put(ticket, buildTicketItem(ticket));
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
     }
 
+    /**
+     * Write all changes with batch write requests, rather than one request per ticket.
+     *
+     * @param ticketsToAdd    the tickets to add
+     * @param ticketsToUpdate the tickets to update
+     */
+    @Override
+    public void addAndUpdateTickets(final Collection<? extends Ticket> ticketsToAdd, final Collection<? extends Ticket> ticketsToUpdate) {
+        try {
+            val items = new LinkedHashMap<Ticket, Map<String, AttributeValue>>();
+            Stream.concat(ticketsToUpdate.stream(), ticketsToAdd.stream()).forEach(ticket -> items.put(ticket, buildTicketItem(ticket)));
+            this.dbTableService.putAll(items);
+        } catch (final Exception e) {
+            LOGGER.error("Failed adding [{}] and updating [{}]: [{}]", ticketsToAdd, ticketsToUpdate, e);
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         val encTicketId = encodeTicketId(ticketId);
@@ -62,6 +85,57 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return decodeTickets(this.dbTableService.getAll());
     }
 
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return decodeTickets(this.dbTableService.stream());
+    }
+
+    @Override
+    public boolean isPrincipalIndexed() {
+        return this.dbTableService.getDynamoDbProperties().isUsePrincipalIndex();
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (!isPrincipalIndexed()) {
+            return super.getSessionsFor(principalId);
+        }
+        return decodeTickets(this.dbTableService.getAllByPrincipal(encodeTicketId(principalId)))
+            .stream()
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    @Override
+    public boolean isExpirationIndexed() {
+        return this.dbTableService.getDynamoDbProperties().isUseExpirationIndex();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsDueForExpiration(final ZonedDateTime dueBy, final int limit) {
+        if (!isExpirationIndexed()) {
+            return super.getTicketsDueForExpiration(dueBy, limit);
+        }
+        return decodeTickets(this.dbTableService.getAllDueForExpiration(dueBy.toEpochSecond(), limit).stream());
+    }
+
+    @Override
+    public long countTicketsDueForExpiration(final ZonedDateTime dueBy) {
+        if (!isExpirationIndexed()) {
+            return super.countTicketsDueForExpiration(dueBy);
+        }
+        return this.dbTableService.countDueForExpiration(dueBy.toEpochSecond());
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessions(final long from, final long count) {
+        return decodeTickets(this.dbTableService.stream(this.dbTableService.getTicketGrantingTicketDefinitions()))
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .skip(from)
+            .limit(count);
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
@@ -73,4 +147,28 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         val ticketId = encodeTicketId(ticketIdToDelete);
         return this.dbTableService.delete(ticketIdToDelete, ticketId);
     }
+
+    /**
+     * Delete the service tickets of the ticket-granting ticket with batch write requests.
+     *
+     * @param ticket the ticket
+     * @return the number of tickets deleted
+     */
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val ticketIds = new LinkedHashMap<String, String>();
+        services.keySet().forEach(ticketId -> ticketIds.put(ticketId, encodeTicketId(ticketId)));
+        return this.dbTableService.deleteAll(ticketIds);
+    }
+
+    private Map<String, AttributeValue> buildTicketItem(final Ticket ticket) {
+        val encTicket = encodeTicket(ticket);
+        val principalId = TicketPrincipalUtils.getPrincipalId(ticket);
+        return this.dbTableService.buildTableAttributeValuesMapFromTicket(ticket, encTicket,
+            principalId == null ? null : encodeTicketId(principalId));
+    }
 }
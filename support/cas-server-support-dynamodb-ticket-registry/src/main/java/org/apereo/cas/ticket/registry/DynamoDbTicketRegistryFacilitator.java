@@ -3,28 +3,48 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.support.TicketExpirationUtils;
+import org.apereo.cas.ticket.registry.support.TicketPrincipalUtils;
 import org.apereo.cas.util.CollectionUtils;
 
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndex;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.Projection;
+import com.amazonaws.services.dynamodbv2.model.ProjectionType;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 
 import java.io.ByteArrayInputStream;
@@ -32,12 +52,29 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
+ * Tables are read page by page, following the last evaluated key of each scan, and are scanned
+ * in parallel segments when all tickets are fetched at once. Tickets are written and read in batches
+ * where more than one ticket is involved. Every item carries the time at which the ticket is expected
+ * to expire, as epoch seconds, which DynamoDb uses to remove expired items itself if time-to-live
+ * is turned on for the registry, and which may be indexed in a global secondary index to locate tickets
+ * due for expiration; ticket-granting tickets also carry the id of their principal,
+ * which may be indexed in a global secondary index to locate sessions by principal.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -46,10 +83,48 @@ import java.util.stream.Collectors;
 @Getter
 @RequiredArgsConstructor
 public class DynamoDbTicketRegistryFacilitator {
+    /**
+     * Name of the global secondary index over the principal id of ticket-granting tickets.
+     */
+    public static final String PRINCIPAL_ID_INDEX_NAME = "principalIdIndex";
+
+    /**
+     * Name of the global secondary index over the prefix and the expected expiration time of tickets.
+     */
+    public static final String EXPIRES_AT_INDEX_NAME = "expiresAtIndex";
+
+    private static final int MAX_BATCH_WRITE_SIZE = 25;
+
+    private static final int MAX_BATCH_GET_SIZE = 100;
+
+    private static final int MAX_BATCH_ATTEMPTS = 5;
+
+    private static final long BATCH_RETRY_DELAY_MILLIS = 50;
+
     private final TicketCatalog ticketCatalog;
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
     private final AmazonDynamoDB amazonDynamoDBClient;
 
+    private static Map<String, AttributeValue> getItemKey(final String encodedTicketId) {
+        return CollectionUtils.wrap(ColumnNames.ID.getColumnName(), new AttributeValue(encodedTicketId));
+    }
+
+    private static <T> List<List<T>> partition(final List<T> items, final int size) {
+        return IntStream.range(0, (items.size() + size - 1) / size)
+            .mapToObj(i -> items.subList(i * size, Math.min(items.size(), (i + 1) * size)))
+            .collect(Collectors.toList());
+    }
+
+    private static boolean pauseBeforeRetry(final int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(BATCH_RETRY_DELAY_MILLIS << attempt);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     private static Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
         val bb = returnItem.get(ColumnNames.ENCODED.getColumnName()).getB();
         LOGGER.debug("Located binary encoding of ticket item [{}]. Transforming item into ticket object", returnItem);
@@ -72,7 +147,7 @@ public class DynamoDbTicketRegistryFacilitator {
         val metadata = this.ticketCatalog.find(ticketId);
         if (metadata != null) {
             val del = new DeleteItemRequest().withTableName(metadata.getProperties().getStorageName())
-                .withKey(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), new AttributeValue(encodedTicketId)));
+                .withKey(getItemKey(encodedTicketId));
             LOGGER.debug("Submitting delete request [{}] for ticket [{}]", del, ticketId);
             val res = amazonDynamoDBClient.deleteItem(del);
             LOGGER.debug("Delete request came back with result [{}]", res);
@@ -81,41 +156,183 @@ public class DynamoDbTicketRegistryFacilitator {
         return false;
     }
 
+    /**
+     * Delete the tickets in batches.
+     *
+     * @param encodedTicketIds the encoded ticket ids, keyed by ticket id
+     * @return the number of tickets deleted, not counting those whose delete requests remained unprocessed
+     */
+    public int deleteAll(final Map<String, String> encodedTicketIds) {
+        val requests = new LinkedHashMap<String, List<WriteRequest>>();
+        encodedTicketIds.forEach((ticketId, encodedTicketId) -> {
+            val metadata = this.ticketCatalog.find(ticketId);
+            if (metadata == null) {
+                LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+            } else {
+                requests.computeIfAbsent(metadata.getProperties().getStorageName(), k -> new ArrayList<>())
+                    .add(new WriteRequest(new DeleteRequest(getItemKey(encodedTicketId))));
+            }
+        });
+        val unprocessed = writeAll(requests);
+        return requests.values().stream().mapToInt(List::size).sum() - unprocessed;
+    }
+
     /**
      * Delete all.
      *
      * @return the int
      */
     public int deleteAll() {
-        val count = new AtomicInteger();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).getCount());
-        });
+        val count = this.ticketCatalog.findAll()
+            .stream()
+            .mapToLong(r -> {
+                val scan = new ScanRequest(r.getProperties().getStorageName()).withSelect(Select.COUNT);
+                LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
+                return scanPages(scan).mapToLong(ScanResultPage::getCount).sum();
+            })
+            .sum();
         createTicketTables(true);
-        return count.get();
+        return (int) count;
     }
 
     /**
-     * Gets all.
+     * Gets all tickets, scanning each table in parallel segments.
      *
      * @return the all
      */
     public Collection<Ticket> getAll() {
+        val segments = Math.max(1, this.dynamoDbProperties.getScanSegments());
+        return this.ticketCatalog.findAll()
+            .stream()
+            .flatMap(r -> IntStream.range(0, segments)
+                .parallel()
+                .mapToObj(segment -> new ScanRequest(r.getProperties().getStorageName())
+                    .withSegment(segment)
+                    .withTotalSegments(segments))
+                .flatMap(this::scanItems)
+                .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())
+                .stream())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Stream the tickets held in the tables of the given ticket definitions,
+     * fetching each page of a table only once the tickets before it have been consumed.
+     *
+     * @param definitions the ticket definitions
+     * @return the tickets
+     */
+    public Stream<Ticket> stream(final Collection<TicketDefinition> definitions) {
+        return definitions.stream()
+            .map(r -> new ScanRequest(r.getProperties().getStorageName()))
+            .flatMap(this::scanItems)
+            .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Stream all tickets.
+     *
+     * @return the tickets
+     */
+    public Stream<Ticket> stream() {
+        return stream(this.ticketCatalog.findAll());
+    }
+
+    /**
+     * Gets the definitions of tickets that are ticket-granting tickets.
+     *
+     * @return the ticket definitions
+     */
+    public Collection<TicketDefinition> getTicketGrantingTicketDefinitions() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(r -> TicketGrantingTicket.class.isAssignableFrom(r.getImplementationClass()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the ticket-granting tickets of the principal through the principal id index,
+     * fetching the tickets the index refers to in batches.
+     *
+     * @param principalId the principal id, as stored with the ticket
+     * @return the tickets
+     */
+    public Collection<Ticket> getAllByPrincipal(final String principalId) {
         val tickets = new ArrayList<Ticket>();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            val result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.getItems().stream().map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList()));
+        getTicketGrantingTicketDefinitions().forEach(r -> {
+            val tableName = r.getProperties().getStorageName();
+            val query = new QueryRequest(tableName)
+                .withIndexName(PRINCIPAL_ID_INDEX_NAME)
+                .withKeyConditionExpression("#principalId = :principalId")
+                .withExpressionAttributeNames(CollectionUtils.wrap("#principalId", ColumnNames.PRINCIPAL_ID.getColumnName()))
+                .withExpressionAttributeValues(CollectionUtils.wrap(":principalId", new AttributeValue(principalId)));
+            LOGGER.debug("Querying table [{}] with request [{}]", tableName, query);
+            val keys = new ArrayList<Map<String, AttributeValue>>();
+            Map<String, AttributeValue> lastEvaluatedKey = null;
+            do {
+                val result = this.amazonDynamoDBClient.query(query.withExclusiveStartKey(lastEvaluatedKey));
+                result.getItems().forEach(item -> keys.add(getItemKey(item.get(ColumnNames.ID.getColumnName()).getS())));
+                lastEvaluatedKey = result.getLastEvaluatedKey();
+            } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
+            tickets.addAll(getAll(tableName, keys));
         });
         return tickets;
     }
 
+    /**
+     * Gets tickets whose expected expiration time is at or before the given time through the expiration index,
+     * ordered by their expected expiration time within each table, fetching the tickets the index refers to in batches.
+     *
+     * @param dueBy the time by which tickets are expected to have expired, in epoch seconds
+     * @param limit the maximum number of tickets to return
+     * @return the tickets
+     */
+    public Collection<Ticket> getAllDueForExpiration(final long dueBy, final int limit) {
+        val tickets = new ArrayList<Ticket>();
+        for (val definition : this.ticketCatalog.findAll()) {
+            if (tickets.size() >= limit) {
+                break;
+            }
+            val tableName = definition.getProperties().getStorageName();
+            val query = getDueForExpirationQuery(definition, dueBy).withScanIndexForward(Boolean.TRUE);
+            val keys = new ArrayList<Map<String, AttributeValue>>();
+            Map<String, AttributeValue> lastEvaluatedKey = null;
+            do {
+                val result = this.amazonDynamoDBClient.query(query.withLimit(limit - tickets.size() - keys.size()).withExclusiveStartKey(lastEvaluatedKey));
+                result.getItems().forEach(item -> keys.add(getItemKey(item.get(ColumnNames.ID.getColumnName()).getS())));
+                lastEvaluatedKey = result.getLastEvaluatedKey();
+            } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty() && tickets.size() + keys.size() < limit);
+            tickets.addAll(getAll(tableName, keys));
+        }
+        return tickets;
+    }
+
+    /**
+     * Counts tickets whose expected expiration time is at or before the given time through the expiration index.
+     *
+     * @param dueBy the time by which tickets are expected to have expired, in epoch seconds
+     * @return the number of tickets
+     */
+    public long countDueForExpiration(final long dueBy) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .mapToLong(definition -> {
+                val query = getDueForExpirationQuery(definition, dueBy).withSelect(Select.COUNT);
+                var count = 0L;
+                Map<String, AttributeValue> lastEvaluatedKey = null;
+                do {
+                    val result = this.amazonDynamoDBClient.query(query.withExclusiveStartKey(lastEvaluatedKey));
+                    count += result.getCount();
+                    lastEvaluatedKey = result.getLastEvaluatedKey();
+                } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
+                return count;
+            })
+            .sum();
+    }
+
     /**
      * Get ticket.
      *
@@ -126,9 +343,7 @@ public class DynamoDbTicketRegistryFacilitator {
     public Ticket get(final String ticketId, final String encodedTicketId) {
         val metadata = this.ticketCatalog.find(ticketId);
         if (metadata != null) {
-            val keys = new HashMap<String, AttributeValue>();
-            keys.put(ColumnNames.ID.getColumnName(), new AttributeValue(encodedTicketId));
-            val request = new GetItemRequest().withKey(keys).withTableName(metadata.getProperties().getStorageName());
+            val request = new GetItemRequest().withKey(getItemKey(encodedTicketId)).withTableName(metadata.getProperties().getStorageName());
             LOGGER.debug("Submitting request [{}] to get ticket item [{}]", request, ticketId);
             val returnItem = amazonDynamoDBClient.getItem(request).getItem();
             if (returnItem != null) {
@@ -153,14 +368,41 @@ public class DynamoDbTicketRegistryFacilitator {
      * @param encodedTicket the encoded ticket
      */
     public void put(final Ticket ticket, final Ticket encodedTicket) {
+        put(ticket, buildTableAttributeValuesMapFromTicket(ticket, encodedTicket));
+    }
+
+    /**
+     * Put ticket.
+     *
+     * @param ticket the ticket
+     * @param values the attribute values of the ticket
+     */
+    public void put(final Ticket ticket, final Map<String, AttributeValue> values) {
         val metadata = this.ticketCatalog.find(ticket);
-        val values = buildTableAttributeValuesMapFromTicket(ticket, encodedTicket);
-        LOGGER.debug("Adding ticket id [{}] with attribute values [{}]", encodedTicket.getId(), values);
+        LOGGER.debug("Adding ticket id [{}] with attribute values [{}]", ticket.getId(), values);
         val putItemRequest = new PutItemRequest(metadata.getProperties().getStorageName(), values);
-        LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
+        LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, ticket.getId());
         val putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
-        getAll();
+    }
+
+    /**
+     * Put the tickets in batches.
+     *
+     * @param tickets the attribute values of the tickets, keyed by ticket
+     * @throws IllegalStateException if some tickets could not be written once all attempts are exhausted
+     */
+    public void putAll(final Map<? extends Ticket, Map<String, AttributeValue>> tickets) {
+        val requests = new LinkedHashMap<String, List<WriteRequest>>();
+        tickets.forEach((ticket, values) -> {
+            val metadata = this.ticketCatalog.find(ticket);
+            requests.computeIfAbsent(metadata.getProperties().getStorageName(), k -> new ArrayList<>())
+                .add(new WriteRequest(new PutRequest(values)));
+        });
+        val unprocessed = writeAll(requests);
+        if (unprocessed > 0) {
+            throw new IllegalStateException("Unable to write " + unprocessed + " of " + tickets.size() + " ticket(s) after " + MAX_BATCH_ATTEMPTS + " attempts");
+        }
     }
 
     /**
@@ -171,11 +413,29 @@ public class DynamoDbTicketRegistryFacilitator {
     public void createTicketTables(final boolean deleteTables) {
         val metadata = this.ticketCatalog.findAll();
         metadata.forEach(Unchecked.consumer(r -> {
+            val throughput = new ProvisionedThroughput(dynamoDbProperties.getReadCapacity(), dynamoDbProperties.getWriteCapacity());
             val request = new CreateTableRequest()
                 .withAttributeDefinitions(new AttributeDefinition(ColumnNames.ID.getColumnName(), ScalarAttributeType.S))
                 .withKeySchema(new KeySchemaElement(ColumnNames.ID.getColumnName(), KeyType.HASH))
-                .withProvisionedThroughput(new ProvisionedThroughput(dynamoDbProperties.getReadCapacity(),
-                    dynamoDbProperties.getWriteCapacity())).withTableName(r.getProperties().getStorageName());
+                .withProvisionedThroughput(throughput).withTableName(r.getProperties().getStorageName());
+            if (dynamoDbProperties.isUsePrincipalIndex() && TicketGrantingTicket.class.isAssignableFrom(r.getImplementationClass())) {
+                request.withAttributeDefinitions(new AttributeDefinition(ColumnNames.PRINCIPAL_ID.getColumnName(), ScalarAttributeType.S))
+                    .withGlobalSecondaryIndexes(new GlobalSecondaryIndex()
+                        .withIndexName(PRINCIPAL_ID_INDEX_NAME)
+                        .withKeySchema(new KeySchemaElement(ColumnNames.PRINCIPAL_ID.getColumnName(), KeyType.HASH))
+                        .withProjection(new Projection().withProjectionType(ProjectionType.KEYS_ONLY))
+                        .withProvisionedThroughput(throughput));
+            }
+            if (dynamoDbProperties.isUseExpirationIndex()) {
+                request.withAttributeDefinitions(new AttributeDefinition(ColumnNames.PREFIX.getColumnName(), ScalarAttributeType.S),
+                    new AttributeDefinition(ColumnNames.EXPIRES_AT.getColumnName(), ScalarAttributeType.N))
+                    .withGlobalSecondaryIndexes(new GlobalSecondaryIndex()
+                        .withIndexName(EXPIRES_AT_INDEX_NAME)
+                        .withKeySchema(new KeySchemaElement(ColumnNames.PREFIX.getColumnName(), KeyType.HASH),
+                            new KeySchemaElement(ColumnNames.EXPIRES_AT.getColumnName(), KeyType.RANGE))
+                        .withProjection(new Projection().withProjectionType(ProjectionType.KEYS_ONLY))
+                        .withProvisionedThroughput(throughput));
+            }
             if (deleteTables) {
                 val delete = new DeleteTableRequest(r.getProperties().getStorageName());
                 LOGGER.debug("Sending delete request [{}] to remove table if necessary", delete);
@@ -189,9 +449,116 @@ public class DynamoDbTicketRegistryFacilitator {
             LOGGER.debug("Sending request [{}] to obtain table description...", describeTableRequest);
             val tableDescription = amazonDynamoDBClient.describeTable(describeTableRequest).getTable();
             LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
+            if (dynamoDbProperties.isUseTimeToLive()) {
+                enableTimeToLive(request.getTableName());
+            }
         }));
     }
 
+    private static QueryRequest getDueForExpirationQuery(final TicketDefinition definition, final long dueBy) {
+        return new QueryRequest(definition.getProperties().getStorageName())
+            .withIndexName(EXPIRES_AT_INDEX_NAME)
+            .withKeyConditionExpression("#prefix = :prefix AND #expiresAt <= :dueBy")
+            .withExpressionAttributeNames(CollectionUtils.wrap("#prefix", ColumnNames.PREFIX.getColumnName(),
+                "#expiresAt", ColumnNames.EXPIRES_AT.getColumnName()))
+            .withExpressionAttributeValues(CollectionUtils.wrap(":prefix", new AttributeValue(definition.getPrefix()),
+                ":dueBy", new AttributeValue().withN(Long.toString(dueBy))));
+    }
+
+    private void enableTimeToLive(final String tableName) {
+        val description = amazonDynamoDBClient.describeTimeToLive(new DescribeTimeToLiveRequest().withTableName(tableName))
+            .getTimeToLiveDescription();
+        val status = description == null ? null : description.getTimeToLiveStatus();
+        if (TimeToLiveStatus.ENABLED.toString().equals(status) || TimeToLiveStatus.ENABLING.toString().equals(status)) {
+            LOGGER.debug("Time-to-live is already turned on for table [{}]", tableName);
+            return;
+        }
+        val request = new UpdateTimeToLiveRequest()
+            .withTableName(tableName)
+            .withTimeToLiveSpecification(new TimeToLiveSpecification()
+                .withAttributeName(ColumnNames.EXPIRES_AT.getColumnName())
+                .withEnabled(Boolean.TRUE));
+        LOGGER.debug("Sending request [{}] to turn on time-to-live for table [{}]", request, tableName);
+        amazonDynamoDBClient.updateTimeToLive(request);
+    }
+
+    private Stream<ScanResultPage> scanPages(final ScanRequest request) {
+        val pages = new Iterator<ScanResultPage>() {
+            private Map<String, AttributeValue> lastEvaluatedKey;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                return !this.done;
+            }
+
+            @Override
+            public ScanResultPage next() {
+                if (this.done) {
+                    throw new NoSuchElementException();
+                }
+                LOGGER.trace("Scanning table with request [{}]", request);
+                val result = amazonDynamoDBClient.scan(request.withExclusiveStartKey(this.lastEvaluatedKey));
+                this.lastEvaluatedKey = result.getLastEvaluatedKey();
+                this.done = this.lastEvaluatedKey == null || this.lastEvaluatedKey.isEmpty();
+                return new ScanResultPage(result.getItems(), result.getCount());
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private Stream<Map<String, AttributeValue>> scanItems(final ScanRequest request) {
+        return scanPages(request).flatMap(page -> page.getItems().stream());
+    }
+
+    private Collection<Ticket> getAll(final String tableName, final List<Map<String, AttributeValue>> keys) {
+        val tickets = new ArrayList<Ticket>(keys.size());
+        partition(keys, MAX_BATCH_GET_SIZE).forEach(batch -> {
+            Map<String, KeysAndAttributes> requestItems = CollectionUtils.wrap(tableName, new KeysAndAttributes().withKeys(batch));
+            for (var attempt = 0; !requestItems.isEmpty(); attempt++) {
+                if (attempt > 0 && (attempt >= MAX_BATCH_ATTEMPTS || !pauseBeforeRetry(attempt))) {
+                    LOGGER.warn("Unable to fetch [{}] from table [{}]", requestItems, tableName);
+                    break;
+                }
+                val result = this.amazonDynamoDBClient.batchGetItem(new BatchGetItemRequest(requestItems));
+                result.getResponses().getOrDefault(tableName, new ArrayList<>(0))
+                    .stream()
+                    .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+                    .filter(Objects::nonNull)
+                    .forEach(tickets::add);
+                requestItems = result.getUnprocessedKeys();
+            }
+        });
+        return tickets;
+    }
+
+    /**
+     * Submit the write requests in batches, retrying unprocessed requests with backoff.
+     *
+     * @param requests the write requests, keyed by table name
+     * @return the number of write requests that remained unprocessed once all attempts were exhausted
+     */
+    private int writeAll(final Map<String, List<WriteRequest>> requests) {
+        var unprocessed = 0;
+        for (val entry : requests.entrySet()) {
+            val tableName = entry.getKey();
+            for (val batch : partition(entry.getValue(), MAX_BATCH_WRITE_SIZE)) {
+                Map<String, List<WriteRequest>> requestItems = CollectionUtils.wrap(tableName, batch);
+                for (var attempt = 0; !requestItems.isEmpty(); attempt++) {
+                    if (attempt > 0 && (attempt >= MAX_BATCH_ATTEMPTS || !pauseBeforeRetry(attempt))) {
+                        val remaining = requestItems.values().stream().mapToInt(List::size).sum();
+                        LOGGER.error("Unable to write [{}] request(s) to table [{}] after [{}] attempt(s)", remaining, tableName, attempt);
+                        unprocessed += remaining;
+                        break;
+                    }
+                    LOGGER.debug("Submitting batch of [{}] write requests to table [{}]", batch.size(), tableName);
+                    requestItems = this.amazonDynamoDBClient.batchWriteItem(new BatchWriteItemRequest(requestItems)).getUnprocessedItems();
+                }
+            }
+        }
+        return unprocessed;
+    }
+
     /**
      * Build table attribute values from ticket map.
      *
@@ -200,6 +567,18 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the map
      */
     public Map<String, AttributeValue> buildTableAttributeValuesMapFromTicket(final Ticket ticket, final Ticket encTicket) {
+        return buildTableAttributeValuesMapFromTicket(ticket, encTicket, TicketPrincipalUtils.getPrincipalId(ticket));
+    }
+
+    /**
+     * Build table attribute values from ticket map.
+     *
+     * @param ticket      the ticket
+     * @param encTicket   the encoded ticket
+     * @param principalId the principal id to store with the ticket, if any
+     * @return the map
+     */
+    public Map<String, AttributeValue> buildTableAttributeValuesMapFromTicket(final Ticket ticket, final Ticket encTicket, final String principalId) {
         val values = new HashMap<String, AttributeValue>();
         values.put(ColumnNames.ID.getColumnName(), new AttributeValue(encTicket.getId()));
         values.put(ColumnNames.PREFIX.getColumnName(), new AttributeValue(ticket.getPrefix()));
@@ -208,6 +587,11 @@ public class DynamoDbTicketRegistryFacilitator {
         values.put(ColumnNames.TIME_TO_LIVE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToLive())));
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())));
         values.put(ColumnNames.ENCODED.getColumnName(), new AttributeValue().withB(ByteBuffer.wrap(SerializationUtils.serialize(encTicket))));
+        values.put(ColumnNames.EXPIRES_AT.getColumnName(),
+            new AttributeValue().withN(Long.toString(TicketExpirationUtils.getExpectedExpirationTime(ticket).toEpochSecond())));
+        if (StringUtils.isNotBlank(principalId)) {
+            values.put(ColumnNames.PRINCIPAL_ID.getColumnName(), new AttributeValue(principalId));
+        }
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
     }
@@ -245,7 +629,15 @@ public class DynamoDbTicketRegistryFacilitator {
         /**
          * encoded column.
          */
-        ENCODED("encoded");
+        ENCODED("encoded"),
+        /**
+         * expiresAt column, holding the expected expiration time of the ticket in epoch seconds.
+         */
+        EXPIRES_AT("expiresAt"),
+        /**
+         * principalId column, holding the principal id of ticket-granting tickets.
+         */
+        PRINCIPAL_ID("principalId");
 
         private final String columnName;
 
@@ -253,4 +645,15 @@ public class DynamoDbTicketRegistryFacilitator {
             this.columnName = columnName;
         }
     }
+
+    /**
+     * A page of items returned by a scan.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class ScanResultPage {
+        private final List<Map<String, AttributeValue>> items;
+
+        private final int count;
+    }
 }
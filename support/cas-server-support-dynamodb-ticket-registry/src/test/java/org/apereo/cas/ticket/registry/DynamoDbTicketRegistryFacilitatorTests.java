@@ -23,11 +23,16 @@ import org.apereo.cas.config.DynamoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.ConditionalIgnore;
 import org.apereo.cas.util.junit.ConditionalIgnoreRule;
 import org.apereo.cas.util.junit.RunningContinuousIntegrationCondition;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
 import lombok.val;
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -42,9 +47,16 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitatorTests}.
@@ -121,4 +133,56 @@ public class DynamoDbTicketRegistryFacilitatorTests {
         assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
 
     }
+
+    @Test
+    public void verifyBatchTicketOperations() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val tickets = new LinkedHashMap<Ticket, Map<String, AttributeValue>>();
+        IntStream.range(0, 30).forEach(i -> {
+            val ticket = new MockTicketGrantingTicket("casuser-" + (i % 2));
+            tickets.put(ticket, dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket));
+        });
+        dynamoDbTicketRegistryFacilitator.putAll(tickets);
+        assertEquals(30, dynamoDbTicketRegistryFacilitator.getAll().size());
+        assertEquals(30, dynamoDbTicketRegistryFacilitator.stream().count());
+        assertEquals(15, dynamoDbTicketRegistryFacilitator.getAllByPrincipal("casuser-0").size());
+
+        val ticketIds = tickets.keySet().stream().collect(Collectors.toMap(Ticket::getId, Ticket::getId));
+        assertEquals(30, dynamoDbTicketRegistryFacilitator.deleteAll(ticketIds));
+        assertEquals(0, dynamoDbTicketRegistryFacilitator.stream().count());
+    }
+
+    @Test
+    public void verifyUnprocessedBatchWritesAreReported() {
+        val client = mock(AmazonDynamoDB.class);
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+            .thenAnswer(invocation -> new BatchWriteItemResult()
+                .withUnprocessedItems(invocation.<BatchWriteItemRequest>getArgument(0).getRequestItems()));
+        val facilitator = new DynamoDbTicketRegistryFacilitator(dynamoDbTicketRegistryFacilitator.getTicketCatalog(),
+            dynamoDbTicketRegistryFacilitator.getDynamoDbProperties(), client);
+
+        val ticket = new MockTicketGrantingTicket("casuser");
+        assertEquals(0, facilitator.deleteAll(CollectionUtils.wrap(ticket.getId(), ticket.getId())));
+
+        val tickets = new LinkedHashMap<Ticket, Map<String, AttributeValue>>();
+        tickets.put(ticket, facilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket));
+        thrown.expect(IllegalStateException.class);
+        facilitator.putAll(tickets);
+    }
+
+    @Test
+    public void verifyTicketsDueForExpiration() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val active = new MockTicketGrantingTicket("active");
+        dynamoDbTicketRegistryFacilitator.put(active, active);
+        IntStream.range(0, 3).forEach(i -> {
+            val ticket = new MockTicketGrantingTicket("casuser-" + i);
+            ticket.markTicketExpired();
+            dynamoDbTicketRegistryFacilitator.put(ticket, ticket);
+        });
+        val dueBy = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(1).toEpochSecond();
+        assertEquals(3, dynamoDbTicketRegistryFacilitator.countDueForExpiration(dueBy));
+        assertEquals(2, dynamoDbTicketRegistryFacilitator.getAllDueForExpiration(dueBy, 2).size());
+        assertTrue(dynamoDbTicketRegistryFacilitator.getAllDueForExpiration(dueBy, 10).stream().allMatch(Ticket::isExpired));
+    }
 }
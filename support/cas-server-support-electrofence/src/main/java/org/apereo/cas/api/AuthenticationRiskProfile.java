@@ -0,0 +1,148 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * This is {@link AuthenticationRiskProfile}, which summarizes the authentication history of a principal
+ * as frequency histograms of client ip addresses, user agents, geolocations and hours of the day.
+ * Histograms are kept per day so that days that fall out of recent history can be discarded,
+ * and they are updated one event at a time, which allows risk calculators to score an authentication
+ * request without going through the individual events.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiredArgsConstructor
+@ToString(of = "principal")
+public class AuthenticationRiskProfile {
+
+    private static final int HOURS_PER_DAY = 24;
+
+    @Getter
+    private final String principal;
+
+    private final NavigableMap<LocalDate, Histogram> days = new TreeMap<>();
+
+    private static String toKey(final String value) {
+        return StringUtils.defaultString(value).toLowerCase();
+    }
+
+    private static String toKey(final GeoLocationRequest location) {
+        if (location == null) {
+            return StringUtils.EMPTY;
+        }
+        return location.getLatitude() + ',' + location.getLongitude();
+    }
+
+    /**
+     * Record the authentication event in the profile.
+     *
+     * @param event the event
+     */
+    public synchronized void record(final CasEvent event) {
+        val creationTime = event.getCreationZonedDateTime().withZoneSameInstant(ZoneOffset.UTC);
+        val histogram = this.days.computeIfAbsent(creationTime.toLocalDate(), day -> new Histogram());
+        histogram.count++;
+        histogram.hours[creationTime.getHour()]++;
+        histogram.ipAddresses.merge(toKey(event.getClientIpAddress()), 1L, Long::sum);
+        histogram.userAgents.merge(toKey(event.getAgent()), 1L, Long::sum);
+        histogram.geoLocations.merge(toKey(event.getGeoLocation()), 1L, Long::sum);
+    }
+
+    /**
+     * Discard the history that goes back further than the given day.
+     *
+     * @param since the earliest day to keep
+     */
+    public synchronized void prune(final LocalDate since) {
+        this.days.headMap(since).clear();
+    }
+
+    /**
+     * Gets the number of recorded authentication events.
+     *
+     * @return the count
+     */
+    public synchronized long getCount() {
+        return this.days.values().stream().mapToLong(histogram -> histogram.count).sum();
+    }
+
+    /**
+     * Gets the number of events recorded from the given client ip address, ignoring case.
+     *
+     * @param ipAddress the ip address
+     * @return the count
+     */
+    public synchronized long getIpAddressCount(final String ipAddress) {
+        val key = toKey(ipAddress);
+        return this.days.values().stream().mapToLong(histogram -> histogram.ipAddresses.getOrDefault(key, 0L)).sum();
+    }
+
+    /**
+     * Gets the number of events recorded from the given user agent, ignoring case.
+     *
+     * @param userAgent the user agent
+     * @return the count
+     */
+    public synchronized long getUserAgentCount(final String userAgent) {
+        val key = toKey(userAgent);
+        return this.days.values().stream().mapToLong(histogram -> histogram.userAgents.getOrDefault(key, 0L)).sum();
+    }
+
+    /**
+     * Gets the number of events recorded from the given geolocation.
+     *
+     * @param location the location
+     * @return the count
+     */
+    public synchronized long getGeoLocationCount(final GeoLocationRequest location) {
+        val key = toKey(location);
+        return this.days.values().stream().mapToLong(histogram -> histogram.geoLocations.getOrDefault(key, 0L)).sum();
+    }
+
+    /**
+     * Gets the number of events recorded between the given hours of the day in UTC, inclusive.
+     *
+     * @param fromHour the first hour
+     * @param toHour   the last hour
+     * @return the count
+     */
+    public synchronized long getHourCount(final int fromHour, final int toHour) {
+        var count = 0L;
+        for (val histogram : this.days.values()) {
+            for (var hour = Math.max(fromHour, 0); hour <= Math.min(toHour, HOURS_PER_DAY - 1); hour++) {
+                count += histogram.hours[hour];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Frequencies of a single day.
+     */
+    private static class Histogram {
+        private final long[] hours = new long[HOURS_PER_DAY];
+
+        private final Map<String, Long> ipAddresses = new HashMap<>();
+
+        private final Map<String, Long> userAgents = new HashMap<>();
+
+        private final Map<String, Long> geoLocations = new HashMap<>();
+
+        private long count;
+    }
+}
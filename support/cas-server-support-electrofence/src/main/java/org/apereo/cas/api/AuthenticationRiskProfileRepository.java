@@ -0,0 +1,28 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.support.events.dao.CasEvent;
+
+/**
+ * This is {@link AuthenticationRiskProfileRepository}, which keeps the {@link AuthenticationRiskProfile}
+ * of each principal up to date as authentication events arrive.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface AuthenticationRiskProfileRepository {
+
+    /**
+     * Gets the profile of the principal, covering the recent authentication history.
+     *
+     * @param principal the principal
+     * @return the profile
+     */
+    AuthenticationRiskProfile getProfile(String principal);
+
+    /**
+     * Record the authentication event in the profile of its principal.
+     *
+     * @param event the event
+     */
+    void record(CasEvent event);
+}
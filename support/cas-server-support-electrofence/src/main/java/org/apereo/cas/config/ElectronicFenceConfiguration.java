@@ -5,10 +5,12 @@ import org.apereo.cas.api.AuthenticationRiskContingencyPlan;
 import org.apereo.cas.api.AuthenticationRiskEvaluator;
 import org.apereo.cas.api.AuthenticationRiskMitigator;
 import org.apereo.cas.api.AuthenticationRiskNotifier;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.impl.calcs.DateTimeAuthenticationRequestRiskCalculator;
 import org.apereo.cas.impl.calcs.GeoLocationAuthenticationRequestRiskCalculator;
 import org.apereo.cas.impl.calcs.IpAddressAuthenticationRequestRiskCalculator;
@@ -20,6 +22,7 @@ import org.apereo.cas.impl.notify.AuthenticationRiskSmsNotifier;
 import org.apereo.cas.impl.plans.BaseAuthenticationRiskContingencyPlan;
 import org.apereo.cas.impl.plans.BlockAuthenticationContingencyPlan;
 import org.apereo.cas.impl.plans.MultifactorAuthenticationContingencyPlan;
+import org.apereo.cas.impl.profile.CachingAuthenticationRiskProfileRepository;
 import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.util.io.CommunicationsManager;
 
@@ -113,25 +116,33 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
         return new DefaultAuthenticationRiskMitigator(multifactorAuthenticationContingencyPlan());
     }
 
+    @ConditionalOnMissingBean(name = "authenticationRiskProfileRepository")
+    @Bean
+    public AuthenticationRiskProfileRepository authenticationRiskProfileRepository() {
+        val risk = casProperties.getAuthn().getAdaptive().getRisk();
+        return new CachingAuthenticationRiskProfileRepository(casEventRepository.getIfAvailable(), risk.getDaysInRecentHistory(),
+            Beans.newDuration(risk.getProfile().getExpiration()), risk.getProfile().getMaximumProfiles());
+    }
+
     @ConditionalOnMissingBean(name = "ipAddressAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator ipAddressAuthenticationRequestRiskCalculator() {
-        return new IpAddressAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable());
+        return new IpAddressAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository());
     }
 
     @ConditionalOnMissingBean(name = "userAgentAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator userAgentAuthenticationRequestRiskCalculator() {
-        return new UserAgentAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable());
+        return new UserAgentAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository());
     }
 
     @ConditionalOnMissingBean(name = "dateTimeAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator dateTimeAuthenticationRequestRiskCalculator() {
-        return new DateTimeAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable(),
+        return new DateTimeAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository(),
             casProperties.getAuthn().getAdaptive().getRisk().getDateTime().getWindowInHours());
     }
 
@@ -139,7 +150,7 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator geoLocationAuthenticationRequestRiskCalculator() {
-        return new GeoLocationAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable(), geoLocationService.getIfAvailable());
+        return new GeoLocationAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository(), geoLocationService.getIfAvailable());
     }
 
     @ConditionalOnMissingBean(name = "authenticationRiskEvaluator")
@@ -166,7 +177,7 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
             LOGGER.warn("No risk calculators are defined to examine authentication requests");
         }
 
-        return new DefaultAuthenticationRiskEvaluator(calculators);
+        return new DefaultAuthenticationRiskEvaluator(calculators, authenticationRiskProfileRepository());
     }
 
     private void configureContingencyPlan(final BaseAuthenticationRiskContingencyPlan b) {
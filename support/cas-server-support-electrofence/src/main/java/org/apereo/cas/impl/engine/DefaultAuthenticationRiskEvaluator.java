@@ -2,6 +2,7 @@ package org.apereo.cas.impl.engine;
 
 import org.apereo.cas.api.AuthenticationRequestRiskCalculator;
 import org.apereo.cas.api.AuthenticationRiskEvaluator;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.api.AuthenticationRiskScore;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.services.RegisteredService;
@@ -18,6 +19,7 @@ import java.util.Set;
 
 /**
  * This is {@link DefaultAuthenticationRiskEvaluator}.
+ * The risk profile of the principal is fetched once, and shared by all calculators.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -26,6 +28,8 @@ import java.util.Set;
 public class DefaultAuthenticationRiskEvaluator implements AuthenticationRiskEvaluator {
     private final Set<AuthenticationRequestRiskCalculator> calculators;
 
+    private final AuthenticationRiskProfileRepository authenticationRiskProfileRepository;
+
     @Override
     public Set<AuthenticationRequestRiskCalculator> getCalculators() {
         return calculators;
@@ -42,8 +46,9 @@ public class DefaultAuthenticationRiskEvaluator implements AuthenticationRiskEva
             return new AuthenticationRiskScore(AuthenticationRequestRiskCalculator.HIGHEST_RISK_SCORE);
         }
 
+        val profile = this.authenticationRiskProfileRepository.getProfile(authentication.getPrincipal().getId());
         val scores = new ArrayList<AuthenticationRiskScore>();
-        this.calculators.forEach(r -> scores.add(r.calculate(authentication, service, request)));
+        this.calculators.forEach(r -> scores.add(r.calculate(authentication, service, request, profile)));
         val sum = scores.stream().map(AuthenticationRiskScore::getScore).reduce(BigDecimal.ZERO, BigDecimal::add);
         val score = sum.divide(BigDecimal.valueOf(this.calculators.size()), 2, RoundingMode.UP);
         return new AuthenticationRiskScore(score);
@@ -0,0 +1,91 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.listener.DefaultCasEventListener;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link CachingAuthenticationRiskProfileRepository}, which builds the profile of a principal
+ * from the {@link CasEventRepository} once, and then keeps it in memory, recording ticket-granting ticket
+ * creation events as they are published by this node. Profiles are rebuilt from the repository
+ * once they expire, which also picks up events that were recorded by other nodes in the meantime.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class CachingAuthenticationRiskProfileRepository implements AuthenticationRiskProfileRepository {
+
+    private final CasEventRepository casEventRepository;
+
+    private final long daysInRecentHistory;
+
+    private final Cache<String, AuthenticationRiskProfile> profiles;
+
+    public CachingAuthenticationRiskProfileRepository(final CasEventRepository casEventRepository, final long daysInRecentHistory,
+                                                      final Duration expiration, final long maximumProfiles) {
+        this.casEventRepository = casEventRepository;
+        this.daysInRecentHistory = daysInRecentHistory;
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(maximumProfiles)
+            .expireAfterWrite(expiration)
+            .build();
+    }
+
+    @Override
+    public AuthenticationRiskProfile getProfile(final String principal) {
+        val profile = this.profiles.get(principal, this::loadProfile);
+        profile.prune(getRecentHistoryStart().toLocalDate());
+        return profile;
+    }
+
+    @Override
+    public void record(final CasEvent event) {
+        val profile = this.profiles.getIfPresent(event.getPrincipalId());
+        if (profile != null) {
+            profile.record(event);
+        }
+    }
+
+    /**
+     * Record the ticket-granting ticket creation event in the profile of its principal,
+     * if the profile is already in memory.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasTicketGrantingTicketCreatedEvent(final CasTicketGrantingTicketCreatedEvent event) {
+        val principal = event.getTicketGrantingTicket().getAuthentication().getPrincipal().getId();
+        val profile = this.profiles.getIfPresent(principal);
+        if (profile != null) {
+            profile.record(DefaultCasEventListener.prepareCasTicketGrantingTicketCreatedEvent(event));
+        }
+    }
+
+    private AuthenticationRiskProfile loadProfile(final String principal) {
+        val type = CasTicketGrantingTicketCreatedEvent.class.getName();
+        LOGGER.debug("Building risk profile for [{}] from events of type [{}]", principal, type);
+        val events = this.casEventRepository.getEventsOfTypeForPrincipal(type, principal, getRecentHistoryStart());
+        val profile = new AuthenticationRiskProfile(principal);
+        events.forEach(profile::record);
+        LOGGER.debug("Built risk profile for [{}] from [{}] events", principal, profile.getCount());
+        return profile;
+    }
+
+    private ZonedDateTime getRecentHistoryStart() {
+        return ZonedDateTime.now(ZoneOffset.UTC).minusDays(this.daysInRecentHistory);
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.api.AuthenticationRiskProfileTests;
 import org.apereo.cas.impl.calcs.DateTimeAuthenticationRequestRiskCalculatorTests;
 import org.apereo.cas.impl.calcs.GeoLocationAuthenticationRequestRiskCalculatorTests;
 import org.apereo.cas.impl.calcs.IpAddressAuthenticationRequestRiskCalculatorTests;
@@ -23,7 +24,8 @@ import org.junit.runners.Suite;
     IpAddressAuthenticationRequestRiskCalculatorTests.class,
     UserAgentAuthenticationRequestRiskCalculatorTests.class,
     AuthenticationRiskEmailNotifierTests.class,
-    AuthenticationRiskSmsNotifierTests.class
+    AuthenticationRiskSmsNotifierTests.class,
+    AuthenticationRiskProfileTests.class
 })
 public class AllTestsSuite {
 }
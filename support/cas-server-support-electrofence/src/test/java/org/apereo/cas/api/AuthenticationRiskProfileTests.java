@@ -0,0 +1,52 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AuthenticationRiskProfileTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class AuthenticationRiskProfileTests {
+
+    private static CasEvent newCasEvent(final ZonedDateTime creationTime, final String ipAddress) {
+        val event = new CasEvent();
+        event.setPrincipalId("casuser");
+        event.setCreationTime(creationTime.toString());
+        event.putClientIpAddress(ipAddress);
+        event.putAgent("Firefox");
+        event.putGeoLocation(new GeoLocationRequest(40.71, -74.005));
+        return event;
+    }
+
+    @Test
+    public void verifyProfileCountsEvents() {
+        val now = ZonedDateTime.now(ZoneOffset.UTC).withHour(10);
+        val profile = new AuthenticationRiskProfile("casuser");
+        profile.record(newCasEvent(now, "1.2.3.4"));
+        profile.record(newCasEvent(now, "1.2.3.4"));
+        profile.record(newCasEvent(now.minusDays(10), "5.6.7.8"));
+
+        assertEquals(3, profile.getCount());
+        assertEquals(2, profile.getIpAddressCount("1.2.3.4"));
+        assertEquals(3, profile.getUserAgentCount("FIREFOX"));
+        assertEquals(3, profile.getGeoLocationCount(new GeoLocationRequest(40.71, -74.005)));
+        assertEquals(0, profile.getGeoLocationCount(new GeoLocationRequest(48.85, 2.35)));
+        assertEquals(3, profile.getHourCount(9, 11));
+        assertEquals(0, profile.getHourCount(11, 9));
+
+        profile.prune(now.minusDays(1).toLocalDate());
+        assertEquals(2, profile.getCount());
+        assertEquals(0, profile.getIpAddressCount("5.6.7.8"));
+    }
+}
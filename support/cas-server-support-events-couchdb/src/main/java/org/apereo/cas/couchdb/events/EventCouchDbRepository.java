@@ -1,5 +1,6 @@
 package org.apereo.cas.couchdb.events;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.ektorp.ComplexKey;
 import org.ektorp.CouchDbConnector;
@@ -18,11 +19,23 @@ import java.util.List;
  * @since 6.0.0
  */
 @View(name = "all", map = "function(doc) { emit(doc._id, doc) }")
+@Slf4j
 public class EventCouchDbRepository extends CouchDbRepositorySupport<CouchDbCasEvent> {
     public EventCouchDbRepository(final CouchDbConnector db, final boolean createIfNotExists) {
         super(CouchDbCasEvent.class, db, createIfNotExists);
     }
 
+    /**
+     * Add events in a single bulk request.
+     * @param events events to add
+     */
+    public void addAll(final Collection<CouchDbCasEvent> events) {
+        val failures = db.executeBulk(events);
+        if (!failures.isEmpty()) {
+            LOGGER.warn("Unable to add [{}] of [{}] event(s): [{}]", failures.size(), events.size(), failures);
+        }
+    }
+
     /**
      * Find by event type.
      * @param type event type
@@ -41,6 +41,11 @@ public class CouchDbCasEventRepository extends AbstractCasEventRepository {
         }
     }
 
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        couchDb.addAll(events.stream().map(CouchDbCasEvent::new).collect(Collectors.toList()));
+    }
+
     @Override
     public Collection<? extends CasEvent> load() {
         return couchDb.getAll();
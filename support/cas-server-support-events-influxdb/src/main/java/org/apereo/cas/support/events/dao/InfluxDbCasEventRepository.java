@@ -33,6 +33,15 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
 
     @Override
     public void save(final CasEvent event) {
+        influxDbConnectionFactory.writeBatch(toPoint(event));
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        influxDbConnectionFactory.writeBatch(events.stream().map(InfluxDbCasEventRepository::toPoint).toArray(Point[]::new));
+    }
+
+    private static Point toPoint(final CasEvent event) {
         val builder = Point.measurement(MEASUREMENT);
         ReflectionUtils.doWithFields(CasEvent.class, field -> {
             if (!Modifier.isStatic(field.getModifiers())) {
@@ -45,8 +54,7 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
             }
         });
 
-        val point = builder.time(System.currentTimeMillis(), TimeUnit.MILLISECONDS).build();
-        influxDbConnectionFactory.writeBatch(point);
+        return builder.time(System.currentTimeMillis(), TimeUnit.MILLISECONDS).build();
     }
 
     @Override
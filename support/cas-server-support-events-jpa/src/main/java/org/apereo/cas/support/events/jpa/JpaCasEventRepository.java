@@ -34,6 +34,11 @@ public class JpaCasEventRepository extends AbstractCasEventRepository {
         this.entityManager.merge(event);
     }
 
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this.entityManager::merge);
+    }
+
     @Override
     public Collection<? extends CasEvent> load() {
         return this.entityManager.createQuery(SELECT_QUERY.trim(), CasEvent.class).getResultList();
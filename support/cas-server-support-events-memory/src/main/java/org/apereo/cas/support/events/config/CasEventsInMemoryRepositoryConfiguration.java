@@ -2,17 +2,19 @@ package org.apereo.cas.support.events.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.events.CasEventRepository;
-import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.support.events.dao.InMemoryCasEventRepository;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 /**
  * This is {@link CasEventsInMemoryRepositoryConfiguration}.
@@ -26,22 +28,38 @@ import java.util.concurrent.TimeUnit;
 public class CasEventsInMemoryRepositoryConfiguration {
 
 
-    private static final int INITIAL_CACHE_SIZE = 50;
-    private static final long MAX_CACHE_SIZE = 1_000_000;
-    private static final long EXPIRATION_TIME = 2;
+    private static final long MAX_EVENTS = 1_000_000;
+    private static final Duration EXPIRATION_TIME = Duration.ofHours(2);
+    private static final Duration BUCKET_DURATION = Duration.ofMinutes(1);
 
     @Bean
     public CasEventRepository casEventRepository() {
-        final LoadingCache<String, CasEvent> storage = Caffeine.newBuilder()
-            .initialCapacity(INITIAL_CACHE_SIZE)
-            .maximumSize(MAX_CACHE_SIZE)
-            .recordStats()
-            .expireAfterWrite(EXPIRATION_TIME, TimeUnit.HOURS)
-            .build(s -> {
-                LOGGER.error("Load operation of the cache is not supported.");
-                return null;
-            });
-        LOGGER.debug("Created an in-memory event repository to store CAS events for [{}] hours", EXPIRATION_TIME);
-        return new InMemoryCasEventRepository(storage);
+        LOGGER.debug("Created an in-memory event repository to store CAS events for [{}]", EXPIRATION_TIME);
+        return new InMemoryCasEventRepository(EXPIRATION_TIME, BUCKET_DURATION, MAX_EVENTS);
+    }
+
+    @ConditionalOnMissingBean(name = "casEventRepositoryCleanerScheduler")
+    @Bean
+    @Autowired
+    public CasEventRepositoryCleanerScheduler casEventRepositoryCleanerScheduler(
+        @Qualifier("casEventRepository") final CasEventRepository casEventRepository) {
+        return new CasEventRepositoryCleanerScheduler(casEventRepository);
+    }
+
+    /**
+     * The event repository cleaner scheduler.
+     */
+    @RequiredArgsConstructor
+    public static class CasEventRepositoryCleanerScheduler {
+        private final CasEventRepository repository;
+
+        @Scheduled(initialDelayString = "${cas.events.memory.schedule.startDelay:PT1M}",
+            fixedDelayString = "${cas.events.memory.schedule.repeatInterval:PT1M}")
+        public void run() {
+            if (this.repository instanceof InMemoryCasEventRepository) {
+                LOGGER.trace("Discarding expired events from the in-memory event repository");
+                ((InMemoryCasEventRepository) this.repository).clean();
+            }
+        }
     }
 }
@@ -1,39 +1,242 @@
 package org.apereo.cas.support.events.dao;
 
-import com.github.benmanes.caffeine.cache.LoadingCache;
-import lombok.RequiredArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.UUID;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * This is {@link InMemoryCasEventRepository}.
+ * This is {@link InMemoryCasEventRepository}. Events are kept in buckets by the time they are saved,
+ * and each bucket indexes its events by principal and by type, so that queries only go through
+ * the events they are interested in. Queries skip buckets whose events have all expired, and
+ * {@link #clean()} discards such buckets as a whole; it is expected to run on a schedule.
+ * When the repository holds more events than allowed, the oldest buckets are discarded first.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
-@RequiredArgsConstructor
+@Slf4j
+@Getter
 public class InMemoryCasEventRepository extends AbstractCasEventRepository {
-    private final LoadingCache<String, CasEvent> cache;
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentNavigableMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong size = new AtomicLong();
+
+    private final Duration expiration;
+
+    private final Duration bucketDuration;
+
+    private final long maximumEvents;
+
+    private final Clock clock;
+
+    public InMemoryCasEventRepository(final Duration expiration, final Duration bucketDuration, final long maximumEvents) {
+        this(expiration, bucketDuration, maximumEvents, Clock.systemUTC());
+    }
+
+    public InMemoryCasEventRepository(final Duration expiration, final Duration bucketDuration,
+                                      final long maximumEvents, final Clock clock) {
+        this.expiration = expiration;
+        this.bucketDuration = bucketDuration;
+        this.maximumEvents = maximumEvents;
+        this.clock = clock;
+    }
+
+    private static boolean isOnOrAfter(final CasEvent event, final ZonedDateTime dateTime) {
+        val creationTime = event.getCreationZonedDateTime();
+        return creationTime.isEqual(dateTime) || creationTime.isAfter(dateTime);
+    }
 
     @Override
     public void save(final CasEvent event) {
-        cache.put(UUID.randomUUID().toString(), event);
+        val key = this.clock.millis() / this.bucketDuration.toMillis();
+        var bucket = this.buckets.computeIfAbsent(key, k -> new Bucket());
+        while (!bucket.add(event)) {
+            this.buckets.remove(key, bucket);
+            bucket = this.buckets.computeIfAbsent(key, k -> new Bucket());
+        }
+        this.size.incrementAndGet();
+        enforceMaximumEvents();
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
     }
 
     @Override
     public Collection<? extends CasEvent> load() {
-        return cache.asMap().values();
+        return streamEvents(Bucket::getEvents).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<? extends CasEvent> load(final ZonedDateTime dateTime) {
+        return streamEvents(Bucket::getEvents).filter(e -> isOnOrAfter(e, dateTime)).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfType(final String type) {
+        return streamEventsOfType(type).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return streamEventsOfType(type).filter(e -> isOnOrAfter(e, dateTime)).collect(Collectors.toList());
     }
 
     @Override
     public Collection<? extends CasEvent> getEventsForPrincipal(final String id) {
-        return cache
-            .asMap()
-            .values()
-            .stream()
-            .filter(e -> e.getPrincipalId().equalsIgnoreCase(id))
-            .collect(Collectors.toSet());
+        return streamEventsForPrincipal(id).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return streamEventsForPrincipal(id).filter(e -> isOnOrAfter(e, dateTime)).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
+        return streamEventsForPrincipal(principal).filter(e -> type.equals(e.getType())).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
+        return streamEventsForPrincipal(principal)
+            .filter(e -> type.equals(e.getType()) && isOnOrAfter(e, dateTime))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Stream events of the given type, bucket by bucket from the oldest.
+     *
+     * @param type the type
+     * @return the events
+     */
+    public Stream<CasEvent> streamEventsOfType(final String type) {
+        return streamEvents(bucket -> bucket.getEventsOfType(type));
+    }
+
+    /**
+     * Stream events of the given principal, ignoring case, bucket by bucket from the oldest.
+     *
+     * @param principal the principal
+     * @return the events
+     */
+    public Stream<CasEvent> streamEventsForPrincipal(final String principal) {
+        return streamEvents(bucket -> bucket.getEventsForPrincipal(principal));
+    }
+
+    /**
+     * Gets the number of events in the repository.
+     *
+     * @return the size
+     */
+    public long size() {
+        return this.size.get();
+    }
+
+    /**
+     * Discard the buckets whose events have all expired.
+     */
+    public void clean() {
+        val oldestLiveKey = getOldestLiveKey();
+        var entry = this.buckets.firstEntry();
+        while (entry != null && entry.getKey() < oldestLiveKey) {
+            val count = discard(entry.getKey(), entry.getValue());
+            LOGGER.trace("Discarded expired bucket of [{}] events", count);
+            entry = this.buckets.firstEntry();
+        }
+    }
+
+    private long getOldestLiveKey() {
+        return (this.clock.millis() - this.expiration.toMillis()) / this.bucketDuration.toMillis();
+    }
+
+    private Stream<CasEvent> streamEvents(final Function<Bucket, List<CasEvent>> selector) {
+        return this.buckets.tailMap(getOldestLiveKey()).values().stream().flatMap(bucket -> selector.apply(bucket).stream());
+    }
+
+    private void enforceMaximumEvents() {
+        while (this.size.get() > this.maximumEvents && this.buckets.size() > 1) {
+            val entry = this.buckets.firstEntry();
+            if (entry != null) {
+                val count = discard(entry.getKey(), entry.getValue());
+                LOGGER.debug("Discarded bucket of [{}] events to stay within [{}] events", count, this.maximumEvents);
+            }
+        }
+    }
+
+    /**
+     * Close the bucket before removing it, so that events are no longer added to it
+     * once its events have been taken off the size of the repository.
+     */
+    private int discard(final Long key, final Bucket bucket) {
+        val count = bucket.close();
+        this.buckets.remove(key, bucket);
+        this.size.addAndGet(-count);
+        return count;
+    }
+
+    /**
+     * Events saved within the same period of time, indexed by principal and type.
+     */
+    private static class Bucket {
+        private final List<CasEvent> events = new ArrayList<>();
+
+        private final Map<String, List<CasEvent>> eventsByPrincipal = new HashMap<>();
+
+        private final Map<String, List<CasEvent>> eventsByType = new HashMap<>();
+
+        private boolean closed;
+
+        synchronized boolean add(final CasEvent event) {
+            if (this.closed) {
+                return false;
+            }
+            this.events.add(event);
+            if (event.getPrincipalId() != null) {
+                this.eventsByPrincipal.computeIfAbsent(event.getPrincipalId().toLowerCase(), k -> new ArrayList<>()).add(event);
+            }
+            if (event.getType() != null) {
+                this.eventsByType.computeIfAbsent(event.getType(), k -> new ArrayList<>()).add(event);
+            }
+            return true;
+        }
+
+        synchronized int close() {
+            if (this.closed) {
+                return 0;
+            }
+            this.closed = true;
+            return this.events.size();
+        }
+
+        synchronized List<CasEvent> getEvents() {
+            return new ArrayList<>(this.events);
+        }
+
+        synchronized List<CasEvent> getEventsForPrincipal(final String principal) {
+            return new ArrayList<>(this.eventsByPrincipal.getOrDefault(principal.toLowerCase(), new ArrayList<>(0)));
+        }
+
+        synchronized List<CasEvent> getEventsOfType(final String type) {
+            return new ArrayList<>(this.eventsByType.getOrDefault(type, new ArrayList<>(0)));
+        }
     }
 }
@@ -5,11 +5,22 @@ import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.support.events.config.CasEventsInMemoryRepositoryConfiguration;
 
 import lombok.Getter;
+import lombok.val;
+import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
 /**
  * This is {@link InMemoryCasEventRepositoryTests}.
  *
@@ -25,4 +36,87 @@ public class InMemoryCasEventRepositoryTests extends AbstractCasEventRepositoryT
     @Autowired
     @Qualifier("casEventRepository")
     private CasEventRepository eventRepository;
+
+    private static CasEvent newEvent(final String type, final String principal) {
+        val event = new CasEvent();
+        event.setType(type);
+        event.setPrincipalId(principal);
+        event.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).toString());
+        return event;
+    }
+
+    @Test
+    public void verifyIndexedQueries() {
+        val repository = new InMemoryCasEventRepository(Duration.ofHours(1), Duration.ofMinutes(1), 100);
+        repository.save(newEvent("login", "casuser"));
+        repository.save(newEvent("logout", "CASUSER"));
+        repository.save(newEvent("login", "other"));
+
+        assertEquals(2, repository.getEventsForPrincipal("casuser").size());
+        assertEquals(2, repository.getEventsOfType("login").size());
+        assertEquals(1, repository.getEventsOfTypeForPrincipal("login", "CasUser").size());
+        assertTrue(repository.getEventsOfTypeForPrincipal("login", "unknown").isEmpty());
+        assertEquals(1, repository.getEventsOfType("login", ZonedDateTime.now(ZoneOffset.UTC).minusDays(1))
+            .stream().filter(e -> "other".equals(e.getPrincipalId())).count());
+        assertTrue(repository.load(ZonedDateTime.now(ZoneOffset.UTC).plusDays(1)).isEmpty());
+    }
+
+    @Test
+    public void verifyExpiredBucketsAreDiscarded() {
+        val clock = new MutableClock();
+        val repository = new InMemoryCasEventRepository(Duration.ofMinutes(10), Duration.ofMinutes(1), 100, clock);
+        repository.save(newEvent("login", "casuser"));
+        clock.advance(Duration.ofMinutes(5));
+        repository.save(newEvent("login", "casuser"));
+        assertEquals(2, repository.load().size());
+
+        clock.advance(Duration.ofMinutes(7));
+        assertEquals(1, repository.getEventsForPrincipal("casuser").size());
+        assertEquals(2, repository.size());
+        repository.clean();
+        assertEquals(1, repository.size());
+
+        clock.advance(Duration.ofMinutes(10));
+        assertTrue(repository.load().isEmpty());
+        repository.clean();
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    public void verifyOldestBucketsAreDiscardedWhenFull() {
+        val clock = new MutableClock();
+        val repository = new InMemoryCasEventRepository(Duration.ofHours(1), Duration.ofMinutes(1), 2, clock);
+        repository.save(newEvent("login", "first"));
+        clock.advance(Duration.ofMinutes(1));
+        repository.save(newEvent("login", "second"));
+        clock.advance(Duration.ofMinutes(1));
+        repository.save(newEvent("login", "third"));
+
+        assertEquals(2, repository.size());
+        assertTrue(repository.getEventsForPrincipal("first").isEmpty());
+        assertEquals(1, repository.streamEventsForPrincipal("third").count());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.now();
+
+        void advance(final Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
 }
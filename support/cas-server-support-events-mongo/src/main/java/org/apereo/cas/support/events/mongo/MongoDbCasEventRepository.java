@@ -31,6 +31,11 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
         this.mongoTemplate.save(event, this.collectionName);
     }
 
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        this.mongoTemplate.insert(events, this.collectionName);
+    }
+
     @Override
     public Collection<CasEvent> load() {
         return this.mongoTemplate.findAll(CasEvent.class, this.collectionName);
@@ -3,13 +3,14 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
-import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CoreTicketUtils;
 
+import com.hazelcast.config.MapIndexConfig;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -53,15 +54,20 @@ public class HazelcastTicketRegistryConfiguration {
     public TicketRegistry ticketRegistry() {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         val factory = new HazelcastConfigurationFactory();
-        ticketCatalog.getIfAvailable().findAll().stream()
-                .map(TicketDefinition::getProperties)
-                .peek(p -> LOGGER.debug("Created Hazelcast map configuration for [{}]", p))
-                .map(p -> factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout()))
-                .forEach(m -> hazelcastInstance.getIfAvailable().getConfig().addMapConfig(m));
+        ticketCatalog.getIfAvailable().findAll().forEach(definition -> {
+            val p = definition.getProperties();
+            LOGGER.debug("Created Hazelcast map configuration for [{}]", p);
+            val mapConfig = factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout());
+            if (TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass())) {
+                mapConfig.addMapIndexConfig(new MapIndexConfig(HazelcastTicketRegistry.TICKET_PRINCIPAL_ID_ATTRIBUTE, false));
+            }
+            hazelcastInstance.getIfAvailable().getConfig().addMapConfig(mapConfig);
+        });
         val r = new HazelcastTicketRegistry(hazelcastInstance.getIfAvailable(),
             ticketCatalog.getIfAvailable(),
             hz.getPageSize());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(hz.getCrypto(), "hazelcast"));
+        r.setNormalizeTickets(casProperties.getTicket().getRegistry().isNormalizeTickets());
         return r;
     }
 
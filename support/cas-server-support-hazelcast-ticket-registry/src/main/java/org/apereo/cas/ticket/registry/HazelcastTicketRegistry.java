@@ -3,10 +3,13 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicates;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -15,9 +18,11 @@ import org.springframework.beans.factory.DisposableBean;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -25,6 +30,8 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Maps that hold ticket-granting tickets are indexed by principal, so that the sessions
+ * of a principal can be queried without going through all tickets, unless tickets are encrypted.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -33,6 +40,11 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements AutoCloseable, DisposableBean {
+    /**
+     * Attribute of ticket-granting tickets by which maps are indexed.
+     */
+    public static final String TICKET_PRINCIPAL_ID_ATTRIBUTE = "principalId";
+
     private final HazelcastInstance hazelcastInstance;
     private final TicketCatalog ticketCatalog;
     private final long pageSize;
@@ -45,11 +57,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public void addTicket(final Ticket ticket) {
-        val ttl = ticket.getExpirationPolicy().getTimeToLive();
-        if (ttl < 0) {
-            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
-        }
-
+        val ttl = getTimeToLive(ticket);
         LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
         val encTicket = encodeTicket(ticket);
 
@@ -60,6 +68,37 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
     }
 
+    /**
+     * Submit all tickets to their maps asynchronously and wait for the operations to complete,
+     * so that the cost of the batch is roughly that of the slowest write rather than the sum of all.
+     *
+     * @param ticketsToAdd    the tickets to add
+     * @param ticketsToUpdate the tickets to update
+     */
+    @Override
+    @SneakyThrows
+    public void addAndUpdateTickets(final Collection<? extends Ticket> ticketsToAdd, final Collection<? extends Ticket> ticketsToUpdate) {
+        val futures = new ArrayList<Future<Void>>(ticketsToAdd.size() + ticketsToUpdate.size());
+        Stream.concat(ticketsToUpdate.stream(), ticketsToAdd.stream()).forEach(ticket -> {
+            val ttl = getTimeToLive(ticket);
+            val encTicket = encodeTicket(ticket);
+            val ticketMap = getTicketMapInstanceByMetadata(this.ticketCatalog.find(ticket));
+            LOGGER.debug("Submitting ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
+            futures.add(ticketMap.setAsync(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS));
+        });
+        for (val future : futures) {
+            future.get();
+        }
+    }
+
+    private static long getTimeToLive(final Ticket ticket) {
+        val ttl = ticket.getExpirationPolicy().getTimeToLive();
+        if (ttl < 0) {
+            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
+        }
+        return ttl;
+    }
+
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -123,6 +162,27 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public boolean isPrincipalIndexed() {
+        return !isCipherExecutorEnabled();
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (!isPrincipalIndexed()) {
+            return super.getSessionsFor(principalId);
+        }
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .flatMap(map -> map.values(Predicates.equal(TICKET_PRINCIPAL_ID_ATTRIBUTE, principalId)).stream())
+            .map(this::decodeTicket)
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -36,6 +36,7 @@ public class InfinispanTicketRegistryConfiguration {
         val span = casProperties.getTicket().getRegistry().getInfinispan();
         val r = new InfinispanTicketRegistry(getCache(span));
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(span.getCrypto(), "infinispan"));
+        r.setNormalizeTickets(casProperties.getTicket().getRegistry().isNormalizeTickets());
         return r;
     }
 
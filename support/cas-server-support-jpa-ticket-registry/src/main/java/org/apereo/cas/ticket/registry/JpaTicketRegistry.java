@@ -1,14 +1,19 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.support.TicketExpirationUtils;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.hibernate.LockOptions;
+import org.hibernate.Session;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +23,9 @@ import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -57,8 +64,15 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ((Number) result).longValue();
     }
 
+    private static void recordExpectedExpirationTime(final Ticket ticket) {
+        if (ticket instanceof AbstractTicket) {
+            ((AbstractTicket) ticket).setExpirationTime(TicketExpirationUtils.getExpectedExpirationTime(ticket));
+        }
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        recordExpectedExpirationTime(ticket);
         this.entityManager.merge(ticket);
         LOGGER.debug("Updated ticket [{}].", ticket);
         return ticket;
@@ -66,10 +80,39 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public void addTicket(final Ticket ticket) {
+        recordExpectedExpirationTime(ticket);
         this.entityManager.persist(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket);
     }
 
+    /**
+     * Merge and persist all tickets, and flush the changes at once as JDBC batches
+     * sized to hold every ticket, rather than leaving them to the configured batch size at commit time.
+     *
+     * @param ticketsToAdd    the tickets to add
+     * @param ticketsToUpdate the tickets to update
+     */
+    @Override
+    public void addAndUpdateTickets(final Collection<? extends Ticket> ticketsToAdd, final Collection<? extends Ticket> ticketsToUpdate) {
+        val session = this.entityManager.unwrap(Session.class);
+        val batchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(Math.max(ticketsToAdd.size() + ticketsToUpdate.size(), 1));
+        try {
+            ticketsToUpdate.forEach(ticket -> {
+                recordExpectedExpirationTime(ticket);
+                this.entityManager.merge(ticket);
+            });
+            ticketsToAdd.forEach(ticket -> {
+                recordExpectedExpirationTime(ticket);
+                this.entityManager.persist(ticket);
+            });
+            this.entityManager.flush();
+            LOGGER.debug("Updated tickets [{}] and added tickets [{}] to registry.", ticketsToUpdate, ticketsToAdd);
+        } finally {
+            session.setJdbcBatchSize(batchSize);
+        }
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll().stream()
@@ -136,6 +179,102 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .flatMap(org.hibernate.query.Query::stream);
     }
 
+    @Override
+    public boolean isExpirationIndexed() {
+        return true;
+    }
+
+    /**
+     * Gets tickets due for expiration using the indexed expiration time column.
+     * Tickets stored before the column was introduced have no expiration time
+     * and are returned as well, so they may be examined and rescheduled.
+     *
+     * @param dueBy the time by which tickets are expected to have expired
+     * @param limit the maximum number of tickets to return
+     * @return the tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getTicketsDueForExpiration(final ZonedDateTime dueBy, final int limit) {
+        val results = new LinkedHashSet<Ticket>();
+        for (val definition : getPolymorphicTicketDefinitions()) {
+            if (results.size() >= limit) {
+                break;
+            }
+            val sql = String.format("select t from %s t where t.expirationTime is null or t.expirationTime <= :dueBy order by t.expirationTime",
+                getTicketEntityName(definition));
+            val query = entityManager.createQuery(sql, definition.getImplementationClass());
+            query.setParameter("dueBy", dueBy);
+            query.setMaxResults(limit - results.size());
+            query.setLockMode(this.lockType);
+            results.addAll(query.getResultList());
+        }
+        return results.stream();
+    }
+
+    @Override
+    public long countTicketsDueForExpiration(final ZonedDateTime dueBy) {
+        return getPolymorphicTicketDefinitions()
+            .stream()
+            .map(JpaTicketRegistry::getTicketEntityName)
+            .mapToLong(entityName -> {
+                val sql = String.format("select count(t) from %s t where t.expirationTime is null or t.expirationTime <= :dueBy", entityName);
+                val query = this.entityManager.createQuery(sql);
+                query.setParameter("dueBy", dueBy);
+                return countToLong(query.getSingleResult());
+            })
+            .sum();
+    }
+
+    /**
+     * Gets ticket definitions whose entities are not subclasses of other ticket entities.
+     * Queries against such entities are polymorphic and already include tickets of the subclasses.
+     *
+     * @return the ticket definitions
+     */
+    private Collection<TicketDefinition> getPolymorphicTicketDefinitions() {
+        val definitions = this.ticketCatalog.findAll();
+        return definitions.stream()
+            .filter(definition -> definitions.stream().noneMatch(other -> !other.equals(definition)
+                && other.getImplementationClass().isAssignableFrom(definition.getImplementationClass())))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isPrincipalIndexed() {
+        return true;
+    }
+
+    /**
+     * Gets the sessions of the principal using the indexed principal id column.
+     * Tickets stored before the column was introduced have no principal id and are not found here.
+     * Long principal ids are stored truncated, so matches are checked against the principal of the authentication.
+     *
+     * @param principalId the principal id
+     * @return the tickets
+     */
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        val md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val sql = String.format("select t from %s t where t.principalId = :principalId", getTicketEntityName(md));
+        val query = entityManager.createQuery(sql, TicketGrantingTicket.class);
+        query.setParameter("principalId", StringUtils.left(principalId, TicketGrantingTicketImpl.PRINCIPAL_ID_COLUMN_LENGTH));
+        query.setLockMode(this.lockType);
+        return query.getResultList()
+            .stream()
+            .filter(ticket -> principalId.equals(ticket.getAuthentication().getPrincipal().getId()));
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessions(final long from, final long count) {
+        val md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val sql = String.format("select t from %s t order by t.id", getTicketEntityName(md));
+        val query = entityManager.createQuery(sql, TicketGrantingTicket.class);
+        query.setFirstResult((int) Math.min(from, Integer.MAX_VALUE));
+        query.setMaxResults((int) Math.min(count, Integer.MAX_VALUE));
+        query.setLockMode(this.lockType);
+        return query.getResultList().stream();
+    }
+
     @Override
     public long sessionCount() {
         val md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
@@ -152,6 +291,18 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return countToLong(query.getSingleResult());
     }
 
+    @Override
+    public boolean isTicketCountIndexed() {
+        return true;
+    }
+
+    /**
+     * Tickets are counted by the database on demand; there are no counters to reconcile.
+     */
+    @Override
+    public void reconcileTicketStatistics() {
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         var totalCount = 0;
@@ -51,6 +51,7 @@ import org.apereo.cas.ticket.ServiceTicketImpl;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.TransientSessionTicketImpl;
 import org.apereo.cas.ticket.registry.EncodedTicket;
+import org.apereo.cas.ticket.registry.TicketGrantingTicketReference;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.BaseDelegatingExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
@@ -250,6 +251,7 @@ public class CloseableKryoFactory implements KryoFactory {
         kryo.register(ProxyGrantingTicketImpl.class);
         kryo.register(ProxyTicketImpl.class);
         kryo.register(EncodedTicket.class);
+        kryo.register(TicketGrantingTicketReference.class);
         kryo.register(TransientSessionTicketImpl.class);
     }
 
@@ -61,6 +61,7 @@ public class MemcachedTicketRegistryConfiguration {
         val registry = new MemcachedTicketRegistry(factory.getObjectPool());
         val cipherExecutor = CoreTicketUtils.newTicketRegistryCipherExecutor(memcached.getCrypto(), "memcached");
         registry.setCipherExecutor(cipherExecutor);
+        registry.setNormalizeTickets(casProperties.getTicket().getRegistry().isNormalizeTickets());
         return registry;
     }
 
@@ -74,6 +74,34 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
         }
     }
 
+    /**
+     * Issue all operations on a single client borrowed from the pool;
+     * operations are queued by the client and written to the server without waiting on one another.
+     *
+     * @param ticketsToAdd    the tickets to add
+     * @param ticketsToUpdate the tickets to update
+     */
+    @Override
+    public void addAndUpdateTickets(final Collection<? extends Ticket> ticketsToAdd, final Collection<? extends Ticket> ticketsToUpdate) {
+        val clientFromPool = getClientFromPool();
+        try {
+            ticketsToUpdate.forEach(ticketToUpdate -> {
+                val ticket = encodeTicket(ticketToUpdate);
+                LOGGER.debug("Updating ticket [{}]", ticket);
+                clientFromPool.replace(ticket.getId(), getTimeout(ticketToUpdate), ticket);
+            });
+            ticketsToAdd.forEach(ticketToAdd -> {
+                val ticket = encodeTicket(ticketToAdd);
+                LOGGER.debug("Adding ticket [{}]", ticket);
+                clientFromPool.set(ticket.getId(), getTimeout(ticketToAdd), ticket);
+            });
+        } catch (final Exception e) {
+            LOGGER.error("Failed adding [{}] and updating [{}]", ticketsToAdd, ticketsToUpdate, e);
+        } finally {
+            returnClientToPool(clientFromPool);
+        }
+    }
+
     @Override
     public long deleteAll() {
         LOGGER.debug("deleteAll() isn't supported. Returning empty list");
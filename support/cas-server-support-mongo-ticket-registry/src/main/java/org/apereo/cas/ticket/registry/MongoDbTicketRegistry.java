@@ -5,7 +5,10 @@ import org.apereo.cas.ticket.BaseTicketSerializers;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.registry.support.TicketExpirationUtils;
+import org.apereo.cas.ticket.registry.support.TicketPrincipalUtils;
 
 import com.google.common.collect.ImmutableSet;
 import com.mongodb.client.ListIndexesIterable;
@@ -17,17 +20,23 @@ import org.bson.Document;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
@@ -96,6 +105,14 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val index = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout());
         removeDifferingIndexIfAny(collection, index);
         mongoTemplate.indexOps(TicketHolder.class).ensureIndex(index);
+
+        LOGGER.debug("Creating indices on collection [{}] to locate tickets due for expiration...", collectionName);
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_EXPIRATION_TIME, Sort.Direction.ASC));
+
+        if (TicketGrantingTicket.class.isAssignableFrom(ticket.getImplementationClass())) {
+            LOGGER.debug("Creating indices on collection [{}] to locate tickets by principal...", collectionName);
+            mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL_ID, Sort.Direction.ASC).sparse());
+        }
         return collection;
     }
 
@@ -136,20 +153,11 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         LOGGER.debug("Updating ticket [{}]", ticket);
         try {
             val holder = buildTicketAsDocument(ticket);
-            val metadata = this.ticketCatalog.find(ticket);
-            if (metadata == null) {
-                LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
-                return null;
-            }
-            LOGGER.debug("Located ticket definition [{}] in the ticket catalog", metadata);
-            val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            val collectionName = getTicketCollectionName(ticket);
             if (StringUtils.isBlank(collectionName)) {
-                LOGGER.error("Could not locate collection linked to ticket definition for ticket [{}]", ticket.getId());
                 return null;
             }
-            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
-            this.mongoTemplate.upsert(query, update, collectionName);
+            this.mongoTemplate.upsert(getTicketHolderQuery(holder), getTicketHolderUpdate(holder), collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed updating [{}]: [{}]", ticket, e);
@@ -162,18 +170,10 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket.getId());
             val holder = buildTicketAsDocument(ticket);
-            val metadata = this.ticketCatalog.find(ticket);
-            if (metadata == null) {
-                LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
-                return;
-            }
-            LOGGER.debug("Located ticket definition [{}] in the ticket catalog", metadata);
-            val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            val collectionName = getTicketCollectionName(ticket);
             if (StringUtils.isBlank(collectionName)) {
-                LOGGER.error("Could not locate collection linked to ticket definition for ticket [{}]", ticket.getId());
                 return;
             }
-            LOGGER.debug("Found collection [{}] linked to ticket [{}]", collectionName, metadata);
             this.mongoTemplate.insert(holder, collectionName);
             LOGGER.debug("Added ticket [{}]", ticket.getId());
         } catch (final Exception e) {
@@ -181,6 +181,39 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * Group all changes by their ticket collection and submit them as bulk operations,
+     * so that each collection is written to only once.
+     *
+     * @param ticketsToAdd    the tickets to add
+     * @param ticketsToUpdate the tickets to update
+     */
+    @Override
+    public void addAndUpdateTickets(final Collection<? extends Ticket> ticketsToAdd, final Collection<? extends Ticket> ticketsToUpdate) {
+        try {
+            val operations = new LinkedHashMap<String, BulkOperations>();
+            ticketsToUpdate.forEach(ticket -> {
+                val collectionName = getTicketCollectionName(ticket);
+                if (StringUtils.isNotBlank(collectionName)) {
+                    val holder = buildTicketAsDocument(ticket);
+                    getBulkOperations(operations, collectionName).upsert(getTicketHolderQuery(holder), getTicketHolderUpdate(holder));
+                }
+            });
+            ticketsToAdd.forEach(ticket -> {
+                val collectionName = getTicketCollectionName(ticket);
+                if (StringUtils.isNotBlank(collectionName)) {
+                    getBulkOperations(operations, collectionName).insert(buildTicketAsDocument(ticket));
+                }
+            });
+            operations.forEach((collectionName, bulk) -> {
+                val result = bulk.execute();
+                LOGGER.debug("Executed bulk ticket operations on collection [{}] with result [{}]", collectionName, result);
+            });
+        } catch (final Exception e) {
+            LOGGER.error("Failed adding [{}] and updating [{}]: [{}]", ticketsToAdd, ticketsToUpdate, e);
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
@@ -223,6 +256,104 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public boolean isExpirationIndexed() {
+        return true;
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsDueForExpiration(final ZonedDateTime dueBy, final int limit) {
+        val results = new ArrayList<Ticket>();
+        for (val definition : this.ticketCatalog.findAll()) {
+            if (results.size() >= limit) {
+                break;
+            }
+            val collectionName = getTicketCollectionInstanceByMetadata(definition);
+            val query = getTicketsDueForExpirationQuery(dueBy)
+                .with(Sort.by(Sort.Direction.ASC, TicketHolder.FIELD_NAME_EXPIRATION_TIME))
+                .limit(limit - results.size());
+            this.mongoTemplate.find(query, TicketHolder.class, collectionName)
+                .forEach(holder -> results.add(decodeTicket(deserializeTicketFromMongoDocument(holder))));
+        }
+        return results.stream();
+    }
+
+    @Override
+    public long countTicketsDueForExpiration(final ZonedDateTime dueBy) {
+        val query = getTicketsDueForExpirationQuery(dueBy);
+        return this.ticketCatalog.findAll().stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .mapToLong(collectionName -> this.mongoTemplate.count(query, collectionName))
+            .sum();
+    }
+
+    private static Query getTicketsDueForExpirationQuery(final ZonedDateTime dueBy) {
+        return new Query(new Criteria().orOperator(
+            Criteria.where(TicketHolder.FIELD_NAME_EXPIRATION_TIME).is(null),
+            Criteria.where(TicketHolder.FIELD_NAME_EXPIRATION_TIME).lte(Date.from(dueBy.toInstant()))));
+    }
+
+    @Override
+    public boolean isPrincipalIndexed() {
+        return true;
+    }
+
+    /**
+     * Gets the sessions of the principal using the indexed principal id field.
+     * Tickets stored before the field was introduced have no principal id and are not found here.
+     *
+     * @param principalId the principal id
+     * @return the tickets
+     */
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL_ID).is(encodeTicketId(principalId)));
+        return getTicketGrantingTicketCollectionNames()
+            .stream()
+            .map(collectionName -> this.mongoTemplate.find(query, TicketHolder.class, collectionName))
+            .flatMap(List::stream)
+            .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessions(final long from, final long count) {
+        val results = new ArrayList<TicketGrantingTicket>();
+        var skip = from;
+        for (val collectionName : getTicketGrantingTicketCollectionNames()) {
+            if (results.size() >= count) {
+                break;
+            }
+            val size = this.mongoTemplate.count(SELECT_ALL_NAMES_QUERY, collectionName);
+            if (skip >= size) {
+                skip -= size;
+                continue;
+            }
+            val query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, TicketHolder.FIELD_NAME_ID))
+                .skip(skip)
+                .limit((int) Math.min(count - results.size(), Integer.MAX_VALUE));
+            skip = 0;
+            this.mongoTemplate.find(query, TicketHolder.class, collectionName)
+                .stream()
+                .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .forEach(results::add);
+        }
+        return results.stream();
+    }
+
+    private List<String> getTicketGrantingTicketCollectionNames() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass()))
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val ticketId = encodeTicketId(ticketIdToDelete);
@@ -253,13 +384,47 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .sum();
     }
 
+    private BulkOperations getBulkOperations(final Map<String, BulkOperations> operations, final String collectionName) {
+        return operations.computeIfAbsent(collectionName,
+            name -> this.mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, TicketHolder.class, name));
+    }
+
+    private static Query getTicketHolderQuery(final TicketHolder holder) {
+        return new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
+    }
+
+    private static Update getTicketHolderUpdate(final TicketHolder holder) {
+        return Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+            .set(TicketHolder.FIELD_NAME_EXPIRATION_TIME, holder.getExpirationTime())
+            .set(TicketHolder.FIELD_NAME_PRINCIPAL_ID, holder.getPrincipalId());
+    }
+
+    private String getTicketCollectionName(final Ticket ticket) {
+        val metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
+            return null;
+        }
+        LOGGER.debug("Located ticket definition [{}] in the ticket catalog", metadata);
+        val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+        if (StringUtils.isBlank(collectionName)) {
+            LOGGER.error("Could not locate collection linked to ticket definition for ticket [{}]", ticket.getId());
+            return null;
+        }
+        LOGGER.debug("Found collection [{}] linked to ticket [{}]", collectionName, metadata);
+        return collectionName;
+    }
+
     private TicketHolder buildTicketAsDocument(final Ticket ticket) {
         val encTicket = encodeTicket(ticket);
         val json = serializeTicketForMongoDocument(encTicket);
         if (StringUtils.isNotBlank(json)) {
             LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             val expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            val expirationTime = Date.from(TicketExpirationUtils.getExpectedExpirationTime(ticket).toInstant());
+            val principalId = TicketPrincipalUtils.getPrincipalId(ticket);
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt, expirationTime,
+                principalId == null ? null : encodeTicketId(principalId));
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
@@ -31,6 +31,16 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_EXPIRE_AT = "expireAt";
 
+    /**
+     * Field name to hold the time at which the ticket is expected to expire.
+     */
+    public static final String FIELD_NAME_EXPIRATION_TIME = "expirationTime";
+
+    /**
+     * Field name to hold the id of the principal of ticket-granting tickets.
+     */
+    public static final String FIELD_NAME_PRINCIPAL_ID = "principalId";
+
     /**
      * Field name to hold ticket id.
      */
@@ -46,4 +56,8 @@ public class TicketHolder implements Serializable {
 
     @Indexed
     private final Date expireAt;
+
+    private final Date expirationTime;
+
+    private final String principalId;
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.support.oauth.util;
 
 import org.apereo.cas.CasProtocolConstants;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceIndex;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.oauth.OAuth20Constants;
@@ -51,6 +52,12 @@ import static org.apereo.cas.support.oauth.OAuth20Constants.BASE_OAUTH20_URL;
 @Slf4j
 @UtilityClass
 public class OAuth20Utils {
+    /**
+     * Index of OAuth and OpenID Connect registered services by their client id.
+     */
+    public static final RegisteredServiceIndex<OAuthRegisteredService> CLIENT_ID_INDEX =
+        new RegisteredServiceIndex<>("clientId", OAuthRegisteredService.class, OAuthRegisteredService::getClientId);
+
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
 
     /**
@@ -86,6 +93,9 @@ public class OAuth20Utils {
      * @return null, or the located {@link OAuthRegisteredService} instance in the service registry.
      */
     public static OAuthRegisteredService getRegisteredOAuthServiceByClientId(final ServicesManager servicesManager, final String clientId) {
+        if (servicesManager.isIndexingSupported()) {
+            return servicesManager.findServiceBy(CLIENT_ID_INDEX, clientId);
+        }
         return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.getClientId().equals(clientId));
     }
 
@@ -43,7 +43,7 @@ public class DefaultAccessTokenFactory implements AccessTokenFactory {
         val codeId = this.accessTokenIdGenerator.getNewTicketId(AccessToken.PREFIX);
         val at = new AccessTokenImpl(codeId, service, authentication, this.expirationPolicy, ticketGrantingTicket, scopes);
         if (ticketGrantingTicket != null) {
-            ticketGrantingTicket.getDescendantTickets().add(at.getId());
+            ticketGrantingTicket.trackDescendantTicket(at);
         }
         return at;
     }
@@ -5,6 +5,7 @@ import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketAwareTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 
@@ -12,6 +13,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
 import org.apache.commons.lang3.ObjectUtils;
 
 import javax.persistence.Column;
@@ -36,7 +38,7 @@ import java.util.HashSet;
 @DiscriminatorValue(OAuthCode.PREFIX)
 @NoArgsConstructor
 @Getter
-public class OAuthCodeImpl extends AbstractTicket implements OAuthCode {
+public class OAuthCodeImpl extends AbstractTicket implements OAuthCode, TicketGrantingTicketAwareTicket {
 
     private static final long serialVersionUID = -8072724186202305800L;
 
@@ -49,6 +51,7 @@ public class OAuthCodeImpl extends AbstractTicket implements OAuthCode {
      */
     @ManyToOne(targetEntity = TicketGrantingTicketImpl.class)
     @JsonProperty("ticketGrantingTicket")
+    @Setter
     private TicketGrantingTicket ticketGrantingTicket;
 
     /**
@@ -45,7 +45,7 @@ public class DefaultRefreshTokenFactory implements RefreshTokenFactory {
         val rt = new RefreshTokenImpl(codeId, service, authentication, this.expirationPolicy, ticketGrantingTicket, scopes);
 
         if (ticketGrantingTicket != null) {
-            ticketGrantingTicket.getDescendantTickets().add(rt.getId());
+            ticketGrantingTicket.trackDescendantTicket(rt);
         }
         return rt;
     }
@@ -39,9 +39,11 @@ public class OAuth20TokenManagementEndpoint {
      */
     @ReadOperation
     public Collection<Ticket> getTokens() {
-        return ticketRegistry.getTickets(ticket -> (ticket instanceof AccessToken || ticket instanceof RefreshToken) && !ticket.isExpired())
-            .sorted(Comparator.comparing(Ticket::getId))
-            .collect(Collectors.toList());
+        try (val tickets = ticketRegistry.getTickets(ticket -> (ticket instanceof AccessToken || ticket instanceof RefreshToken) && !ticket.isExpired())) {
+            return tickets
+                .sorted(Comparator.comparing(Ticket::getId))
+                .collect(Collectors.toList());
+        }
     }
 
 
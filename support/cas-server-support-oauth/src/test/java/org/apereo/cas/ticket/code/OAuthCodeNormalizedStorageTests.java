@@ -0,0 +1,58 @@
+package org.apereo.cas.ticket.code;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.registry.OffHeapTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketGrantingTicketReference;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OAuthCodeNormalizedStorageTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OAuthCodeNormalizedStorageTests {
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @Test
+    public void verifyCodeExchangedForTokenKeepsTicketGrantingTicket() {
+        val registry = new OffHeapTicketRegistry(SEGMENT_SIZE * 4, SEGMENT_SIZE, CipherExecutor.noOp());
+        registry.setNormalizeTickets(true);
+        val authentication = CoreAuthenticationTestUtils.getAuthentication();
+        val service = RegisteredServiceTestUtils.getService();
+        val tgt = new TicketGrantingTicketImpl("TGT-1", authentication, new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+
+        val code = new DefaultOAuthCodeFactory(new NeverExpiresExpirationPolicy())
+            .create(service, authentication, tgt, new ArrayList<>(), null, null);
+        registry.addTicket(code);
+
+        val storedCode = registry.getTicket(code.getId(), OAuthCode.class);
+        val parent = storedCode.getTicketGrantingTicket();
+        assertTrue(parent instanceof TicketGrantingTicketReference);
+
+        val token = new DefaultAccessTokenFactory(new NeverExpiresExpirationPolicy())
+            .create(service, storedCode.getAuthentication(), parent, new ArrayList<>());
+        registry.addTicket(token);
+        registry.updateTicket(parent);
+
+        val storedTgt = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertTrue(storedTgt instanceof TicketGrantingTicketImpl);
+        assertEquals(authentication.getPrincipal(), storedTgt.getAuthentication().getPrincipal());
+        assertTrue(storedTgt.getDescendantTickets().contains(token.getId()));
+        assertEquals(tgt.getId(), registry.getTicket(token.getId(), AccessToken.class).getTicketGrantingTicket().getId());
+    }
+}
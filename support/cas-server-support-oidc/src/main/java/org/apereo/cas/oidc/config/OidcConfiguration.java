@@ -23,6 +23,7 @@ import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequest;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequestSerializer;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorService;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeystorePublisher;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilter;
 import org.apereo.cas.oidc.profile.OidcRegisteredServicePreProcessorEventListener;
@@ -85,6 +86,7 @@ import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.jose4j.jwk.RsaJsonWebKey;
@@ -96,6 +98,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ApplicationContext;
@@ -103,6 +106,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
@@ -125,6 +129,7 @@ import java.util.stream.Collectors;
  */
 @Configuration("oidcConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
+@Slf4j
 public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionPlanConfigurer {
 
     @Autowired
@@ -443,7 +448,8 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             webApplicationServiceFactory.getIfAvailable(),
             profileScopeToAttributesFilter(),
             casProperties,
-            ticketGrantingTicketCookieGenerator.getIfAvailable());
+            ticketGrantingTicketCookieGenerator.getIfAvailable(),
+            oidcJsonWebKeystorePublisher());
     }
 
     @Autowired
@@ -567,7 +573,21 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
 
     @Bean
     public CacheLoader<OidcRegisteredService, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCacheLoader() {
-        return new OidcServiceJsonWebKeystoreCacheLoader(resourceLoader);
+        return new OidcServiceJsonWebKeystoreCacheLoader(oidcJsonWebKeystorePublisher());
+    }
+
+    @Bean
+    @DependsOn("oidcJsonWebKeystoreGeneratorService")
+    public OidcJsonWebKeystorePublisher oidcJsonWebKeystorePublisher() {
+        return new OidcJsonWebKeystorePublisher(casProperties.getAuthn().getOidc().getJwksFile(),
+            servicesManager.getIfAvailable(), resourceLoader);
+    }
+
+    @ConditionalOnMissingBean(name = "oidcJsonWebKeystorePublisherScheduler")
+    @ConditionalOnProperty(prefix = "cas.authn.oidc.jwksSchedule", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Bean
+    public OidcJsonWebKeystorePublisherScheduler oidcJsonWebKeystorePublisherScheduler() {
+        return new OidcJsonWebKeystorePublisherScheduler(oidcJsonWebKeystorePublisher());
     }
 
     @Bean
@@ -624,4 +644,26 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
     public void configureWebflowExecutionPlan(final CasWebflowExecutionPlan plan) {
         plan.registerWebflowConfigurer(oidcWebflowConfigurer());
     }
+
+    /**
+     * Periodically loads the keystores published by {@link OidcJsonWebKeystorePublisher} again,
+     * so that keys rotated in the CAS keystore or in remote keystores of registered services are published.
+     */
+    public static class OidcJsonWebKeystorePublisherScheduler {
+        private final OidcJsonWebKeystorePublisher jsonWebKeystorePublisher;
+
+        public OidcJsonWebKeystorePublisherScheduler(final OidcJsonWebKeystorePublisher jsonWebKeystorePublisher) {
+            this.jsonWebKeystorePublisher = jsonWebKeystorePublisher;
+        }
+
+        @Scheduled(initialDelayString = "${cas.authn.oidc.jwksSchedule.startDelay:PT30S}",
+            fixedDelayString = "${cas.authn.oidc.jwksSchedule.repeatInterval:PT5M}")
+        public void run() {
+            try {
+                this.jsonWebKeystorePublisher.refresh();
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+    }
 }
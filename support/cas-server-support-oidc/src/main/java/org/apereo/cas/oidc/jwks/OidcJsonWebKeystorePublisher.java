@@ -0,0 +1,189 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.DigestUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link OidcJsonWebKeystorePublisher}, which builds the JWKS document that CAS publishes to relying parties.
+ * The public keys of the CAS keystore and of the keystores assigned to registered services are merged and serialized
+ * once, and the document is kept along with a strong entity tag until it is rebuilt. The document is rebuilt
+ * from the keystores already loaded when registered services change, and rebuilt after loading every keystore
+ * again on {@link #refresh()}, so that keys rotated in place are picked up. Keystores of registered services
+ * are kept in a store that is shared with {@link OidcServiceJsonWebKeystoreCacheLoader}, so that remote keystores
+ * are not fetched once for the document and once again for signing and encryption.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OidcJsonWebKeystorePublisher {
+    private final Resource jwksFile;
+
+    private final ServicesManager servicesManager;
+
+    private final ResourceLoader resourceLoader;
+
+    private final Map<String, JsonWebKeySet> serviceKeystores = new ConcurrentHashMap<>();
+
+    private volatile PublishedJsonWebKeySet publishedJsonWebKeySet;
+
+    private static JsonWebKeySet loadJsonWebKeySet(final Resource resource) throws Exception {
+        LOGGER.debug("Loading JSON web keystore from [{}]", resource);
+        try (val input = resource.getInputStream()) {
+            return new JsonWebKeySet(IOUtils.toString(input, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Gets the keystore assigned to the registered service, loading it into the store if it is not there yet.
+     *
+     * @param service the service
+     * @return the keystore, or empty if the service has none or it cannot be loaded
+     */
+    public Optional<JsonWebKeySet> getJsonWebKeySet(final OidcRegisteredService service) {
+        if (StringUtils.isBlank(service.getJwks())) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.serviceKeystores.computeIfAbsent(service.getJwks(), this::loadServiceJsonWebKeySet));
+    }
+
+    /**
+     * Gets the published JWKS document, building it if it has not been built yet.
+     *
+     * @return the published document
+     */
+    public PublishedJsonWebKeySet getPublishedJsonWebKeySet() {
+        if (this.publishedJsonWebKeySet == null) {
+            publish(false);
+        }
+        return this.publishedJsonWebKeySet;
+    }
+
+    /**
+     * Load the CAS keystore and the keystores of registered services again, and rebuild the published document.
+     */
+    public void refresh() {
+        try {
+            publish(true);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to refresh the published JWKS document: [{}]", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rebuild the published document once registered services are loaded.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the published document once a registered service is saved.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        if (event.getRegisteredService() instanceof OidcRegisteredService) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the published document once a registered service is deleted.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        if (event.getRegisteredService() instanceof OidcRegisteredService) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        try {
+            publish(false);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to rebuild the published JWKS document: [{}]", e.getMessage(), e);
+        }
+    }
+
+    @SneakyThrows
+    private synchronized void publish(final boolean reload) {
+        val jsonWebKeySet = loadJsonWebKeySet(this.jwksFile);
+        val keystores = new LinkedHashMap<String, JsonWebKeySet>();
+        this.servicesManager.getAllServices()
+            .stream()
+            .filter(OidcRegisteredService.class::isInstance)
+            .map(OidcRegisteredService.class::cast)
+            .map(OidcRegisteredService::getJwks)
+            .filter(StringUtils::isNotBlank)
+            .distinct()
+            .forEach(location -> {
+                val keystore = reload ? loadServiceJsonWebKeySet(location) : null;
+                val result = keystore == null ? this.serviceKeystores.computeIfAbsent(location, this::loadServiceJsonWebKeySet) : keystore;
+                if (result != null) {
+                    keystores.put(location, result);
+                    result.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
+                }
+            });
+        this.serviceKeystores.putAll(keystores);
+        this.serviceKeystores.keySet().retainAll(keystores.keySet());
+
+        val json = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        val entityTag = '"' + DigestUtils.sha256(json) + '"';
+        val current = this.publishedJsonWebKeySet;
+        if (current == null || !current.getEntityTag().equals(entityTag)) {
+            this.publishedJsonWebKeySet = new PublishedJsonWebKeySet(json.getBytes(StandardCharsets.UTF_8), entityTag);
+            LOGGER.debug("Published JWKS document [{}] with [{}] key(s)", entityTag, jsonWebKeySet.getJsonWebKeys().size());
+        }
+    }
+
+    private JsonWebKeySet loadServiceJsonWebKeySet(final String location) {
+        try {
+            return loadJsonWebKeySet(this.resourceLoader.getResource(location));
+        } catch (final Exception e) {
+            LOGGER.error("Unable to load JSON web keystore from [{}]: [{}]", location, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * The serialized JWKS document and its entity tag.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class PublishedJsonWebKeySet {
+        private final byte[] body;
+
+        private final String entityTag;
+    }
+}
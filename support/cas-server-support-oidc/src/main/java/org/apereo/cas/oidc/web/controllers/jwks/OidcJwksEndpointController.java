@@ -5,7 +5,7 @@ import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.oidc.OidcConstants;
-import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeystorePublisher;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
@@ -13,17 +13,11 @@ import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 
-import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.jooq.lambda.Unchecked;
-import org.jose4j.jwk.JsonWebKey;
-import org.jose4j.jwk.JsonWebKeySet;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -33,20 +27,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link OidcJwksEndpointController}.
+ * Serves the JWKS document built by {@link OidcJsonWebKeystorePublisher} along with its entity tag,
+ * and answers conditional requests whose tag matches the current document with {@code 304 Not Modified}.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
 public class OidcJwksEndpointController extends BaseOAuth20Controller {
-    @NonNull
-    private final Resource jwksFile;
-
-    @Autowired
-    private ResourceLoader resourceLoader;
+    private final OidcJsonWebKeystorePublisher jsonWebKeystorePublisher;
 
     public OidcJwksEndpointController(final ServicesManager servicesManager,
                                       final TicketRegistry ticketRegistry,
@@ -55,11 +49,22 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
                                       final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory,
                                       final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                       final CasConfigurationProperties casProperties,
-                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator) {
+                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
+                                      final OidcJsonWebKeystorePublisher jsonWebKeystorePublisher) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter,
             casProperties, ticketGrantingTicketCookieGenerator);
-        this.jwksFile = casProperties.getAuthn().getOidc().getJwksFile();
+        this.jsonWebKeystorePublisher = jsonWebKeystorePublisher;
+    }
+
+    private static boolean isNotModified(final HttpServletRequest request, final String entityTag) {
+        val ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .anyMatch(tag -> "*".equals(tag) || entityTag.equals(tag) || entityTag.equals(StringUtils.removeStart(tag, "W/")));
     }
 
     /**
@@ -71,29 +76,26 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
      * @return the jwk set
      */
     @GetMapping(value = '/' + OidcConstants.BASE_OIDC_URL + '/' + OidcConstants.JWKS_URL, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<String> handleRequestInternal(final HttpServletRequest request,
+    public ResponseEntity<byte[]> handleRequestInternal(final HttpServletRequest request,
                                                         final HttpServletResponse response,
                                                         final Model model) {
         try {
-            val jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8);
-            val jsonWebKeySet = new JsonWebKeySet(jsonJwks);
-
-            this.servicesManager.getAllServices()
-                .stream()
-                .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
-                .forEach(
-                    Unchecked.consumer(s -> {
-                        val service = (OidcRegisteredService) s;
-                        val resource = this.resourceLoader.getResource(service.getJwks());
-                        val set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
-                        set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
-                    }));
-            val body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            return new ResponseEntity<>(body, HttpStatus.OK);
+            val published = this.jsonWebKeystorePublisher.getPublishedJsonWebKeySet();
+            val cacheControl = CacheControl.maxAge(casProperties.getAuthn().getOidc().getJwksCacheInMinutes(), TimeUnit.MINUTES).cachePublic();
+            if (isNotModified(request, published.getEntityTag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(published.getEntityTag())
+                    .cacheControl(cacheControl)
+                    .build();
+            }
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(published.getEntityTag())
+                .cacheControl(cacheControl)
+                .body(published.getBody());
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(StringUtils.defaultString(e.getMessage()).getBytes(StandardCharsets.UTF_8), HttpStatus.BAD_REQUEST);
         }
     }
 }
@@ -3,6 +3,7 @@ package org.apereo.cas;
 import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettingsFactoryTests;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoaderTests;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorServiceTests;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeystorePublisherTests;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoaderTests;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilterTests;
 import org.apereo.cas.oidc.token.OidcIdTokenGeneratorServiceTests;
@@ -33,6 +34,7 @@ import org.junit.runners.Suite;
     OidcServerDiscoverySettingsFactoryTests.class,
     OidcRegisteredServiceUIActionTests.class,
     OidcServiceJsonWebKeystoreCacheLoaderTests.class,
+    OidcJsonWebKeystorePublisherTests.class,
     OidcAuthorizationRequestSupportTests.class
 })
 public class OidcTestsSuite {
@@ -0,0 +1,48 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apereo.cas.oidc.AbstractOidcTests;
+
+import lombok.val;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcJsonWebKeystorePublisherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OidcJsonWebKeystorePublisherTests extends AbstractOidcTests {
+    @Autowired
+    @Qualifier("oidcJsonWebKeystorePublisher")
+    private OidcJsonWebKeystorePublisher oidcJsonWebKeystorePublisher;
+
+    @Test
+    public void verifyPublishedDocumentIsKeptUntilKeysChange() throws Exception {
+        val published = oidcJsonWebKeystorePublisher.getPublishedJsonWebKeySet();
+        assertNotNull(published);
+        assertTrue(published.getEntityTag().startsWith("\""));
+        val body = new String(published.getBody(), StandardCharsets.UTF_8);
+        assertFalse(new JsonWebKeySet(body).getJsonWebKeys().isEmpty());
+        assertFalse(body.contains("\"d\""));
+
+        oidcJsonWebKeystorePublisher.refresh();
+        assertSame(published, oidcJsonWebKeystorePublisher.getPublishedJsonWebKeySet());
+    }
+
+    @Test
+    public void verifyServiceKeystoreIsShared() {
+        val service = getOidcRegisteredService();
+        val keystore = oidcJsonWebKeystorePublisher.getJsonWebKeySet(service);
+        assertTrue(keystore.isPresent());
+        assertSame(keystore.get(), oidcJsonWebKeystorePublisher.getJsonWebKeySet(service).get());
+        service.setJwks(null);
+        assertFalse(oidcJsonWebKeystorePublisher.getJsonWebKeySet(service).isPresent());
+    }
+}
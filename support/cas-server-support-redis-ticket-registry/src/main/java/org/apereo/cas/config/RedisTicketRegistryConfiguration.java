@@ -47,8 +47,9 @@ public class RedisTicketRegistryConfiguration {
     @Bean
     public TicketRegistry ticketRegistry() {
         val redis = casProperties.getTicket().getRegistry().getRedis();
-        val r = new RedisTicketRegistry(ticketRedisTemplate());
+        val r = new RedisTicketRegistry(ticketRedisTemplate(), redis.getBatchSize(), redis.isIndexTickets());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
+        r.setNormalizeTickets(casProperties.getTicket().getRegistry().isNormalizeTickets());
         return r;
     }
 }
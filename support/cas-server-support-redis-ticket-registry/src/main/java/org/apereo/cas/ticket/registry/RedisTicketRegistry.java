@@ -1,20 +1,51 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.registry.support.TicketPrincipalUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.ConvertingCursor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Tickets are streamed using cursor-based {@code SCAN} operations and fetched in batches,
+ * so that the registry never blocks the Redis server with a {@code KEYS} command.
+ * When indexing is turned on, the registry also maintains sorted sets of ticket ids per ticket type,
+ * scored by their expiration time, the ticket-granting tickets of each principal, as well as the set of
+ * tickets issued by proxy-granting tickets for each root ticket-granting ticket.
  *
  * @author serv
  * @since 5.1.0
@@ -24,8 +55,41 @@ import java.util.stream.Collectors;
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final String CAS_TICKET_INDEX_PREFIX = "CAS_TICKET_INDEX:";
+
+    private static final String CAS_TICKET_DESCENDANTS_PREFIX = "CAS_TICKET_DESCENDANTS:";
+
+    private static final String CAS_TICKET_PRINCIPAL_PREFIX = "CAS_TICKET_PRINCIPAL:";
+
+    private static final String SESSION_INDEX_KEY = CAS_TICKET_INDEX_PREFIX + TicketGrantingTicket.PREFIX;
+
+    private static final String SERVICE_TICKET_INDEX_KEY = CAS_TICKET_INDEX_PREFIX + ServiceTicket.PREFIX;
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final StringRedisSerializer STRING_SERIALIZER = new StringRedisSerializer();
+
+    private static final GenericToStringSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * Sets the expiration of a key unless the key is already set to live longer,
+     * so that a short-lived ticket never cuts short the index of longer-lived tickets.
+     */
+    private static final RedisScript<Long> EXTEND_EXPIRATION_SCRIPT = new DefaultRedisScript<>(
+        "local ttl = redis.call('TTL', KEYS[1]) "
+            + "if ttl < tonumber(ARGV[1]) then return redis.call('EXPIRE', KEYS[1], ARGV[1]) end "
+            + "return 0", Long.class);
+
     private final RedisTemplate<String, Ticket> client;
 
+    private final int batchSize;
+
+    private final boolean indexTickets;
+
+    public RedisTicketRegistry(final RedisTemplate<String, Ticket> client) {
+        this(client, DEFAULT_BATCH_SIZE, false);
+    }
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -48,19 +112,57 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + '*';
     }
 
+    private static String getDescendantsRedisKey(final String ticketId) {
+        return CAS_TICKET_DESCENDANTS_PREFIX + ticketId;
+    }
+
+    private String getPrincipalRedisKey(final String principalId) {
+        return CAS_TICKET_PRINCIPAL_PREFIX + encodeTicketId(principalId);
+    }
+
+    private static String getIndexRedisKey(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            return SESSION_INDEX_KEY;
+        }
+        if (ticket instanceof ServiceTicket) {
+            return SERVICE_TICKET_INDEX_KEY;
+        }
+        return null;
+    }
+
     @Override
     public long deleteAll() {
-        val redisKeys = this.client.keys(getPatternTicketRedisKey());
-        val size = redisKeys.size();
-        this.client.delete(redisKeys);
-        return size;
+        try (val batches = streamKeyBatches(getPatternTicketRedisKey())) {
+            val count = batches.mapToLong(keys -> {
+                val deleted = this.client.delete(keys);
+                return deleted == null ? 0 : deleted;
+            }).sum();
+            if (this.indexTickets) {
+                try (val descendants = streamKeyBatches(CAS_TICKET_DESCENDANTS_PREFIX + '*')) {
+                    descendants.forEach(this.client::delete);
+                }
+                try (val principals = streamKeyBatches(CAS_TICKET_PRINCIPAL_PREFIX + '*')) {
+                    principals.forEach(this.client::delete);
+                }
+                this.client.delete(List.of(SESSION_INDEX_KEY, SERVICE_TICKET_INDEX_KEY));
+            }
+            return count;
+        }
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
             val redisKey = getTicketRedisKey(ticketId);
-            this.client.delete(redisKey);
+            if (this.indexTickets) {
+                executePipelined(ops -> {
+                    ops.delete(List.of(redisKey, getDescendantsRedisKey(ticketId)));
+                    ops.opsForZSet().remove(SESSION_INDEX_KEY, ticketId);
+                    ops.opsForZSet().remove(SERVICE_TICKET_INDEX_KEY, ticketId);
+                });
+            } else {
+                this.client.delete(redisKey);
+            }
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -68,14 +170,55 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return false;
     }
 
+    @Override
+    public int deleteTicket(final String ticketId) {
+        if (!this.indexTickets) {
+            return super.deleteTicket(ticketId);
+        }
+        if (StringUtils.isBlank(ticketId)) {
+            return 0;
+        }
+        val results = executePipelined(ops -> {
+            ops.opsForValue().get(getTicketRedisKey(ticketId));
+            ops.opsForSet().members(getDescendantsRedisKey(ticketId));
+        });
+        val encodedTicket = (Ticket) results.get(0);
+        val ticket = encodedTicket == null ? null : decodeTicket(encodedTicket);
+        if (ticket == null || !ticketId.equals(ticket.getId())) {
+            LOGGER.debug("Ticket [{}] could not be fetched from the registry; it may have been expired and deleted.", ticketId);
+            return 0;
+        }
+        if (ticket.isExpired()) {
+            LOGGER.debug("Ticket [{}] has expired and is now removed from the ticket registry", ticketId);
+            deleteSingleTicket(ticketId);
+            return 0;
+        }
+        if (ticket instanceof ProxyGrantingTicket) {
+            val parent = ticket.getTicketGrantingTicket();
+            parent.getProxyGrantingTickets().remove(ticketId);
+            updateTicket(parent);
+        }
+        val ticketIds = new LinkedHashSet<String>();
+        ticketIds.add(ticketId);
+        if (ticket instanceof TicketGrantingTicket) {
+            val tgt = (TicketGrantingTicket) ticket;
+            ticketIds.addAll(tgt.getServices().keySet());
+            ticketIds.addAll(tgt.getProxyGrantingTickets().keySet());
+            val descendants = (Collection<Object>) results.get(1);
+            if (descendants != null) {
+                descendants.forEach(id -> ticketIds.add(id.toString()));
+            }
+        }
+        LOGGER.debug("Removing ticket [{}] and its descendants [{}] from the registry", ticketId, ticketIds);
+        val principalId = TicketPrincipalUtils.getPrincipalId(ticket);
+        return deleteTicketsInternal(ticketIds, principalId == null ? null : getPrincipalRedisKey(principalId), ticketId);
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            val redisKey = getTicketRedisKey(ticket.getId());
-            val encodeTicket = encodeTicket(ticket);
-            val timeout = getTimeout(ticket);
-            this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            storeTicket(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket, e);
         }
@@ -103,34 +246,293 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.client.keys(getPatternTicketRedisKey()).stream()
-            .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
-                }
-                return ticket;
-            })
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return streamKeyBatches(getPatternTicketRedisKey())
+            .map(keys -> this.client.opsForValue().multiGet(keys))
             .filter(Objects::nonNull)
-            .map(this::decodeTicket)
-            .collect(Collectors.toSet());
+            .flatMap(List::stream)
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket);
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Updating ticket [{}]", ticket);
-            val encodeTicket = this.encodeTicket(ticket);
-            val redisKey = getTicketRedisKey(ticket.getId());
-            LOGGER.debug("Fetched redis key [{}] for ticket [{}]", redisKey, ticket);
-
-            val timeout = getTimeout(ticket);
-            this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
-            return encodeTicket;
+            return storeTicket(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket, e);
         }
         return null;
     }
+
+    @Override
+    public long sessionCount() {
+        if (this.indexTickets) {
+            return countIndexedTickets(SESSION_INDEX_KEY);
+        }
+        return super.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        if (this.indexTickets) {
+            return countIndexedTickets(SERVICE_TICKET_INDEX_KEY);
+        }
+        return super.serviceTicketCount();
+    }
+
+    @Override
+    public boolean isTicketCountIndexed() {
+        return this.indexTickets || super.isTicketCountIndexed();
+    }
+
+    @Override
+    public void reconcileTicketStatistics() {
+        if (!this.indexTickets) {
+            super.reconcileTicketStatistics();
+        }
+    }
+
+    @Override
+    public boolean isPrincipalIndexed() {
+        return this.indexTickets;
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (!this.indexTickets) {
+            return super.getSessionsFor(principalId);
+        }
+        return getIndexedSessions(getPrincipalRedisKey(principalId), 0, -1);
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessions(final long from, final long count) {
+        if (!this.indexTickets) {
+            return super.getSessions(from, count);
+        }
+        if (from < 0 || count <= 0) {
+            return Stream.empty();
+        }
+        val end = count > Long.MAX_VALUE - from ? -1 : from + count - 1;
+        return getIndexedSessions(SESSION_INDEX_KEY, from, end);
+    }
+
+    /**
+     * Gets ticket-granting tickets whose ids are held in the given sorted set, ordered by their expiration time,
+     * having discarded the ids of tickets that have expired.
+     *
+     * @param indexKey the index key
+     * @param start    the first position
+     * @param end      the last position, or -1 for all
+     * @return the tickets
+     */
+    private Stream<? extends TicketGrantingTicket> getIndexedSessions(final String indexKey, final long start, final long end) {
+        val now = Instant.now().getEpochSecond();
+        val results = executePipelined(ops -> {
+            ops.opsForZSet().removeRangeByScore(indexKey, 0, now);
+            ops.opsForZSet().range(indexKey, start, end);
+        });
+        val ticketIds = (Collection<Object>) results.get(1);
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return Stream.empty();
+        }
+        val keys = ticketIds.stream().map(id -> getTicketRedisKey(id.toString())).collect(Collectors.toList());
+        val tickets = this.client.opsForValue().multiGet(keys);
+        if (tickets == null) {
+            return Stream.empty();
+        }
+        return tickets.stream()
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    @Override
+    public void addAndUpdateTickets(final Collection<? extends Ticket> ticketsToAdd, final Collection<? extends Ticket> ticketsToUpdate) {
+        try {
+            val encodedTickets = new LinkedHashMap<Ticket, Ticket>();
+            ticketsToUpdate.forEach(ticket -> encodedTickets.put(ticket, encodeTicket(ticket)));
+            ticketsToAdd.forEach(ticket -> encodedTickets.put(ticket, encodeTicket(ticket)));
+            LOGGER.debug("Storing tickets [{}] in a single batch", encodedTickets.keySet());
+            executePipelined(ops -> encodedTickets.forEach((ticket, encodedTicket) -> storeTicket(ops, ticket, encodedTicket)));
+        } catch (final Exception e) {
+            LOGGER.error("Failed to add [{}] and update [{}]", ticketsToAdd, ticketsToUpdate, e);
+        }
+    }
+
+    @Override
+    public int updateAndDeleteTickets(final Collection<? extends Ticket> ticketsToUpdate, final Collection<? extends Ticket> ticketsToDelete) {
+        val ticketGrantingTickets = ticketsToDelete.stream().filter(TicketGrantingTicket.class::isInstance).collect(Collectors.toList());
+        val ticketIds = ticketsToDelete.stream()
+            .filter(ticket -> !(ticket instanceof TicketGrantingTicket))
+            .map(Ticket::getId)
+            .collect(Collectors.toList());
+        var count = 0;
+        try {
+            val encodedTickets = new LinkedHashMap<Ticket, Ticket>();
+            ticketsToUpdate.forEach(ticket -> encodedTickets.put(ticket, encodeTicket(ticket)));
+            LOGGER.debug("Storing tickets [{}] and removing tickets [{}] in a single batch", encodedTickets.keySet(), ticketIds);
+            executePipelined(ops -> {
+                encodedTickets.forEach((ticket, encodedTicket) -> storeTicket(ops, ticket, encodedTicket));
+                ticketIds.forEach(ticketId -> {
+                    if (this.indexTickets) {
+                        ops.delete(List.of(getTicketRedisKey(ticketId), getDescendantsRedisKey(ticketId)));
+                        ops.opsForZSet().remove(SERVICE_TICKET_INDEX_KEY, ticketId);
+                    } else {
+                        ops.delete(getTicketRedisKey(ticketId));
+                    }
+                });
+            });
+            count += ticketIds.size();
+        } catch (final Exception e) {
+            LOGGER.error("Failed to update [{}] and remove [{}]", ticketsToUpdate, ticketIds, e);
+        }
+        return count + ticketGrantingTickets.stream().mapToInt(ticket -> deleteTicket(ticket.getId())).sum();
+    }
+
+    private Ticket storeTicket(final Ticket ticket) {
+        val encodeTicket = encodeTicket(ticket);
+        if (this.indexTickets) {
+            executePipelined(ops -> storeTicket(ops, ticket, encodeTicket));
+        } else {
+            val timeout = getTimeout(ticket);
+            this.client.boundValueOps(getTicketRedisKey(ticket.getId())).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+        }
+        return encodeTicket;
+    }
+
+    private void storeTicket(final RedisOperations<String, Object> ops, final Ticket ticket, final Ticket encodeTicket) {
+        val timeout = getTimeout(ticket);
+        ops.opsForValue().set(getTicketRedisKey(ticket.getId()), encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+        if (!this.indexTickets) {
+            return;
+        }
+        val indexKey = getIndexRedisKey(ticket);
+        if (indexKey != null) {
+            ops.opsForZSet().add(indexKey, ticket.getId(), Instant.now().getEpochSecond() + timeout);
+        }
+        val principalId = TicketPrincipalUtils.getPrincipalId(ticket);
+        if (principalId != null) {
+            val principalKey = getPrincipalRedisKey(principalId);
+            ops.opsForZSet().add(principalKey, ticket.getId(), Instant.now().getEpochSecond() + timeout);
+            ops.execute(EXTEND_EXPIRATION_SCRIPT, STRING_SERIALIZER, LONG_SERIALIZER,
+                Collections.singletonList(principalKey), timeout.toString());
+        }
+        val root = getRootOfProxiedTicket(ticket);
+        if (root != null) {
+            val descendantsKey = getDescendantsRedisKey(root.getId());
+            ops.opsForSet().add(descendantsKey, ticket.getId());
+            ops.expire(descendantsKey, getTimeout(root), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Tickets issued by proxy-granting tickets are not tracked by the root ticket-granting ticket,
+     * so they are recorded as descendants of the root to allow removals to be cascaded at once.
+     *
+     * @param ticket the ticket
+     * @return the root ticket-granting ticket, or null if the ticket was not issued by a proxy-granting ticket.
+     */
+    private static TicketGrantingTicket getRootOfProxiedTicket(final Ticket ticket) {
+        val parent = ticket.getTicketGrantingTicket();
+        if (parent instanceof ProxyGrantingTicket && !parent.getId().equals(ticket.getId())) {
+            return ((ProxyGrantingTicket) parent).getRoot();
+        }
+        return null;
+    }
+
+    private int deleteTicketsInternal(final Collection<String> ticketIds, final String principalKey, final String ticketId) {
+        val ticketKeys = ticketIds.stream().map(RedisTicketRegistry::getTicketRedisKey).collect(Collectors.toList());
+        val descendantsKeys = ticketIds.stream().map(RedisTicketRegistry::getDescendantsRedisKey).collect(Collectors.toList());
+        val members = ticketIds.toArray();
+        val results = executePipelined(ops -> {
+            ops.delete(ticketKeys);
+            ops.delete(descendantsKeys);
+            ops.opsForZSet().remove(SESSION_INDEX_KEY, members);
+            ops.opsForZSet().remove(SERVICE_TICKET_INDEX_KEY, members);
+            if (principalKey != null) {
+                ops.opsForZSet().remove(principalKey, ticketId);
+            }
+        });
+        val deleted = (Number) results.get(0);
+        return deleted == null ? 0 : deleted.intValue();
+    }
+
+    private long countIndexedTickets(final String indexKey) {
+        try {
+            val now = Instant.now().getEpochSecond();
+            val results = executePipelined(ops -> {
+                ops.opsForZSet().removeRangeByScore(indexKey, 0, now);
+                ops.opsForZSet().zCard(indexKey);
+            });
+            return ((Number) results.get(1)).longValue();
+        } catch (final Exception e) {
+            LOGGER.error("Unable to count tickets in index [{}]", indexKey, e);
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Stream keys matching the pattern in batches, using a {@code SCAN} cursor.
+     * The cursor is closed once it's exhausted or when the returned stream is closed.
+     *
+     * @param pattern the pattern
+     * @return the stream of key batches
+     */
+    private Stream<List<String>> streamKeyBatches(final String pattern) {
+        val options = ScanOptions.scanOptions().match(pattern).count(this.batchSize).build();
+        val serializer = this.client.getStringSerializer();
+        final Cursor<String> cursor = this.client.executeWithStickyConnection(
+            connection -> new ConvertingCursor<>(connection.scan(options), serializer::deserialize));
+        val batches = new Iterator<List<String>>() {
+            @Override
+            public boolean hasNext() {
+                if (cursor.hasNext()) {
+                    return true;
+                }
+                closeCursor(cursor);
+                return false;
+            }
+
+            @Override
+            public List<String> next() {
+                val batch = new ArrayList<String>(batchSize);
+                while (batch.size() < batchSize && cursor.hasNext()) {
+                    batch.add(cursor.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> closeCursor(cursor));
+    }
+
+    private static void closeCursor(final Cursor<String> cursor) {
+        try {
+            if (!cursor.isClosed()) {
+                cursor.close();
+            }
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+        }
+    }
+
+    private List<Object> executePipelined(final Consumer<RedisOperations<String, Object>> operations) {
+        return this.client.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(final RedisOperations<K, V> redisOperations) {
+                operations.accept((RedisOperations<String, Object>) redisOperations);
+                return null;
+            }
+        });
+    }
 }
@@ -6,6 +6,7 @@ import org.apereo.cas.config.CasCoreTicketsConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.ticket.Ticket;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -18,6 +19,7 @@ import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import redis.embedded.RedisServer;
@@ -50,22 +52,27 @@ import java.util.Collection;
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 public class RedisTicketRegistryTests extends BaseSpringRunnableTicketRegistryTests {
 
+    private static final int BATCH_SIZE = 500;
+
     private static RedisServer REDIS_SERVER;
 
     @Autowired
-    @Qualifier("ticketRegistry")
-    private TicketRegistry ticketRegistry;
+    @Qualifier("ticketRedisTemplate")
+    private RedisTemplate<String, Ticket> ticketRedisTemplate;
+
+    private final boolean indexTickets;
 
-    public RedisTicketRegistryTests(final boolean useEncryption) {
+    public RedisTicketRegistryTests(final boolean useEncryption, final boolean indexTickets) {
         super(useEncryption);
+        this.indexTickets = indexTickets;
     }
 
     @Parameterized.Parameters
-    public static Collection<Object> getTestParameters() {
-        return Arrays.asList(false, true);
+    public static Collection<Object[]> getTestParameters() {
+        return Arrays.asList(new Object[]{false, false}, new Object[]{true, false},
+            new Object[]{false, true}, new Object[]{true, true});
     }
 
-
     @BeforeClass
     public static void startRedis() throws Exception {
         REDIS_SERVER = new RedisServer(6379);
@@ -79,6 +86,6 @@ public class RedisTicketRegistryTests extends BaseSpringRunnableTicketRegistryTe
 
     @Override
     public TicketRegistry getNewTicketRegistry() {
-        return this.ticketRegistry;
+        return new RedisTicketRegistry(this.ticketRedisTemplate, BATCH_SIZE, this.indexTickets);
     }
 }
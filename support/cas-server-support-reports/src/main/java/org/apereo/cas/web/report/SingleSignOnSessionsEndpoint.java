@@ -2,8 +2,8 @@ package org.apereo.cas.web.report;
 
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
-import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
@@ -12,10 +12,12 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
 
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
@@ -24,9 +26,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * SSO Report web controller that produces JSON data for the view.
+ * Sessions may be narrowed down to those of a single user, which the ticket registry
+ * looks up by principal, or requested a page at a time, so that reports do not
+ * need to load every ticket in the registry.
  *
  * @author Misagh Moayyed
  * @author Dmitriy Kopylenko
@@ -43,69 +49,95 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
     private static final String TICKET_GRANTING_TICKET = "ticketGrantingTicket";
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final TicketRegistry ticketRegistry;
+
     public SingleSignOnSessionsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+                                        final TicketRegistry ticketRegistry,
                                         final CasConfigurationProperties casProperties) {
         super(casProperties);
         this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
     }
 
     /**
      * Gets sso sessions.
      *
-     * @param option the option
+     * @param option   the option
+     * @param username the username, if sessions of a single user are requested
+     * @param from     the position of the first session, if a page of sessions is requested
+     * @param count    the number of sessions, if a page of sessions is requested
      * @return the sso sessions
      */
-    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option) {
+    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option, final String username,
+                                                                 final Long from, final Long count) {
         val activeSessions = new ArrayList<Map<String, Object>>();
         val dateFormat = new ISOStandardDateFormat();
-        getNonExpiredTicketGrantingTickets().stream().map(TicketGrantingTicket.class::cast)
-            .filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
-            .forEach(tgt -> {
-                val authentication = tgt.getAuthentication();
-                val principal = authentication.getPrincipal();
-                val sso = new HashMap<String, Object>(SsoSessionAttributeKeys.values().length);
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATED_PRINCIPAL.toString(), principal.getId());
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE.toString(), authentication.getAuthenticationDate());
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE_FORMATTED.toString(),
-                    dateFormat.format(DateTimeUtils.dateOf(authentication.getAuthenticationDate())));
-                sso.put(SsoSessionAttributeKeys.NUMBER_OF_USES.toString(), tgt.getCountOfUses());
-                sso.put(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString(), tgt.getId());
-                sso.put(SsoSessionAttributeKeys.PRINCIPAL_ATTRIBUTES.toString(), principal.getAttributes());
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATION_ATTRIBUTES.toString(), authentication.getAttributes());
-                if (option != SsoSessionReportOptions.DIRECT) {
-                    if (tgt.getProxiedBy() != null) {
-                        sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.TRUE);
-                        sso.put(SsoSessionAttributeKeys.PROXIED_BY.toString(), tgt.getProxiedBy().getId());
-                    } else {
-                        sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.FALSE);
+        try (val tickets = getNonExpiredTicketGrantingTickets(username, from, count)) {
+            tickets.filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
+                .forEach(tgt -> {
+                    val authentication = tgt.getAuthentication();
+                    val principal = authentication.getPrincipal();
+                    val sso = new HashMap<String, Object>(SsoSessionAttributeKeys.values().length);
+                    sso.put(SsoSessionAttributeKeys.AUTHENTICATED_PRINCIPAL.toString(), principal.getId());
+                    sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE.toString(), authentication.getAuthenticationDate());
+                    sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE_FORMATTED.toString(),
+                        dateFormat.format(DateTimeUtils.dateOf(authentication.getAuthenticationDate())));
+                    sso.put(SsoSessionAttributeKeys.NUMBER_OF_USES.toString(), tgt.getCountOfUses());
+                    sso.put(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString(), tgt.getId());
+                    sso.put(SsoSessionAttributeKeys.PRINCIPAL_ATTRIBUTES.toString(), principal.getAttributes());
+                    sso.put(SsoSessionAttributeKeys.AUTHENTICATION_ATTRIBUTES.toString(), authentication.getAttributes());
+                    if (option != SsoSessionReportOptions.DIRECT) {
+                        if (tgt.getProxiedBy() != null) {
+                            sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.TRUE);
+                            sso.put(SsoSessionAttributeKeys.PROXIED_BY.toString(), tgt.getProxiedBy().getId());
+                        } else {
+                            sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.FALSE);
+                        }
                     }
-                }
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATED_SERVICES.toString(), tgt.getServices());
-                activeSessions.add(sso);
-            });
+                    sso.put(SsoSessionAttributeKeys.AUTHENTICATED_SERVICES.toString(), tgt.getServices());
+                    activeSessions.add(sso);
+                });
+        }
         return activeSessions;
     }
 
     /**
-     * Gets non expired ticket granting tickets.
+     * Gets non expired ticket granting tickets, of the given user if any, or within the requested page if any.
+     * Pages are taken before expired tickets are left out, and may hold fewer sessions than requested.
      *
+     * @param username the username
+     * @param from     the position of the first session
+     * @param count    the number of sessions
      * @return the non expired ticket granting tickets
      */
-    private Collection<Ticket> getNonExpiredTicketGrantingTickets() {
-        return this.centralAuthenticationService.getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired());
+    private Stream<? extends TicketGrantingTicket> getNonExpiredTicketGrantingTickets(final String username, final Long from, final Long count) {
+        if (StringUtils.isNotBlank(username)) {
+            return this.ticketRegistry.getSessionsFor(username).filter(ticket -> !ticket.isExpired());
+        }
+        if (from != null || count != null) {
+            return this.ticketRegistry.getSessions(from == null ? 0 : from, count == null ? Long.MAX_VALUE : count)
+                .filter(ticket -> !ticket.isExpired());
+        }
+        return this.centralAuthenticationService.getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .stream()
+            .map(TicketGrantingTicket.class::cast);
     }
 
     /**
      * Endpoint for getting SSO Sessions in JSON format.
      *
-     * @param type the type
+     * @param type     the type
+     * @param username the username whose sessions should be reported, or all sessions if none
+     * @param from     the position of the first session to report, if sessions are reported a page at a time
+     * @param count    the number of sessions to report, if sessions are reported a page at a time
      * @return the sso sessions
      */
     @ReadOperation
-    public Map<String, Object> getSsoSessions(final String type) {
+    public Map<String, Object> getSsoSessions(final String type, @Nullable final String username,
+                                              @Nullable final Long from, @Nullable final Long count) {
         val sessionsMap = new HashMap<String, Object>(1);
         val option = SsoSessionReportOptions.valueOf(type);
-        val activeSsoSessions = getActiveSsoSessions(option);
+        val activeSsoSessions = getActiveSsoSessions(option, username, from, count);
         sessionsMap.put("activeSsoSessions", activeSsoSessions);
         val totalTicketGrantingTickets = new AtomicLong();
         val totalProxyGrantingTickets = new AtomicLong();
@@ -163,16 +195,20 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
     /**
      * Destroy sso sessions map.
      *
-     * @param type the type
+     * @param type     the type
+     * @param username the username whose sessions should be destroyed, or all sessions if none
+     * @param from     the position of the first session to destroy, if sessions are destroyed a page at a time
+     * @param count    the number of sessions to destroy, if sessions are destroyed a page at a time
      * @return the map
      */
     @WriteOperation
-    public Map<String, Object> destroySsoSessions(final String type) {
+    public Map<String, Object> destroySsoSessions(final String type, @Nullable final String username,
+                                                  @Nullable final Long from, @Nullable final Long count) {
 
         val sessionsMap = new HashMap<String, Object>();
         val failedTickets = new HashMap<String, String>();
         val option = SsoSessionReportOptions.valueOf(type);
-        val collection = getActiveSsoSessions(option);
+        val collection = getActiveSsoSessions(option, username, from, count);
         collection
             .stream()
             .map(sso -> sso.get(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString()).toString())
@@ -1,10 +1,15 @@
 package org.apereo.cas.web.report;
 
-import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
 
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
@@ -15,22 +20,31 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Reports statistics on the server. When the ticket registry counts its tickets without going through them
+ * and keeps an index of ticket expiration, ticket counts are obtained from the registry and expired tickets
+ * from the expiration index, without scanning the registry. Otherwise, all ticket counts are obtained
+ * from a single pass over the tickets held by the registry.
+ *
  * @author Scott Battaglia
  * @since 3.3.5
  */
+@Slf4j
 @Endpoint(id = "statistics", enableByDefault = false)
 public class StatisticsEndpoint extends BaseCasMvcEndpoint {
     private final ZonedDateTime upTimeStartDate = ZonedDateTime.now(ZoneOffset.UTC);
 
-    private final CentralAuthenticationService centralAuthenticationService;
+    private final TicketRegistry ticketRegistry;
 
-    public StatisticsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+    public StatisticsEndpoint(final TicketRegistry ticketRegistry,
                               final CasConfigurationProperties casProperties) {
         super(casProperties);
-        this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
+    }
+
+    private static long getUnexpiredCount(final long count, final long expired) {
+        return count < 0 ? count : Math.max(0, count - expired);
     }
 
     /**
@@ -50,35 +64,87 @@ public class StatisticsEndpoint extends BaseCasMvcEndpoint {
         model.put("maxMemory", FileUtils.byteCountToDisplaySize(runtime.maxMemory()));
         model.put("freeMemory", FileUtils.byteCountToDisplaySize(runtime.freeMemory()));
 
-        val unexpiredTgts = new AtomicInteger();
-        val unexpiredSts = new AtomicInteger();
-        val expiredTgts = new AtomicInteger();
-        val expiredSts = new AtomicInteger();
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        val counts = this.ticketRegistry.isTicketCountIndexed() && this.ticketRegistry.isExpirationIndexed()
+            ? getIndexedTicketCounts(now)
+            : getScannedTicketCounts();
 
-        val tickets = this.centralAuthenticationService.getTickets(ticket -> true);
-        tickets.forEach(ticket -> {
-            if (ticket instanceof ServiceTicket) {
-                if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredSts.incrementAndGet();
-                } else {
-                    unexpiredSts.incrementAndGet();
+        model.put("sessionCount", counts.getSessions());
+        model.put("serviceTicketCount", counts.getServiceTickets());
+        model.put("expiredTicketCount", counts.getExpiredTickets());
+        model.put("unexpiredTgts", getUnexpiredCount(counts.getSessions(), counts.getExpiredSessions()));
+        model.put("unexpiredSts", getUnexpiredCount(counts.getServiceTickets(), counts.getExpiredServiceTickets()));
+        model.put("expiredTgts", counts.getExpiredSessions());
+        model.put("expiredSts", counts.getExpiredServiceTickets());
+
+        return model;
+    }
+
+    private TicketCounts getIndexedTicketCounts(final ZonedDateTime now) {
+        val counts = new TicketCounts();
+        counts.setSessions(this.ticketRegistry.sessionCount());
+        counts.setServiceTickets(this.ticketRegistry.serviceTicketCount());
+        try (val tickets = this.ticketRegistry.getTicketsDueForExpiration(now, Integer.MAX_VALUE)) {
+            tickets.filter(Ticket::isExpired).forEach(counts::recordExpired);
+        }
+        val expiredTicketCount = this.ticketRegistry.countTicketsDueForExpiration(now);
+        if (expiredTicketCount >= 0) {
+            counts.setExpiredTickets(expiredTicketCount);
+        }
+        return counts;
+    }
+
+    private TicketCounts getScannedTicketCounts() {
+        val counts = new TicketCounts();
+        try (val tickets = this.ticketRegistry.getTicketsStream()) {
+            tickets.forEach(ticket -> {
+                if (ticket instanceof TicketGrantingTicket) {
+                    counts.setSessions(counts.getSessions() + 1);
+                } else if (ticket instanceof ServiceTicket) {
+                    counts.setServiceTickets(counts.getServiceTickets() + 1);
                 }
-            } else {
                 if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredTgts.incrementAndGet();
-                } else {
-                    unexpiredTgts.incrementAndGet();
+                    counts.recordExpired(ticket);
                 }
-            }
-        });
+            });
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to count tickets in the ticket registry: [{}]", e.getMessage());
+            return TicketCounts.unknown();
+        }
+        return counts;
+    }
+
+    /**
+     * Counts of tickets held by the registry.
+     */
+    @Getter
+    @Setter
+    private static class TicketCounts {
+        private long sessions;
 
-        model.put("unexpiredTgts", unexpiredTgts);
-        model.put("unexpiredSts", unexpiredSts);
-        model.put("expiredTgts", expiredTgts);
-        model.put("expiredSts", expiredSts);
+        private long serviceTickets;
 
-        return model;
+        private long expiredSessions;
+
+        private long expiredServiceTickets;
+
+        private long expiredTickets;
+
+        static TicketCounts unknown() {
+            val counts = new TicketCounts();
+            counts.setSessions(Long.MIN_VALUE);
+            counts.setServiceTickets(Long.MIN_VALUE);
+            counts.setExpiredTickets(Long.MIN_VALUE);
+            return counts;
+        }
+
+        void recordExpired(final Ticket ticket) {
+            if (ticket instanceof ServiceTicket) {
+                this.expiredServiceTickets++;
+            } else if (ticket instanceof TicketGrantingTicket) {
+                this.expiredSessions++;
+            }
+            this.expiredTickets++;
+        }
     }
 }
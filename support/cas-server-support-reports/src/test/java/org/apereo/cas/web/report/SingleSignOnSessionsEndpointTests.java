@@ -0,0 +1,54 @@
+package org.apereo.cas.web.report;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SingleSignOnSessionsEndpointTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class SingleSignOnSessionsEndpointTests {
+    private static final String SESSIONS = "activeSsoSessions";
+
+    private SingleSignOnSessionsEndpoint endpoint;
+
+    @Before
+    public void initialize() {
+        val registry = new DefaultTicketRegistry();
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-3",
+            CoreAuthenticationTestUtils.getAuthentication("someone"), new NeverExpiresExpirationPolicy()));
+        this.endpoint = new SingleSignOnSessionsEndpoint(mock(CentralAuthenticationService.class), registry, new CasConfigurationProperties());
+    }
+
+    @Test
+    public void verifyPagedSessions() {
+        assertEquals(2, ((Collection) endpoint.getSsoSessions("ALL", null, 0L, 2L).get(SESSIONS)).size());
+        assertEquals(1, ((Collection) endpoint.getSsoSessions("ALL", null, 2L, null).get(SESSIONS)).size());
+        assertEquals(3, ((Collection) endpoint.getSsoSessions("ALL", null, 0L, Long.MAX_VALUE).get(SESSIONS)).size());
+    }
+
+    @Test
+    public void verifySessionsOfPrincipal() {
+        assertEquals(2, ((Collection) endpoint.getSsoSessions("ALL", "casuser", null, null).get(SESSIONS)).size());
+        assertEquals(0, ((Collection) endpoint.getSsoSessions("ALL", "unknown", null, null).get(SESSIONS)).size());
+    }
+}
@@ -0,0 +1,71 @@
+package org.apereo.cas.web.report;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link StatisticsEndpointTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class StatisticsEndpointTests {
+
+    @Test
+    public void verifyTicketCounts() {
+        val registry = new DefaultTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy()));
+        registry.addTicket(tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true));
+
+        val model = new StatisticsEndpoint(registry, new CasConfigurationProperties()).handle();
+        assertEquals(2L, model.get("sessionCount"));
+        assertEquals(1L, model.get("serviceTicketCount"));
+        assertEquals(1L, model.get("unexpiredTgts"));
+        assertEquals(1L, model.get("expiredTgts"));
+        assertEquals(1L, model.get("unexpiredSts"));
+        assertEquals(0L, model.get("expiredSts"));
+    }
+
+    @Test
+    public void verifyTicketCountsWithoutCountersInSinglePass() {
+        val registry = spy(new CountlessTicketRegistry());
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy()));
+        registry.addTicket(tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true));
+
+        val model = new StatisticsEndpoint(registry, new CasConfigurationProperties()).handle();
+        assertEquals(2L, model.get("sessionCount"));
+        assertEquals(1L, model.get("serviceTicketCount"));
+        assertEquals(1L, model.get("expiredTicketCount"));
+        assertEquals(1L, model.get("unexpiredTgts"));
+        assertEquals(1L, model.get("expiredTgts"));
+        assertEquals(1L, model.get("unexpiredSts"));
+        verify(registry, times(1)).getTicketsStream();
+        verify(registry, never()).sessionCount();
+        verify(registry, never()).serviceTicketCount();
+    }
+
+    /**
+     * Ticket registry that keeps no ticket counters, the way distributed registries do.
+     */
+    public static class CountlessTicketRegistry extends DefaultTicketRegistry {
+        @Override
+        protected boolean isTicketStatisticsMaintained() {
+            return false;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml;
 
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceIndex;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
@@ -34,6 +36,8 @@ import org.opensaml.saml.saml2.metadata.Endpoint;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.impl.AssertionConsumerServiceBuilder;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -46,6 +50,11 @@ import java.util.stream.Collectors;
 @Slf4j
 @UtilityClass
 public class SamlIdPUtils {
+    /**
+     * Index of SAML registered services by their service id, which typically is the entity id of the service provider.
+     */
+    public static final RegisteredServiceIndex<SamlRegisteredService> ENTITY_ID_INDEX =
+        new RegisteredServiceIndex<>("entityId", SamlRegisteredService.class, SamlRegisteredService::getServiceId);
 
     /**
      * Prepare peer entity saml endpoint.
@@ -143,17 +152,14 @@ public class SamlIdPUtils {
                                                                          final String entityID,
                                                                          final SamlRegisteredServiceCachingMetadataResolver resolver) {
 
-        val registeredServices = servicesManager.findServiceBy(SamlRegisteredService.class::isInstance);
         val chainingMetadataResolver = new ChainingMetadataResolver();
 
-        val resolvers = registeredServices.stream()
-            .filter(SamlRegisteredService.class::isInstance)
-            .map(SamlRegisteredService.class::cast)
-            .map(s -> SamlRegisteredServiceServiceProviderMetadataFacade.get(resolver, s, entityID))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .map(SamlRegisteredServiceServiceProviderMetadataFacade::getMetadataResolver)
-            .collect(Collectors.toList());
+        var resolvers = getMetadataResolversForSamlServices(CollectionUtils.wrapList(servicesManager.findServiceBy(ENTITY_ID_INDEX, entityID)),
+            entityID, resolver);
+        if (resolvers.isEmpty()) {
+            val registeredServices = servicesManager.findServiceBy(SamlRegisteredService.class::isInstance);
+            resolvers = getMetadataResolversForSamlServices(registeredServices, entityID, resolver);
+        }
 
         LOGGER.debug("Located [{}] metadata resolvers to match against [{}]", resolvers, entityID);
 
@@ -163,6 +169,19 @@ public class SamlIdPUtils {
         return chainingMetadataResolver;
     }
 
+    private static List<MetadataResolver> getMetadataResolversForSamlServices(final Collection<? extends RegisteredService> registeredServices,
+                                                                              final String entityID,
+                                                                              final SamlRegisteredServiceCachingMetadataResolver resolver) {
+        return registeredServices.stream()
+            .filter(SamlRegisteredService.class::isInstance)
+            .map(SamlRegisteredService.class::cast)
+            .map(s -> SamlRegisteredServiceServiceProviderMetadataFacade.get(resolver, s, entityID))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .map(SamlRegisteredServiceServiceProviderMetadataFacade::getMetadataResolver)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Gets assertion consumer service for.
      *
@@ -18,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * This is {@link MetadataQueryProtocolMetadataResolver}.
@@ -40,9 +41,8 @@ public class MetadataQueryProtocolMetadataResolver extends UrlResourceMetadataRe
     }
 
     @Override
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
         val metadata = samlIdPProperties.getMetadata();
-        val headers = new LinkedHashMap();
         headers.put("Content-Type", metadata.getSupportedContentTypes());
         headers.put("Accept", "*/*");
         return HttpUtils.executeGet(metadataLocation, metadata.getBasicAuthnUsername(),
@@ -9,12 +9,15 @@ import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.AndFileFilter;
 import org.apache.commons.io.filefilter.CanReadFileFilter;
 import org.apache.commons.io.filefilter.CanWriteFileFilter;
@@ -22,6 +25,7 @@ import org.apache.commons.io.filefilter.PrefixFileFilter;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
@@ -31,15 +35,21 @@ import org.springframework.http.HttpStatus;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
+ * Metadata is fetched using conditional requests based on the {@code ETag} and {@code Last-Modified}
+ * headers of the previous response, and metadata that is not modified is not parsed again.
+ * Previously fetched metadata is remembered for as long as metadata is cached, and is tied to the
+ * definition of the service so that changes to the service produce a newly configured resolver.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -48,12 +58,20 @@ import java.util.UUID;
 public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetadataResolver {
     private final File metadataBackupDirectory;
 
+    private static final long MAX_FETCHED_METADATA_SIZE = 1_000;
+
+    private final Cache<String, FetchedMetadata> fetchedMetadata;
+
     @SneakyThrows
     public UrlResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
                                        final OpenSamlConfigBean configBean) {
         super(samlIdPProperties, configBean);
 
         val md = samlIdPProperties.getMetadata();
+        this.fetchedMetadata = Caffeine.newBuilder()
+            .maximumSize(MAX_FETCHED_METADATA_SIZE)
+            .expireAfterWrite(md.getCacheExpirationMinutes(), TimeUnit.MINUTES)
+            .build();
         this.metadataBackupDirectory = new File(md.getLocation().getFile(), "metadata-backups");
         try {
             FileUtils.forceMkdir(this.metadataBackupDirectory);
@@ -72,18 +90,24 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
             val metadataResource = new UrlResource(metadataLocation);
 
-            val backupFile = getMetadataBackupFile(metadataResource, service);
-            val canonicalPath = backupFile.getCanonicalPath();
-            LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
-            FileUtils.forceMkdirParent(backupFile);
-
-            response = fetchMetadata(metadataLocation);
-            cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
+            val fetchedMetadataKey = getFetchedMetadataKey(service, metadataLocation);
+            val previouslyFetched = this.fetchedMetadata.getIfPresent(fetchedMetadataKey);
+            response = fetchMetadata(metadataLocation, getConditionalRequestHeaders(previouslyFetched));
             if (response != null) {
                 val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
+                if (status == HttpStatus.NOT_MODIFIED && previouslyFetched != null) {
+                    LOGGER.debug("SAML metadata from [{}] is not modified since it was last fetched", metadataLocation);
+                    return CollectionUtils.wrap(previouslyFetched.getMetadataResolver());
+                }
                 if (shouldHttpResponseStatusBeProcessed(status)) {
+                    val backupFile = getMetadataBackupFile(metadataResource, service);
+                    LOGGER.debug("Metadata backup file will be at [{}]", backupFile.getCanonicalPath());
+                    FileUtils.forceMkdirParent(backupFile);
+                    cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
+
                     val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
                     configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                    rememberFetchedMetadata(fetchedMetadataKey, response, metadataProvider);
                     return CollectionUtils.wrap(metadataProvider);
                 }
             }
@@ -114,10 +138,8 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * @throws Exception the exception
      */
     protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
-        val result = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
-        try (val output = Files.newBufferedWriter(backupFile.toPath(), StandardCharsets.UTF_8)) {
-            IOUtils.write(result, output);
-            output.flush();
+        try (val input = response.getEntity().getContent()) {
+            Files.copy(input, backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
         return new InMemoryResourceMetadataResolver(backupFile, configBean);
     }
@@ -126,11 +148,57 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * Fetch metadata http response.
      *
      * @param metadataLocation the metadata location
+     * @param headers          the request headers
      * @return the http response
      */
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
         LOGGER.debug("Fetching metadata from [{}]", metadataLocation);
-        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>());
+        return HttpUtils.executeGet(metadataLocation, null, null, new LinkedHashMap<>(), headers);
+    }
+
+    /**
+     * Gets the headers of a conditional request for metadata that was previously fetched.
+     *
+     * @param previouslyFetched the previously fetched metadata, if any
+     * @return the request headers
+     */
+    protected Map<String, Object> getConditionalRequestHeaders(final FetchedMetadata previouslyFetched) {
+        val headers = new LinkedHashMap<String, Object>();
+        if (previouslyFetched != null) {
+            if (StringUtils.isNotBlank(previouslyFetched.getEntityTag())) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, previouslyFetched.getEntityTag());
+            }
+            if (StringUtils.isNotBlank(previouslyFetched.getLastModified())) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, previouslyFetched.getLastModified());
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Gets the key under which metadata fetched for the service is remembered.
+     * The key changes along with the definition of the service, since the resolver
+     * built for previously fetched metadata is configured based on the service.
+     *
+     * @param service          the service
+     * @param metadataLocation the metadata location
+     * @return the key
+     */
+    protected String getFetchedMetadataKey(final SamlRegisteredService service, final String metadataLocation) {
+        return service.getId() + "@" + Integer.toHexString(service.hashCode()) + "@" + metadataLocation;
+    }
+
+    private void rememberFetchedMetadata(final String key, final HttpResponse response, final MetadataResolver metadataResolver) {
+        val entityTag = response.getFirstHeader(HttpHeaders.ETAG);
+        val lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        if (entityTag == null && lastModified == null) {
+            this.fetchedMetadata.invalidate(key);
+            return;
+        }
+        this.fetchedMetadata.put(key, new FetchedMetadata(
+            entityTag != null ? entityTag.getValue() : null,
+            lastModified != null ? lastModified.getValue() : null,
+            metadataResolver));
     }
 
     /**
@@ -216,4 +284,18 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         }
         return false;
     }
+
+    /**
+     * Metadata that was previously fetched, along with the validators
+     * used to check whether it has since been modified.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class FetchedMetadata {
+        private final String entityTag;
+
+        private final String lastModified;
+
+        private final MetadataResolver metadataResolver;
+    }
 }
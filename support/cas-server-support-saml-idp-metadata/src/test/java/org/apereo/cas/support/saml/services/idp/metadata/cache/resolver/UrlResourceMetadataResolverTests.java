@@ -7,6 +7,7 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 
 import lombok.val;
 import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpHeaders;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.springframework.core.io.FileSystemResource;
@@ -49,4 +50,33 @@ public class UrlResourceMetadataResolverTests extends BaseSamlIdPServicesTests {
         val results = resolver.resolve(service);
         assertFalse(results.isEmpty());
     }
+
+    @Test
+    public void verifyConditionalRequestHeaders() {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        val resolver = new UrlResourceMetadataResolver(props, openSamlConfigBean);
+        assertTrue(resolver.getConditionalRequestHeaders(null).isEmpty());
+
+        val fetched = new UrlResourceMetadataResolver.FetchedMetadata("\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT", null);
+        val headers = resolver.getConditionalRequestHeaders(fetched);
+        assertEquals("\"v1\"", headers.get(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", headers.get(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    public void verifyFetchedMetadataKeyFollowsServiceDefinition() {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        val resolver = new UrlResourceMetadataResolver(props, openSamlConfigBean);
+        val service = new SamlRegisteredService();
+        service.setName("TestShib");
+        service.setId(1000);
+        service.setMetadataLocation("http://www.testshib.org/metadata/testshib-providers.xml");
+        val key = resolver.getFetchedMetadataKey(service, service.getMetadataLocation());
+        assertEquals(key, resolver.getFetchedMetadataKey(service, service.getMetadataLocation()));
+
+        service.setMetadataSignatureLocation("classpath:inc-md-pub.pem");
+        assertNotEquals(key, resolver.getFetchedMetadataKey(service, service.getMetadataLocation()));
+    }
 }
@@ -52,7 +52,7 @@ public class DefaultSamlArtifactTicketFactory implements SamlArtifactTicketFacto
             val at = new SamlArtifactTicketImpl(codeId, service, authentication,
                 this.expirationPolicy, ticketGrantingTicket, issuer, relyingParty, w.toString());
             if (ticketGrantingTicket != null) {
-                ticketGrantingTicket.getDescendantTickets().add(at.getId());
+                ticketGrantingTicket.trackDescendantTicket(at);
             }
             return at;
         }
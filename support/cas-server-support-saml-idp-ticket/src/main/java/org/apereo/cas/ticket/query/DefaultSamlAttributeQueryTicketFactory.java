@@ -49,7 +49,7 @@ public class DefaultSamlAttributeQueryTicketFactory implements SamlAttributeQuer
             val at = new SamlAttributeQueryTicketImpl(codeId, service, this.expirationPolicy,
                 relyingParty, w.toString(), ticketGrantingTicket);
             if (ticketGrantingTicket != null) {
-                ticketGrantingTicket.getDescendantTickets().add(at.getId());
+                ticketGrantingTicket.trackDescendantTicket(at);
             }
             return at;
         }
@@ -6,6 +6,9 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.util.EncodingUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +23,7 @@ import org.opensaml.saml.saml2.core.EncryptedAttribute;
 import org.opensaml.saml.saml2.core.EncryptedID;
 import org.opensaml.saml.saml2.core.NameID;
 import org.opensaml.saml.saml2.encryption.Encrypter;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.opensaml.saml.security.impl.MetadataCredentialResolver;
 import org.opensaml.security.credential.Credential;
@@ -38,10 +42,15 @@ import org.opensaml.xmlsec.keyinfo.impl.provider.InlineX509DataProvider;
 import org.opensaml.xmlsec.keyinfo.impl.provider.KeyInfoReferenceProvider;
 import org.opensaml.xmlsec.keyinfo.impl.provider.RSAKeyValueProvider;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This is {@link SamlIdPObjectEncrypter}.
+ * Key encryption credentials are resolved once per service, service provider role descriptor
+ * and encryption configuration, and are resolved again once the service provider metadata is refreshed.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -49,6 +58,14 @@ import java.util.ArrayList;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlIdPObjectEncrypter {
+    private static final long MAXIMUM_CACHED_ENCRYPTION_CREDENTIALS = 1_000;
+
+    private static final Duration CACHED_ENCRYPTION_CREDENTIALS_DURATION = Duration.ofHours(1);
+
+    private final Cache<EncryptionCredentialCacheKey, Credential> encryptionCredentialCache = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_ENCRYPTION_CREDENTIALS)
+        .expireAfterWrite(CACHED_ENCRYPTION_CREDENTIALS_DURATION)
+        .build();
 
     private final SamlIdPProperties samlIdPProperties;
 
@@ -115,7 +132,7 @@ public class SamlIdPObjectEncrypter {
         val className = samlObject.getClass().getName();
         val entityId = adaptor.getEntityId();
         LOGGER.debug("Attempting to encrypt [{}] for [{}]", className, entityId);
-        val credential = getKeyEncryptionCredential(entityId, adaptor, service);
+        val credential = resolveKeyEncryptionCredential(entityId, adaptor, service);
         LOGGER.info("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
 
         val keyEncParams = getKeyEncryptionParameters(samlObject, service, adaptor, credential);
@@ -130,6 +147,35 @@ public class SamlIdPObjectEncrypter {
         return encrypter;
     }
 
+    /**
+     * Resolve key encryption credential, unless it is already known for the service provider role descriptor and encryption configuration.
+     *
+     * @param peerEntityId the peer entity id
+     * @param adaptor      the adaptor
+     * @param service      the service
+     * @return the key encryption credential
+     */
+    protected Credential resolveKeyEncryptionCredential(final String peerEntityId,
+                                                        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                        final SamlRegisteredService service) {
+        val algs = samlIdPProperties.getAlgs();
+        val configurationVersion = Arrays.<Object>asList(
+            algs.getOverrideDataEncryptionAlgorithms(),
+            algs.getOverrideKeyEncryptionAlgorithms(),
+            algs.getOverrideBlackListedEncryptionAlgorithms(),
+            algs.getOverrideWhiteListedAlgorithms(),
+            samlIdPProperties.getMetadata().isRequireValidMetadata());
+        val key = new EncryptionCredentialCacheKey(service.getId(), peerEntityId, adaptor.getSsoDescriptor(), configurationVersion);
+        return this.encryptionCredentialCache.get(key, k -> getKeyEncryptionCredentialQuietly(peerEntityId, adaptor, service));
+    }
+
+    @SneakyThrows
+    private Credential getKeyEncryptionCredentialQuietly(final String peerEntityId,
+                                                         final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                         final SamlRegisteredService service) {
+        return getKeyEncryptionCredential(peerEntityId, adaptor, service);
+    }
+
     /**
      * Gets encrypter.
      *
@@ -252,4 +298,16 @@ public class SamlIdPObjectEncrypter {
         LOGGER.debug("Attempting to resolve the encryption key for entity id [{}]", peerEntityId);
         return kekCredentialResolver.resolveSingle(criteriaSet);
     }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class EncryptionCredentialCacheKey {
+        private final long serviceId;
+
+        private final String peerEntityId;
+
+        private final RoleDescriptor roleDescriptor;
+
+        private final List<Object> configurationVersion;
+    }
 }
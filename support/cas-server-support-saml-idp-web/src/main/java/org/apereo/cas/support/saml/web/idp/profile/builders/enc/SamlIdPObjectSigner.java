@@ -8,16 +8,22 @@ import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.apache.commons.lang3.StringUtils;
 import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.messaging.context.MessageContext;
@@ -29,6 +35,7 @@ import org.opensaml.saml.common.binding.security.impl.SAMLOutboundProtocolMessag
 import org.opensaml.saml.criterion.EntityRoleCriterion;
 import org.opensaml.saml.criterion.RoleDescriptorCriterion;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.RefreshableMetadataResolver;
 import org.opensaml.saml.saml2.core.RequestAbstractType;
 import org.opensaml.saml.saml2.metadata.IDPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.RoleDescriptor;
@@ -46,14 +53,24 @@ import org.opensaml.xmlsec.config.impl.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.PrivateKey;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link SamlIdPObjectSigner}.
+ * Signature signing parameters are resolved once per service, service provider role descriptor
+ * and signing configuration, and are resolved again once the service provider metadata is refreshed
+ * or the signing key and certificate of the identity provider are rotated. The signing key and certificate
+ * are checked for changes at most once every thirty seconds.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -61,6 +78,21 @@ import java.util.ArrayList;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlIdPObjectSigner {
+    private static final long MAXIMUM_CACHED_SIGNING_PARAMETERS = 1_000;
+
+    private static final Duration CACHED_SIGNING_PARAMETERS_DURATION = Duration.ofHours(1);
+
+    private static final long SIGNING_CREDENTIALS_VERSION_REFRESH_SECONDS = 30;
+
+    private final Cache<SigningParametersCacheKey, SignatureSigningParameters> signingParametersCache = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_SIGNING_PARAMETERS)
+        .expireAfterWrite(CACHED_SIGNING_PARAMETERS_DURATION)
+        .build();
+
+    private final Object signingCredentialsVersionLock = new Object();
+
+    private volatile SigningCredentialsVersion signingCredentialsVersion;
+
     private final MetadataResolver casSamlIdPMetadataResolver;
 
     private final CasConfigurationProperties casProperties;
@@ -157,10 +189,81 @@ public class SamlIdPObjectSigner {
         @NonNull
         val secParametersContext = outboundContext.getSubcontext(SecurityParametersContext.class, true);
         val roleDesc = adaptor.getSsoDescriptor();
-        val signingParameters = buildSignatureSigningParameters(roleDesc, service);
+        val signingParameters = getSignatureSigningParameters(roleDesc, service);
         secParametersContext.setSignatureSigningParameters(signingParameters);
     }
 
+    /**
+     * Gets signature signing parameters for the service, building them if they are not already
+     * known for the given role descriptor and the current signing credentials.
+     *
+     * @param descriptor the descriptor
+     * @param service    the service
+     * @return the signature signing parameters
+     */
+    protected SignatureSigningParameters getSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                       final SamlRegisteredService service) {
+        val samlIdp = casProperties.getAuthn().getSamlIdp();
+        val signingCredentialType = StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name());
+        val key = new SigningParametersCacheKey(service.getId(), signingCredentialType, descriptor,
+            getSignatureSigningConfigurationVersion(), getSigningCredentialsVersion());
+        return this.signingParametersCache.get(key, k -> {
+            LOGGER.debug("Building signature signing parameters for [{}] with signing credentials [{}]", service.getName(), k.getCredentialsVersion());
+            return buildSignatureSigningParameters(descriptor, service);
+        });
+    }
+
+    /**
+     * Gets the version of the signing configuration, made up of every setting
+     * that is used to build signature signing parameters.
+     *
+     * @return the signing configuration version
+     */
+    protected List<Object> getSignatureSigningConfigurationVersion() {
+        val idp = casProperties.getAuthn().getSamlIdp();
+        val algs = idp.getAlgs();
+        return Arrays.asList(
+            algs.getOverrideSignatureReferenceDigestMethods(),
+            algs.getOverrideSignatureAlgorithms(),
+            algs.getOverrideBlackListedSignatureSigningAlgorithms(),
+            algs.getOverrideWhiteListedSignatureSigningAlgorithms(),
+            algs.getOverrideSignatureCanonicalizationAlgorithm(),
+            idp.getEntityId(),
+            idp.getMetadata().getPrivateKeyAlgName(),
+            idp.getMetadata().isRequireValidMetadata());
+    }
+
+    /**
+     * Gets the version of the signing credentials, which changes once the identity provider metadata
+     * is refreshed, or its signing key or certificate are modified. The signing key and certificate
+     * are only checked again once the previous version is older than the refresh interval.
+     *
+     * @return the signing credentials version
+     */
+    protected String getSigningCredentialsVersion() {
+        val metadataVersion = casSamlIdPMetadataResolver instanceof RefreshableMetadataResolver
+            ? String.valueOf(RefreshableMetadataResolver.class.cast(casSamlIdPMetadataResolver).getLastUpdate())
+            : StringUtils.EMPTY;
+        return metadataVersion + '|' + getSigningKeysVersion();
+    }
+
+    private String getSigningKeysVersion() {
+        val now = System.currentTimeMillis();
+        var current = this.signingCredentialsVersion;
+        if (current == null || current.isExpired(now)) {
+            synchronized (this.signingCredentialsVersionLock) {
+                current = this.signingCredentialsVersion;
+                if (current == null || current.isExpired(now)) {
+                    val version = getResourceVersion(samlIdPMetadataLocator.getSigningKey())
+                        + '|' + getResourceVersion(samlIdPMetadataLocator.getSigningCertificate());
+                    current = new SigningCredentialsVersion(version, now + TimeUnit.SECONDS.toMillis(SIGNING_CREDENTIALS_VERSION_REFRESH_SECONDS));
+                    this.signingCredentialsVersion = current;
+                }
+            }
+        }
+        return current.getVersion();
+    }
+
     /**
      * Prepare outbound context.
      *
@@ -333,4 +436,45 @@ public class SamlIdPObjectSigner {
         LOGGER.debug("Locating signature signing key file from [{}]", signingKey);
         return privateKeyFactoryBean.getObject();
     }
+
+    @SneakyThrows
+    private static String getResourceVersion(final Resource resource) {
+        if (resource == null) {
+            return StringUtils.EMPTY;
+        }
+        if (resource.isFile()) {
+            val file = resource.getFile();
+            return file.getCanonicalPath() + '@' + file.lastModified();
+        }
+        try (val in = resource.getInputStream()) {
+            return DigestUtils.digest(MessageDigestAlgorithms.SHA_256, StreamUtils.copyToByteArray(in));
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class SigningParametersCacheKey {
+        private final long serviceId;
+
+        private final String signingCredentialType;
+
+        private final RoleDescriptor roleDescriptor;
+
+        private final List<Object> configurationVersion;
+
+        private final String credentialsVersion;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class SigningCredentialsVersion {
+        private final String version;
+
+        private final long expiresAt;
+
+        boolean isExpired(final long now) {
+            return now >= this.expiresAt;
+        }
+    }
 }
@@ -168,8 +168,10 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
+        val metadata = casProperties.getAuthn().getSamlIdp().getMetadata();
         return new SamlRegisteredServiceDefaultCachingMetadataResolver(
-            casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
+            metadata.getCacheExpirationMinutes(),
+            metadata.getCacheRefreshMinutes(),
             chainingMetadataResolverCacheLoader()
         );
     }
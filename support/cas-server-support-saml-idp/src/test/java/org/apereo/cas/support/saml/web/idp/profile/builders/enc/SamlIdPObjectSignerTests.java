@@ -0,0 +1,54 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.xmlsec.signature.support.SignatureConstants;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPObjectSignerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
+    @Test
+    public void verifySigningParametersAreReused() {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+
+        val params = samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getSsoDescriptor(), service);
+        assertNotNull(params);
+        assertSame(params, samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getSsoDescriptor(), service));
+
+        service.setSigningCredentialType("BASIC");
+        assertNotSame(params, samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getSsoDescriptor(), service));
+    }
+
+    @Test
+    public void verifySigningParametersFollowAlgorithms() {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        val algs = casProperties.getAuthn().getSamlIdp().getAlgs();
+        val canonicalization = algs.getOverrideSignatureCanonicalizationAlgorithm();
+
+        val params = samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getSsoDescriptor(), service);
+        try {
+            algs.setOverrideSignatureCanonicalizationAlgorithm(SignatureConstants.ALGO_ID_C14N_EXCL_WITH_COMMENTS);
+            val updated = samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getSsoDescriptor(), service);
+            assertNotSame(params, updated);
+            assertEquals(SignatureConstants.ALGO_ID_C14N_EXCL_WITH_COMMENTS, updated.getSignatureCanonicalizationAlgorithm());
+        } finally {
+            algs.setOverrideSignatureCanonicalizationAlgorithm(canonicalization);
+        }
+    }
+}
@@ -2,8 +2,12 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.JdbcCountingThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.JdbcThrottledSubmissionFailureFlusher;
+import org.apereo.cas.web.support.JdbcThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
@@ -12,6 +16,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -47,11 +52,43 @@ public class CasJdbcThrottlingConfiguration {
     }
 
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.throttle.jdbc.counters", name = "enabled", havingValue = "true")
+    public JdbcThrottledSubmissionFailureStore jdbcThrottledSubmissionFailureStore() {
+        val throttle = casProperties.getAuthn().getThrottle();
+        val counters = throttle.getJdbc().getCounters();
+        return new JdbcThrottledSubmissionFailureStore(
+            inspektrThrottleDataSource(),
+            counters.getTableName(),
+            throttle.getFailure().getThreshold(),
+            throttle.getFailure().getRangeSeconds(),
+            counters.getBatchSize(),
+            Beans.newDuration(counters.getNearCacheDuration()),
+            counters.getNearCacheSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.throttle.jdbc.counters", name = "enabled", havingValue = "true")
+    public Runnable jdbcThrottledSubmissionFailureFlusher() {
+        return new JdbcThrottledSubmissionFailureFlusher(jdbcThrottledSubmissionFailureStore());
+    }
+
     @Bean
     @RefreshScope
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle() {
         val throttle = casProperties.getAuthn().getThrottle();
         val failure = throttle.getFailure();
+        if (throttle.getJdbc().getCounters().isEnabled()) {
+            return new JdbcCountingThrottledSubmissionHandlerInterceptorAdapter(
+                failure.getThreshold(),
+                failure.getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                auditTrailManager.getIfAvailable(),
+                throttle.getAppcode(),
+                failure.getCode(),
+                throttledRequestResponseHandler.getIfAvailable(),
+                jdbcThrottledSubmissionFailureStore());
+        }
         return new JdbcThrottledSubmissionHandlerInterceptorAdapter(
             failure.getThreshold(),
             failure.getRangeSeconds(),
@@ -0,0 +1,69 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Throttles failed login attempts for a particular username from the same IP address,
+ * using counters of failures that are kept in a dedicated table rather than the audit log.
+ * Throttled login attempts continue to be recorded in the audit log.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JdbcCountingThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
+
+    private final ThrottledSubmissionFailureStore failureStore;
+
+    public JdbcCountingThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
+                                                                   final int failureRangeInSeconds,
+                                                                   final String usernameParameter,
+                                                                   final AuditTrailExecutionPlan auditTrailManager,
+                                                                   final String applicationCode,
+                                                                   final String authenticationFailureCode,
+                                                                   final ThrottledRequestResponseHandler throttledRequestResponseHandler,
+                                                                   final ThrottledSubmissionFailureStore failureStore) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailManager, applicationCode,
+            throttledRequestResponseHandler);
+        this.failureStore = failureStore;
+    }
+
+    /**
+     * Construct the key under which failures of the request are counted.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        return InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter.constructKey(request, getUsernameParameter());
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        return this.failureStore.exceedsThreshold(constructKey(request));
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        val key = constructKey(request);
+        LOGGER.debug("Recording submission failure [{}]", key);
+        this.failureStore.recordSubmissionFailure(key);
+    }
+
+    @Override
+    public void decrement() {
+        this.failureStore.release();
+    }
+
+    @Override
+    public String getName() {
+        return "JdbcCountingIpAddressUsernameThrottle";
+    }
+}
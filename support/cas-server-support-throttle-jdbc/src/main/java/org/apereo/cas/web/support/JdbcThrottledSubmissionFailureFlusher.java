@@ -0,0 +1,25 @@
+package org.apereo.cas.web.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * This is {@link JdbcThrottledSubmissionFailureFlusher}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiredArgsConstructor
+public class JdbcThrottledSubmissionFailureFlusher implements Runnable {
+    private final JdbcThrottledSubmissionFailureStore failureStore;
+
+    /**
+     * Kicks off the job that writes pending failed submissions to the database.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${cas.authn.throttle.jdbc.counters.flushInterval:PT1S}",
+        fixedDelayString = "${cas.authn.throttle.jdbc.counters.flushInterval:PT1S}")
+    public void run() {
+        failureStore.flush();
+    }
+}
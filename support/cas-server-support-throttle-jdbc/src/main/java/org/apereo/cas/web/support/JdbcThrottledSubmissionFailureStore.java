@@ -0,0 +1,260 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is {@link JdbcThrottledSubmissionFailureStore}, which keeps counters of failed submissions
+ * per key and fixed time window in a dedicated table. Failures are aggregated in memory and periodically
+ * added to the counters in batches. The number of failures in the sliding window is estimated from the
+ * counters of the current and previous windows, which are read using a single lookup by primary key,
+ * optionally cached in memory for a short period of time. Keys are stored as their fixed-length SHA-256 digest,
+ * so that long usernames never exceed the size of the key column.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JdbcThrottledSubmissionFailureStore implements ThrottledSubmissionFailureStore, InitializingBean, DisposableBean {
+    private static final int KEY_DIGEST_LENGTH = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String tableName;
+
+    private final int failureThreshold;
+
+    private final long windowInMillis;
+
+    private final int batchSize;
+
+    private final Map<CounterKey, Integer> pendingFailures = new ConcurrentHashMap<>();
+
+    private final Cache<String, WindowCounters> nearCache;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final String selectSql;
+
+    private final String updateSql;
+
+    private final String insertSql;
+
+    private final String deleteSql;
+
+    public JdbcThrottledSubmissionFailureStore(final DataSource dataSource, final String tableName,
+                                               final int failureThreshold, final int failureRangeInSeconds,
+                                               final int batchSize, final Duration nearCacheDuration,
+                                               final long nearCacheSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.tableName = tableName;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.windowInMillis = TimeUnit.SECONDS.toMillis(Math.max(0, failureRangeInSeconds));
+        this.batchSize = Math.max(1, batchSize);
+        this.nearCache = nearCacheDuration.isNegative() || nearCacheDuration.isZero()
+            ? null
+            : Caffeine.newBuilder().maximumSize(nearCacheSize).expireAfterWrite(nearCacheDuration).build();
+
+        this.selectSql = "SELECT WINDOW_START, FAILURE_COUNT FROM " + tableName + " WHERE THROTTLE_KEY = ? AND WINDOW_START >= ?";
+        this.updateSql = "UPDATE " + tableName + " SET FAILURE_COUNT = FAILURE_COUNT + ? WHERE THROTTLE_KEY = ? AND WINDOW_START = ?";
+        this.insertSql = "INSERT INTO " + tableName + " (FAILURE_COUNT, THROTTLE_KEY, WINDOW_START) VALUES (?, ?, ?)";
+        this.deleteSql = "DELETE FROM " + tableName + " WHERE WINDOW_START < ?";
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + this.tableName + " WHERE 1 = 0", Integer.class);
+        } catch (final BadSqlGrammarException e) {
+            LOGGER.info("Creating table [{}] to track failed submissions", this.tableName);
+            this.jdbcTemplate.execute("CREATE TABLE " + this.tableName + " (THROTTLE_KEY VARCHAR(" + KEY_DIGEST_LENGTH + ") NOT NULL, "
+                + "WINDOW_START BIGINT NOT NULL, FAILURE_COUNT INTEGER NOT NULL, PRIMARY KEY (THROTTLE_KEY, WINDOW_START))");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key) {
+        if (this.windowInMillis <= 0) {
+            return false;
+        }
+        val now = System.currentTimeMillis();
+        val windowStart = getWindowStart(now);
+        val digest = DigestUtils.sha256(key);
+        val counters = getCounters(digest, windowStart);
+        val pending = this.pendingFailures.getOrDefault(new CounterKey(digest, windowStart), 0);
+        val previousWeight = 1 - (double) (now - windowStart) / this.windowInMillis;
+        val failures = counters.getPrevious() * previousWeight + counters.getCurrent() + pending;
+        LOGGER.trace("Estimated [{}] failed submission(s) for [{}] in the last [{}] ms", failures, key, this.windowInMillis);
+        return failures >= this.failureThreshold;
+    }
+
+    @Override
+    public void recordSubmissionFailure(final String key) {
+        if (this.windowInMillis <= 0) {
+            return;
+        }
+        val windowStart = getWindowStart(System.currentTimeMillis());
+        this.pendingFailures.merge(new CounterKey(DigestUtils.sha256(key), windowStart), 1, Integer::sum);
+        if (this.pendingFailures.size() >= this.batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Flushes pending failures and removes counters of windows that no longer apply.
+     */
+    @Override
+    public void release() {
+        flush();
+        if (this.windowInMillis > 0) {
+            val cutOff = getWindowStart(System.currentTimeMillis()) - this.windowInMillis;
+            val count = this.jdbcTemplate.update(this.deleteSql, cutOff);
+            LOGGER.debug("Removed [{}] counter(s) of failed submissions in windows before [{}]", count, cutOff);
+        }
+    }
+
+    /**
+     * Add the pending failures to the counters in the database.
+     * The flush is skipped if another thread is already flushing.
+     * The batch is written in a single transaction; if it cannot be written, the transaction is rolled back
+     * so that no counter is incremented twice, counters are written one at a time and
+     * those that still fail are kept pending for the next flush.
+     */
+    public void flush() {
+        if (!this.flushLock.tryLock()) {
+            return;
+        }
+        try {
+            val batch = new ArrayList<Object[]>(this.pendingFailures.size());
+            for (val counterKey : this.pendingFailures.keySet()) {
+                val count = this.pendingFailures.remove(counterKey);
+                if (count != null) {
+                    batch.add(new Object[]{count, counterKey.getKey(), counterKey.getWindowStart()});
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                this.transactionTemplate.execute(status -> writeCounters(batch));
+            } catch (final DataAccessException e) {
+                LOGGER.warn("Unable to flush [{}] counter(s) of failed submissions to [{}] in a batch: [{}]; writing counters one at a time",
+                    batch.size(), this.tableName, e.getMessage());
+                batch.forEach(this::writeCounter);
+            }
+            if (this.nearCache != null) {
+                batch.forEach(row -> this.nearCache.invalidate(row[1]));
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private int writeCounters(final List<Object[]> batch) {
+        val results = this.jdbcTemplate.batchUpdate(this.updateSql, batch);
+        val inserts = new ArrayList<Object[]>();
+        for (var i = 0; i < results.length; i++) {
+            if (results[i] == 0) {
+                inserts.add(batch.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(this.insertSql, inserts);
+        }
+        LOGGER.debug("Flushed [{}] counter(s) of failed submissions, of which [{}] are new", batch.size(), inserts.size());
+        return inserts.size();
+    }
+
+    private void writeCounter(final Object[] row) {
+        try {
+            if (this.jdbcTemplate.update(this.updateSql, row) == 0) {
+                try {
+                    this.jdbcTemplate.update(this.insertSql, row);
+                } catch (final DuplicateKeyException e) {
+                    this.jdbcTemplate.update(this.updateSql, row);
+                }
+            }
+        } catch (final DataAccessException e) {
+            LOGGER.error("Unable to flush failed submissions to [{}]: [{}]; keeping them for the next flush", this.tableName, e.getMessage());
+            this.pendingFailures.merge(new CounterKey((String) row[1], (Long) row[2]), (Integer) row[0], Integer::sum);
+        }
+    }
+
+    private long getWindowStart(final long time) {
+        return time - time % this.windowInMillis;
+    }
+
+    private WindowCounters getCounters(final String key, final long windowStart) {
+        if (this.nearCache != null) {
+            val cached = this.nearCache.getIfPresent(key);
+            if (cached != null && cached.getWindowStart() == windowStart) {
+                return cached;
+            }
+        }
+        val counters = new WindowCounters(windowStart);
+        this.jdbcTemplate.query(this.selectSql, new Object[]{key, windowStart - this.windowInMillis}, resultSet -> {
+            if (resultSet.getLong(1) == windowStart) {
+                counters.setCurrent(resultSet.getInt(2));
+            } else {
+                counters.setPrevious(resultSet.getInt(2));
+            }
+        });
+        if (this.nearCache != null) {
+            this.nearCache.put(key, counters);
+        }
+        return counters;
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    @EqualsAndHashCode
+    private static class CounterKey {
+        private final String key;
+
+        private final long windowStart;
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    @Setter
+    private static class WindowCounters {
+        private final long windowStart;
+
+        private int previous;
+
+        private int current;
+    }
+}
@@ -0,0 +1,114 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.configuration.model.support.throttle.ThrottleProperties;
+import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.util.DigestUtils;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JdbcThrottledSubmissionFailureStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class JdbcThrottledSubmissionFailureStoreTests {
+    private static final String TABLE_NAME = "CAS_THROTTLE_COUNTERS";
+
+    private DataSource dataSource;
+
+    @Before
+    public void initialize() {
+        this.dataSource = JpaBeans.newDataSource(new ThrottleProperties.Jdbc());
+        new JdbcThrottledSubmissionFailureStore(dataSource, TABLE_NAME, 1, 1, 1, Duration.ZERO, 1).afterPropertiesSet();
+        new JdbcTemplate(dataSource).update("DELETE FROM " + TABLE_NAME);
+    }
+
+    @Test
+    public void verifyFailuresAreAggregatedAndFlushed() {
+        val store = new JdbcThrottledSubmissionFailureStore(dataSource, TABLE_NAME, 3, 60, 100, Duration.ZERO, 1);
+        store.afterPropertiesSet();
+        store.recordSubmissionFailure("1.2.3.4;casuser");
+        store.recordSubmissionFailure("1.2.3.4;casuser");
+        assertFalse(store.exceedsThreshold("1.2.3.4;casuser"));
+        store.recordSubmissionFailure("1.2.3.4;casuser");
+        assertTrue(store.exceedsThreshold("1.2.3.4;casuser"));
+
+        val jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE_NAME, Integer.class));
+        store.flush();
+        assertEquals(Integer.valueOf(3), jdbcTemplate.queryForObject("SELECT SUM(FAILURE_COUNT) FROM " + TABLE_NAME, Integer.class));
+        assertTrue(store.exceedsThreshold("1.2.3.4;casuser"));
+        assertFalse(store.exceedsThreshold("1.2.3.4;other"));
+
+        store.recordSubmissionFailure("1.2.3.4;casuser");
+        store.flush();
+        assertEquals(Integer.valueOf(4), jdbcTemplate.queryForObject("SELECT SUM(FAILURE_COUNT) FROM " + TABLE_NAME, Integer.class));
+    }
+
+    @Test
+    public void verifyCountersAreSharedBetweenStores() {
+        val first = new JdbcThrottledSubmissionFailureStore(dataSource, TABLE_NAME, 2, 60, 1, Duration.ZERO, 1);
+        val second = new JdbcThrottledSubmissionFailureStore(dataSource, TABLE_NAME, 2, 60, 1, Duration.ofMinutes(1), 10);
+        first.recordSubmissionFailure("1.2.3.4;casuser");
+        assertFalse(second.exceedsThreshold("1.2.3.4;casuser"));
+        second.recordSubmissionFailure("1.2.3.4;casuser");
+        assertTrue(first.exceedsThreshold("1.2.3.4;casuser"));
+        assertTrue(second.exceedsThreshold("1.2.3.4;casuser"));
+    }
+
+    @Test
+    public void verifyLongKeysAreStoredAsDigests() {
+        val store = new JdbcThrottledSubmissionFailureStore(dataSource, TABLE_NAME, 2, 60, 100, Duration.ZERO, 1);
+        val key = "1.2.3.4;" + StringUtils.repeat('u', 1024);
+        store.recordSubmissionFailure(key);
+        store.recordSubmissionFailure(key);
+        store.flush();
+        val jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(Integer.valueOf(2), jdbcTemplate.queryForObject("SELECT SUM(FAILURE_COUNT) FROM " + TABLE_NAME, Integer.class));
+        assertEquals(DigestUtils.sha256(key), jdbcTemplate.queryForObject("SELECT THROTTLE_KEY FROM " + TABLE_NAME, String.class));
+        assertTrue(store.exceedsThreshold(key));
+    }
+
+    @Test
+    public void verifyPartiallyFailedFlushCountsFailuresOnce() {
+        val store = new JdbcThrottledSubmissionFailureStore(dataSource, TABLE_NAME, 100, 60, 100, Duration.ZERO, 1);
+        val jdbcTemplate = new JdbcTemplate(dataSource);
+        store.recordSubmissionFailure("1.2.3.4;casuser");
+        store.flush();
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " ADD CONSTRAINT CHECK_FAILURE_COUNT CHECK (FAILURE_COUNT < 10)");
+
+        store.recordSubmissionFailure("1.2.3.4;casuser");
+        IntStream.range(0, 10).forEach(i -> store.recordSubmissionFailure("1.2.3.4;other"));
+        store.flush();
+        assertEquals(Integer.valueOf(2), jdbcTemplate.queryForObject("SELECT SUM(FAILURE_COUNT) FROM " + TABLE_NAME, Integer.class));
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " DROP CONSTRAINT CHECK_FAILURE_COUNT");
+        store.flush();
+        assertEquals(Integer.valueOf(12), jdbcTemplate.queryForObject("SELECT SUM(FAILURE_COUNT) FROM " + TABLE_NAME, Integer.class));
+    }
+
+    @Test
+    public void verifyFailedFlushKeepsPendingFailures() {
+        val store = new JdbcThrottledSubmissionFailureStore(dataSource, TABLE_NAME, 2, 60, 100, Duration.ZERO, 1);
+        val jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE " + TABLE_NAME);
+        store.recordSubmissionFailure("1.2.3.4;casuser");
+        store.recordSubmissionFailure("1.2.3.4;other");
+        store.flush();
+
+        store.afterPropertiesSet();
+        store.flush();
+        assertEquals(Integer.valueOf(2), jdbcTemplate.queryForObject("SELECT SUM(FAILURE_COUNT) FROM " + TABLE_NAME, Integer.class));
+    }
+}
@@ -7,10 +7,13 @@ import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlanConfigurer;
 import org.apereo.cas.throttle.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.throttle.DefaultThrottledRequestResponseHandler;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.ConcurrentMapThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
 import org.apereo.cas.web.support.NoOpThrottledSubmissionHandlerInterceptor;
+import org.apereo.cas.web.support.SlidingWindowThrottledSubmissionFailureStore;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -28,9 +31,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 
-import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -49,6 +50,10 @@ public class CasThrottlingConfiguration {
     @Qualifier("auditTrailExecutionPlan")
     private ObjectProvider<AuditTrailExecutionPlan> auditTrailExecutionPlan;
 
+    @Autowired
+    @Qualifier("throttleSubmissionMap")
+    private ObjectProvider<ConcurrentMap> throttleSubmissionMap;
+
     @Autowired
     private CasConfigurationProperties casProperties;
 
@@ -61,11 +66,18 @@ public class CasThrottlingConfiguration {
     }
 
     @RefreshScope
-    @ConditionalOnMissingBean(name = "throttleSubmissionMap")
+    @ConditionalOnMissingBean(name = "throttledSubmissionFailureStore")
     @Bean
     @Lazy
-    public ConcurrentMap throttleSubmissionMap() {
-        return new ConcurrentHashMap<String, ZonedDateTime>();
+    public ThrottledSubmissionFailureStore throttledSubmissionFailureStore() {
+        val failure = casProperties.getAuthn().getThrottle().getFailure();
+        val map = throttleSubmissionMap.getIfAvailable();
+        if (map != null) {
+            LOGGER.debug("Recording failed submissions in the throttle submission map [{}]", map.getClass().getSimpleName());
+            return new ConcurrentMapThrottledSubmissionFailureStore(map, failure.getThreshold(), failure.getRangeSeconds());
+        }
+        LOGGER.debug("Recording failed submissions in memory for up to [{}] keys", failure.getCapacity());
+        return new SlidingWindowThrottledSubmissionFailureStore(failure.getCapacity(), failure.getThreshold(), failure.getRangeSeconds());
     }
 
     @RefreshScope
@@ -90,7 +102,7 @@ public class CasThrottlingConfiguration {
                 auditTrailExecutionPlan.getIfAvailable(),
                 throttle.getAppcode(),
                 throttledRequestResponseHandler(),
-                throttleSubmissionMap());
+                throttledSubmissionFailureStore());
         }
         LOGGER.debug("Activating authentication throttling based on IP address...");
         return new InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(
@@ -101,7 +113,7 @@ public class CasThrottlingConfiguration {
             auditTrailExecutionPlan.getIfAvailable(),
             throttle.getAppcode(),
             throttledRequestResponseHandler(),
-            throttleSubmissionMap());
+            throttledSubmissionFailureStore());
     }
 
     @Autowired
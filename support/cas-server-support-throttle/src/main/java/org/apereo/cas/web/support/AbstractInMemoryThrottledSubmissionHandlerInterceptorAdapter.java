@@ -3,13 +3,12 @@ package org.apereo.cas.web.support;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
@@ -22,9 +21,14 @@ import java.util.concurrent.ConcurrentMap;
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
     implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+    /**
+     * Name of the counter that tracks throttled submissions.
+     */
+    public static final String METRIC_NAME_THROTTLED_SUBMISSIONS = "cas.authn.throttle.throttled";
+
+    private final ThrottledSubmissionFailureStore failureStore;
 
-    private final ConcurrentMap<String, ZonedDateTime> ipMap;
+    private final Counter throttledSubmissionsCounter;
 
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
                                                                         final int failureRangeInSeconds,
@@ -33,34 +37,29 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
                                                                         final AuditTrailExecutionPlan auditTrailExecutionPlan,
                                                                         final String applicationCode,
                                                                         final ThrottledRequestResponseHandler throttledRequestResponseHandler,
-                                                                        final ConcurrentMap map) {
+                                                                        final ThrottledSubmissionFailureStore failureStore) {
         super(failureThreshold, failureRangeInSeconds, usernameParameter,
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode, throttledRequestResponseHandler);
-        this.ipMap = map;
-    }
-
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
+        this.failureStore = failureStore;
+        this.throttledSubmissionsCounter = Metrics.counter(METRIC_NAME_THROTTLED_SUBMISSIONS, "throttle", getClass().getSimpleName());
     }
 
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
-        val last = this.ipMap.get(constructKey(request));
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        return this.failureStore.exceedsThreshold(constructKey(request));
     }
 
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
         val key = constructKey(request);
         LOGGER.debug("Recording submission failure [{}]", key);
-        this.ipMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+        this.failureStore.recordSubmissionFailure(key);
+    }
+
+    @Override
+    protected void recordThrottle(final HttpServletRequest request) {
+        super.recordThrottle(request);
+        this.throttledSubmissionsCounter.increment();
     }
 
     /**
@@ -70,8 +69,7 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     @Override
     public void decrement() {
         LOGGER.info("Beginning audit cleanup...");
-        val now = ZonedDateTime.now(ZoneOffset.UTC);
-        this.ipMap.entrySet().removeIf(entry -> submissionRate(now, entry.getValue()) < getThresholdRate());
+        this.failureStore.release();
         LOGGER.debug("Done decrementing count for throttler.");
     }
 }
@@ -0,0 +1,59 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is {@link ConcurrentMapThrottledSubmissionFailureStore}, which remembers the time of the last
+ * failed submission per key and computes the instantaneous submission rate against it.
+ * The map may be supplied by a distributed cache in order to share records between nodes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class ConcurrentMapThrottledSubmissionFailureStore implements ThrottledSubmissionFailureStore {
+
+    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+
+    private final ConcurrentMap<String, ZonedDateTime> submissions;
+
+    private final double thresholdRate;
+
+    public ConcurrentMapThrottledSubmissionFailureStore(final ConcurrentMap submissions,
+                                                        final int failureThreshold,
+                                                        final int failureRangeInSeconds) {
+        this.submissions = submissions;
+        this.thresholdRate = (double) failureThreshold / failureRangeInSeconds;
+    }
+
+    /**
+     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
+     *
+     * @param a First date.
+     * @param b Second date.
+     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
+     */
+    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
+        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key) {
+        val last = this.submissions.get(key);
+        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > this.thresholdRate;
+    }
+
+    @Override
+    public void recordSubmissionFailure(final String key) {
+        this.submissions.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Override
+    public void release() {
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        this.submissions.entrySet().removeIf(entry -> submissionRate(now, entry.getValue()) < this.thresholdRate);
+    }
+}
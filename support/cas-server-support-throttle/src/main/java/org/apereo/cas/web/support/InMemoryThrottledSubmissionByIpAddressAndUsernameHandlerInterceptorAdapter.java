@@ -8,7 +8,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * Attempts to throttle by both IP Address and username.  Protects against instances where there is a NAT, such as
@@ -27,14 +26,20 @@ public class InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
                                                                                       final AuditTrailExecutionPlan auditTrailExecutionPlan,
                                                                                       final String applicationCode,
                                                                                       final ThrottledRequestResponseHandler throttledRequestResponseHandler,
-                                                                                      final ConcurrentMap map) {
+                                                                                      final ThrottledSubmissionFailureStore failureStore) {
         super(failureThreshold, failureRangeInSeconds, usernameParameter,
-            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, throttledRequestResponseHandler, map);
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, throttledRequestResponseHandler, failureStore);
     }
 
-    @Override
-    public String constructKey(final HttpServletRequest request) {
-        val username = request.getParameter(getUsernameParameter());
+    /**
+     * Construct the throttling key from the client ip address and the username found in the request.
+     *
+     * @param request           the request
+     * @param usernameParameter the username parameter
+     * @return the key
+     */
+    public static String constructKey(final HttpServletRequest request, final String usernameParameter) {
+        val username = request.getParameter(StringUtils.defaultString(usernameParameter, "username"));
 
         if (StringUtils.isBlank(username)) {
             return request.getRemoteAddr();
@@ -43,6 +48,11 @@ public class InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
         return ClientInfoHolder.getClientInfo().getClientIpAddress() + ';' + username.toLowerCase();
     }
 
+    @Override
+    public String constructKey(final HttpServletRequest request) {
+        return constructKey(request, getUsernameParameter());
+    }
+
 
     @Override
     public String getName() {
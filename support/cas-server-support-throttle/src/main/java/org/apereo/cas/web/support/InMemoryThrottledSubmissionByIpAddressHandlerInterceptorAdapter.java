@@ -6,7 +6,6 @@ import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * Throttles access attempts for failed logins by IP Address. This stores the attempts in memory.
@@ -24,10 +23,10 @@ public class InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter ext
                                                                            final AuditTrailExecutionPlan auditTrailExecutionPlan,
                                                                            final String applicationCode,
                                                                            final ThrottledRequestResponseHandler throttledRequestResponseHandler,
-                                                                           final ConcurrentMap map) {
+                                                                           final ThrottledSubmissionFailureStore failureStore) {
         super(failureThreshold, failureRangeInSeconds, usernameParameter,
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode,
-            throttledRequestResponseHandler, map);
+            throttledRequestResponseHandler, failureStore);
     }
 
     @Override
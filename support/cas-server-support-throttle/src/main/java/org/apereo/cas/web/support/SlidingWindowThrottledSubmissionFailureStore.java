@@ -0,0 +1,229 @@
+package org.apereo.cas.web.support;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionFailureStore}, which records failed submissions
+ * in a fixed-size table of slots, addressed by a hash of the key.
+ * Each slot is created when its key first fails, and holds the fingerprint of its key along with a ring buffer
+ * of the times of the last {@code failureThreshold} failures, so a key exceeds the threshold once the oldest of
+ * those failures falls within the sliding window of {@code failureRangeInSeconds}.
+ * Slots are claimed, evicted and released by atomically swapping the slot held by the table, so a slot is never
+ * reused by another key; when a key cannot find a free slot among its neighbors, the slot whose last failure is
+ * the oldest is evicted. Memory consumption remains bounded by the configured capacity and the number of failures
+ * tracked per key, regardless of the number of keys submitted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class SlidingWindowThrottledSubmissionFailureStore implements ThrottledSubmissionFailureStore {
+    private static final int MAX_PROBES = 8;
+
+    private static final int MAX_CAPACITY = 1 << 20;
+
+    private static final int MAX_WINDOW_SIZE = 1024;
+
+    private static final int HASH_SHIFT = 32;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    @Getter
+    private final int capacity;
+
+    private final int windowSize;
+
+    private final long windowInMillis;
+
+    private final int probes;
+
+    private final AtomicReferenceArray<Slot> table;
+
+    public SlidingWindowThrottledSubmissionFailureStore(final int capacity, final int failureThreshold, final int failureRangeInSeconds) {
+        if (failureThreshold > MAX_WINDOW_SIZE) {
+            LOGGER.warn("Failure threshold [{}] is reduced to [{}] to limit the memory required to track failures per key",
+                failureThreshold, MAX_WINDOW_SIZE);
+        }
+        this.windowSize = Math.min(Math.max(1, failureThreshold), MAX_WINDOW_SIZE);
+        this.windowInMillis = TimeUnit.SECONDS.toMillis(Math.max(0, failureRangeInSeconds));
+
+        if (capacity > MAX_CAPACITY) {
+            LOGGER.warn("Capacity [{}] is reduced to [{}] to limit the memory required to track keys", capacity, MAX_CAPACITY);
+        }
+        val boundedCapacity = Math.min(Math.max(capacity, 1), MAX_CAPACITY);
+        this.capacity = boundedCapacity == 1 ? 1 : Integer.highestOneBit(boundedCapacity - 1) << 1;
+        this.probes = Math.min(MAX_PROBES, this.capacity);
+        this.table = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    private static long fingerprint(final String key) {
+        var hash = FNV_OFFSET_BASIS;
+        for (var i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key) {
+        val slot = findSlot(fingerprint(key));
+        return slot != null && isWithinWindow(slot.getOldestFailure(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void recordSubmissionFailure(final String key) {
+        val fingerprint = fingerprint(key);
+        while (true) {
+            val index = claimSlot(fingerprint);
+            val slot = this.table.get(index);
+            if (slot != null && slot.getFingerprint() == fingerprint) {
+                slot.record(System.currentTimeMillis());
+                if (this.table.get(index) == slot) {
+                    return;
+                }
+                LOGGER.trace("Slot [{}] was released while recording a failure; recording the failure again", index);
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        val now = System.currentTimeMillis();
+        var released = 0;
+        for (var index = 0; index < this.capacity; index++) {
+            val slot = this.table.get(index);
+            if (slot != null && !isWithinWindow(slot.getLastFailure(), now) && this.table.compareAndSet(index, slot, null)) {
+                released++;
+            }
+        }
+        LOGGER.debug("Released [{}] key(s) with no failed submissions in the last [{}] ms", released, this.windowInMillis);
+    }
+
+    /**
+     * Count the failed submissions recorded for the key within the sliding window.
+     * The count never exceeds the failure threshold.
+     *
+     * @param key the key
+     * @return the failure count
+     */
+    public int getFailureCount(final String key) {
+        val slot = findSlot(fingerprint(key));
+        if (slot == null) {
+            return 0;
+        }
+        val now = System.currentTimeMillis();
+        var count = 0;
+        for (var i = 0; i < this.windowSize; i++) {
+            if (isWithinWindow(slot.getFailures().get(i), now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Number of keys currently tracked.
+     *
+     * @return the size
+     */
+    public int size() {
+        var size = 0;
+        for (var index = 0; index < this.capacity; index++) {
+            if (this.table.get(index) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private boolean isWithinWindow(final long failureTime, final long now) {
+        return failureTime > 0 && now - failureTime < this.windowInMillis;
+    }
+
+    private int indexOf(final long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> HASH_SHIFT)) & (this.capacity - 1);
+    }
+
+    private Slot findSlot(final long fingerprint) {
+        val start = indexOf(fingerprint);
+        for (var i = 0; i < this.probes; i++) {
+            val slot = this.table.get((start + i) & (this.capacity - 1));
+            if (slot != null && slot.getFingerprint() == fingerprint) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private int claimSlot(final long fingerprint) {
+        val start = indexOf(fingerprint);
+        while (true) {
+            var victim = start;
+            Slot victimSlot = null;
+            var victimLastFailure = Long.MAX_VALUE;
+            for (var i = 0; i < this.probes; i++) {
+                val index = (start + i) & (this.capacity - 1);
+                val current = this.table.get(index);
+                if (current != null && current.getFingerprint() == fingerprint) {
+                    return index;
+                }
+                val lastFailure = current == null ? 0 : current.getLastFailure();
+                if (lastFailure < victimLastFailure) {
+                    victim = index;
+                    victimSlot = current;
+                    victimLastFailure = lastFailure;
+                }
+            }
+            if (this.table.compareAndSet(victim, victimSlot, new Slot(fingerprint, this.windowSize))) {
+                if (victimSlot != null) {
+                    LOGGER.trace("Evicted submission failures recorded at slot [{}] last updated at [{}]", victim, victimLastFailure);
+                }
+                return victim;
+            }
+        }
+    }
+
+    /**
+     * Failures recorded for a single key.
+     */
+    @Getter
+    private static class Slot {
+        private final long fingerprint;
+
+        private final AtomicLong cursor = new AtomicLong();
+
+        private final AtomicLongArray failures;
+
+        Slot(final long fingerprint, final int windowSize) {
+            this.fingerprint = fingerprint;
+            this.failures = new AtomicLongArray(windowSize);
+        }
+
+        void record(final long failureTime) {
+            val position = this.cursor.getAndIncrement();
+            this.failures.set((int) (position % this.failures.length()), failureTime);
+        }
+
+        long getOldestFailure() {
+            return this.failures.get((int) (this.cursor.get() % this.failures.length()));
+        }
+
+        long getLastFailure() {
+            val position = this.cursor.get();
+            if (position == 0) {
+                return 0;
+            }
+            return this.failures.get((int) ((position - 1) % this.failures.length()));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.apereo.cas.web.support;
+
+/**
+ * This is {@link ThrottledSubmissionFailureStore}, which keeps track of
+ * failed submissions recorded by in-memory throttling interceptors.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface ThrottledSubmissionFailureStore {
+
+    /**
+     * Determine whether failed submissions recorded for the key exceed the failure threshold.
+     *
+     * @param key the key
+     * @return true if submissions should be throttled
+     */
+    boolean exceedsThreshold(String key);
+
+    /**
+     * Record a failed submission for the key.
+     *
+     * @param key the key
+     */
+    void recordSubmissionFailure(String key);
+
+    /**
+     * Release records of keys whose failed submissions no longer apply.
+     */
+    void release();
+}
@@ -0,0 +1,80 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionFailureStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class SlidingWindowThrottledSubmissionFailureStoreTests {
+
+    @Test
+    public void verifyThresholdIsExceededWithinWindow() {
+        val store = new SlidingWindowThrottledSubmissionFailureStore(100, 3, 60);
+        store.recordSubmissionFailure("1.2.3.4");
+        store.recordSubmissionFailure("1.2.3.4");
+        assertFalse(store.exceedsThreshold("1.2.3.4"));
+        assertEquals(2, store.getFailureCount("1.2.3.4"));
+
+        store.recordSubmissionFailure("1.2.3.4");
+        assertTrue(store.exceedsThreshold("1.2.3.4"));
+        assertEquals(3, store.getFailureCount("1.2.3.4"));
+        assertFalse(store.exceedsThreshold("5.6.7.8"));
+        assertEquals(0, store.getFailureCount("5.6.7.8"));
+    }
+
+    @Test
+    public void verifyFailuresOutsideWindowAreReleased() throws Exception {
+        val store = new SlidingWindowThrottledSubmissionFailureStore(100, 1, 1);
+        store.recordSubmissionFailure("1.2.3.4");
+        assertTrue(store.exceedsThreshold("1.2.3.4"));
+        assertEquals(1, store.size());
+
+        Thread.sleep(1100);
+        assertFalse(store.exceedsThreshold("1.2.3.4"));
+        store.release();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void verifyCapacityIsBounded() {
+        val store = new SlidingWindowThrottledSubmissionFailureStore(10, 2, 60);
+        assertEquals(16, store.getCapacity());
+        IntStream.range(0, 1000).forEach(i -> store.recordSubmissionFailure("10.0.0." + i));
+        assertEquals(16, store.size());
+
+        store.recordSubmissionFailure("1.2.3.4");
+        store.recordSubmissionFailure("1.2.3.4");
+        assertTrue(store.exceedsThreshold("1.2.3.4"));
+    }
+
+    @Test
+    public void verifySlotsAreAllocatedOnDemand() {
+        val store = new SlidingWindowThrottledSubmissionFailureStore(Integer.MAX_VALUE, Integer.MAX_VALUE, 60);
+        assertEquals(1 << 20, store.getCapacity());
+        assertEquals(0, store.size());
+        IntStream.range(0, 1024).forEach(i -> store.recordSubmissionFailure("1.2.3.4"));
+        assertTrue(store.exceedsThreshold("1.2.3.4"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void verifyReleaseKeepsFailuresRecordedConcurrently() throws Exception {
+        val store = new SlidingWindowThrottledSubmissionFailureStore(16, 2, 60);
+        val releases = new Thread(() -> IntStream.range(0, 10_000).forEach(i -> store.release()));
+        releases.start();
+        IntStream.range(0, 1000).forEach(i -> {
+            store.recordSubmissionFailure("10.0.0." + i);
+            store.recordSubmissionFailure("10.0.0." + i);
+            assertTrue(store.exceedsThreshold("10.0.0." + i));
+        });
+        releases.join();
+    }
+}
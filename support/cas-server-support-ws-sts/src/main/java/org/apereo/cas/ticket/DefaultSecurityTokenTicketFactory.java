@@ -29,7 +29,7 @@ public class DefaultSecurityTokenTicketFactory implements SecurityTokenTicketFac
         val token = EncodingUtils.encodeBase64(SerializationUtils.serialize(securityToken));
         val id = ticketUniqueTicketIdGenerator.getNewTicketId(SecurityTokenTicket.PREFIX);
         val stt = new DefaultSecurityTokenTicket(id, ticket, this.expirationPolicy, token);
-        ticket.getDescendantTickets().add(stt.getId());
+        ticket.trackDescendantTicket(stt);
         return stt;
     }
 }
@@ -0,0 +1,343 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.DERIA5String;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link CRLStore}, which keeps CRLs parsed and indexed as {@link IndexedX509CRL} instances, so that
+ * revocation checks neither fetch nor parse a CRL once it is in the store. CRLs are fetched at most once at a time
+ * per location through the {@link CRLFetcher}, along with the delta CRLs named in their FreshestCRL extension,
+ * and are refreshed in the background ahead of their next update. If a refresh fails, the CRL that is
+ * in the store is kept and the refresh is retried. CRLs that have not been asked for within the idle timeout
+ * are discarded at their next refresh, and the least recently asked for CRLs are discarded
+ * when the store holds more than the maximum number of entries.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class CRLStore implements DisposableBean {
+    private static final Duration MINIMUM_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final CRLFetcher fetcher;
+
+    private final Duration refreshAhead;
+
+    private final Duration maximumRefreshInterval;
+
+    private final Duration idleTimeout;
+
+    private final long maximumEntries;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Object, StoredCRL> crls = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final ScheduledExecutorService scheduler;
+
+    public CRLStore(final CRLFetcher fetcher, final Duration refreshAhead, final Duration maximumRefreshInterval,
+                    final Duration idleTimeout, final long maximumEntries) {
+        this.fetcher = fetcher;
+        this.refreshAhead = refreshAhead;
+        this.maximumRefreshInterval = maximumRefreshInterval;
+        this.idleTimeout = idleTimeout;
+        this.maximumEntries = maximumEntries;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            val thread = new Thread(runnable, getClass().getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static BigInteger getCRLNumber(final X509CRL crl, final String oid) throws Exception {
+        val extension = crl.getExtensionValue(oid);
+        if (extension == null) {
+            return null;
+        }
+        return ASN1Integer.getInstance(ASN1Primitive.fromByteArray(ASN1OctetString.getInstance(extension).getOctets())).getValue();
+    }
+
+    private static List<URI> getFreshestCRLLocations(final X509CRL crl) throws Exception {
+        val locations = new ArrayList<URI>();
+        val extension = crl.getExtensionValue(Extension.freshestCRL.getId());
+        if (extension == null) {
+            return locations;
+        }
+        val points = CRLDistPoint.getInstance(ASN1Primitive.fromByteArray(ASN1OctetString.getInstance(extension).getOctets()));
+        for (val point : points.getDistributionPoints()) {
+            val pointName = point.getDistributionPoint();
+            if (pointName != null && pointName.getType() == DistributionPointName.FULL_NAME) {
+                for (val name : GeneralNames.getInstance(pointName.getName()).getNames()) {
+                    if (name.getTagNo() == GeneralName.uniformResourceIdentifier) {
+                        locations.add(new URI(DERIA5String.getInstance(name.getName()).getString()));
+                    }
+                }
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Gets the CRL held under the given key, which is either a location or a resource the store can fetch from,
+     * fetching it if it is not in the store yet.
+     *
+     * @param key the key
+     * @return the CRL, or null if none could be fetched
+     * @throws Exception if the CRL cannot be fetched
+     */
+    public X509CRL get(final Object key) throws Exception {
+        val stored = this.crls.computeIfAbsent(key, k -> new StoredCRL(k, getLoader(k)));
+        stored.lastAccessed = System.currentTimeMillis();
+        val crl = stored.crl;
+        if (crl != null) {
+            return crl;
+        }
+        synchronized (stored) {
+            if (stored.crl == null) {
+                try {
+                    stored.crl = load(stored);
+                } catch (final Exception e) {
+                    this.crls.remove(key, stored);
+                    throw e;
+                }
+                if (stored.crl == null) {
+                    this.crls.remove(key, stored);
+                    return null;
+                }
+                schedule(stored);
+            }
+        }
+        enforceMaximumEntries();
+        return stored.crl;
+    }
+
+    /**
+     * Put the CRL in the store under the given key, replacing the CRL held there.
+     * The CRL is not refreshed unless the key is a location or a resource the store can fetch from.
+     *
+     * @param key the key
+     * @param crl the CRL, or null to remove the key from the store
+     */
+    public void put(final Object key, final X509CRL crl) {
+        if (crl == null) {
+            remove(key);
+            return;
+        }
+        val stored = this.crls.computeIfAbsent(key, k -> new StoredCRL(k, getLoader(k)));
+        stored.crl = crl instanceof IndexedX509CRL ? (IndexedX509CRL) crl : new IndexedX509CRL(crl, new ArrayList<>(0));
+        stored.lastAccessed = System.currentTimeMillis();
+        schedule(stored);
+        enforceMaximumEntries();
+    }
+
+    /**
+     * Remove the CRL held under the given key.
+     *
+     * @param key the key
+     * @return true if the store held a CRL for the key
+     */
+    public boolean remove(final Object key) {
+        val stored = this.crls.remove(key);
+        if (stored == null) {
+            return false;
+        }
+        stored.cancel();
+        return true;
+    }
+
+    /**
+     * Gets the number of CRLs in the store.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.crls.size();
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+        this.crls.clear();
+    }
+
+    private CRLLoader getLoader(final Object key) {
+        if (key instanceof URI) {
+            return () -> this.fetcher.fetch((URI) key);
+        }
+        if (key instanceof Resource) {
+            return () -> this.fetcher.fetch((Resource) key);
+        }
+        return null;
+    }
+
+    private IndexedX509CRL load(final StoredCRL stored) throws Exception {
+        if (stored.loader == null) {
+            return stored.crl;
+        }
+        LOGGER.debug("Fetching CRL from [{}]", stored.key);
+        val crl = stored.loader.load();
+        if (crl == null) {
+            LOGGER.warn("Could not fetch CRL from [{}]", stored.key);
+            return null;
+        }
+        return new IndexedX509CRL(crl, fetchDeltaCRLs(crl));
+    }
+
+    private List<X509CRL> fetchDeltaCRLs(final X509CRL crl) {
+        val deltas = new ArrayList<X509CRL>();
+        try {
+            val crlNumber = getCRLNumber(crl, Extension.cRLNumber.getId());
+            for (val location : getFreshestCRLLocations(crl)) {
+                try {
+                    val delta = this.fetcher.fetch(location);
+                    val baseCrlNumber = delta == null ? null : getCRLNumber(delta, Extension.deltaCRLIndicator.getId());
+                    if (baseCrlNumber == null || !delta.getIssuerX500Principal().equals(crl.getIssuerX500Principal())
+                        || crlNumber != null && baseCrlNumber.compareTo(crlNumber) > 0) {
+                        LOGGER.warn("CRL fetched from [{}] is not a delta CRL issued against the CRL of [{}]", location, crl.getIssuerX500Principal());
+                    } else {
+                        LOGGER.debug("Fetched delta CRL from [{}]", location);
+                        deltas.add(delta);
+                    }
+                } catch (final Exception e) {
+                    LOGGER.warn("Could not fetch delta CRL from [{}]: [{}]", location, e.getMessage());
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Could not read the FreshestCRL extension of the CRL of [{}]: [{}]", crl.getIssuerX500Principal(), e.getMessage());
+        }
+        return deltas;
+    }
+
+    private void refresh(final StoredCRL stored) {
+        if (this.crls.get(stored.key) != stored) {
+            return;
+        }
+        if (isIdle(stored)) {
+            LOGGER.debug("CRL from [{}] has not been used for [{}]; discarding it", stored.key, this.idleTimeout);
+            this.crls.remove(stored.key, stored);
+            return;
+        }
+        try {
+            synchronized (stored) {
+                val crl = load(stored);
+                if (crl != null) {
+                    stored.crl = crl;
+                }
+            }
+            schedule(stored);
+        } catch (final Exception e) {
+            LOGGER.error("Could not refresh CRL from [{}]; keeping the CRL fetched earlier: [{}]", stored.key, e.getMessage(), e);
+            schedule(stored, getMinimumRefreshInterval().toMillis());
+        }
+    }
+
+    private boolean isIdle(final StoredCRL stored) {
+        return !this.idleTimeout.isZero() && !this.idleTimeout.isNegative()
+            && System.currentTimeMillis() - stored.lastAccessed > this.idleTimeout.toMillis();
+    }
+
+    private Duration getMinimumRefreshInterval() {
+        return MINIMUM_REFRESH_INTERVAL.compareTo(this.maximumRefreshInterval) < 0 ? MINIMUM_REFRESH_INTERVAL : this.maximumRefreshInterval;
+    }
+
+    private void schedule(final StoredCRL stored) {
+        var delay = this.maximumRefreshInterval.toMillis();
+        val nextUpdate = stored.crl.getEarliestNextUpdate();
+        if (nextUpdate != null) {
+            val untilNextUpdate = nextUpdate.getTime() - System.currentTimeMillis() - this.refreshAhead.toMillis();
+            delay = Math.max(getMinimumRefreshInterval().toMillis(), Math.min(delay, untilNextUpdate));
+        }
+        schedule(stored, delay);
+    }
+
+    private void schedule(final StoredCRL stored, final long delay) {
+        if (stored.loader == null || this.scheduler.isShutdown()) {
+            return;
+        }
+        stored.cancel();
+        LOGGER.trace("Refreshing CRL from [{}] in [{}] ms", stored.key, delay);
+        stored.refresh = this.scheduler.schedule(() -> refresh(stored), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void enforceMaximumEntries() {
+        val excess = this.crls.size() - this.maximumEntries;
+        if (this.maximumEntries <= 0 || excess <= 0) {
+            return;
+        }
+        val evicted = this.crls.values()
+            .stream()
+            .sorted(Comparator.comparingLong(stored -> stored.lastAccessed))
+            .limit(excess)
+            .collect(Collectors.toList());
+        evicted.forEach(stored -> {
+            if (this.crls.remove(stored.key, stored)) {
+                stored.cancel();
+                LOGGER.debug("Discarded CRL from [{}] to stay within [{}] entries", stored.key, this.maximumEntries);
+            }
+        });
+    }
+
+    /**
+     * Fetches a CRL for an entry of the store.
+     */
+    @FunctionalInterface
+    private interface CRLLoader {
+        X509CRL load() throws Exception;
+    }
+
+    /**
+     * A CRL in the store, along with how it is fetched and when it is refreshed.
+     */
+    private static class StoredCRL {
+        private final Object key;
+
+        private final CRLLoader loader;
+
+        private volatile IndexedX509CRL crl;
+
+        private volatile long lastAccessed;
+
+        private volatile ScheduledFuture<?> refresh;
+
+        StoredCRL(final Object key, final CRLLoader loader) {
+            this.key = key;
+            this.loader = loader;
+        }
+
+        void cancel() {
+            val current = this.refresh;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import lombok.Getter;
+import lombok.val;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.Principal;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.security.cert.CRLException;
+import java.security.cert.CRLReason;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link IndexedX509CRL}, which wraps a parsed CRL and indexes its revoked certificates by serial number,
+ * so that revocation lookups do not go through the entries of the CRL. Entries of delta CRLs issued against
+ * the CRL are applied on top of it in the order the deltas were issued; entries whose reason is
+ * {@link CRLReason#REMOVE_FROM_CRL} take the certificate off the index. Everything other than revocation
+ * lookups is answered by the wrapped CRL.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+public class IndexedX509CRL extends X509CRL {
+    private final X509CRL crl;
+
+    private final List<X509CRL> deltaCrls;
+
+    private final Map<BigInteger, X509CRLEntry> revokedCertificates = new HashMap<>();
+
+    public IndexedX509CRL(final X509CRL crl, final Collection<X509CRL> deltaCrls) {
+        this.crl = crl;
+        this.deltaCrls = new ArrayList<>(deltaCrls);
+        this.deltaCrls.sort(Comparator.comparing(X509CRL::getThisUpdate));
+        index(crl);
+        this.deltaCrls.forEach(this::index);
+    }
+
+    private void index(final X509CRL source) {
+        val entries = source.getRevokedCertificates();
+        if (entries == null) {
+            return;
+        }
+        for (val entry : entries) {
+            if (entry.getRevocationReason() == CRLReason.REMOVE_FROM_CRL) {
+                this.revokedCertificates.remove(entry.getSerialNumber());
+            } else {
+                this.revokedCertificates.put(entry.getSerialNumber(), entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the earliest date by which the CRL or one of its delta CRLs is due to be updated.
+     *
+     * @return the date, or null if none of them specifies one
+     */
+    public Date getEarliestNextUpdate() {
+        var earliest = this.crl.getNextUpdate();
+        for (val delta : this.deltaCrls) {
+            val nextUpdate = delta.getNextUpdate();
+            if (nextUpdate != null && (earliest == null || nextUpdate.before(earliest))) {
+                earliest = nextUpdate;
+            }
+        }
+        return earliest;
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final BigInteger serialNumber) {
+        return this.revokedCertificates.get(serialNumber);
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final X509Certificate certificate) {
+        val entry = this.revokedCertificates.get(certificate.getSerialNumber());
+        if (entry == null) {
+            return null;
+        }
+        val issuer = entry.getCertificateIssuer() != null ? entry.getCertificateIssuer() : getIssuerX500Principal();
+        return issuer.equals(certificate.getIssuerX500Principal()) ? entry : null;
+    }
+
+    @Override
+    public Set<? extends X509CRLEntry> getRevokedCertificates() {
+        return this.revokedCertificates.isEmpty() ? null : new HashSet<>(this.revokedCertificates.values());
+    }
+
+    @Override
+    public boolean isRevoked(final Certificate certificate) {
+        return certificate instanceof X509Certificate && getRevokedCertificate((X509Certificate) certificate) != null;
+    }
+
+    @Override
+    public byte[] getEncoded() throws CRLException {
+        return this.crl.getEncoded();
+    }
+
+    @Override
+    public void verify(final PublicKey key) throws CRLException, NoSuchAlgorithmException, InvalidKeyException,
+        NoSuchProviderException, SignatureException {
+        this.crl.verify(key);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final String sigProvider) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, NoSuchProviderException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final Provider sigProvider) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public int getVersion() {
+        return this.crl.getVersion();
+    }
+
+    @Override
+    public Principal getIssuerDN() {
+        return this.crl.getIssuerDN();
+    }
+
+    @Override
+    public X500Principal getIssuerX500Principal() {
+        return this.crl.getIssuerX500Principal();
+    }
+
+    @Override
+    public Date getThisUpdate() {
+        return this.crl.getThisUpdate();
+    }
+
+    @Override
+    public Date getNextUpdate() {
+        return this.crl.getNextUpdate();
+    }
+
+    @Override
+    public byte[] getTBSCertList() throws CRLException {
+        return this.crl.getTBSCertList();
+    }
+
+    @Override
+    public byte[] getSignature() {
+        return this.crl.getSignature();
+    }
+
+    @Override
+    public String getSigAlgName() {
+        return this.crl.getSigAlgName();
+    }
+
+    @Override
+    public String getSigAlgOID() {
+        return this.crl.getSigAlgOID();
+    }
+
+    @Override
+    public byte[] getSigAlgParams() {
+        return this.crl.getSigAlgParams();
+    }
+
+    @Override
+    public boolean hasUnsupportedCriticalExtension() {
+        return this.crl.hasUnsupportedCriticalExtension();
+    }
+
+    @Override
+    public Set<String> getCriticalExtensionOIDs() {
+        return this.crl.getCriticalExtensionOIDs();
+    }
+
+    @Override
+    public Set<String> getNonCriticalExtensionOIDs() {
+        return this.crl.getNonCriticalExtensionOIDs();
+    }
+
+    @Override
+    public byte[] getExtensionValue(final String oid) {
+        return this.crl.getExtensionValue(oid);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof IndexedX509CRL) {
+            return this.crl.equals(((IndexedX509CRL) other).crl);
+        }
+        return this.crl.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.crl.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.crl.toString();
+    }
+}
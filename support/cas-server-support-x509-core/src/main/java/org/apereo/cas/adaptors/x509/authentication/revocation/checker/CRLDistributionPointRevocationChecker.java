@@ -1,22 +1,21 @@
 package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.CRLStore;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.crypto.CertUtils;
 
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.sf.ehcache.Cache;
-import net.sf.ehcache.Element;
 import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.DERIA5String;
 import org.bouncycastle.asn1.x509.DistributionPoint;
 import org.bouncycastle.asn1.x509.GeneralName;
 import org.cryptacular.x509.ExtensionReader;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -25,6 +24,7 @@ import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -35,18 +35,20 @@ import java.util.stream.IntStream;
  * the CRLDistributionPoints extension field on the certificate.  Although RFC
  * 2459 allows the distribution point name to have arbitrary meaning, this class
  * expects the name to define an absolute URL, which is the most common
- * implementation.  This implementation caches CRL resources fetched from remote
- * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * implementation.  This implementation keeps CRL resources fetched from remote
+ * URLs parsed and indexed in a {@link CRLStore} to improve performance by avoiding
+ * CRL fetching and parsing on every revocation check.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
  */
 @Slf4j
-public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker {
+public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker implements DisposableBean {
 
-    private final Cache crlCache;
-    private final CRLFetcher fetcher;
+    private static final long DEFAULT_MAXIMUM_REFRESH_INTERVAL = 3600;
+
+    private final CRLStore crlStore;
+    private final boolean ownsCrlStore;
     private final boolean throwOnFetchFailure;
 
     /**
@@ -101,12 +103,47 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
                                                  final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
                                                  final CRLFetcher fetcher, final boolean throwOnFetchFailure) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy, buildCrlStore(crlCache, fetcher), true, throwOnFetchFailure);
+    }
+
+    /**
+     * Instantiates a new CRL distribution point revocation checker that shares the given store of CRLs.
+     *
+     * @param checkAll             the check all
+     * @param unavailableCRLPolicy the unavailable crl policy
+     * @param expiredCRLPolicy     the expired crl policy
+     * @param crlStore             the crl store
+     * @param throwOnFetchFailure  the throw on fetch failure
+     */
+    public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                                 final RevocationPolicy<X509CRL> expiredCRLPolicy, final CRLStore crlStore,
+                                                 final boolean throwOnFetchFailure) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy, crlStore, false, throwOnFetchFailure);
+    }
+
+    private CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                                  final RevocationPolicy<X509CRL> expiredCRLPolicy, final CRLStore crlStore,
+                                                  final boolean ownsCrlStore, final boolean throwOnFetchFailure) {
         super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
-        this.crlCache = crlCache;
-        this.fetcher = fetcher;
+        this.crlStore = crlStore;
+        this.ownsCrlStore = ownsCrlStore;
         this.throwOnFetchFailure = throwOnFetchFailure;
     }
 
+    /**
+     * Build a store of CRLs that keeps as many CRLs, for as long while unused, as the given cache.
+     *
+     * @param crlCache the crl cache
+     * @param fetcher  the fetcher
+     * @return the crl store
+     */
+    private static CRLStore buildCrlStore(final Cache crlCache, final CRLFetcher fetcher) {
+        val config = crlCache.getCacheConfiguration();
+        val timeToLive = Duration.ofSeconds(config.getTimeToLiveSeconds() > 0 ? config.getTimeToLiveSeconds() : DEFAULT_MAXIMUM_REFRESH_INTERVAL);
+        return new CRLStore(fetcher, Duration.ZERO, timeToLive,
+            Duration.ofSeconds(config.getTimeToIdleSeconds()), config.getMaxEntriesLocalHeap());
+    }
+
     /**
      * Gets the distribution points.
      *
@@ -164,7 +201,6 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     }
 
     @Override
-    @SneakyThrows
     protected List<X509CRL> getCRLs(final X509Certificate cert) {
         val urls = getDistributionPoints(cert);
         LOGGER.debug("Distribution points for [{}]: [{}].", CertUtils.toString(cert), CollectionUtils.wrap(urls));
@@ -173,32 +209,18 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
         for (var index = 0; !stopFetching && index < urls.length; index++) {
             val url = urls[index];
-            val item = this.crlCache.get(url);
-
-            if (item != null) {
-                LOGGER.debug("Found CRL in cache for [{}]", CertUtils.toString(cert));
-                val encodedCrl = (byte[]) item.getObjectValue();
-                val crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
-
-                if (crlFetched != null) {
-                    listOfLocations.add(crlFetched);
+            try {
+                val crl = this.crlStore.get(url);
+                if (crl != null) {
+                    LOGGER.debug("Found CRL at [{}] for [{}]", url, CertUtils.toString(cert));
+                    listOfLocations.add(crl);
                 } else {
                     LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
                 }
-            } else {
-                LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", CertUtils.toString(cert));
-                try {
-                    val crl = this.fetcher.fetch(url);
-                    if (crl != null) {
-                        LOGGER.info("Success. Caching fetched CRL at [{}].", url);
-                        addCRL(url, crl);
-                        listOfLocations.add(crl);
-                    }
-                } catch (final Exception e) {
-                    LOGGER.error("Error fetching CRL at [{}]", url, e);
-                    if (this.throwOnFetchFailure) {
-                        throw new RuntimeException(e.getMessage(), e);
-                    }
+            } catch (final Exception e) {
+                LOGGER.error("Error fetching CRL at [{}]", url, e);
+                if (this.throwOnFetchFailure) {
+                    throw new RuntimeException(e.getMessage(), e);
                 }
             }
 
@@ -214,15 +236,19 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     }
 
     @Override
-    @SneakyThrows
     protected boolean addCRL(final Object id, final X509CRL crl) {
         if (crl == null) {
-            LOGGER.debug("No CRL was passed. Removing [{}] from cache...", id);
-            return this.crlCache.remove(id);
+            LOGGER.debug("No CRL was passed. Removing [{}] from the store...", id);
+            return this.crlStore.remove(id);
         }
+        this.crlStore.put(id, crl);
+        return true;
+    }
 
-        this.crlCache.put(new Element(id, crl.getEncoded()));
-        return this.crlCache.get(id) != null;
-
+    @Override
+    public void destroy() {
+        if (this.ownsCrlStore) {
+            this.crlStore.destroy();
+        }
     }
 }
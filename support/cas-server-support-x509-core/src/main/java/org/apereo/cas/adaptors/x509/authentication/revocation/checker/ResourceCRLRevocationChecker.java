@@ -1,6 +1,7 @@
 package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.CRLStore;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandler;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
@@ -16,20 +17,19 @@ import org.springframework.core.io.Resource;
 import javax.security.auth.x500.X500Principal;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CRL-based revocation checker that uses one or more CRL resources to fetch
  * local or remote CRL data periodically.  CRL resources should be supplied for
  * the issuers of all certificates (and intervening certificates for certificate
  * chains) that are expected to be presented to {@link X509CredentialsAuthenticationHandler}.
+ * CRL data is kept parsed and indexed in a {@link CRLStore}, which refreshes it
+ * ahead of its next update.
  *
  * @author Marvin S. Addison
  * @since 3.4.7
@@ -39,23 +39,14 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
 
     private static final int DEFAULT_REFRESH_INTERVAL = 3600;
 
+    private final CRLStore crlStore;
 
-    /**
-     * Executor responsible for refreshing CRL data.
-     */
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
-    /**
-     * CRL refresh interval in seconds.
-     */
-    private final int refreshInterval;
-
-    private final CRLFetcher fetcher;
+    private final boolean ownsCrlStore;
 
     /**
-     * Map of CRL issuer to CRL.
+     * Map of CRL issuer to the key of its CRL in the store.
      */
-    private final Map<X500Principal, X509CRL> crlIssuerMap = Collections.synchronizedMap(new HashMap<>());
+    private final Map<X500Principal, Object> crlIssuerMap = new ConcurrentHashMap<>();
 
     /**
      * Resource CRLs.
@@ -65,9 +56,31 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
     public ResourceCRLRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
                                         final RevocationPolicy<X509CRL> expiredCRLPolicy, final int refreshInterval,
                                         final CRLFetcher fetcher, final Collection<Resource> resources) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy,
+            new CRLStore(fetcher, Duration.ZERO, Duration.ofSeconds(refreshInterval), Duration.ZERO, 0), true, resources);
+    }
+
+    /**
+     * Instantiates a new Resource CRL revocation checker that shares the given store of CRLs.
+     *
+     * @param checkAll             the check all
+     * @param unavailableCRLPolicy the unavailable crl policy
+     * @param expiredCRLPolicy     the expired crl policy
+     * @param crlStore             the crl store
+     * @param resources            the resources
+     */
+    public ResourceCRLRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                        final RevocationPolicy<X509CRL> expiredCRLPolicy, final CRLStore crlStore,
+                                        final Collection<Resource> resources) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy, crlStore, false, resources);
+    }
+
+    private ResourceCRLRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                         final RevocationPolicy<X509CRL> expiredCRLPolicy, final CRLStore crlStore,
+                                         final boolean ownsCrlStore, final Collection<Resource> resources) {
         super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
-        this.refreshInterval = refreshInterval;
-        this.fetcher = fetcher;
+        this.crlStore = crlStore;
+        this.ownsCrlStore = ownsCrlStore;
         this.resources = resources;
     }
 
@@ -127,33 +140,21 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
     }
 
     /**
-     * Initializes the process that periodically fetches CRL data.
+     * Loads CRL data into the store, which refreshes it periodically from then on.
      */
     @SneakyThrows
-    @SuppressWarnings("FutureReturnValueIgnored")
     public void init() {
         if (!validateConfiguration()) {
             return;
         }
 
-        val results = this.fetcher.fetch(getResources());
-        ResourceCRLRevocationChecker.this.addCrls(results);
-
-        final Runnable scheduledFetcher = () -> {
-            try {
-                val fetchedResults = getFetcher().fetch(getResources());
-                ResourceCRLRevocationChecker.this.addCrls(fetchedResults);
-            } catch (final Exception e) {
-                LOGGER.debug(e.getMessage(), e);
+        for (val resource : getResources()) {
+            val crl = this.crlStore.get(resource);
+            if (crl != null) {
+                LOGGER.debug("Adding CRL for issuer [{}] from [{}]", crl.getIssuerX500Principal(), resource);
+                this.crlIssuerMap.put(crl.getIssuerX500Principal(), resource);
             }
-        };
-
-        this.scheduler.scheduleAtFixedRate(
-            scheduledFetcher,
-            this.refreshInterval,
-            this.refreshInterval,
-            TimeUnit.SECONDS);
-
+        }
     }
 
     private boolean validateConfiguration() {
@@ -162,7 +163,7 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
                 this.getClass().getSimpleName());
             return false;
         }
-        if (this.fetcher == null) {
+        if (this.crlStore.getFetcher() == null) {
             LOGGER.debug("[{}] is not configured with a CRL fetcher. Skipping configuration...", getClass().getSimpleName());
             return false;
         }
@@ -177,20 +178,11 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
         return true;
     }
 
-    /**
-     * Add fetched crls to the map.
-     *
-     * @param results the results
-     */
-    private void addCrls(final Collection<X509CRL> results) {
-        results.forEach(entry -> addCRL(entry.getIssuerX500Principal(), entry));
-    }
-
     /**
      * @return Returns the CRL fetcher component.
      */
     protected CRLFetcher getFetcher() {
-        return this.fetcher;
+        return this.crlStore.getFetcher();
     }
 
     protected Collection<Resource> getResources() {
@@ -200,16 +192,24 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
     @Override
     protected boolean addCRL(final Object issuer, final X509CRL crl) {
         LOGGER.debug("Adding CRL for issuer [{}]", issuer);
-        this.crlIssuerMap.put((X500Principal) issuer, crl);
+        this.crlStore.put(issuer, crl);
+        this.crlIssuerMap.put((X500Principal) issuer, issuer);
         return this.crlIssuerMap.containsKey(issuer);
     }
 
     @Override
     protected Collection<X509CRL> getCRLs(final X509Certificate cert) {
         val principal = cert.getIssuerX500Principal();
-
-        if (this.crlIssuerMap.containsKey(principal)) {
-            return CollectionUtils.wrap(this.crlIssuerMap.get(principal));
+        val key = this.crlIssuerMap.get(principal);
+        if (key != null) {
+            try {
+                val crl = this.crlStore.get(key);
+                if (crl != null) {
+                    return CollectionUtils.wrap(crl);
+                }
+            } catch (final Exception e) {
+                LOGGER.error("Error fetching CRL from [{}]", key, e);
+            }
         }
         LOGGER.warn("Could not locate CRL for issuer principal [{}]", principal);
         return new ArrayList<>(0);
@@ -221,9 +221,11 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
     }
 
     /**
-     * Shutdown scheduler.
+     * Shutdown the store of CRLs, unless it is shared with others.
      */
     public void shutdown() {
-        this.scheduler.shutdown();
+        if (this.ownsCrlStore) {
+            this.crlStore.destroy();
+        }
     }
 }
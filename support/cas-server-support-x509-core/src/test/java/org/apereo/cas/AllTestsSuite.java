@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.adaptors.x509.authentication.CRLStoreTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.CRLDistributionPointRevocationCheckerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ResourceCRLRevocationCheckerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ThresholdExpiredCRLRevocationPolicyTests;
@@ -34,7 +35,8 @@ import org.junit.runners.Suite;
     X509CertificateCredentialTests.class,
     ThresholdExpiredCRLRevocationPolicyTests.class,
     X509CredentialsAuthenticationHandlerTests.class,
-    CRLDistributionPointRevocationCheckerTests.class
+    CRLDistributionPointRevocationCheckerTests.class,
+    CRLStoreTests.class
 })
 public class AllTestsSuite {
 }
@@ -0,0 +1,44 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import org.apereo.cas.util.crypto.CertUtils;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CRLStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CRLStoreTests {
+    private final CRLStore store = new CRLStore(new ResourceCRLFetcher(), Duration.ZERO, Duration.ofHours(1), Duration.ZERO, 1);
+
+    @After
+    public void destroy() {
+        this.store.destroy();
+    }
+
+    @Test
+    public void verifyCRLIsParsedOnceAndIndexed() throws Exception {
+        val resource = new ClassPathResource("userCA-valid.crl");
+        val crl = this.store.get(resource);
+        assertTrue(crl instanceof IndexedX509CRL);
+        assertSame(crl, this.store.get(resource));
+        assertNotNull(crl.getRevokedCertificate(CertUtils.readCertificate(new ClassPathResource("user-revoked.crt"))));
+        assertNull(crl.getRevokedCertificate(CertUtils.readCertificate(new ClassPathResource("user-valid.crt"))));
+    }
+
+    @Test
+    public void verifyLeastRecentlyUsedCRLIsDiscarded() throws Exception {
+        this.store.get(new ClassPathResource("userCA-valid.crl"));
+        this.store.get(new ClassPathResource("rootCA-valid.crl"));
+        assertEquals(1, this.store.size());
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.adaptors.x509.config;
 
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.CRLStore;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandler;
 import org.apereo.cas.adaptors.x509.authentication.ldap.LdaptiveResourceCRLFetcher;
@@ -30,7 +31,6 @@ import org.apereo.cas.util.LdapUtils;
 import org.apereo.cas.util.RegexUtils;
 
 import lombok.val;
-import net.sf.ehcache.Cache;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.services.persondir.IPersonAttributeDao;
 import org.springframework.beans.factory.ObjectProvider;
@@ -43,7 +43,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ResourceLoader;
 
-import java.util.UUID;
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 /**
@@ -99,22 +99,26 @@ public class X509AuthenticationConfiguration {
     @ConditionalOnMissingBean(name = "crlDistributionPointRevocationChecker")
     public RevocationChecker crlDistributionPointRevocationChecker() {
         val x509 = casProperties.getAuthn().getX509();
-        val cache = new Cache("CRL".concat(UUID.randomUUID().toString()),
-            x509.getCacheMaxElementsInMemory(),
-            x509.isCacheDiskOverflow(),
-            x509.isCacheEternal(),
-            x509.getCacheTimeToLiveSeconds(),
-            x509.getCacheTimeToIdleSeconds());
-
         return new CRLDistributionPointRevocationChecker(
             x509.isCheckAll(),
             getRevocationPolicy(x509.getCrlUnavailablePolicy()),
             getRevocationPolicy(x509.getCrlExpiredPolicy()),
-            cache,
-            crlFetcher(),
+            crlStore(),
             x509.isThrowOnFetchFailure());
     }
 
+    @Bean
+    @RefreshScope
+    @ConditionalOnMissingBean(name = "crlStore")
+    public CRLStore crlStore() {
+        val x509 = casProperties.getAuthn().getX509();
+        return new CRLStore(crlFetcher(),
+            Duration.ofSeconds(x509.getRefreshAheadSeconds()),
+            Duration.ofSeconds(x509.getRefreshIntervalSeconds()),
+            Duration.ofSeconds(x509.isCacheEternal() ? 0 : x509.getCacheTimeToIdleSeconds()),
+            x509.getCacheMaxElementsInMemory());
+    }
+
     @Bean
     @RefreshScope
     @ConditionalOnMissingBean(name = "noOpRevocationChecker")
@@ -143,8 +147,7 @@ public class X509AuthenticationConfiguration {
             x509.isCheckAll(),
             getRevocationPolicy(x509.getCrlResourceUnavailablePolicy()),
             getRevocationPolicy(x509.getCrlResourceExpiredPolicy()),
-            x509.getRefreshIntervalSeconds(),
-            crlFetcher(),
+            crlStore(),
             x509CrlResources);
     }
     